@@ -0,0 +1,162 @@
+package com.modive.analysis.benchmark;
+
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.service.AnalysisDataFromAthenaService;
+import com.modive.analysis.telemetry.TelemetryBatch;
+import com.modive.analysis.telemetry.TelemetryTimeParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주행 분석 처리량 비교 (ops/s = 초당 처리 행 수)
+ * - legacyRows: 기존 구현 (행마다 DateTimeFormatter 생성, Double 박싱, Duration 계산)
+ * - rows: List<Map> 입력을 컬럼 배열로 변환 후 단일 루프 분석
+ * - columnar: TelemetryBatch 입력을 바로 단일 루프 분석
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(AnalysisDataBenchmark.ROWS)
+public class AnalysisDataBenchmark {
+
+    // 1Hz 기준 1시간 주행
+    static final int ROWS = 3600;
+
+    private final AnalysisDataFromAthenaService service = new AnalysisDataFromAthenaService();
+
+    private List<Map<String, String>> rows;
+    private TelemetryBatch batch;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2025, 5, 31, 1, 0);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+
+        rows = new ArrayList<>(ROWS);
+        TelemetryBatch.Builder builder = TelemetryBatch.builder("bench-drive", "bench-user");
+        double speed = 0;
+        for (int i = 0; i < ROWS; i++) {
+            speed = Math.max(0, Math.min(130, speed + random.nextGaussian() * 5));
+            String time = start.plusSeconds(i).format(formatter);
+            String velocity = String.valueOf(Math.round(speed));
+
+            Map<String, String> row = new HashMap<>();
+            row.put("time", time);
+            row.put("velocity", velocity);
+            row.put("driveid", "bench-drive");
+            row.put("userid", "bench-user");
+            rows.add(row);
+
+            builder.add(TelemetryTimeParser.systemDefault().parseEpochMicros(time), Double.parseDouble(velocity));
+        }
+        batch = builder.build();
+    }
+
+    @Benchmark
+    public Drive legacyRows() {
+        return legacyAnalysisData(rows);
+    }
+
+    @Benchmark
+    public Drive rows() {
+        return service.analysisData(rows);
+    }
+
+    @Benchmark
+    public Drive columnar() {
+        return service.analysisData(batch);
+    }
+
+    // 기존 AnalysisDataFromAthenaService.analysisData 구현 (비교 기준)
+    private static Drive legacyAnalysisData(List<Map<String, String>> data) {
+        Drive drive = new Drive();
+
+        int activeDriveDurationSec = 0;
+        List<Drive.SpeedLog> speedLogs = new ArrayList<>();
+        List<Drive.StartEndTime> idlingPeriods = new ArrayList<>();
+        List<Drive.SpeedRate> speedRate = new ArrayList<>();
+
+        drive.setDriveId(data.get(0).get("driveid"));
+        drive.setUserId(data.get(0).get("userid"));
+        drive.setStartTime(stringToInstant(data.get(0).get("time")));
+        drive.setEndTime(stringToInstant(data.get(data.size() - 1).get("time")));
+
+        Instant idlingStartTime = null;
+        double currentMaxSpeed = 0;
+        Instant periodStartTime = null;
+        int period = 1;
+        int low = 0;
+        int middle = 0;
+        int high = 0;
+
+        Duration periodDuration = Duration.ofSeconds(20);
+
+        for (int i = 0; i < data.size(); i++) {
+            Map<String, String> current = data.get(i);
+            Instant now = stringToInstant(current.get("time"));
+            Double speed = Double.parseDouble(current.get("velocity"));
+
+            if (speed < 1) { if (idlingStartTime == null) { idlingStartTime = now; } }
+            else {
+                if (idlingStartTime != null) {
+                    idlingPeriods.add(new Drive.StartEndTime(idlingStartTime, now));
+                    idlingStartTime = null;
+                }
+            }
+
+            if (periodStartTime == null) { periodStartTime = now; }
+            else {
+                if (Duration.between(periodStartTime, now).compareTo(periodDuration) < 0 ) {
+                    if (speed > currentMaxSpeed ) {currentMaxSpeed = speed;}
+                }
+                else {
+                    speedLogs.add(new Drive.SpeedLog(period, (int) currentMaxSpeed));
+                    period++;
+                    periodStartTime = now;
+                    currentMaxSpeed = speed;
+                }
+            }
+
+            if (speed > 1) {
+                if (speed < 30) low++;
+                else if (speed < 80) middle++;
+                else high++;
+                activeDriveDurationSec++;
+            }
+        }
+
+        if (idlingStartTime != null) {
+            idlingPeriods.add(new Drive.StartEndTime(idlingStartTime, stringToInstant(data.get(data.size()-1).get("time"))));
+        }
+        int total = low + middle + high;
+        int lowRate = 100*low/total;
+        int middleRate = 100*middle/total;
+        int highRate = 100 - lowRate - middleRate;
+        speedRate.add(new Drive.SpeedRate("low", lowRate) );
+        speedRate.add(new Drive.SpeedRate("middle", middleRate) );
+        speedRate.add(new Drive.SpeedRate("high", highRate) );
+
+        drive.setSpeedRate(speedRate);
+        drive.setIdlingPeriods(idlingPeriods);
+        drive.setSpeedLogs(speedLogs);
+        drive.setActiveDriveDurationSec(activeDriveDurationSec);
+
+        return drive;
+    }
+
+    private static Instant stringToInstant(String date) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+        LocalDateTime localDateTime = LocalDateTime.parse(date, formatter);
+        ZoneId zone = ZoneId.systemDefault();
+        return localDateTime.atZone(zone).toInstant();
+    }
+}
@@ -0,0 +1,73 @@
+package com.modive.analysis.benchmark;
+
+import com.modive.analysis.worker.AnalysisPriority;
+import com.modive.analysis.worker.AnalysisQueueLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 분석 대기 큐 write-ahead log 처리량 (ops/s = 초당 enqueue 수)
+ * 각 enqueue는 ENQUEUE 레코드 하나와, 1024개 뒤에 오는 ACK 레코드 하나를 기록한다 (큐에 1024개가 쌓여 있는 상태).
+ * - fsync=ALWAYS: 레코드마다 fsync (디스크의 fsync 지연이 그대로 상한)
+ * - fsync=BATCH: 10ms마다 모아서 fsync
+ * - fsync=NONE: page cache에만 기록
+ * threads=4는 여러 요청 스레드가 동시에 enqueue하는 경우 (log는 하나의 lock으로 기록)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnalysisQueueLogBenchmark {
+
+    private static final int PENDING = 1024;
+
+    @Param({"ALWAYS", "BATCH", "NONE"})
+    public String fsync;
+
+    private Path dir;
+    private AnalysisQueueLog log;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("analysis-wal-bench");
+        log = AnalysisQueueLog.open(dir, 64 * 1024 * 1024, AnalysisQueueLog.FsyncPolicy.from(fsync), 10, 4);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        log.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void enqueue() {
+        enqueueAndAckLagging();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void enqueueConcurrent() {
+        enqueueAndAckLagging();
+    }
+
+    private void enqueueAndAckLagging() {
+        long n;
+        synchronized (this) {
+            n = counter++;
+        }
+        log.append("drive-" + n, AnalysisPriority.NORMAL);
+        if (n >= PENDING) {
+            log.ack("drive-" + (n - PENDING));
+        }
+    }
+}
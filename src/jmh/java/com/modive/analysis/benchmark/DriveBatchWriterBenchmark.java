@@ -0,0 +1,142 @@
+package com.modive.analysis.benchmark;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.model.BillingMode;
+import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.repository.DriveBatchWriter;
+import com.modive.analysis.repository.DriveItemCodec;
+import com.modive.analysis.repository.DriveOverflowStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DynamoDB Local에 주행을 저장하는 처리량 비교 (ops/s = 초당 저장한 주행 수)
+ * - single: 주행마다 DynamoDBMapper.save (PutItem 요청 하나)
+ * - batch: DriveBatchWriter로 모아서 BatchWriteItem (요청 하나에 최대 25개)
+ * persist 단계처럼 스레드 10개에서 저장하고, 각 스레드는 25개를 저장한 뒤 모두 끝날 때까지 기다린다.
+ * DYNAMODB_LOCAL_ENDPOINT가 필요함 (예: docker run -p 8000:8000 amazon/dynamodb-local,
+ * DYNAMODB_LOCAL_ENDPOINT=http://localhost:8000 ./gradlew jmh), 없으면 이 벤치마크만 실패하고 나머지는 실행된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DriveBatchWriterBenchmark {
+
+    private static final int DRIVES_PER_OP = 25;
+
+    @Param({"single", "batch"})
+    public String mode;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private AmazonDynamoDB amazonDynamoDB;
+    private DynamoDBMapper dynamoDBMapper;
+    private DriveBatchWriter writer;
+    private String tableName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String endpoint = System.getenv("DYNAMODB_LOCAL_ENDPOINT");
+        if (endpoint == null || endpoint.isBlank()) {
+            throw new IllegalStateException("DYNAMODB_LOCAL_ENDPOINT is not set");
+        }
+        amazonDynamoDB = AmazonDynamoDBClientBuilder.standard()
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, "ap-northeast-2"))
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("local", "local")))
+                .build();
+        // trial마다 새 테이블 (drive_<timestamp>)
+        DynamoDBMapperConfig config = DynamoDBMapperConfig.builder()
+                .withSaveBehavior(DynamoDBMapperConfig.SaveBehavior.CLOBBER)
+                .withTableNameOverride(DynamoDBMapperConfig.TableNameOverride
+                        .withTableNameReplacement("drive_" + System.nanoTime()))
+                .build();
+        dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, config);
+        CreateTableRequest createTable = dynamoDBMapper.generateCreateTableRequest(Drive.class)
+                .withBillingMode(BillingMode.PAY_PER_REQUEST);
+        tableName = createTable.getTableName();
+        amazonDynamoDB.createTable(createTable);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // S3로 옮기지 않음 (bucket 없음)
+        DriveOverflowStore overflowStore = new DriveOverflowStore(null, null, meterRegistry) {
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+        };
+        DriveItemCodec driveItemCodec = new DriveItemCodec(dynamoDBMapper, overflowStore, meterRegistry);
+        setField(driveItemCodec, "instantListFormat", "compact");
+        driveItemCodec.afterPropertiesSet();
+        writer = new DriveBatchWriter(dynamoDBMapper, amazonDynamoDB, driveItemCodec, meterRegistry);
+        setField(writer, "enabled", true);
+        setField(writer, "lingerMs", 20L);
+        setField(writer, "concurrency", 4);
+        setField(writer, "queueCapacity", 1000);
+        setField(writer, "maxAttempts", 8);
+        setField(writer, "baseDelayMs", 50L);
+        setField(writer, "maxDelayMs", 2000L);
+        writer.afterPropertiesSet();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writer.close(5000);
+        amazonDynamoDB.deleteTable(tableName);
+        amazonDynamoDB.shutdown();
+    }
+
+    @Benchmark
+    @Threads(10)
+    @OperationsPerInvocation(DRIVES_PER_OP)
+    public void save() {
+        if (mode.equals("single")) {
+            for (int i = 0; i < DRIVES_PER_OP; i++) {
+                dynamoDBMapper.save(nextDrive());
+            }
+            return;
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[DRIVES_PER_OP];
+        for (int i = 0; i < DRIVES_PER_OP; i++) {
+            futures[i] = writer.save(nextDrive());
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private Drive nextDrive() {
+        long n = sequence.getAndIncrement();
+        Drive drive = new Drive();
+        drive.setUserId("bench-user" + (n % 10));
+        drive.setDriveId("bench-drive-" + n);
+        drive.setStartTime(Instant.parse("2025-01-01T00:00:00Z"));
+        drive.setEndTime(Instant.parse("2025-01-01T00:30:00Z"));
+        drive.setActiveDriveDurationSec((int) (n % 1800));
+        drive.setSuddenAccelerations(List.of(Instant.parse("2025-01-01T00:05:00Z"), Instant.parse("2025-01-01T00:12:00Z")));
+        return drive;
+    }
+
+    /**
+     * @Value 필드 설정 (스프링 컨텍스트 없이 만듦)
+     */
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException("No field " + name + " on " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,103 @@
+package com.modive.analysis.benchmark;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.entity.InstantListCodec;
+import com.modive.analysis.repository.DynamoDbItemSize;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drive 항목의 이벤트 시각 목록 저장 형식 비교 (ops/s = 초당 항목 변환 수)
+ * - ISO: 기존 ISO-8601 문자열 목록
+ * - COMPACT: delta 인코딩 binary (InstantListCodec)
+ * 이벤트 목록 6개에 각각 events개(30분 주행에 고르게 분포, 마이크로초 단위)를 넣은 주행 하나를 변환한다.
+ * ISO는 DriveItemCodec처럼 mapper가 변환한 항목의 이벤트 시각 목록을 문자열 목록으로 바꾼다.
+ * 항목 크기와 쓰기 용량(WCU)은 trial이 끝날 때 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DriveItemSizeBenchmark {
+
+    @Param({"ISO", "COMPACT"})
+    public String format;
+
+    @Param({"10", "100", "500"})
+    public int events;
+
+    private InstantListCodec.Format writeFormat;
+    private DynamoDBMapperTableModel<Drive> tableModel;
+    private Drive drive;
+    private Map<String, AttributeValue> item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writeFormat = InstantListCodec.Format.from(format);
+        // 변환만 하므로 요청을 보내지 않는 client
+        tableModel = new DynamoDBMapper(AmazonDynamoDBClientBuilder.standard().withRegion("ap-northeast-2").build())
+                .getTableModel(Drive.class);
+
+        drive = new Drive();
+        drive.setUserId("bench-user");
+        drive.setDriveId("bench-drive-00000000-0000-0000-0000-000000000000");
+        Instant start = Instant.parse("2025-05-31T01:00:00Z");
+        drive.setStartTime(start);
+        drive.setEndTime(start.plusSeconds(1800));
+        drive.setActiveDriveDurationSec(1700);
+        drive.setSuddenAccelerations(times(start, 1));
+        drive.setSharpTurns(times(start, 2));
+        drive.setReactionTimes(times(start, 3));
+        drive.setLaneDepartures(times(start, 4));
+        drive.setFollowingDistanceEvents(times(start, 5));
+        drive.setInactiveMoments(times(start, 6));
+        item = convert();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long bytes = DynamoDbItemSize.of(item);
+        System.out.printf("%n[%s, %d events x 6 lists] item %d bytes, %d WCU per drive write%n",
+                format, events, bytes, DynamoDbItemSize.writeUnits(bytes));
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> convert() {
+        Map<String, AttributeValue> converted = tableModel.convert(drive);
+        if (writeFormat == InstantListCodec.Format.ISO) {
+            converted = new HashMap<>(converted);
+            for (String attribute : Drive.INSTANT_LIST_ATTRIBUTES) {
+                converted.put(attribute, writeFormat.toAttribute(instants(attribute)));
+            }
+        }
+        return converted;
+    }
+
+    @Benchmark
+    public Drive unconvert() {
+        return tableModel.unconvert(item);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Instant> instants(String attribute) {
+        return (List<Instant>) tableModel.field(attribute).get(drive);
+    }
+
+    private List<Instant> times(Instant start, int seed) {
+        List<Instant> instants = new ArrayList<>(events);
+        long stepMicros = 1_800_000_000L / events;
+        for (int i = 0; i < events; i++) {
+            instants.add(start.plusNanos((i * stepMicros + seed * 7_919L * (i % 13)) * 1_000L));
+        }
+        return instants;
+    }
+}
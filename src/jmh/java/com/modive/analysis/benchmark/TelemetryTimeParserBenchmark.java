@@ -0,0 +1,70 @@
+package com.modive.analysis.benchmark;
+
+import com.modive.analysis.telemetry.TelemetryTimeParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 텔레메트리 시간 파싱 비교 (ops/s = 초당 파싱 수)
+ * - legacyStringToInstant: 기존 AnalysisDataFromAthenaService.stringToInstant (호출마다 포매터 생성)
+ * - cachedFormatter: 포매터만 캐시한 DateTimeFormatter 경로
+ * - fixedLayout: TelemetryTimeParser 고정 형식 경로
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TelemetryTimeParserBenchmark.SIZE)
+public class TelemetryTimeParserBenchmark {
+
+    static final int SIZE = 1024;
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(TelemetryTimeParser.PATTERN);
+
+    private final TelemetryTimeParser parser = TelemetryTimeParser.systemDefault();
+    private final String[] times = new String[SIZE];
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2025, 5, 31, 1, 0);
+        for (int i = 0; i < SIZE; i++) {
+            times[i] = start.plusSeconds(i).plusNanos(i * 1_000L).format(FORMATTER);
+        }
+    }
+
+    @Benchmark
+    public long legacyStringToInstant() {
+        long sum = 0;
+        for (String time : times) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+            LocalDateTime localDateTime = LocalDateTime.parse(time, formatter);
+            ZoneId zone = ZoneId.systemDefault();
+            Instant instant = localDateTime.atZone(zone).toInstant();
+            sum += instant.getEpochSecond();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long cachedFormatter() {
+        long sum = 0;
+        ZoneId zone = ZoneId.systemDefault();
+        for (String time : times) {
+            sum += LocalDateTime.parse(time, FORMATTER).atZone(zone).toEpochSecond();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long fixedLayout() {
+        long sum = 0;
+        for (String time : times) {
+            sum += parser.parseEpochMicros(time);
+        }
+        return sum;
+    }
+}
@@ -4,10 +4,13 @@ import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
 import com.amazonaws.services.dynamodbv2.model.*;
+import com.modive.analysis.entity.Drive;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class DynamoDBTableInitializer {
     private final AmazonDynamoDB dynamoDB;
@@ -30,15 +33,94 @@ public class DynamoDBTableInitializer {
                     )
                     .withAttributeDefinitions(
                         new AttributeDefinition("userId", ScalarAttributeType.S),
-                        new AttributeDefinition("driveId", ScalarAttributeType.S)
+                        new AttributeDefinition("driveId", ScalarAttributeType.S),
+                        new AttributeDefinition("startTime", ScalarAttributeType.S)
                     )
+                    .withGlobalSecondaryIndexes(userStartTimeIndex())
                     .withBillingMode(BillingMode.PAY_PER_REQUEST);
 
             dynamoDB.createTable(request);
             System.out.println("✅ DynamoDB 테이블 'drive' 생성됨");
         } else {
             System.out.println("ℹ️ DynamoDB 테이블 'drive' 이미 존재함");
+            createUserStartTimeIndexIfNotExists();
+        }
+    }
+
+    // 이미 있는 drive 테이블에 사용자별 최신순 조회 GSI 추가 (기존 항목은 DynamoDB가 백그라운드로 채움)
+    private void createUserStartTimeIndexIfNotExists() {
+        List<GlobalSecondaryIndexDescription> indexes = dynamoDB.describeTable("drive").getTable().getGlobalSecondaryIndexes();
+        if (indexes != null && indexes.stream().anyMatch(index -> Drive.USER_START_TIME_INDEX.equals(index.getIndexName()))) {
+            return;
+        }
+        GlobalSecondaryIndex index = userStartTimeIndex();
+        dynamoDB.updateTable(new UpdateTableRequest()
+                .withTableName("drive")
+                .withAttributeDefinitions(
+                    new AttributeDefinition("userId", ScalarAttributeType.S),
+                    new AttributeDefinition("startTime", ScalarAttributeType.S)
+                )
+                .withGlobalSecondaryIndexUpdates(new GlobalSecondaryIndexUpdate().withCreate(
+                    new CreateGlobalSecondaryIndexAction()
+                            .withIndexName(index.getIndexName())
+                            .withKeySchema(index.getKeySchema())
+                            .withProjection(index.getProjection()))));
+        System.out.println("✅ DynamoDB 테이블 'drive'에 인덱스 '" + Drive.USER_START_TIME_INDEX + "' 추가 요청됨");
+    }
+
+    // startTime(ISO-8601 UTC)은 문자열 순서가 시간 순서, 목록 조회에 필요한 요약 속성만 포함
+    private GlobalSecondaryIndex userStartTimeIndex() {
+        return new GlobalSecondaryIndex()
+                .withIndexName(Drive.USER_START_TIME_INDEX)
+                .withKeySchema(
+                    new KeySchemaElement("userId", KeyType.HASH),
+                    new KeySchemaElement("startTime", KeyType.RANGE)
+                )
+                .withProjection(new Projection()
+                        .withProjectionType(ProjectionType.INCLUDE)
+                        .withNonKeyAttributes("endTime", "activeDriveDurationSec", "speedRate"));
+    }
+
+    @PostConstruct
+    public void createBackfillIfNotExists() {
+        ListTablesResult tables = dynamoDB.listTables();
+        if (!tables.getTableNames().contains("analysis_backfill")) {
+            CreateTableRequest request = new CreateTableRequest()
+                    .withTableName("analysis_backfill")
+                    .withKeySchema(
+                        new KeySchemaElement("backfillId", KeyType.HASH)
+                    )
+                    .withAttributeDefinitions(
+                        new AttributeDefinition("backfillId", ScalarAttributeType.S)
+                    )
+                    .withBillingMode(BillingMode.PAY_PER_REQUEST);
+
+            dynamoDB.createTable(request);
+            System.out.println("✅ DynamoDB 테이블 'analysis_backfill' 생성됨");
+        } else {
+            System.out.println("ℹ️ DynamoDB 테이블 'analysis_backfill' 이미 존재함");
+        }
+    }
+
+    @PostConstruct
+    public void createDeadLetterIfNotExists() {
+        ListTablesResult tables = dynamoDB.listTables();
+        if (!tables.getTableNames().contains("analysis_dead_letter")) {
+            CreateTableRequest request = new CreateTableRequest()
+                    .withTableName("analysis_dead_letter")
+                    .withKeySchema(
+                        new KeySchemaElement("driveId", KeyType.HASH)
+                    )
+                    .withAttributeDefinitions(
+                        new AttributeDefinition("driveId", ScalarAttributeType.S)
+                    )
+                    .withBillingMode(BillingMode.PAY_PER_REQUEST);
+
+            dynamoDB.createTable(request);
+            System.out.println("✅ DynamoDB 테이블 'analysis_dead_letter' 생성됨");
+        } else {
+            System.out.println("ℹ️ DynamoDB 테이블 'analysis_dead_letter' 이미 존재함");
         }
     }
 
-}
\ No newline at end of file
+}
@@ -28,13 +28,20 @@ public class DynamoDbConfig {
     @Value("${aws.secretKey}")
     private String secretKey;
 
+    // 조회를 강한 일관성으로 읽을지 (읽기 용량 2배), 기본은 eventually consistent
+    @Value("${analysis.dynamodb.consistent-reads:false}")
+    private boolean consistentReads;
+
     @Bean
     public DynamoDBMapper dynamoDBMapper() {
         DynamoDBMapperConfig mapperConfig = DynamoDBMapperConfig.builder()
                 .withSaveBehavior(DynamoDBMapperConfig.SaveBehavior.CLOBBER)
-                .withConsistentReads(DynamoDBMapperConfig.ConsistentReads.CONSISTENT)
+                .withConsistentReads(consistentReads
+                        ? DynamoDBMapperConfig.ConsistentReads.CONSISTENT
+                        : DynamoDBMapperConfig.ConsistentReads.EVENTUAL)
                 .withTableNameOverride(null)
-                .withPaginationLoadingStrategy(DynamoDBMapperConfig.PaginationLoadingStrategy.EAGER_LOADING)
+                // query/scan 결과는 필요한 만큼만 페이지 단위로 읽음
+                .withPaginationLoadingStrategy(DynamoDBMapperConfig.PaginationLoadingStrategy.LAZY_LOADING)
                 .build();
 
         return new DynamoDBMapper(amazonDynamoDB(), mapperConfig);
@@ -1,23 +1,43 @@
 package com.modive.analysis.controller;
 
 import com.amazonaws.Response;
+import com.modive.analysis.dto.AnalysisJobStatusDTO;
 import com.modive.analysis.entity.Drive;
 import com.modive.analysis.repository.DriveRepository;
 import com.modive.analysis.service.AnalysisDataFromAthenaService;
 import com.modive.analysis.service.AthenaClientService;
 import com.modive.analysis.service.EventDataService;
+import com.modive.analysis.worker.AnalysisJob;
+import com.modive.analysis.worker.AnalysisJobRegistry;
+import com.modive.analysis.worker.AnalysisPriority;
+import com.modive.analysis.worker.AnalysisQueueFullException;
+import com.modive.analysis.worker.AnalysisWorkerDrainingException;
 import com.modive.analysis.worker.DriveAnalysisWorker;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequiredArgsConstructor
@@ -29,11 +49,70 @@ public class AnalysisController {
     private final EventDataService eventDataService;
     private final DriveRepository driveRepository;
     private final DriveAnalysisWorker driveAnalysisWorker;
+    private final AnalysisJobRegistry analysisJobRegistry;
 
+    // long-poll 상태 조회에서 기다릴 수 있는 최대 시간
+    @Value("${analysis.jobs.max-wait-seconds:30}")
+    private long maxWaitSeconds;
+
+    // SSE 상태 스트림 연결 유지 시간
+    @Value("${analysis.jobs.sse-timeout-seconds:300}")
+    private long sseTimeoutSeconds;
+
+    /**
+     * 주행 분석 요청 접수
+     *
+     * @param driveId 운전 ID
+     * @param priority 우선순위 lane (interactive, normal, backfill)
+     * @param queryTimeoutSeconds Athena 쿼리 기한 (없으면 기본 기한, 최대 기한으로 제한됨)
+     * @return 202 접수, 큐가 가득 차면 429 + Retry-After, 종료 중이면 503 + Retry-After, 알 수 없는 우선순위나 잘못된 기한이면 400
+     * statusUrl은 이 인스턴스가 추적하는 작업에만 포함된다. distributed 모드(analysis.worker.queue.mode)에서 공유 대기열에 넣기만 한 작업은
+     * 어느 replica가 처리할지 모르므로 statusUrl 없이 statusTracked=false로 응답하고, 상태 조회/취소는 지원하지 않는다.
+     */
     @GetMapping("/{driveId}")
-    public ResponseEntity<Map<String, Object>> postDriveAnalysis(@PathVariable String driveId) {
+    public ResponseEntity<Map<String, Object>> postDriveAnalysis(@PathVariable String driveId,
+                                                                 @RequestParam(defaultValue = "normal") String priority,
+                                                                 @RequestParam(required = false) Long queryTimeoutSeconds) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        AnalysisPriority analysisPriority;
+        try {
+            analysisPriority = AnalysisPriority.from(priority);
+        } catch (IllegalArgumentException e) {
+            response.put("message", "Unknown priority: " + priority);
+            response.put("status", "rejected");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        if (queryTimeoutSeconds != null && queryTimeoutSeconds <= 0) {
+            response.put("message", "queryTimeoutSeconds must be positive: " + queryTimeoutSeconds);
+            response.put("status", "rejected");
+            return ResponseEntity.badRequest().body(response);
+        }
+        Duration queryTimeout = queryTimeoutSeconds == null ? null : Duration.ofSeconds(queryTimeoutSeconds);
+
+        // 같은 driveId가 이미 대기/진행 중이면 기존 작업으로 합쳐짐
+        AnalysisJob job;
+        try {
+            job = driveAnalysisWorker.enqueue(driveId, analysisPriority, queryTimeout);
+        } catch (AnalysisQueueFullException e) {
+            // 분석 대기 큐가 가득 찬 경우 429 + Retry-After로 거절
+            response.put("message", "Drive analysis queue is full, retry later: " + driveId);
+            response.put("status", "rejected");
 
-        driveAnalysisWorker.enqueue(driveId);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(response);
+        } catch (AnalysisWorkerDrainingException e) {
+            // 종료 중인 인스턴스는 503으로 거절 (readiness도 REFUSING_TRAFFIC이므로 다른 인스턴스로 재시도됨)
+            response.put("message", "Drive analysis worker is shutting down, retry later: " + driveId);
+            response.put("status", "rejected");
+
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(response);
+        }
 //        List<Map<String, String>> data = athenaClientService.queryDriveData(driveId);
 //        Drive result1 = analysisDataFromAthenaService.analysisData(data); // Athena로 S3의 데이터 쿼리
 //        Drive result2 = eventDataService.loadDriveData(driveId); // JPA로 RDS(MySQL) 데이터 쿼리
@@ -43,16 +122,120 @@ public class AnalysisController {
 //        // dynamodb에 저장
 //        driveRepository.save(finalResult);
 
+        // 분석은 워커에서 비동기로 진행되므로 접수만 응답
+        response.put("message", "Drive analysis accepted for " + driveId);
+        response.put("status", "accepted");
+        response.put("enqueuedAt", Instant.ofEpochMilli(job.getEnqueuedAt()).toString());
+        response.put("priority", job.getPriority().tag());
+        boolean statusTracked = analysisJobRegistry.find(driveId) == job;
+        response.put("statusTracked", statusTracked);
+        if (statusTracked) {
+            response.put("statusUrl", "/analysis/" + driveId + "/status");
+        }
+
+        return ResponseEntity.accepted().body(response);
+    }
+
+    /**
+     * 대기 중이거나 진행 중인 분석 취소 (실행 중인 Athena 쿼리는 StopQueryExecution으로 중단)
+     *
+     * @param driveId 운전 ID
+     * @return 202 취소됨, 작업이 없으면 404, 이미 끝났으면 409
+     */
+    @DeleteMapping("/{driveId}")
+    public ResponseEntity<Map<String, Object>> cancelDriveAnalysis(@PathVariable String driveId) {
         Map<String, Object> response = new HashMap<>();
-        response.put("message", "Drive analysis completed for " + driveId);
-        response.put("status", "success");
 
-        return ResponseEntity.ok(response);
+        AnalysisJob job = analysisJobRegistry.find(driveId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!job.cancel()) {
+            response.put("message", "Drive analysis already finished: " + driveId);
+            response.put("status", job.getState().name());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+
+        response.put("message", "Drive analysis cancelled for " + driveId);
+        response.put("status", job.getState().name());
+        return ResponseEntity.accepted().body(response);
+    }
+
+    /**
+     * 분석 작업 상태 조회
+     * waitSeconds를 주면 상태가 바뀌거나 그 시간이 지날 때까지 기다린 뒤 응답한다. (long-poll, 최대 analysis.jobs.max-wait-seconds)
+     *
+     * @param driveId 운전 ID
+     * @param waitSeconds 상태 변경을 기다릴 시간 (0이면 바로 응답)
+     * @return 작업 상태, 작업이 없거나 만료되었으면 404
+     */
+    @GetMapping("/{driveId}/status")
+    public DeferredResult<ResponseEntity<AnalysisJobStatusDTO>> getAnalysisStatus(@PathVariable String driveId,
+                                                                                @RequestParam(defaultValue = "0") long waitSeconds) {
+        long wait = Math.min(waitSeconds, maxWaitSeconds);
+        DeferredResult<ResponseEntity<AnalysisJobStatusDTO>> result = new DeferredResult<>(TimeUnit.SECONDS.toMillis(wait + 5));
+
+        AnalysisJob job = analysisJobRegistry.find(driveId);
+        if (job == null) {
+            result.setResult(ResponseEntity.notFound().build());
+            return result;
+        }
+
+        long version = job.getVersion();
+        if (wait <= 0 || job.getState().isTerminal()) {
+            result.setResult(ResponseEntity.ok(job.toStatus()));
+            return result;
+        }
+
+        // 상태가 바뀌거나 wait가 지나면 그 시점의 상태로 응답
+        CompletableFuture<AnalysisJob> changed = job.awaitChange(version)
+                .completeOnTimeout(job, wait, TimeUnit.SECONDS);
+        changed.thenAccept(current -> result.setResult(ResponseEntity.ok(current.toStatus())));
+        result.onCompletion(() -> changed.cancel(false));
+        return result;
+    }
+
+    /**
+     * 분석 작업 상태 스트림 (Server-Sent Events)
+     * 현재 상태를 먼저 보내고 상태가 바뀔 때마다 "status" 이벤트를 보내며, DONE/FAILED가 되면 스트림을 닫는다.
+     *
+     * @param driveId 운전 ID
+     * @return SSE 스트림, 작업이 없거나 만료되었으면 404
+     */
+    @GetMapping(value = "/{driveId}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAnalysisStatus(@PathVariable String driveId) {
+        AnalysisJob job = analysisJobRegistry.find(driveId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(sseTimeoutSeconds));
+        Runnable unsubscribe = job.subscribe(changed -> sendStatus(emitter, changed));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        sendStatus(emitter, job);
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void sendStatus(SseEmitter emitter, AnalysisJob job) {
+        AnalysisJobStatusDTO status = job.toStatus();
+        try {
+            emitter.send(SseEmitter.event().name("status").data(status));
+            if (status.getState().isTerminal()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결이 끊겼거나 이미 닫힌 스트림
+            emitter.completeWithError(e);
+        }
     }
 
     public Drive mergeDriveResults(Drive d1, Drive d2) {
         Drive result = new Drive();
         for (Field field : Drive.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) continue; // 속성 이름 상수 등
             field.setAccessible(true);
             try {
                 Object value1 = field.get(d1);
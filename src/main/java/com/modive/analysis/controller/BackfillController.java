@@ -0,0 +1,83 @@
+package com.modive.analysis.controller;
+
+import com.modive.analysis.dto.BackfillRequestDTO;
+import com.modive.analysis.entity.BackfillJob;
+import com.modive.analysis.worker.DriveBackfillWorker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/analysis/backfill")
+public class BackfillController {
+
+    private final DriveBackfillWorker driveBackfillWorker;
+
+    /**
+     * 기간 또는 사용자 목록에 해당하는 주행 일괄 재분석 시작
+     *
+     * @param request 기간(from 포함, to 제외), userId 목록, 초당 최대 처리 주행 수
+     * @return 202 접수 (backfillId와 진행 상태 조회 경로), 조건이 잘못되었으면 400
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> startBackfill(@RequestBody BackfillRequestDTO request) {
+        Map<String, Object> response = new HashMap<>();
+
+        BackfillJob job;
+        try {
+            job = driveBackfillWorker.start(request);
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            response.put("status", "rejected");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        response.put("message", "Backfill accepted");
+        response.put("status", "accepted");
+        response.put("backfillId", job.getBackfillId());
+        response.put("statusUrl", "/analysis/backfill/" + job.getBackfillId());
+
+        return ResponseEntity.accepted().body(response);
+    }
+
+    /**
+     * 백필 진행 상태 조회
+     *
+     * @param backfillId 백필 ID
+     * @return 진행 상태 (total, processed, succeeded, failed), 없으면 404
+     */
+    @GetMapping("/{backfillId}")
+    public ResponseEntity<BackfillJob> getBackfill(@PathVariable String backfillId) {
+        return toResponse(driveBackfillWorker.find(backfillId));
+    }
+
+    /**
+     * 멈췄거나 실패한 백필을 마지막 체크포인트부터 재개
+     *
+     * @param backfillId 백필 ID
+     * @return 재개된 백필, 없으면 404
+     */
+    @PostMapping("/{backfillId}/resume")
+    public ResponseEntity<BackfillJob> resumeBackfill(@PathVariable String backfillId) {
+        return toResponse(driveBackfillWorker.resume(backfillId));
+    }
+
+    /**
+     * 실행 중인 백필을 멈춤 (진행 중인 배치가 끝난 뒤 PAUSED)
+     *
+     * @param backfillId 백필 ID
+     * @return 백필, 없으면 404
+     */
+    @PostMapping("/{backfillId}/pause")
+    public ResponseEntity<BackfillJob> pauseBackfill(@PathVariable String backfillId) {
+        return toResponse(driveBackfillWorker.pause(backfillId));
+    }
+
+    private ResponseEntity<BackfillJob> toResponse(BackfillJob job) {
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+}
@@ -0,0 +1,83 @@
+package com.modive.analysis.controller;
+
+import com.modive.analysis.entity.DeadLetter;
+import com.modive.analysis.repository.DeadLetterRepository;
+import com.modive.analysis.worker.AnalysisPriority;
+import com.modive.analysis.worker.DriveAnalysisWorker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/analysis/dead-letters")
+public class DeadLetterController {
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final DriveAnalysisWorker driveAnalysisWorker;
+
+    /**
+     * 재시도 후에도 실패한 분석 요청 목록
+     *
+     * @param limit 최대 개수
+     * @return dead-letter 목록
+     */
+    @GetMapping
+    public List<DeadLetter> getDeadLetters(@RequestParam(defaultValue = "100") int limit) {
+        return deadLetterRepository.findAll(limit);
+    }
+
+    /**
+     * 특정 주행의 dead-letter 조회
+     *
+     * @param driveId 운전 ID
+     * @return dead-letter, 없으면 404
+     */
+    @GetMapping("/{driveId}")
+    public ResponseEntity<DeadLetter> getDeadLetter(@PathVariable String driveId) {
+        DeadLetter deadLetter = deadLetterRepository.findById(driveId);
+        return deadLetter == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(deadLetter);
+    }
+
+    /**
+     * dead-letter를 다시 분석 큐에 넣음 (넣은 항목은 dead-letter에서 삭제, 큐가 가득 차면 거기서 멈춤)
+     *
+     * @param driveIds 다시 분석할 driveId 목록 (없으면 limit개까지 전체)
+     * @param limit driveIds가 없을 때 최대 개수
+     * @param priority 넣을 lane (없으면 원래 요청의 우선순위)
+     * @return 다시 넣은 driveId 목록, 알 수 없는 우선순위면 400
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Object>> replayDeadLetters(@RequestBody(required = false) List<String> driveIds,
+                                                                 @RequestParam(defaultValue = "100") int limit,
+                                                                 @RequestParam(required = false) String priority) {
+        Map<String, Object> response = new HashMap<>();
+
+        AnalysisPriority lane = null;
+        if (priority != null) {
+            try {
+                lane = AnalysisPriority.from(priority);
+            } catch (IllegalArgumentException e) {
+                response.put("message", "Unknown priority: " + priority);
+                response.put("status", "rejected");
+                return ResponseEntity.badRequest().body(response);
+            }
+        }
+
+        List<DeadLetter> deadLetters = driveIds == null || driveIds.isEmpty()
+                ? deadLetterRepository.findAll(limit)
+                : driveIds.stream().map(deadLetterRepository::findById).filter(Objects::nonNull).toList();
+
+        List<String> replayed = driveAnalysisWorker.replayDeadLetters(deadLetters, lane);
+
+        response.put("status", replayed.size() == deadLetters.size() ? "accepted" : "partial");
+        response.put("replayed", replayed);
+        response.put("remaining", deadLetters.size() - replayed.size());
+        return ResponseEntity.accepted().body(response);
+    }
+}
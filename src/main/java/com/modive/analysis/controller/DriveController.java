@@ -0,0 +1,81 @@
+package com.modive.analysis.controller;
+
+import com.modive.analysis.dto.DriveSummaryDTO;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.repository.DriveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/analysis/users/{userId}/drives")
+public class DriveController {
+
+    private static final String VIEW_SUMMARY = "summary";
+    private static final String VIEW_FULL = "full";
+
+    private final DriveRepository driveRepository;
+
+    /**
+     * 사용자의 분석된 주행 목록 (시작 시각 최신순)
+     *
+     * @param userId 사용자 ID
+     * @param limit 한 페이지 최대 개수 (1~100)
+     * @param pageToken 이전 응답의 nextPageToken, 첫 페이지면 생략
+     * @param view summary(시작/종료 시각, 주행 시간, 속도 비율만) 또는 full
+     * @return items, nextPageToken(마지막 페이지면 null), 잘못된 요청이면 400
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getDrives(@PathVariable String userId,
+                                                         @RequestParam(defaultValue = "20") int limit,
+                                                         @RequestParam(required = false) String pageToken,
+                                                         @RequestParam(defaultValue = VIEW_SUMMARY) String view) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            if (VIEW_SUMMARY.equals(view)) {
+                DriveRepository.Page<Drive> page = driveRepository.findSummariesByUserId(userId, limit, pageToken);
+                response.put("items", page.items().stream().map(DriveSummaryDTO::from).toList());
+                response.put("nextPageToken", page.nextPageToken());
+            } else if (VIEW_FULL.equals(view)) {
+                DriveRepository.Page<Drive> page = driveRepository.findByUserId(userId, limit, pageToken);
+                response.put("items", page.items());
+                response.put("nextPageToken", page.nextPageToken());
+            } else {
+                throw new IllegalArgumentException("Unknown view: " + view);
+            }
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            response.put("status", "rejected");
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 분석된 주행 하나 조회
+     *
+     * @param userId 사용자 ID
+     * @param driveId 운전 ID
+     * @param view full 또는 summary
+     * @return 주행 (summary면 DriveSummaryDTO), 없으면 404, 알 수 없는 view면 400
+     */
+    @GetMapping("/{driveId}")
+    public ResponseEntity<?> getDrive(@PathVariable String userId,
+                                      @PathVariable String driveId,
+                                      @RequestParam(defaultValue = VIEW_FULL) String view) {
+        Optional<?> drive;
+        if (VIEW_FULL.equals(view)) {
+            drive = driveRepository.findById(userId, driveId);
+        } else if (VIEW_SUMMARY.equals(view)) {
+            drive = driveRepository.findSummaryById(userId, driveId).map(DriveSummaryDTO::from);
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("message", "Unknown view: " + view, "status", "rejected"));
+        }
+        return drive.<ResponseEntity<?>>map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,25 @@
+package com.modive.analysis.dto;
+
+import com.modive.analysis.worker.AnalysisJobState;
+import com.modive.analysis.worker.AnalysisPriority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisJobStatusDTO {
+    private String driveId;
+    private AnalysisJobState state;
+    private AnalysisPriority priority;
+    private int requestCount;
+    private int failedAttempts; // 실패한 시도 횟수 (재시도 포함)
+    private Map<AnalysisJobState, Instant> timestamps; // 상태별 진입 시각
+    private String error;
+}
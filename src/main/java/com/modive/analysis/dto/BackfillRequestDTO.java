@@ -0,0 +1,20 @@
+package com.modive.analysis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillRequestDTO {
+    private Instant from; // 시작 시각 (포함)
+    private Instant to; // 종료 시각 (제외)
+    private List<String> userIds; // 대상 사용자 (비어 있으면 기간 조건만 사용)
+    private Double maxDrivesPerSecond; // 초당 최대 처리 주행 수 (없으면 analysis.backfill.max-drives-per-second)
+}
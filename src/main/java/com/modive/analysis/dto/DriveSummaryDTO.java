@@ -0,0 +1,28 @@
+package com.modive.analysis.dto;
+
+import com.modive.analysis.entity.Drive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriveSummaryDTO {
+    private String userId;
+    private String driveId;
+    private Instant startTime;
+    private Instant endTime;
+    private int activeDriveDurationSec;
+    private List<Drive.SpeedRate> speedRate;
+
+    public static DriveSummaryDTO from(Drive drive) {
+        return new DriveSummaryDTO(drive.getUserId(), drive.getDriveId(), drive.getStartTime(), drive.getEndTime(),
+                drive.getActiveDriveDurationSec(), drive.getSpeedRate());
+    }
+}
@@ -0,0 +1,65 @@
+package com.modive.analysis.entity;
+
+import com.modive.analysis.worker.AnalysisPriority;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * replica 간에 공유하는 분석 대기열 항목 (analysis.worker.queue.mode=distributed)
+ * lease_expires_at이 없거나 지난 항목은 어느 replica든 가져갈 수 있고, 가져간 replica는 처리하는 동안 lease를 연장한다.
+ * 처리가 끝나면 행을 지운다.
+ */
+@Entity
+@Table(name = "analysis_job_queue",
+        indexes = @Index(name = "idx_analysis_job_queue_claim", columnList = "priority, lease_expires_at, enqueued_at"))
+@Data
+public class AnalysisQueueItem implements Persistable<String> {
+
+    @Id
+    @Column(name = "drive_id", length = 64)
+    private String driveId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false, length = 16)
+    private AnalysisPriority priority;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private Instant enqueuedAt;
+
+    // 요청에서 지정한 Athena 쿼리 기한 (없으면 기본 기한)
+    @Column(name = "query_timeout_ms")
+    private Long queryTimeoutMs;
+
+    @Column(name = "lease_owner", length = 128)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    // 가져간 횟수 (1보다 크면 이전 replica가 lease를 잃은 것)
+    @Column(name = "claim_count", nullable = false)
+    private int claimCount;
+
+    // save()가 merge 대신 insert하도록 (같은 driveId가 동시에 들어오면 PK 충돌로 실패)
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return driveId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,60 @@
+package com.modive.analysis.entity;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 백필(일괄 재분석) 작업의 진행 상태와 체크포인트
+ * processed는 driveId 목록(정렬됨)의 앞에서부터 처리가 끝난 개수이며, 재개하면 이 위치부터 다시 처리한다.
+ */
+@DynamoDBTable(tableName = "analysis_backfill")
+@Data
+public class BackfillJob {
+    // Partition Key
+    private String backfillId;
+
+    @DynamoDBTypeConvertedEnum
+    private Status status;
+
+    // 조회 조건
+    @DynamoDBTypeConverted(converter = TypeConverter.InstantConverter.class)
+    private Instant fromTime;
+
+    @DynamoDBTypeConverted(converter = TypeConverter.InstantConverter.class)
+    private Instant toTime;
+
+    private List<String> userIds;
+
+    // 초당 최대 처리 주행 수
+    private double maxDrivesPerSecond;
+
+    // driveId 목록 Athena 쿼리 ID (결과가 S3에 남아 있어 재개 시 다시 읽음)
+    private String queryExecutionId;
+
+    private int total;
+    private int processed;
+    private int succeeded;
+    private int failed;
+
+    private String error;
+
+    @DynamoDBTypeConverted(converter = TypeConverter.InstantConverter.class)
+    private Instant createdAt;
+
+    @DynamoDBTypeConverted(converter = TypeConverter.InstantConverter.class)
+    private Instant updatedAt;
+
+    // <editor-fold desc="# Getter for key">
+    @DynamoDBHashKey(attributeName = "backfillId")
+    public String getBackfillId() {
+        return backfillId;
+    }
+    // </editor-fold>
+
+    public enum Status {
+        RUNNING, PAUSED, COMPLETED, FAILED
+    }
+}
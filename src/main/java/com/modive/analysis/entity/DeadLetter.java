@@ -0,0 +1,35 @@
+package com.modive.analysis.entity;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * 재시도 후에도 실패했거나 다시 시도해도 소용없는 분석 요청 (dead-letter)
+ * driveId별로 마지막 실패만 남고, replay하면 다시 분석 큐에 넣은 뒤 삭제된다.
+ */
+@DynamoDBTable(tableName = "analysis_dead_letter")
+@Data
+public class DeadLetter {
+    // Partition Key
+    private String driveId;
+
+    private String priority; // 원래 요청의 우선순위 lane
+
+    private String failureKind; // THROTTLED, TRANSIENT, PERMANENT
+
+    private int failedAttempts;
+
+    private String error;
+
+    @DynamoDBTypeConverted(converter = TypeConverter.InstantConverter.class)
+    private Instant failedAt;
+
+    // <editor-fold desc="# Getter for key">
+    @DynamoDBHashKey(attributeName = "driveId")
+    public String getDriveId() {
+        return driveId;
+    }
+    // </editor-fold>
+}
@@ -1,10 +1,18 @@
 package com.modive.analysis.entity;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.*;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -12,6 +20,21 @@ import java.util.stream.Collectors;
 @DynamoDBTable(tableName = "drive")
 @Data
 public class Drive {
+    // 이벤트 시각 목록 속성 (VersionedInstantListConverter, 기존 ISO-8601 문자열 목록에서 compact binary로 옮길 대상)
+    public static final List<String> INSTANT_LIST_ATTRIBUTES = List.of(
+            "suddenAccelerations", "sharpTurns", "reactionTimes", "laneDepartures", "followingDistanceEvents", "inactiveMoments");
+
+    // packed 저장 모드에서 packedDocuments 하나로 묶어 압축하는 하위 문서 속성
+    public static final String PACKED_DOCUMENTS_ATTRIBUTE = "packedDocuments";
+    public static final List<String> PACKED_ATTRIBUTES = List.of("speedLogs", "idlingPeriods");
+
+    // 항목이 너무 커서 S3로 옮긴 경우에도 DynamoDB 항목에 남기는 요약 속성 (키 제외), 나머지는 overflowKey의 S3 객체에 저장
+    public static final String OVERFLOW_KEY_ATTRIBUTE = "overflowKey";
+    public static final List<String> SUMMARY_ATTRIBUTES = List.of("startTime", "endTime", "activeDriveDurationSec", "speedRate");
+
+    // 사용자별 최신순 조회용 GSI (userId + startTime), 요약 속성만 포함 (DynamoDBTableInitializer)
+    public static final String USER_START_TIME_INDEX = "userId-startTime-index";
+
     // Partition Key
     private String userId;
     // Sort Key
@@ -26,10 +49,10 @@ public class Drive {
 
     private int activeDriveDurationSec;
 
-    @DynamoDBTypeConverted(converter = TypeConverter.InstantListConverter.class)
+    @DynamoDBTypeConverted(converter = TypeConverter.VersionedInstantListConverter.class)
     private List<Instant> suddenAccelerations;
 
-    @DynamoDBTypeConverted(converter = TypeConverter.InstantListConverter.class)
+    @DynamoDBTypeConverted(converter = TypeConverter.VersionedInstantListConverter.class)
     private List<Instant> sharpTurns;
 
     private List<SpeedLog> speedLogs;
@@ -38,16 +61,28 @@ public class Drive {
 
     private List<SpeedRate> speedRate;
 
-    @DynamoDBTypeConverted(converter = TypeConverter.InstantListConverter.class)
+    // speedLogs, idlingPeriods를 압축해 묶은 값 (DriveDocumentCodec), 두 목록 중 하나를 처음 읽을 때 풀고 비움
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private ByteBuffer packedDocuments;
+
+    // 요약 속성 외의 값을 옮긴 S3 객체 키 (DriveOverflowStore), DriveRepository가 읽을 때 채우고 비움
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private String overflowKey;
+
+    @DynamoDBTypeConverted(converter = TypeConverter.VersionedInstantListConverter.class)
     private List<Instant> reactionTimes;
 
-    @DynamoDBTypeConverted(converter = TypeConverter.InstantListConverter.class)
+    @DynamoDBTypeConverted(converter = TypeConverter.VersionedInstantListConverter.class)
     private List<Instant> laneDepartures;
 
-    @DynamoDBTypeConverted(converter = TypeConverter.InstantListConverter.class)
+    @DynamoDBTypeConverted(converter = TypeConverter.VersionedInstantListConverter.class)
     private List<Instant> followingDistanceEvents;
 
-    @DynamoDBTypeConverted(converter = TypeConverter.InstantListConverter.class)
+    @DynamoDBTypeConverted(converter = TypeConverter.VersionedInstantListConverter.class)
     private List<Instant> inactiveMoments;
 
     // <editor-fold desc="# Getter for key">
@@ -62,6 +97,42 @@ public class Drive {
     }
     // </editor-fold>
 
+    // <editor-fold desc="# Packed documents / overflow">
+    @JsonIgnore
+    @DynamoDBAttribute(attributeName = PACKED_DOCUMENTS_ATTRIBUTE)
+    public ByteBuffer getPackedDocuments() {
+        return packedDocuments;
+    }
+
+    public void setPackedDocuments(ByteBuffer packedDocuments) {
+        this.packedDocuments = packedDocuments;
+    }
+
+    @JsonIgnore
+    @DynamoDBAttribute(attributeName = OVERFLOW_KEY_ATTRIBUTE)
+    public String getOverflowKey() {
+        return overflowKey;
+    }
+
+    public List<SpeedLog> getSpeedLogs() {
+        unpack();
+        return speedLogs;
+    }
+
+    public List<StartEndTime> getIdlingPeriods() {
+        unpack();
+        return idlingPeriods;
+    }
+
+    private synchronized void unpack() {
+        if (packedDocuments == null) return;
+        DriveDocumentCodec.Documents documents = DriveDocumentCodec.decode(packedDocuments);
+        packedDocuments = null;
+        if (speedLogs == null) speedLogs = documents.speedLogs();
+        if (idlingPeriods == null) idlingPeriods = documents.idlingPeriods();
+    }
+    // </editor-fold>
+
     //<editor-fold desc="# Inner Classes">
     @DynamoDBDocument
     @Data
@@ -132,5 +203,28 @@ class TypeConverter {
             return strings.stream().map(Instant::parse).collect(Collectors.toList());
         }
     }
+
+    // List<Instant> 변환기 (버전 구분)
+    // 쓸 때는 compact binary로(ISO 형식은 DriveItemCodec이 항목 단위로 바꿈), 읽을 때는 기존 ISO-8601 문자열 목록과 compact binary 모두 읽음
+    public static class VersionedInstantListConverter implements DynamoDBTypeConverter<AttributeValue, List<Instant>> {
+        @Override
+        public AttributeValue convert(List<Instant> instants) {
+            return InstantListCodec.Format.COMPACT.toAttribute(instants);
+        }
+
+        @Override
+        public List<Instant> unconvert(AttributeValue value) {
+            if (value.getB() != null) {
+                return InstantListCodec.decode(value.getB());
+            }
+            if (value.getL() != null) {
+                return value.getL().stream().map(item -> Instant.parse(item.getS())).collect(Collectors.toList());
+            }
+            if (value.getSS() != null) { // 예전 매핑 방식(string set)으로 저장된 값
+                return value.getSS().stream().map(Instant::parse).sorted().collect(Collectors.toList());
+            }
+            throw new IllegalArgumentException("Unsupported instant list attribute: " + value);
+        }
+    }
     //</editor-folder>
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.modive.analysis.entity;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Drive의 큰 하위 문서(speedLogs, idlingPeriods)를 압축한 binary 하나로 묶음 (packedDocuments 속성)
+ *
+ * 형식 (버전 1): [버전 1바이트][압축 1바이트: 0=없음, 1=deflate][원본 길이 varint][본문]
+ * 본문 (압축 전)
+ * - speedLogs: [개수+1 varint (0이면 null)] 항목마다 [period zigzag varint][maxSpeed zigzag varint]
+ * - idlingPeriods: [개수+1 varint (0이면 null)] 항목마다 [시각 존재 플래그 1바이트]
+ *   [startTime: 앞 시각부터의 초 delta zigzag varint, nano varint][endTime: startTime과 같은 방식]
+ * 같은 형태의 값이 반복되므로 deflate로 한 번 더 줄인다.
+ */
+public final class DriveDocumentCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final byte COMPRESSION_NONE = 0;
+    private static final byte COMPRESSION_DEFLATE = 1;
+
+    // 손상된 길이 값으로 큰 배열을 만들지 않도록 하는 상한
+    private static final long MAX_RAW_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * 압축을 푼 하위 문서 (없던 목록은 null)
+     */
+    public record Documents(List<Drive.SpeedLog> speedLogs, List<Drive.StartEndTime> idlingPeriods) {
+    }
+
+    private DriveDocumentCodec() {
+    }
+
+    public static byte[] encode(List<Drive.SpeedLog> speedLogs, List<Drive.StartEndTime> idlingPeriods) {
+        Writer body = new Writer();
+        if (speedLogs == null) {
+            body.varint(0);
+        } else {
+            body.varint(speedLogs.size() + 1L);
+            for (Drive.SpeedLog log : speedLogs) {
+                body.zigzag(log.getPeriod());
+                body.zigzag(log.getMaxSpeed());
+            }
+        }
+        if (idlingPeriods == null) {
+            body.varint(0);
+        } else {
+            body.varint(idlingPeriods.size() + 1L);
+            long previousSecond = 0;
+            for (Drive.StartEndTime period : idlingPeriods) {
+                Instant start = period.getStartTime();
+                Instant end = period.getEndTime();
+                body.out.write((start != null ? 1 : 0) | (end != null ? 2 : 0));
+                if (start != null) {
+                    body.zigzag(start.getEpochSecond() - previousSecond);
+                    body.varint(start.getNano());
+                    previousSecond = start.getEpochSecond();
+                }
+                if (end != null) {
+                    body.zigzag(end.getEpochSecond() - previousSecond);
+                    body.varint(end.getNano());
+                    previousSecond = end.getEpochSecond();
+                }
+            }
+        }
+        byte[] raw = body.out.toByteArray();
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        byte[] compressed;
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            compressed = out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+
+        // 압축해도 줄지 않으면 (짧은 본문) 그대로 저장
+        boolean deflated = compressed.length < raw.length;
+        Writer packed = new Writer();
+        packed.out.write(VERSION);
+        packed.out.write(deflated ? COMPRESSION_DEFLATE : COMPRESSION_NONE);
+        packed.varint(raw.length);
+        packed.out.writeBytes(deflated ? compressed : raw);
+        return packed.out.toByteArray();
+    }
+
+    /**
+     * packedDocuments 속성을 풀어서 반환 (처리 시간은 analysis.dynamodb.packed.decode로 기록)
+     * @throws IllegalArgumentException 알 수 없는 버전/압축 방식이거나 데이터가 손상된 경우
+     */
+    public static Documents decode(ByteBuffer source) {
+        Timer.Sample sample = Timer.start();
+        try {
+            return decodeBody(ByteBuffer.wrap(inflate(source.duplicate())));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated packed drive documents", e);
+        } finally {
+            sample.stop(Metrics.timer("analysis.dynamodb.packed.decode"));
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported packed drive documents version: " + version);
+        }
+        byte compression = buffer.get();
+        long length = readVarint(buffer);
+        if (length > MAX_RAW_BYTES) {
+            throw new IllegalArgumentException("Packed drive documents too large: " + length + " bytes");
+        }
+        byte[] payload = new byte[buffer.remaining()];
+        buffer.get(payload);
+        if (compression == COMPRESSION_NONE) {
+            return payload;
+        }
+        if (compression != COMPRESSION_DEFLATE) {
+            throw new IllegalArgumentException("Unsupported packed drive documents compression: " + compression);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            byte[] raw = new byte[(int) length];
+            int read = inflater.inflate(raw);
+            if (read != length || !inflater.finished()) {
+                throw new IllegalArgumentException("Corrupted packed drive documents: expected " + length + " bytes, got " + read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupted packed drive documents", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static Documents decodeBody(ByteBuffer buffer) {
+        List<Drive.SpeedLog> speedLogs = null;
+        long speedLogCount = readVarint(buffer);
+        if (speedLogCount > 0) {
+            speedLogs = new ArrayList<>((int) Math.min(speedLogCount - 1, buffer.remaining()));
+            for (long i = 1; i < speedLogCount; i++) {
+                speedLogs.add(new Drive.SpeedLog((int) readZigzag(buffer), (int) readZigzag(buffer)));
+            }
+        }
+        List<Drive.StartEndTime> idlingPeriods = null;
+        long idlingCount = readVarint(buffer);
+        if (idlingCount > 0) {
+            idlingPeriods = new ArrayList<>((int) Math.min(idlingCount - 1, buffer.remaining()));
+            long previousSecond = 0;
+            for (long i = 1; i < idlingCount; i++) {
+                byte flags = buffer.get();
+                Instant start = null;
+                Instant end = null;
+                if ((flags & 1) != 0) {
+                    previousSecond += readZigzag(buffer);
+                    start = Instant.ofEpochSecond(previousSecond, readVarint(buffer));
+                }
+                if ((flags & 2) != 0) {
+                    previousSecond += readZigzag(buffer);
+                    end = Instant.ofEpochSecond(previousSecond, readVarint(buffer));
+                }
+                idlingPeriods.add(new Drive.StartEndTime(start, end));
+            }
+        }
+        return new Documents(speedLogs, idlingPeriods);
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+    }
+
+    private static long readZigzag(ByteBuffer buffer) {
+        long value = readVarint(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint in packed drive documents");
+    }
+}
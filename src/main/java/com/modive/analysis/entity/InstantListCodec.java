@@ -0,0 +1,141 @@
+package com.modive.analysis.entity;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Drive의 이벤트 시각 목록(List&lt;Instant&gt;)을 DynamoDB binary 속성으로 인코딩
+ * ISO-8601 문자열(항목당 약 27바이트) 대신 epoch 기준 시각의 차이(delta)를 zigzag varint로 저장해 항목당 보통 1~3바이트가 된다.
+ *
+ * 형식 (버전 1): [버전 1바이트][단위 1바이트][개수 varint][delta zigzag varint]...
+ * - 단위: 0=밀리초, 1=마이크로초, 2=나노초 (모든 시각을 잃지 않고 표현할 수 있는 가장 큰 단위)
+ * - 첫 delta는 epoch부터, 이후는 앞 시각부터의 차이 (순서와 중복을 그대로 보존)
+ */
+public final class InstantListCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final byte UNIT_MILLIS = 0;
+    private static final byte UNIT_MICROS = 1;
+    private static final byte UNIT_NANOS = 2;
+
+    /**
+     * 저장 형식 (compact: binary, iso: 기존 ISO-8601 문자열 목록)
+     * 읽을 때는 형식과 관계없이 둘 다 읽는다. 어떤 형식으로 쓸지는 DriveItemCodec이 정한다.
+     */
+    public enum Format {
+        COMPACT, ISO;
+
+        public static Format from(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+
+        public AttributeValue toAttribute(List<Instant> instants) {
+            if (this == ISO) {
+                return new AttributeValue().withL(instants.stream()
+                        .map(instant -> new AttributeValue(instant.toString()))
+                        .toList());
+            }
+            return new AttributeValue().withB(ByteBuffer.wrap(encode(instants)));
+        }
+    }
+
+    private InstantListCodec() {
+    }
+
+    public static byte[] encode(List<Instant> instants) {
+        byte unit = unitOf(instants);
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 5 + instants.size() * 10);
+        buffer.put(VERSION);
+        buffer.put(unit);
+        writeVarint(buffer, instants.size());
+        long previous = 0;
+        for (Instant instant : instants) {
+            long value = toUnit(instant, unit);
+            long delta = value - previous;
+            writeVarint(buffer, (delta << 1) ^ (delta >> 63)); // zigzag: 순서가 뒤바뀐 음수 delta도 짧게
+            previous = value;
+        }
+        byte[] encoded = new byte[buffer.position()];
+        buffer.flip().get(encoded);
+        return encoded;
+    }
+
+    /**
+     * @throws IllegalArgumentException 알 수 없는 버전/단위이거나 데이터가 잘린 경우
+     */
+    public static List<Instant> decode(ByteBuffer source) {
+        ByteBuffer buffer = source.duplicate();
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported instant list version: " + version);
+            }
+            byte unit = buffer.get();
+            if (unit < UNIT_MILLIS || unit > UNIT_NANOS) {
+                throw new IllegalArgumentException("Unsupported instant list unit: " + unit);
+            }
+            int count = (int) readVarint(buffer);
+            List<Instant> instants = new ArrayList<>(count);
+            long value = 0;
+            for (int i = 0; i < count; i++) {
+                long zigzag = readVarint(buffer);
+                value += (zigzag >>> 1) ^ -(zigzag & 1);
+                instants.add(fromUnit(value, unit));
+            }
+            return instants;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated instant list", e);
+        }
+    }
+
+    private static byte unitOf(List<Instant> instants) {
+        byte unit = UNIT_MILLIS;
+        for (Instant instant : instants) {
+            int nanos = instant.getNano();
+            if (nanos % 1_000 != 0) return UNIT_NANOS;
+            if (nanos % 1_000_000 != 0) unit = UNIT_MICROS;
+        }
+        return unit;
+    }
+
+    private static long toUnit(Instant instant, byte unit) {
+        return switch (unit) {
+            case UNIT_MILLIS -> instant.toEpochMilli();
+            case UNIT_MICROS -> Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+            default -> Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        };
+    }
+
+    private static Instant fromUnit(long value, byte unit) {
+        return switch (unit) {
+            case UNIT_MILLIS -> Instant.ofEpochMilli(value);
+            case UNIT_MICROS -> Instant.ofEpochSecond(Math.floorDiv(value, 1_000_000L), Math.floorMod(value, 1_000_000L) * 1_000L);
+            default -> Instant.ofEpochSecond(Math.floorDiv(value, 1_000_000_000L), Math.floorMod(value, 1_000_000_000L));
+        };
+    }
+
+    private static void writeVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint in instant list");
+    }
+}
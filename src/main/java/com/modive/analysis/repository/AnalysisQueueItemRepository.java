@@ -0,0 +1,57 @@
+package com.modive.analysis.repository;
+
+import com.modive.analysis.entity.AnalysisQueueItem;
+import com.modive.analysis.worker.AnalysisPriority;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AnalysisQueueItemRepository extends JpaRepository<AnalysisQueueItem, String> {
+
+    /**
+     * lane에서 가져갈 수 있는 항목을 오래된 순서로 잠금 (SELECT ... FOR UPDATE SKIP LOCKED)
+     * 다른 replica가 잠근 행은 기다리지 않고 건너뛰므로 replica끼리 서로 막지 않는다. 트랜잭션 안에서 호출해야 함
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")) // -2: SKIP LOCKED
+    @Query("""
+        SELECT q FROM AnalysisQueueItem q
+        WHERE q.priority = :priority AND (q.leaseExpiresAt IS NULL OR q.leaseExpiresAt < :now)
+        ORDER BY q.enqueuedAt
+    """)
+    List<AnalysisQueueItem> findClaimable(@Param("priority") AnalysisPriority priority, @Param("now") Instant now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE AnalysisQueueItem q SET q.leaseExpiresAt = :expiresAt
+        WHERE q.leaseOwner = :owner AND q.driveId IN :driveIds
+    """)
+    int renewLeases(@Param("owner") String owner, @Param("driveIds") Collection<String> driveIds, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE AnalysisQueueItem q SET q.leaseOwner = NULL, q.leaseExpiresAt = NULL
+        WHERE q.leaseOwner = :owner AND q.driveId IN :driveIds
+    """)
+    int releaseLeases(@Param("owner") String owner, @Param("driveIds") Collection<String> driveIds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AnalysisQueueItem q WHERE q.driveId = :driveId AND q.leaseOwner = :owner")
+    int deleteOwned(@Param("driveId") String driveId, @Param("owner") String owner);
+}
@@ -0,0 +1,21 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.modive.analysis.entity.BackfillJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BackfillJobRepository {
+
+    private final DynamoDBMapper dynamoDBMapper;
+
+    public void save(BackfillJob job) {
+        dynamoDBMapper.save(job);
+    }
+
+    public BackfillJob findById(String backfillId) {
+        return dynamoDBMapper.load(BackfillJob.class, backfillId);
+    }
+}
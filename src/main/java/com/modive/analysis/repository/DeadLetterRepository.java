@@ -0,0 +1,35 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.modive.analysis.entity.DeadLetter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class DeadLetterRepository {
+
+    private final DynamoDBMapper dynamoDBMapper;
+
+    public void save(DeadLetter deadLetter) {
+        dynamoDBMapper.save(deadLetter);
+    }
+
+    public DeadLetter findById(String driveId) {
+        return dynamoDBMapper.load(DeadLetter.class, driveId);
+    }
+
+    /**
+     * dead-letter 목록 (최대 limit개, 순서 없음)
+     */
+    public List<DeadLetter> findAll(int limit) {
+        return dynamoDBMapper.scanPage(DeadLetter.class, new DynamoDBScanExpression().withLimit(limit)).getResults();
+    }
+
+    public void delete(DeadLetter deadLetter) {
+        dynamoDBMapper.delete(deadLetter);
+    }
+}
@@ -0,0 +1,273 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.worker.RetryPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 주행 저장 write-behind 버퍼
+ * save()는 항목을 버퍼에 넣고 바로 반환하며, writer 스레드가 최대 25개(BatchWriteItem 한도) 또는 lingerMs까지 모아서 한 번에 저장한다.
+ * 처리되지 않은 항목(UnprocessedItems)은 지수 백오프 뒤 다시 요청하고, 항목마다 저장이 끝나면 Future를 완료한다.
+ * 재시도를 모두 소진하면 throttling 예외로 Future를 실패시켜 분석 작업의 재시도 정책을 따르게 한다.
+ *
+ * 메트릭
+ * - analysis.persist.batch.size: BatchWriteItem 요청 하나에 담긴 항목 수
+ * - analysis.persist.unprocessed: 처리되지 않아 다시 요청한 항목 수
+ * - analysis.persist.pending: 버퍼에서 저장을 기다리는 항목 수
+ */
+@Component
+@RequiredArgsConstructor
+public class DriveBatchWriter implements InitializingBean, DisposableBean {
+
+    // BatchWriteItem 요청 하나에 담을 수 있는 최대 항목 수
+    static final int MAX_BATCH_SIZE = 25;
+
+    private final DynamoDBMapper dynamoDBMapper;
+    private final AmazonDynamoDB amazonDynamoDB;
+    private final DriveItemCodec driveItemCodec;
+    private final MeterRegistry meterRegistry;
+
+    // 끄면 DriveRepository.saveAsync()가 항목마다 바로 저장
+    @Value("${analysis.persist.batch-writer.enabled:true}")
+    private boolean enabled;
+
+    // 첫 항목이 들어온 뒤 배치를 채우기 위해 기다리는 최대 시간
+    @Value("${analysis.persist.batch-writer.linger-ms:20}")
+    private long lingerMs;
+
+    // 동시에 BatchWriteItem을 요청하는 writer 스레드 수
+    @Value("${analysis.persist.batch-writer.concurrency:4}")
+    private int concurrency;
+
+    // 버퍼 크기 (가득 차면 save()를 호출한 스레드가 자리가 날 때까지 대기)
+    @Value("${analysis.persist.batch-writer.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // 처리되지 않은 항목 재시도 (처음 요청을 포함한 최대 횟수, 지수 백오프 기준/상한)
+    @Value("${analysis.persist.batch-writer.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${analysis.persist.batch-writer.base-delay-ms:50}")
+    private long baseDelayMs;
+
+    @Value("${analysis.persist.batch-writer.max-delay-ms:2000}")
+    private long maxDelayMs;
+
+    private BlockingQueue<PendingWrite> buffer;
+    private ExecutorService writers;
+    private DynamoDBMapperTableModel<Drive> tableModel;
+    private String tableName;
+    private RetryPolicy retryPolicy;
+    private volatile boolean closed;
+
+    private DistributionSummary batchSizeSummary;
+    private Counter unprocessedCounter;
+
+    private record PendingWrite(Drive drive, CompletableFuture<Void> future) {
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        tableModel = dynamoDBMapper.getTableModel(Drive.class);
+        tableName = dynamoDBMapper.generateCreateTableRequest(Drive.class).getTableName();
+        retryPolicy = new RetryPolicy(maxAttempts, baseDelayMs, maxDelayMs);
+        buffer = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+
+        batchSizeSummary = DistributionSummary.builder("analysis.persist.batch.size")
+                .description("BatchWriteItem 요청 하나에 담긴 주행 수")
+                .register(meterRegistry);
+        unprocessedCounter = Counter.builder("analysis.persist.unprocessed")
+                .description("처리되지 않아 다시 요청한 주행 수")
+                .register(meterRegistry);
+        Gauge.builder("analysis.persist.pending", buffer, BlockingQueue::size)
+                .description("write-behind 버퍼에서 저장을 기다리는 주행 수")
+                .register(meterRegistry);
+
+        if (!enabled) return;
+        AtomicInteger sequence = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(Math.max(1, concurrency), r -> {
+            Thread thread = new Thread(r, "drive-batch-writer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < Math.max(1, concurrency); i++) {
+            writers.submit(this::writeLoop);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 주행을 버퍼에 넣고, 저장이 끝나면 완료되는 Future 반환
+     * @throws RejectedExecutionException 종료된 경우
+     */
+    public CompletableFuture<Void> save(Drive drive) {
+        if (closed) {
+            throw new RejectedExecutionException("Drive batch writer is closed");
+        }
+        PendingWrite write = new PendingWrite(drive, new CompletableFuture<>());
+        try {
+            buffer.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for drive batch writer buffer", e);
+        }
+        return write.future();
+    }
+
+    /**
+     * 버퍼에 남은 항목을 모두 저장한 뒤 writer 스레드 종료 (최대 timeoutMs 대기)
+     */
+    public void close(long timeoutMs) {
+        closed = true;
+        if (writers == null) return;
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                writers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writers.shutdownNow();
+        }
+        // 저장하지 못한 항목은 실패로 완료 (분석 작업이 다시 시도됨)
+        List<PendingWrite> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        remaining.forEach(write -> write.future().completeExceptionally(
+                new RejectedExecutionException("Drive batch writer closed before write")));
+    }
+
+    @Override
+    public void destroy() {
+        close(5000);
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (true) {
+            try {
+                // 종료 후에는 버퍼가 빌 때까지만 계속 저장
+                PendingWrite first = closed ? buffer.poll() : buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed || Thread.currentThread().isInterrupted()) return;
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(write -> write.future().completeExceptionally(e));
+                return;
+            } catch (RuntimeException e) {
+                batch.forEach(write -> write.future().completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private void fillBatch(List<PendingWrite> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < MAX_BATCH_SIZE) {
+            buffer.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= MAX_BATCH_SIZE || remaining <= 0 || closed) break;
+
+            PendingWrite next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+        }
+    }
+
+    /**
+     * 배치를 BatchWriteItem으로 저장하고 처리되지 않은 항목은 백오프 뒤 다시 요청
+     * 같은 키가 여러 번 들어오면 (요청에 중복 키가 있으면 DynamoDB가 거절하므로) 마지막 항목만 저장하고 모두 같이 완료한다.
+     */
+    private void write(List<PendingWrite> batch) throws InterruptedException {
+        Map<String, List<PendingWrite>> writesByKey = new LinkedHashMap<>();
+        Map<String, Map<String, AttributeValue>> itemsByKey = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            Map<String, AttributeValue> item;
+            try {
+                item = driveItemCodec.encode(write.drive());
+            } catch (RuntimeException e) {
+                write.future().completeExceptionally(e); // 변환할 수 없는 항목만 실패
+                continue;
+            }
+            String key = key(item);
+            writesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(write);
+            itemsByKey.put(key, item);
+        }
+        batchSizeSummary.record(itemsByKey.size());
+
+        for (int attempt = 1; !itemsByKey.isEmpty(); attempt++) {
+            List<WriteRequest> requests = itemsByKey.values().stream()
+                    .map(item -> new WriteRequest(new PutRequest(item)))
+                    .toList();
+            BatchWriteItemResult result = amazonDynamoDB.batchWriteItem(
+                    new BatchWriteItemRequest(Map.of(tableName, requests)));
+
+            Map<String, Map<String, AttributeValue>> unprocessed = new LinkedHashMap<>();
+            List<WriteRequest> unprocessedRequests = result.getUnprocessedItems() == null
+                    ? List.of() : result.getUnprocessedItems().getOrDefault(tableName, List.of());
+            for (WriteRequest request : unprocessedRequests) {
+                Map<String, AttributeValue> item = request.getPutRequest().getItem();
+                unprocessed.put(key(item), item);
+            }
+            for (String key : itemsByKey.keySet()) {
+                if (!unprocessed.containsKey(key)) {
+                    writesByKey.get(key).forEach(write -> write.future().complete(null));
+                }
+            }
+            itemsByKey = unprocessed;
+            if (itemsByKey.isEmpty()) break;
+
+            unprocessedCounter.increment(itemsByKey.size());
+            if (!retryPolicy.shouldRetry(attempt)) {
+                ProvisionedThroughputExceededException e = new ProvisionedThroughputExceededException(
+                        itemsByKey.size() + " drives still unprocessed after " + attempt + " BatchWriteItem attempts");
+                e.setErrorCode("ProvisionedThroughputExceededException");
+                e.setStatusCode(400);
+                itemsByKey.keySet().forEach(key -> writesByKey.get(key).forEach(write -> write.future().completeExceptionally(e)));
+                return;
+            }
+            Thread.sleep(retryPolicy.backoffMillis(attempt));
+        }
+    }
+
+    private String key(Map<String, AttributeValue> item) {
+        return item.get(tableModel.hashKey().name()).getS() + "\u0000" + item.get(tableModel.rangeKey().name()).getS();
+    }
+}
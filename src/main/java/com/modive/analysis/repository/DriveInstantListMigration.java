@@ -0,0 +1,151 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.entity.InstantListCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * drive 테이블에 ISO-8601 문자열 목록으로 저장된 이벤트 시각 목록을 compact binary로 옮김
+ * 페이지 단위로 scan하고, 옮길 속성만 UpdateItem으로 바꾼다.
+ * 속성이 아직 문자열 목록일 때만 바꾸므로(조건부 쓰기) 그 사이에 다시 분석되어 저장된 항목을 덮어쓰지 않는다.
+ * analysis.dynamodb.instant-list.migrate-on-startup=true이면 시작할 때 백그라운드로 끝까지 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DriveInstantListMigration implements ApplicationRunner {
+
+    private final AmazonDynamoDB amazonDynamoDB;
+    private final DynamoDBMapper dynamoDBMapper;
+    private final DriveItemCodec driveItemCodec;
+
+    @Value("${analysis.dynamodb.instant-list.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    // scan 한 번에 읽을 최대 항목 수
+    @Value("${analysis.dynamodb.instant-list.migration-page-size:100}")
+    private int pageSize;
+
+    /**
+     * @param scanned 이번 페이지에서 읽은 항목 수 (문자열 목록이 있는 항목만)
+     * @param migrated compact binary로 바꾼 항목 수
+     * @param lastEvaluatedKey 다음 페이지 시작 키, 끝이면 null
+     */
+    public record Page(int scanned, int migrated, Map<String, AttributeValue> lastEvaluatedKey) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!migrateOnStartup) return;
+        if (driveItemCodec.getInstantListFormat() != InstantListCodec.Format.COMPACT) {
+            log.info("Skipping drive instant list migration: analysis.dynamodb.instant-list.format is not compact");
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                migrateAll();
+            } catch (RuntimeException e) {
+                log.error("Error migrating drive instant lists", e);
+            }
+        }, "drive-instant-list-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 테이블 끝까지 옮기고 옮긴 항목 수 반환
+     */
+    public long migrateAll() {
+        long migrated = 0;
+        Map<String, AttributeValue> startKey = null;
+        do {
+            Page page = migratePage(startKey, pageSize);
+            migrated += page.migrated();
+            startKey = page.lastEvaluatedKey();
+        } while (startKey != null);
+        log.info("Migrated instant lists of {} drives to compact format", migrated);
+        return migrated;
+    }
+
+    /**
+     * startKey부터 최대 limit개를 scan해서 옮김
+     */
+    public Page migratePage(Map<String, AttributeValue> startKey, int limit) {
+        Map<String, String> names = new HashMap<>();
+        names.put("#userId", "userId");
+        names.put("#driveId", "driveId");
+        List<String> projection = new ArrayList<>(List.of("#userId", "#driveId"));
+        List<String> filters = new ArrayList<>();
+        for (int i = 0; i < Drive.INSTANT_LIST_ATTRIBUTES.size(); i++) {
+            names.put("#a" + i, Drive.INSTANT_LIST_ATTRIBUTES.get(i));
+            projection.add("#a" + i);
+            filters.add("attribute_type(#a" + i + ", :list)");
+        }
+        ScanResult result = amazonDynamoDB.scan(new ScanRequest(tableName())
+                .withLimit(limit)
+                .withExclusiveStartKey(startKey)
+                .withProjectionExpression(String.join(", ", projection))
+                .withFilterExpression(String.join(" OR ", filters))
+                .withExpressionAttributeNames(names)
+                .withExpressionAttributeValues(Map.of(":list", new AttributeValue("L"))));
+
+        int migrated = 0;
+        for (Map<String, AttributeValue> item : result.getItems()) {
+            if (migrate(item)) migrated++;
+        }
+        return new Page(result.getItems().size(), migrated, result.getLastEvaluatedKey());
+    }
+
+    private boolean migrate(Map<String, AttributeValue> item) {
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        List<String> sets = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < Drive.INSTANT_LIST_ATTRIBUTES.size(); i++) {
+            AttributeValue value = item.get(Drive.INSTANT_LIST_ATTRIBUTES.get(i));
+            if (value == null || value.getL() == null) continue;
+            List<Instant> instants = value.getL().stream().map(element -> Instant.parse(element.getS())).toList();
+            names.put("#a" + i, Drive.INSTANT_LIST_ATTRIBUTES.get(i));
+            values.put(":v" + i, InstantListCodec.Format.COMPACT.toAttribute(instants));
+            sets.add("#a" + i + " = :v" + i);
+            conditions.add("attribute_type(#a" + i + ", :list)");
+        }
+        if (sets.isEmpty()) return false;
+        values.put(":list", new AttributeValue("L"));
+
+        try {
+            amazonDynamoDB.updateItem(new UpdateItemRequest()
+                    .withTableName(tableName())
+                    .withKey(Map.of("userId", item.get("userId"), "driveId", item.get("driveId")))
+                    .withUpdateExpression("SET " + String.join(", ", sets))
+                    .withConditionExpression(String.join(" AND ", conditions))
+                    .withExpressionAttributeNames(names)
+                    .withExpressionAttributeValues(values));
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false; // scan 뒤에 다시 저장되어 이미 compact 형식
+        }
+    }
+
+    private String tableName() {
+        return dynamoDBMapper.generateCreateTableRequest(Drive.class).getTableName();
+    }
+}
@@ -0,0 +1,137 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.entity.DriveDocumentCodec;
+import com.modive.analysis.entity.InstantListCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drive를 DynamoDB 항목으로 변환 (mapper 변환 + 큰 하위 문서 압축)
+ * analysis.dynamodb.packed-documents.enabled=true이면 speedLogs, idlingPeriods 속성 크기의 합이 threshold-bytes를 넘을 때
+ * 두 속성을 빼고 압축한 binary 하나(packedDocuments)로 저장한다. 읽을 때는 Drive가 처음 접근할 때 푼다.
+ * 압축하지 않는 설정에서도 packedDocuments를 읽을 수 있으므로, 켜기 전에 모든 인스턴스를 이 버전으로 배포하면 된다.
+ * 압축한 뒤에도 항목이 overflow 기준을 넘으면 주행을 S3로 옮기고 요약 속성과 객체 키만 남긴다 (DriveOverflowStore).
+ * 이벤트 시각 목록은 analysis.dynamodb.instant-list.format이 iso이면 기존 ISO-8601 문자열 목록으로 바꿔 저장한다.
+ *
+ * 메트릭
+ * - analysis.dynamodb.packed.encode: 압축 시간
+ * - analysis.dynamodb.packed.saved: 압축으로 줄인 항목 크기 (바이트)
+ * - analysis.dynamodb.packed.items: 압축해서 저장한 항목 수
+ * - analysis.dynamodb.packed.decode: 푸는 시간 (DriveDocumentCodec)
+ */
+@Component
+@RequiredArgsConstructor
+public class DriveItemCodec implements InitializingBean {
+
+    private final DynamoDBMapper dynamoDBMapper;
+    private final DriveOverflowStore driveOverflowStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${analysis.dynamodb.packed-documents.enabled:false}")
+    private boolean enabled;
+
+    // speedLogs + idlingPeriods 속성 크기가 이 값을 넘으면 압축
+    @Value("${analysis.dynamodb.packed-documents.threshold-bytes:8192}")
+    private long thresholdBytes;
+
+    // Drive 이벤트 시각 목록 저장 형식 (compact: delta 인코딩 binary, iso: 기존 ISO-8601 문자열 목록), 읽기는 둘 다 지원
+    // compact를 읽지 못하는 이전 버전과 같이 배포하는 동안은 iso
+    @Value("${analysis.dynamodb.instant-list.format:compact}")
+    private String instantListFormat;
+
+    private InstantListCodec.Format writeFormat;
+    private DynamoDBMapperTableModel<Drive> tableModel;
+    private Timer encodeTimer;
+    private DistributionSummary savedSummary;
+    private Counter packedCounter;
+
+    @Override
+    public void afterPropertiesSet() {
+        tableModel = dynamoDBMapper.getTableModel(Drive.class);
+        writeFormat = InstantListCodec.Format.from(instantListFormat);
+        encodeTimer = Timer.builder("analysis.dynamodb.packed.encode")
+                .description("주행 하위 문서 압축 시간")
+                .register(meterRegistry);
+        savedSummary = DistributionSummary.builder("analysis.dynamodb.packed.saved")
+                .description("압축으로 줄인 주행 항목 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        packedCounter = Counter.builder("analysis.dynamodb.packed.items")
+                .description("하위 문서를 압축해서 저장한 주행 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 압축과 overflow를 모두 끄고 이벤트 시각 목록을 compact로 저장하면 mapper.save/batchSave로 저장해도 같은 항목이 됨
+     */
+    public boolean isMapperCompatible() {
+        return !enabled && !driveOverflowStore.isEnabled() && writeFormat == InstantListCodec.Format.COMPACT;
+    }
+
+    public InstantListCodec.Format getInstantListFormat() {
+        return writeFormat;
+    }
+
+    public Map<String, AttributeValue> encode(Drive drive) {
+        Map<String, AttributeValue> item = new HashMap<>(tableModel.convert(drive));
+        // 목록을 이미 풀었거나 새로 채운 경우 이전 압축 값/객체 키는 쓰지 않음
+        item.remove(Drive.PACKED_DOCUMENTS_ATTRIBUTE);
+        item.remove(Drive.OVERFLOW_KEY_ATTRIBUTE);
+        if (writeFormat == InstantListCodec.Format.ISO) writeIsoInstantLists(drive, item);
+        if (enabled) pack(drive, item);
+        if (driveOverflowStore.exceedsThreshold(DynamoDbItemSize.of(item))) {
+            String key = driveOverflowStore.put(drive);
+            item.keySet().removeIf(attribute -> !attribute.equals(tableModel.hashKey().name())
+                    && !attribute.equals(tableModel.rangeKey().name())
+                    && !Drive.SUMMARY_ATTRIBUTES.contains(attribute));
+            item.put(Drive.OVERFLOW_KEY_ATTRIBUTE, new AttributeValue(key));
+        }
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeIsoInstantLists(Drive drive, Map<String, AttributeValue> item) {
+        for (String attribute : Drive.INSTANT_LIST_ATTRIBUTES) {
+            if (!item.containsKey(attribute)) continue;
+            List<Instant> instants = (List<Instant>) tableModel.field(attribute).get(drive);
+            item.put(attribute, writeFormat.toAttribute(instants));
+        }
+    }
+
+    private void pack(Drive drive, Map<String, AttributeValue> item) {
+
+        Map<String, AttributeValue> documents = new HashMap<>();
+        for (String attribute : Drive.PACKED_ATTRIBUTES) {
+            AttributeValue value = item.get(attribute);
+            if (value != null) documents.put(attribute, value);
+        }
+        long documentBytes = DynamoDbItemSize.of(documents);
+        if (documentBytes <= thresholdBytes) return;
+
+        Timer.Sample sample = Timer.start();
+        byte[] packed = DriveDocumentCodec.encode(drive.getSpeedLogs(), drive.getIdlingPeriods());
+        sample.stop(encodeTimer);
+
+        Drive.PACKED_ATTRIBUTES.forEach(item::remove);
+        AttributeValue packedValue = new AttributeValue().withB(ByteBuffer.wrap(packed));
+        item.put(Drive.PACKED_DOCUMENTS_ATTRIBUTE, packedValue);
+        savedSummary.record(documentBytes - DynamoDbItemSize.of(Map.of(Drive.PACKED_DOCUMENTS_ATTRIBUTE, packedValue)));
+        packedCounter.increment();
+    }
+}
@@ -0,0 +1,169 @@
+package com.modive.analysis.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modive.analysis.entity.Drive;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * DynamoDB 항목 크기 한도(400KB)를 넘는 주행을 S3로 옮겨 저장
+ * 주행 전체를 gzip JSON 객체 하나로 쓰고, DynamoDB 항목에는 키와 요약 속성(Drive.SUMMARY_ATTRIBUTES)과 객체 키(overflowKey)만 남긴다.
+ * 객체 키는 주행마다 고정(prefix/userId/driveId.json.gz)이므로 다시 분석해서 저장하면 같은 객체를 덮어쓴다.
+ * 객체를 먼저 쓰고 항목을 쓰므로 항목이 가리키는 객체가 없는 경우는 생기지 않는다.
+ * analysis.dynamodb.overflow.bucket을 지정해야 켜진다.
+ * 여러 주행을 한 번에 읽을 때(resolveAll)는 S3 객체를 read-concurrency개까지 동시에 읽는다.
+ *
+ * 메트릭
+ * - analysis.dynamodb.overflow.items: S3로 옮긴 주행 수
+ * - analysis.dynamodb.overflow.bytes: 옮긴 객체 크기 (압축 후)
+ */
+@Component
+@RequiredArgsConstructor
+public class DriveOverflowStore implements InitializingBean {
+
+    private final S3Client overflowS3Client;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // 비어 있으면 옮기지 않음 (큰 항목은 DynamoDB 저장이 실패)
+    @Value("${analysis.dynamodb.overflow.bucket:}")
+    private String bucket;
+
+    @Value("${analysis.dynamodb.overflow.prefix:drive-overflow/}")
+    private String prefix;
+
+    // 변환한 항목 크기가 이 값을 넘으면 옮김 (400KB 한도에서 크기 계산 오차를 뺀 값)
+    @Value("${analysis.dynamodb.overflow.threshold-bytes:358400}")
+    private long thresholdBytes;
+
+    // resolveAll에서 동시에 읽는 S3 객체 수
+    @Value("${analysis.dynamodb.overflow.read-concurrency:8}")
+    private int readConcurrency;
+
+    private ExecutorService readExecutor;
+    private Counter overflowCounter;
+    private DistributionSummary overflowBytesSummary;
+
+    @Override
+    public void afterPropertiesSet() {
+        AtomicInteger sequence = new AtomicInteger();
+        readExecutor = Executors.newFixedThreadPool(Math.max(1, readConcurrency), r -> {
+            Thread thread = new Thread(r, "analysis-overflow-read-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        overflowCounter = Counter.builder("analysis.dynamodb.overflow.items")
+                .description("S3로 옮겨 저장한 주행 수")
+                .register(meterRegistry);
+        overflowBytesSummary = DistributionSummary.builder("analysis.dynamodb.overflow.bytes")
+                .description("S3로 옮긴 주행 객체 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return !bucket.isBlank();
+    }
+
+    public boolean exceedsThreshold(long itemBytes) {
+        return isEnabled() && itemBytes > thresholdBytes;
+    }
+
+    /**
+     * 주행 전체를 S3에 쓰고 객체 키 반환
+     */
+    public String put(Drive drive) {
+        String key = prefix + drive.getUserId() + "/" + drive.getDriveId() + ".json.gz";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, drive);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize drive " + drive.getDriveId(), e);
+        }
+        overflowS3Client.putObject(PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType("application/json")
+                .contentEncoding("gzip")
+                .build(), RequestBody.fromBytes(bytes.toByteArray()));
+        overflowCounter.increment();
+        overflowBytesSummary.record(bytes.size());
+        return key;
+    }
+
+    /**
+     * overflowKey가 있는 주행이면 S3 객체를 읽어 요약 속성 외의 값을 채우고 overflowKey를 비움
+     */
+    public Drive resolve(Drive drive) {
+        if (drive == null || drive.getOverflowKey() == null) return drive;
+        Drive stored;
+        try (InputStream in = new GZIPInputStream(overflowS3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(drive.getOverflowKey())
+                .build()))) {
+            stored = objectMapper.readValue(in, Drive.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read overflowed drive " + drive.getOverflowKey(), e);
+        }
+        drive.setSuddenAccelerations(stored.getSuddenAccelerations());
+        drive.setSharpTurns(stored.getSharpTurns());
+        drive.setSpeedLogs(stored.getSpeedLogs());
+        drive.setIdlingPeriods(stored.getIdlingPeriods());
+        drive.setReactionTimes(stored.getReactionTimes());
+        drive.setLaneDepartures(stored.getLaneDepartures());
+        drive.setFollowingDistanceEvents(stored.getFollowingDistanceEvents());
+        drive.setInactiveMoments(stored.getInactiveMoments());
+        drive.setOverflowKey(null);
+        return drive;
+    }
+
+    /**
+     * 여러 주행을 resolve (S3로 옮긴 주행이 여럿이면 객체를 동시에 읽음)
+     * 주행 객체를 그대로 채우므로 목록의 순서는 바뀌지 않는다.
+     */
+    public List<Drive> resolveAll(List<Drive> drives) {
+        List<Drive> overflowed = drives.stream().filter(drive -> drive.getOverflowKey() != null).toList();
+        if (overflowed.size() <= 1) {
+            overflowed.forEach(this::resolve);
+            return drives;
+        }
+        try {
+            CompletableFuture.allOf(overflowed.stream()
+                    .map(drive -> CompletableFuture.runAsync(() -> resolve(drive), readExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+        return drives;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readExecutor.shutdownNow();
+    }
+}
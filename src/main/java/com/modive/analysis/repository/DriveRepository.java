@@ -1,21 +1,221 @@
 package com.modive.analysis.repository;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
 import com.modive.analysis.entity.Drive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 
 @Slf4j
 @Repository
 @RequiredArgsConstructor
-public class DriveRepository {
+public class DriveRepository implements InitializingBean {
 
     private final DynamoDBMapper dynamoDBMapper;
+    private final DriveBatchWriter driveBatchWriter;
+    private final AmazonDynamoDB amazonDynamoDB;
+    private final DriveItemCodec driveItemCodec;
+    private final DriveOverflowStore driveOverflowStore;
+
+    // 한 페이지 최대 주행 수 (BatchGetItem 한도)
+    static final int MAX_PAGE_SIZE = 100;
+
+    // 요약 조회 ProjectionExpression (키 + Drive.SUMMARY_ATTRIBUTES)
+    private static final Map<String, String> SUMMARY_NAMES = summaryNames();
+    private static final String SUMMARY_PROJECTION = String.join(", ", SUMMARY_NAMES.keySet());
+
+    // 조회를 강한 일관성으로 읽을지 (DynamoDbConfig와 같은 설정, GSI 조회는 항상 eventually consistent)
+    @Value("${analysis.dynamodb.consistent-reads:false}")
+    private boolean consistentReads;
+
+    private DynamoDBMapperTableModel<Drive> tableModel;
+    private String tableName;
+
+    @Override
+    public void afterPropertiesSet() {
+        tableModel = dynamoDBMapper.getTableModel(Drive.class);
+        tableName = dynamoDBMapper.generateCreateTableRequest(Drive.class).getTableName();
+    }
+
+    /**
+     * 조회 결과 한 페이지
+     * @param nextPageToken 다음 페이지 토큰, 마지막 페이지면 null
+     */
+    public record Page<T>(List<T> items, String nextPageToken) {
+    }
 
+    /**
+     * 하위 문서 압축(analysis.dynamodb.packed-documents)이나 S3 overflow(analysis.dynamodb.overflow)를 켜거나
+     * 이벤트 시각 목록을 iso 형식(analysis.dynamodb.instant-list.format)으로 저장하면 DriveItemCodec으로 변환한 항목을 PutItem으로 저장
+     */
     public void save(Drive drive) {
-        dynamoDBMapper.save(drive);
+        if (driveItemCodec.isMapperCompatible()) {
+            dynamoDBMapper.save(drive);
+            return;
+        }
+        amazonDynamoDB.putItem(new PutItemRequest(tableName, driveItemCodec.encode(drive)));
+    }
+
+    /**
+     * 주행을 write-behind 버퍼에 넣고 저장이 끝나면 완료되는 Future 반환 (다른 주행과 모아서 BatchWriteItem으로 저장)
+     * batch writer를 끄면 호출한 스레드에서 바로 저장
+     */
+    public CompletableFuture<Void> saveAsync(Drive drive) {
+        if (!driveBatchWriter.isEnabled()) {
+            save(drive);
+            return CompletableFuture.completedFuture(null);
+        }
+        return driveBatchWriter.save(drive);
+    }
+
+    /**
+     * 여러 주행을 BatchWriteItem으로 저장 (25개 단위로 나뉘어 요청되고, 처리되지 않은 항목은 mapper가 재시도)
+     * 재시도 후에도 남은 항목이 있으면 예외
+     */
+    public void saveAll(List<Drive> drives) {
+        if (drives.isEmpty()) return;
+        if (!driveItemCodec.isMapperCompatible()) {
+            // mapper.batchSave는 압축/overflow/iso 형식 변환을 하지 않으므로 변환한 항목을 모아서 쓰는 batch writer로 저장
+            CompletableFuture.allOf(drives.stream().map(this::saveAsync).toArray(CompletableFuture[]::new)).join();
+            return;
+        }
+
+        List<FailedBatch> failedBatches = dynamoDBMapper.batchSave(drives);
+        if (!failedBatches.isEmpty()) {
+            int unprocessed = failedBatches.stream()
+                    .mapToInt(batch -> batch.getUnprocessedItems().values().stream().mapToInt(List::size).sum())
+                    .sum();
+            throw new RuntimeException("DynamoDB batch write failed for " + unprocessed + " drives",
+                    failedBatches.get(0).getException());
+        }
+    }
+
+    /**
+     * 주행 하나 조회 (S3로 옮긴 주행이면 객체를 읽어 채움)
+     */
+    public Optional<Drive> findById(String userId, String driveId) {
+        return Optional.ofNullable(driveOverflowStore.resolve(dynamoDBMapper.load(Drive.class, userId, driveId)));
+    }
+
+    /**
+     * 주행 하나의 요약 속성(Drive.SUMMARY_ATTRIBUTES)만 조회 (ProjectionExpression)
+     */
+    public Optional<Drive> findSummaryById(String userId, String driveId) {
+        GetItemResult result = amazonDynamoDB.getItem(new GetItemRequest()
+                .withTableName(tableName)
+                .withKey(Map.of("userId", new AttributeValue(userId), "driveId", new AttributeValue(driveId)))
+                .withProjectionExpression(SUMMARY_PROJECTION)
+                .withExpressionAttributeNames(SUMMARY_NAMES)
+                .withConsistentRead(consistentReads));
+        return Optional.ofNullable(result.getItem()).map(tableModel::unconvert);
+    }
+
+    /**
+     * 사용자의 주행 요약을 시작 시각 최신순으로 limit개 조회 (GSI에 포함된 요약 속성만 읽음)
+     * @param pageToken 이전 페이지의 nextPageToken, 첫 페이지면 null
+     * @throws IllegalArgumentException limit이 범위를 벗어나거나 pageToken이 잘못된 경우
+     */
+    public Page<Drive> findSummariesByUserId(String userId, int limit, String pageToken) {
+        QueryResult result = queryByStartTime(userId, limit, pageToken, SUMMARY_PROJECTION, SUMMARY_NAMES);
+        return new Page<>(result.getItems().stream().map(tableModel::unconvert).toList(),
+                encodePageToken(result.getLastEvaluatedKey()));
+    }
+
+    /**
+     * 사용자의 주행 전체를 시작 시각 최신순으로 limit개 조회
+     * GSI에서 키만 읽은 뒤 테이블에서 BatchGetItem으로 읽고, S3로 옮긴 주행은 객체를 동시에 읽어 채운다.
+     * @throws IllegalArgumentException limit이 범위를 벗어나거나 pageToken이 잘못된 경우
+     */
+    public Page<Drive> findByUserId(String userId, int limit, String pageToken) {
+        QueryResult result = queryByStartTime(userId, limit, pageToken, "#userId, #driveId",
+                Map.of("#userId", "userId", "#driveId", "driveId"));
+        List<Drive> keys = result.getItems().stream().map(tableModel::unconvert).toList();
+
+        Map<String, Drive> loaded = new HashMap<>();
+        if (!keys.isEmpty()) {
+            dynamoDBMapper.batchLoad(keys).values().forEach(items ->
+                    items.forEach(item -> loaded.put(((Drive) item).getDriveId(), (Drive) item)));
+        }
+        // GSI 순서대로, 조회 사이에 삭제된 주행은 제외
+        List<Drive> drives = driveOverflowStore.resolveAll(keys.stream()
+                .map(key -> loaded.get(key.getDriveId()))
+                .filter(Objects::nonNull)
+                .toList());
+        return new Page<>(drives, encodePageToken(result.getLastEvaluatedKey()));
+    }
+
+    private QueryResult queryByStartTime(String userId, int limit, String pageToken,
+                                         String projection, Map<String, String> names) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        }
+        // GSI는 eventually consistent 읽기만 지원
+        return amazonDynamoDB.query(new QueryRequest(tableName)
+                .withIndexName(Drive.USER_START_TIME_INDEX)
+                .withKeyConditionExpression("#userId = :userId")
+                .withExpressionAttributeNames(names)
+                .withExpressionAttributeValues(Map.of(":userId", new AttributeValue(userId)))
+                .withProjectionExpression(projection)
+                .withScanIndexForward(false)
+                .withLimit(limit)
+                .withExclusiveStartKey(decodePageToken(userId, pageToken)));
+    }
+
+    /**
+     * 페이지 토큰 = base64url(startTime + "\n" + driveId), userId는 요청 경로에서 채우므로 다른 사용자의 페이지로 이어지지 않음
+     */
+    static String encodePageToken(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) return null;
+        String raw = lastEvaluatedKey.get("startTime").getS() + "\n" + lastEvaluatedKey.get("driveId").getS();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Map<String, AttributeValue> decodePageToken(String userId, String pageToken) {
+        if (pageToken == null || pageToken.isBlank()) return null;
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page token: " + pageToken, e);
+        }
+        int separator = raw.indexOf('\n');
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Invalid page token: " + pageToken);
+        }
+        return Map.of(
+                "userId", new AttributeValue(userId),
+                "startTime", new AttributeValue(raw.substring(0, separator)),
+                "driveId", new AttributeValue(raw.substring(separator + 1)));
+    }
+
+    private static Map<String, String> summaryNames() {
+        Map<String, String> names = new LinkedHashMap<>();
+        names.put("#userId", "userId");
+        names.put("#driveId", "driveId");
+        Drive.SUMMARY_ATTRIBUTES.forEach(attribute -> names.put("#" + attribute, attribute));
+        return names;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DynamoDB 항목 크기 계산 (AWS 문서의 항목 크기 규칙 기준 근사치)
+ * - 속성 크기 = 이름의 UTF-8 바이트 수 + 값 크기
+ * - S: UTF-8 바이트 수, B: 바이트 수, N: 유효 자릿수 2개당 1바이트 + 1, BOOL/NULL: 1
+ * - L/M: 3 + 요소마다 (1 + 요소 크기), M은 요소 이름 포함
+ * 쓰기 용량(WCU)은 표준 쓰기 기준 1KB 단위로 올림한다.
+ */
+public final class DynamoDbItemSize {
+
+    private static final int WRITE_UNIT_BYTES = 1024;
+
+    private DynamoDbItemSize() {
+    }
+
+    public static long of(Map<String, AttributeValue> item) {
+        long size = 0;
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            size += utf8Length(attribute.getKey()) + valueSize(attribute.getValue());
+        }
+        return size;
+    }
+
+    /**
+     * 항목 하나를 쓰는 데 드는 쓰기 용량 단위
+     */
+    public static long writeUnits(long itemBytes) {
+        return Math.max(1, (itemBytes + WRITE_UNIT_BYTES - 1) / WRITE_UNIT_BYTES);
+    }
+
+    private static long valueSize(AttributeValue value) {
+        if (value.getS() != null) return utf8Length(value.getS());
+        if (value.getN() != null) return numberSize(value.getN());
+        if (value.getB() != null) return binarySize(value.getB());
+        if (value.getBOOL() != null || value.getNULL() != null) return 1;
+        if (value.getSS() != null) return value.getSS().stream().mapToLong(DynamoDbItemSize::utf8Length).sum();
+        if (value.getNS() != null) return value.getNS().stream().mapToLong(DynamoDbItemSize::numberSize).sum();
+        if (value.getBS() != null) return value.getBS().stream().mapToLong(DynamoDbItemSize::binarySize).sum();
+        if (value.getL() != null) return listSize(value.getL());
+        if (value.getM() != null) {
+            long size = 3;
+            for (Map.Entry<String, AttributeValue> entry : value.getM().entrySet()) {
+                size += 1 + utf8Length(entry.getKey()) + valueSize(entry.getValue());
+            }
+            return size;
+        }
+        return 0;
+    }
+
+    private static long listSize(List<AttributeValue> values) {
+        long size = 3;
+        for (AttributeValue element : values) {
+            size += 1 + valueSize(element);
+        }
+        return size;
+    }
+
+    private static long numberSize(String number) {
+        BigDecimal value = new BigDecimal(number).stripTrailingZeros();
+        return (value.precision() + 1) / 2 + 1;
+    }
+
+    private static long binarySize(ByteBuffer buffer) {
+        return buffer.remaining();
+    }
+
+    private static long utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
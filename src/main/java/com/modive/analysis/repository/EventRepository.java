@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +17,8 @@ public interface EventRepository extends JpaRepository<EventEntity, Long> {
 
     List<EventEntity> findByDriveId(String driveId);
 
+    List<EventEntity> findByDriveIdIn(Collection<String> driveIds);
+
     // ADMIN
     @Query("""
         SELECT new com.modive.analysis.dto.EventsByDriveDTO(e.type, COUNT(e))
@@ -1,109 +1,89 @@
 package com.modive.analysis.service;
 
 import com.modive.analysis.entity.Drive;
+import com.modive.analysis.telemetry.TelemetryBatch;
+import com.modive.analysis.telemetry.TelemetryCsvReader;
+import com.modive.analysis.telemetry.TelemetryTimeParser;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.*;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 @Service
 public class AnalysisDataFromAthenaService {
 
-    public Drive analysisData(List<Map<String, String>> data) {
-
-        Drive drive = new Drive();
-
-        int activeDriveDurationSec = 0;
-        List<Drive.SpeedLog> speedLogs = new ArrayList<>();
-        List<Drive.StartEndTime> idlingPeriods = new ArrayList<>();
-        List<Drive.SpeedRate> speedRate = new ArrayList<>();
-
-//        List<Drive.StartEndTime> reactionTimes;
-//        List<Drive.StartEndTime> followingDistanceEvents;
-
-        drive.setDriveId(data.get(0).get("driveid"));
-        drive.setUserId(data.get(0).get("userid"));
-        drive.setStartTime(stringToInstant(data.get(0).get("time")));
-        drive.setEndTime(stringToInstant(data.get(data.size() - 1).get("time")));
-
-        Instant idlingStartTime = null;
-        double currentMaxSpeed = 0;
-        Instant periodStartTime = null;
-        int period = 1;
-        int low = 0;
-        int middle = 0;
-        int high = 0;
-
-        Duration periodDuration = Duration.ofSeconds(20); // period 주기
+    // 이 행 수 이상인 주행은 ForkJoinPool에서 구간을 나누어 병렬 분석 (0 이하이면 사용하지 않음)
+    @Value("${analysis.parallel.threshold-rows:500000}")
+    private int parallelThresholdRows;
 
-        for (int i = 0; i < data.size(); i++) {
+    // 병렬 분석 시 더 이상 나누지 않는 구간 크기
+    @Value("${analysis.parallel.leaf-rows:65536}")
+    private int parallelLeafRows;
 
-            // 현재 데이터
-            Map<String, String> current = data.get(i);
-            Instant now = stringToInstant(current.get("time"));
-            Double speed = Double.parseDouble(current.get("velocity"));
+    // 병렬 분석 전용 ForkJoinPool 크기 (0 이하이면 CPU 코어 수)
+    @Value("${analysis.parallel.parallelism:0}")
+    private int parallelism;
 
-            // 공회전 분석
-            if (speed < 1) { if (idlingStartTime == null) { idlingStartTime = now; } }
-            else {
-                if (idlingStartTime != null) {
-                    idlingPeriods.add(new Drive.StartEndTime(idlingStartTime, now));
-                    idlingStartTime = null;
-                }
-            }
+    private ForkJoinPool forkJoinPool;
 
-            // 최고속도 분석
-            if (periodStartTime == null) { periodStartTime = now; }
-            else {
-                if (Duration.between(periodStartTime, now).compareTo(periodDuration) < 0 ) {
-                    if (speed > currentMaxSpeed ) {currentMaxSpeed = speed;}
-                }
-                else {
-                    speedLogs.add(new Drive.SpeedLog(period, (int) currentMaxSpeed));
-                    period++;
-                    periodStartTime = now;
-                    currentMaxSpeed = speed;
-                }
-            }
+    @PostConstruct
+    public void init() {
+        if (parallelThresholdRows > 0) {
+            int size = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            forkJoinPool = new ForkJoinPool(size);
+        }
+    }
 
-            // 정속 주행 비율 분석
-            if (speed > 1) {
-                if (speed < 30) low++;
-                else if (speed < 80) middle++;
-                else high++;
-                activeDriveDurationSec++;
-            }
+    /**
+     * Athena 결과 행(Map) 리스트를 분석
+     * 행을 한 번만 컬럼 배열로 변환한 뒤 analysisData(TelemetryBatch)와 같은 엔진으로 분석한다.
+     */
+    public Drive analysisData(List<Map<String, String>> data) {
+        Map<String, String> first = data.get(0);
+        TelemetryBatch.Builder builder = TelemetryBatch.builder(
+                first.get(TelemetryCsvReader.DRIVE_ID_COLUMN), first.get(TelemetryCsvReader.USER_ID_COLUMN));
+
+        TelemetryTimeParser timeParser = TelemetryTimeParser.systemDefault();
+        for (Map<String, String> row : data) {
+            builder.add(timeParser.parseEpochMicros(row.get(TelemetryCsvReader.TIME_COLUMN)),
+                    Double.parseDouble(row.get(TelemetryCsvReader.VELOCITY_COLUMN)));
         }
 
-        // 공회전 처리
-        if (idlingStartTime != null) {
-            idlingPeriods.add(new Drive.StartEndTime(idlingStartTime, stringToInstant(data.get(data.size()-1).get("time"))));
+        return analysisData(builder.build());
+    }
+
+    /**
+     * 컬럼 배열로 읽어 온 텔레메트리를 바로 분석
+     * 공회전 구간, 20초 단위 최고속도, 속도 구간 비율, 주행 시간을 한 번의 루프에서 계산하며
+     * 행마다 객체를 만들지 않는다. (결과 리스트에 들어가는 객체만 생성)
+     * 행 수가 analysis.parallel.threshold-rows 이상이면 구간별 부분 결과를 병렬로 계산해 병합한다.
+     * @param batch 한 주행의 텔레메트리
+     * @return 분석 결과가 채워진 Drive
+     */
+    public Drive analysisData(TelemetryBatch batch) {
+        if (forkJoinPool != null && batch.size() >= parallelThresholdRows) {
+            return DriveAnalysisPartial.analyze(forkJoinPool, batch, parallelLeafRows)
+                    .toDrive(batch.getDriveId(), batch.getUserId());
         }
-        // 최고 속도 마지막 period는 버린다.
-        // 정속 주행 비율 계산
-        int total = low + middle + high;
-        int lowRate = 100*low/total;
-        int middleRate = 100*middle/total;
-        int highRate = 100 - lowRate - middleRate;
-        speedRate.add(new Drive.SpeedRate("low", lowRate) );
-        speedRate.add(new Drive.SpeedRate("middle", middleRate) );
-        speedRate.add(new Drive.SpeedRate("high", highRate) );
 
-        drive.setSpeedRate(speedRate);
-        drive.setIdlingPeriods(idlingPeriods);
-        drive.setSpeedLogs(speedLogs);
-        drive.setActiveDriveDurationSec(activeDriveDurationSec);
+        long[] times = batch.timeMicrosArray();
+        double[] velocities = batch.velocityArray();
 
-        return drive;
+        DriveAnalysisState state = new DriveAnalysisState(batch.getDriveId(), batch.getUserId());
+        for (int i = 0; i < batch.size(); i++) {
+            state.accept(times[i], velocities[i]);
+        }
+        return state.finish();
     }
 
-    private Instant stringToInstant(String date) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
-        LocalDateTime localDateTime = LocalDateTime.parse(date, formatter);
-        ZoneId zone = ZoneId.systemDefault(); // 예: Asia/Seoul
-        return localDateTime.atZone(zone).toInstant();
+    @PreDestroy
+    public void shutdown() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+        }
     }
 }
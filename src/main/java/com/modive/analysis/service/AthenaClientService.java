@@ -1,6 +1,12 @@
 package com.modive.analysis.service;
 
+import com.modive.analysis.telemetry.TelemetryBatch;
+import com.modive.analysis.telemetry.TelemetryCsvReader;
+import com.modive.analysis.telemetry.TelemetryListener;
+import com.modive.analysis.telemetry.TelemetryTimeParser;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
@@ -16,10 +22,22 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AthenaClientService {
@@ -32,6 +50,10 @@ public class AthenaClientService {
     @Value("${aws.athena.output-location}")
     private String outputLocation;
 
+    // 동기 조회(queryDriveData)의 쿼리 기한
+    @Value("${aws.athena.query.timeout-ms:120000}")
+    private long queryTimeoutMs;
+
     // Athena 쿼리 실행을 위한 클라이언트 인스턴스
     private final AthenaClient athenaClient = AthenaClient.builder()
             .region(Region.AP_NORTHEAST_2)  // 사용 중인 리전 지정
@@ -42,44 +64,207 @@ public class AthenaClientService {
             .region(Region.AP_NORTHEAST_2)
             .build();
 
+    // 비동기 쿼리 실행 및 폴링 담당
+    private final AthenaQueryPoller athenaQueryPoller;
+
+    // 쿼리 완료 후 S3 결과를 읽고 파싱하는 전용 스레드 풀
+    private final ExecutorService resultExecutor = Executors.newFixedThreadPool(8, r -> {
+        Thread thread = new Thread(r, "athena-result");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * driveId에 대해 Athena 쿼리를 실행하고 결과를 파싱하여 반환
      * @param driveId 조회할 드라이브 ID
      * @return driveId에 해당하는 주행 로그 레코드 리스트
      */
     public List<Map<String, String>> queryDriveData(String driveId) {
-        // Athena에 보낼 SQL 쿼리 생성
-        String query = "SELECT * FROM drive WHERE driveId = '" + driveId + "' ORDER BY time";
-
         // Athena에 쿼리 실행 요청을 보냄
-        String executionId = athenaClient.startQueryExecution(
-                StartQueryExecutionRequest.builder()
-                        .queryString(query)
-                        .queryExecutionContext(QueryExecutionContext.builder().database(database).build())  // 사용할 데이터베이스 지정
-                        .resultConfiguration(ResultConfiguration.builder()
-                                .outputLocation(outputLocation)  // 쿼리 결과를 저장할 S3 경로
-                                .build())
-                        .build()
-        ).queryExecutionId(); // 실행된 쿼리 ID를 받음
+        String executionId = athenaClient.startQueryExecution(buildDriveQuery(driveId))
+                .queryExecutionId(); // 실행된 쿼리 ID를 받음
 
         // 쿼리가 끝날 때까지 기다림 (성공/실패 여부 확인)
         waitForQueryToComplete(executionId);
 
-        // Athena 결과 S3 위치 계산: 버킷 이름과 객체 키 생성
-        String bucket = outputLocation.replace("s3://", "").split("/")[0]; // 버킷 이름 추출
-        String prefix = outputLocation.replace("s3://" + bucket + "/", ""); // 나머지 경로 추출
-        String key = prefix + executionId + ".csv"; // 최종 S3 객체 키
-
         // S3에서 결과 CSV 파일을 읽고 파싱하여 반환
-        return parseCsvFromS3(bucket, key);
+        return parseCsvFromS3(resultBucket(), resultKey(executionId));
+    }
+
+    /**
+     * 여러 driveId를 하나의 Athena 쿼리(WHERE driveId IN (...))로 비동기 조회
+     * 결과 CSV는 한 번만 스트리밍으로 읽으면서 드라이브별 TelemetryBatch(컬럼 배열)로 나누어 반환한다.
+     * 결과 행이 하나도 없는 driveId는 반환 Map에 포함되지 않는다.
+     * @param driveIds 조회할 드라이브 ID 목록
+     * @return driveId -> 주행 텔레메트리의 Future
+     */
+    public CompletableFuture<Map<String, TelemetryBatch>> queryDrivesTelemetryAsync(Collection<String> driveIds) {
+        return queryDrivesTelemetryAsync(driveIds, null);
+    }
+
+    /**
+     * queryDrivesTelemetryAsync와 같고, 쿼리 기한을 지정 (null이면 기본 기한)
+     * 반환된 Future를 취소하면 실행 중인 Athena 쿼리도 중단된다.
+     */
+    public CompletableFuture<Map<String, TelemetryBatch>> queryDrivesTelemetryAsync(Collection<String> driveIds, Duration timeout) {
+        CompletableFuture<String> query = athenaQueryPoller.execute(buildDrivesQuery(driveIds), timeout);
+        return cancelQueryOnCancel(query,
+                query.thenApplyAsync(executionId -> readTelemetryFromS3(resultBucket(), resultKey(executionId)), resultExecutor));
+    }
+
+    /**
+     * 여러 driveId를 하나의 Athena 쿼리로 비동기 조회하면서, 결과 CSV를 S3에서 받는 즉시 행 단위로 리스너에 전달
+     * 다운로드와 분석이 겹쳐서 진행되고, 결과 전체를 메모리에 올리지 않는다.
+     * @param driveIds 조회할 드라이브 ID 목록
+     * @param listenerFactory 결과를 전달받을 리스너 생성 함수 (쿼리마다 새로 생성)
+     * @return 모든 행을 전달받은 리스너의 Future
+     */
+    public <T extends TelemetryListener> CompletableFuture<T> streamDrivesAsync(Collection<String> driveIds, Supplier<T> listenerFactory) {
+        return streamDrivesAsync(driveIds, listenerFactory, null);
+    }
+
+    /**
+     * streamDrivesAsync와 같고, 쿼리 기한을 지정 (null이면 기본 기한)
+     * 반환된 Future를 취소하면 실행 중인 Athena 쿼리도 중단된다.
+     */
+    public <T extends TelemetryListener> CompletableFuture<T> streamDrivesAsync(Collection<String> driveIds, Supplier<T> listenerFactory,
+                                                                                Duration timeout) {
+        CompletableFuture<String> query = athenaQueryPoller.execute(buildDrivesQuery(driveIds), timeout);
+        return cancelQueryOnCancel(query, query.thenApplyAsync(executionId -> {
+            T listener = listenerFactory.get();
+            streamTelemetryFromS3(resultBucket(), resultKey(executionId), listener);
+            return listener;
+        }, resultExecutor));
+    }
+
+    /**
+     * 결과 Future가 취소되면 쿼리 Future도 취소해서 Athena 쿼리를 중단 (CompletableFuture 취소는 앞 단계로 전달되지 않음)
+     */
+    private static <T> CompletableFuture<T> cancelQueryOnCancel(CompletableFuture<String> query, CompletableFuture<T> result) {
+        result.whenComplete((value, e) -> {
+            if (result.isCancelled()) {
+                query.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 기간/사용자 조건에 맞는 driveId 목록 쿼리를 비동기로 실행 (SELECT DISTINCT driveId ... ORDER BY driveId)
+     * 결과는 S3에 그대로 남으므로 반환된 executionId로 readDriveIds를 다시 호출해 같은 목록을 읽을 수 있다. (백필 재개용)
+     * @param from 시작 시각 (포함, null이면 제한 없음)
+     * @param to 종료 시각 (제외, null이면 제한 없음)
+     * @param userIds 대상 사용자 (비어 있으면 전체)
+     * @return 쿼리가 끝나면 executionId로 완료되는 Future
+     */
+    public CompletableFuture<String> startDriveIdQueryAsync(Instant from, Instant to, Collection<String> userIds) {
+        return athenaQueryPoller.execute(buildDriveIdQuery(from, to, userIds));
+    }
+
+    /**
+     * 완료된 driveId 목록 쿼리의 결과를 S3에서 읽음
+     * @param executionId startDriveIdQueryAsync로 실행한 쿼리 ID
+     * @return driveId 목록 (정렬됨)
+     */
+    public List<String> readDriveIds(String executionId) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(resultBucket())
+                .key(resultKey(executionId))
+                .build();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                s3Client.getObject(request), StandardCharsets.UTF_8))) {
+            CSVParser parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(reader);
+
+            List<String> driveIds = new ArrayList<>();
+            for (CSVRecord record : parser) {
+                driveIds.add(record.get(0));
+            }
+            return driveIds;
+
+        } catch (IOException e) {
+            throw new RuntimeException("CSV parsing failed", e);
+        }
+    }
+
+    /**
+     * driveId 목록 조회용 Athena 쿼리 실행 요청 생성
+     * time 컬럼은 텔레메트리와 같은 형식(시스템 시간대, yyyy-MM-dd'T'HH:mm:ss.SSSSSS)의 문자열이므로 같은 형식으로 비교한다.
+     */
+    private StartQueryExecutionRequest buildDriveIdQuery(Instant from, Instant to, Collection<String> userIds) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(TelemetryTimeParser.PATTERN).withZone(ZoneId.systemDefault());
+
+        List<String> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add("time >= " + sqlLiteral(formatter.format(from)));
+        }
+        if (to != null) {
+            conditions.add("time < " + sqlLiteral(formatter.format(to)));
+        }
+        if (userIds != null && !userIds.isEmpty()) {
+            conditions.add("userId IN (" + userIds.stream().map(this::sqlLiteral).collect(Collectors.joining(", ")) + ")");
+        }
+
+        String query = "SELECT DISTINCT driveId FROM drive"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY driveId";
+        return buildQueryRequest(query);
+    }
+
+    /**
+     * driveId 조회용 Athena 쿼리 실행 요청 생성
+     */
+    private StartQueryExecutionRequest buildDriveQuery(String driveId) {
+        // Athena에 보낼 SQL 쿼리 생성
+        String query = "SELECT * FROM drive WHERE driveId = " + sqlLiteral(driveId) + " ORDER BY time";
+        return buildQueryRequest(query);
+    }
+
+    /**
+     * 여러 driveId 조회용 Athena 쿼리 실행 요청 생성 (드라이브별로 시간순 정렬)
+     */
+    private StartQueryExecutionRequest buildDrivesQuery(Collection<String> driveIds) {
+        String inList = driveIds.stream()
+                .map(this::sqlLiteral)
+                .collect(Collectors.joining(", "));
+        String query = "SELECT * FROM drive WHERE driveId IN (" + inList + ") ORDER BY driveId, time";
+        return buildQueryRequest(query);
+    }
+
+    // 문자열 리터럴 이스케이프 (작은따옴표 중복)
+    private String sqlLiteral(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    private StartQueryExecutionRequest buildQueryRequest(String query) {
+        return StartQueryExecutionRequest.builder()
+                .queryString(query)
+                .queryExecutionContext(QueryExecutionContext.builder().database(database).build())  // 사용할 데이터베이스 지정
+                .resultConfiguration(ResultConfiguration.builder()
+                        .outputLocation(outputLocation)  // 쿼리 결과를 저장할 S3 경로
+                        .build())
+                .build();
+    }
+
+    // Athena 결과 S3 위치 계산: 버킷 이름 추출
+    private String resultBucket() {
+        return outputLocation.replace("s3://", "").split("/")[0];
+    }
+
+    // Athena 결과 S3 위치 계산: 최종 S3 객체 키 생성
+    private String resultKey(String executionId) {
+        String prefix = outputLocation.replace("s3://" + resultBucket() + "/", ""); // 나머지 경로 추출
+        return prefix + executionId + ".csv";
     }
 
     /**
      * Athena 쿼리 실행이 완료될 때까지 폴링
-     * 실패하거나 취소된 경우 예외 발생
+     * 실패하거나 취소된 경우 예외 발생, 기한(aws.athena.query.timeout-ms)이 지나거나 호출 스레드가 interrupt되면
+     * 쿼리를 중단하고 예외 발생
      */
     private void waitForQueryToComplete(String executionId) {
-        while (true) {
+        long deadline = System.currentTimeMillis() + queryTimeoutMs;
+        for (int attempt = 0; ; attempt++) {
             // 쿼리 상태 요청
             var result = athenaClient.getQueryExecution(
                     GetQueryExecutionRequest.builder()
@@ -95,8 +280,31 @@ public class AthenaClientService {
                 throw new RuntimeException("Athena query failed: " + result);
             }
 
-            // 아직 처리 중인 경우 1초 대기 후 다시 폴링
-            try { Thread.sleep(1000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                stopQuery(executionId);
+                throw new AthenaQueryTimeoutException(executionId, queryTimeoutMs);
+            }
+
+            // 아직 처리 중인 경우 짧은 간격부터 점점 늘려가며 다시 폴링 (최대 1초)
+            long delay = Math.min(AthenaQueryPoller.backoffMillis(attempt, 200, 1000, 1.5), remaining);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopQuery(executionId);
+                throw new CancellationException("Interrupted while waiting for Athena query: " + executionId);
+            }
+        }
+    }
+
+    private void stopQuery(String executionId) {
+        try {
+            athenaClient.stopQueryExecution(StopQueryExecutionRequest.builder()
+                    .queryExecutionId(executionId)
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Error stopping Athena query {}", executionId, e);
         }
     }
 
@@ -132,5 +340,49 @@ public class AthenaClientService {
             throw new RuntimeException("CSV parsing failed", e);
         }
     }
-}
 
+    /**
+     * S3에서 Athena 쿼리 결과 CSV 파일을 스트리밍으로 읽어 드라이브별 컬럼 배열로 변환
+     * @param bucket S3 버킷 이름
+     * @param key S3 객체 키 (파일 경로)
+     * @return driveId -> TelemetryBatch
+     */
+    private Map<String, TelemetryBatch> readTelemetryFromS3(String bucket, String key) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                s3Client.getObject(request), StandardCharsets.UTF_8))) {
+            return TelemetryCsvReader.read(reader);
+        } catch (IOException e) {
+            throw new RuntimeException("CSV parsing failed", e);
+        }
+    }
+
+    /**
+     * S3에서 Athena 쿼리 결과 CSV 파일을 받으면서 행 단위로 리스너에 전달
+     * @param bucket S3 버킷 이름
+     * @param key S3 객체 키 (파일 경로)
+     * @param listener 행을 전달받을 리스너
+     */
+    private void streamTelemetryFromS3(String bucket, String key, TelemetryListener listener) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                s3Client.getObject(request), StandardCharsets.UTF_8))) {
+            TelemetryCsvReader.stream(reader, listener);
+        } catch (IOException e) {
+            throw new RuntimeException("CSV parsing failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resultExecutor.shutdown();
+    }
+}
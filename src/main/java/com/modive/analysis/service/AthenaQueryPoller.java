@@ -0,0 +1,325 @@
+package com.modive.analysis.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.athena.AthenaAsyncClient;
+import software.amazon.awssdk.services.athena.model.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * 비동기 Athena 쿼리 실행기
+ * 실행 중인 모든 쿼리를 하나의 스케줄러에서 BatchGetQueryExecution으로 모아서 폴링한다.
+ * 워커 스레드는 쿼리를 시작한 뒤 바로 반환되고, 완료 시 CompletableFuture가 완료된다.
+ *
+ * 쿼리마다 기한이 있어서 기한이 지나면 Athena 응답과 상관없이 Future를 AthenaQueryTimeoutException으로 끝내고
+ * StopQueryExecution을 보낸다. 반환된 Future를 취소해도 StopQueryExecution을 보낸다.
+ * 종료할 때는 폴링 중인 쿼리와 아직 시작 응답을 받지 못한 쿼리를 모두 중단한다.
+ *
+ * 메트릭
+ * - athena.query.timeouts: 기한이 지나 중단한 쿼리 수
+ * - athena.query.cancellations: 호출한 쪽에서 취소해 중단한 쿼리 수
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AthenaQueryPoller implements InitializingBean {
+
+    // BatchGetQueryExecution 한 번에 조회 가능한 최대 실행 ID 수
+    private static final int BATCH_GET_LIMIT = 50;
+
+    // 첫 폴링까지의 대기 시간 (짧게 시작)
+    @Value("${aws.athena.poll.initial-interval-ms:200}")
+    private long initialIntervalMs;
+
+    // 폴링 간격 상한
+    @Value("${aws.athena.poll.max-interval-ms:2000}")
+    private long maxIntervalMs;
+
+    // 폴링마다 간격을 늘리는 배수
+    @Value("${aws.athena.poll.multiplier:1.5}")
+    private double multiplier;
+
+    // 스케줄러가 만기된 쿼리를 확인하는 주기
+    @Value("${aws.athena.poll.tick-ms:50}")
+    private long tickMs;
+
+    // 쿼리 기한 기본값 (시작 요청부터 완료까지, QUEUED 대기 포함)
+    @Value("${aws.athena.query.timeout-ms:120000}")
+    private long defaultTimeoutMs;
+
+    // 요청별로 지정할 수 있는 쿼리 기한 상한
+    @Value("${aws.athena.query.max-timeout-ms:600000}")
+    private long maxTimeoutMs;
+
+    private final MeterRegistry meterRegistry;
+
+    // Athena 논블로킹 클라이언트
+    private final AthenaAsyncClient athenaAsyncClient = AthenaAsyncClient.builder()
+            .region(Region.AP_NORTHEAST_2)
+            .build();
+
+    // 실행 중인 쿼리 (executionId -> 대기 정보)
+    private final Map<String, PendingQuery> pending = new ConcurrentHashMap<>();
+
+    // StartQueryExecution 응답을 기다리는 쿼리 (executionId가 아직 없음)
+    private final Set<PendingQuery> starting = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "athena-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ScheduledFuture<?> tickTask;
+
+    private Counter timeoutCounter;
+    private Counter cancellationCounter;
+
+    @Override
+    public void afterPropertiesSet() {
+        timeoutCounter = Counter.builder("athena.query.timeouts")
+                .description("기한이 지나 중단한 Athena 쿼리 수")
+                .register(meterRegistry);
+        cancellationCounter = Counter.builder("athena.query.cancellations")
+                .description("호출한 쪽에서 취소해 중단한 Athena 쿼리 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기본 기한으로 쿼리 실행을 시작하고 완료될 때 executionId로 완료되는 Future를 반환
+     * 실패하거나 취소된 경우 Future는 예외로 완료된다.
+     */
+    public CompletableFuture<String> execute(StartQueryExecutionRequest request) {
+        return execute(request, null);
+    }
+
+    /**
+     * 쿼리 실행을 시작하고 완료될 때 executionId로 완료되는 Future를 반환
+     * 기한이 지나면 AthenaQueryTimeoutException으로 완료되고, Future를 취소하면 쿼리도 중단된다.
+     * @param timeout 쿼리 기한 (null이면 aws.athena.query.timeout-ms, aws.athena.query.max-timeout-ms를 넘지 않음)
+     */
+    public CompletableFuture<String> execute(StartQueryExecutionRequest request, Duration timeout) {
+        ensureStarted();
+        PendingQuery query = track(null, timeout);
+
+        starting.add(query);
+        query.started = athenaAsyncClient.startQueryExecution(request).whenComplete((response, error) -> {
+            starting.remove(query);
+            if (error != null) {
+                query.future.completeExceptionally(error);
+                return;
+            }
+            register(query, response.queryExecutionId());
+        });
+        return query.future;
+    }
+
+    /**
+     * 이미 시작된 쿼리 실행이 끝날 때까지 기다리는 Future 반환 (기본 기한 적용)
+     */
+    public CompletableFuture<String> await(String executionId) {
+        ensureStarted();
+        PendingQuery query = track(executionId, null);
+        register(query, executionId);
+        return query.future;
+    }
+
+    /**
+     * 대기 정보를 만들고 기한 타이머와 취소 처리를 연결
+     */
+    private PendingQuery track(String executionId, Duration timeout) {
+        long timeoutMs = timeout == null ? defaultTimeoutMs : Math.min(timeout.toMillis(), maxTimeoutMs);
+        PendingQuery query = new PendingQuery(executionId, System.currentTimeMillis() + initialIntervalMs);
+
+        ScheduledFuture<?> deadline = scheduler.schedule(() -> {
+            if (query.future.completeExceptionally(new AthenaQueryTimeoutException(query.executionId, timeoutMs))) {
+                timeoutCounter.increment();
+                stop(query);
+            }
+        }, Math.max(0, timeoutMs), TimeUnit.MILLISECONDS);
+
+        query.future.whenComplete((id, e) -> {
+            deadline.cancel(false);
+            if (query.future.isCancelled()) {
+                cancellationCounter.increment();
+                stop(query);
+            }
+        });
+        return query;
+    }
+
+    /**
+     * 시작된 쿼리를 폴링 대상에 추가 (그 사이에 기한이 지났거나 취소되었으면 바로 중단)
+     */
+    private void register(PendingQuery query, String executionId) {
+        query.executionId = executionId;
+        pending.put(executionId, query);
+        if (query.future.isDone()) {
+            stop(query);
+        }
+    }
+
+    /**
+     * 폴링 대상에서 빼고 StopQueryExecution 요청 (아직 시작 응답을 받지 못했으면 register에서 다시 호출됨)
+     */
+    private void stop(PendingQuery query) {
+        String executionId = query.executionId;
+        if (executionId == null || !pending.remove(executionId, query)) {
+            return;
+        }
+        query.stopped = athenaAsyncClient.stopQueryExecution(StopQueryExecutionRequest.builder()
+                        .queryExecutionId(executionId)
+                        .build())
+                .exceptionally(e -> {
+                    log.warn("Error stopping Athena query {}", executionId, e);
+                    return null;
+                });
+    }
+
+    /**
+     * 현재 폴링 중인 쿼리 수
+     */
+    public int inFlightCount() {
+        return pending.size();
+    }
+
+    /**
+     * 폴링 시도 횟수에 따른 대기 시간 계산 (지수적으로 증가, 상한 적용)
+     */
+    static long backoffMillis(int attempt, long initialMillis, long maxMillis, double multiplier) {
+        double delay = initialMillis * Math.pow(multiplier, attempt);
+        return (long) Math.min(delay, maxMillis);
+    }
+
+    private void ensureStarted() {
+        if (tickTask == null) {
+            synchronized (this) {
+                if (tickTask == null) {
+                    tickTask = scheduler.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * 폴링 시각이 된 쿼리들을 모아 BatchGetQueryExecution으로 한 번에 상태 조회
+     */
+    private void tick() {
+        long now = System.currentTimeMillis();
+        List<PendingQuery> due = new ArrayList<>();
+        for (PendingQuery query : pending.values()) {
+            if (!query.polling && query.nextPollAt <= now) {
+                query.polling = true;
+                due.add(query);
+            }
+        }
+
+        for (int from = 0; from < due.size(); from += BATCH_GET_LIMIT) {
+            List<PendingQuery> chunk = due.subList(from, Math.min(from + BATCH_GET_LIMIT, due.size()));
+            pollChunk(new ArrayList<>(chunk));
+        }
+    }
+
+    private void pollChunk(List<PendingQuery> chunk) {
+        List<String> ids = chunk.stream().map(q -> q.executionId).toList();
+
+        athenaAsyncClient.batchGetQueryExecution(BatchGetQueryExecutionRequest.builder()
+                        .queryExecutionIds(ids)
+                        .build())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        // 조회 자체가 실패하면 (스로틀링 등) 다음 주기에 다시 시도
+                        chunk.forEach(this::reschedule);
+                        return;
+                    }
+
+                    for (QueryExecution execution : response.queryExecutions()) {
+                        PendingQuery query = pending.get(execution.queryExecutionId());
+                        if (query != null) {
+                            handleState(query, execution.status().state());
+                        }
+                    }
+
+                    // 응답에 포함되지 않은 실행 ID는 다음 주기에 다시 조회
+                    for (UnprocessedQueryExecutionId unprocessed : response.unprocessedQueryExecutionIds()) {
+                        PendingQuery query = pending.get(unprocessed.queryExecutionId());
+                        if (query != null) {
+                            reschedule(query);
+                        }
+                    }
+                });
+    }
+
+    private void handleState(PendingQuery query, QueryExecutionState state) {
+        if (state == QueryExecutionState.SUCCEEDED) {
+            pending.remove(query.executionId);
+            query.future.complete(query.executionId);
+        } else if (state == QueryExecutionState.FAILED || state == QueryExecutionState.CANCELLED) {
+            pending.remove(query.executionId);
+            query.future.completeExceptionally(new RuntimeException("Athena query failed: " + state));
+        } else {
+            reschedule(query);
+        }
+    }
+
+    private void reschedule(PendingQuery query) {
+        query.attempt++;
+        query.nextPollAt = System.currentTimeMillis()
+                + backoffMillis(query.attempt, initialIntervalMs, maxIntervalMs, multiplier);
+        query.polling = false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+
+        // 실행 중인 쿼리는 Athena에서도 중단 (Athena 응답이 늦어도 종료가 오래 걸리지 않도록 잠깐만 기다림)
+        List<CompletableFuture<?>> stops = new ArrayList<>();
+        for (PendingQuery query : List.copyOf(starting)) {
+            // 시작 응답이 오면 register에서 StopQueryExecution 요청 (시작 전에 보면 폴링 목록에는 없음)
+            query.future.cancel(true);
+            stops.add(query.started.handle((response, e) -> null).thenCompose(ignored -> query.stopped));
+        }
+        for (PendingQuery query : List.copyOf(pending.values())) {
+            query.future.cancel(true); // 취소 처리에서 StopQueryExecution 요청
+            stops.add(query.stopped);
+        }
+        try {
+            CompletableFuture.allOf(stops.toArray(CompletableFuture[]::new)).get(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Error stopping Athena queries on shutdown", e);
+        }
+        pending.clear();
+        athenaAsyncClient.close();
+    }
+
+    private static class PendingQuery {
+        private volatile String executionId;
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+        private volatile CompletableFuture<?> started = CompletableFuture.completedFuture(null);
+        private volatile CompletableFuture<?> stopped = CompletableFuture.completedFuture(null);
+        private volatile long nextPollAt;
+        private volatile boolean polling;
+        private int attempt;
+
+        private PendingQuery(String executionId, long nextPollAt) {
+            this.executionId = executionId;
+            this.nextPollAt = nextPollAt;
+        }
+    }
+}
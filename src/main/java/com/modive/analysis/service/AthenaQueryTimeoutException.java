@@ -0,0 +1,11 @@
+package com.modive.analysis.service;
+
+/**
+ * Athena 쿼리가 기한 안에 끝나지 않아 중단된 경우 발생
+ */
+public class AthenaQueryTimeoutException extends RuntimeException {
+
+    public AthenaQueryTimeoutException(String executionId, long timeoutMs) {
+        super("Athena query timed out after " + timeoutMs + "ms: " + (executionId == null ? "(not started)" : executionId));
+    }
+}
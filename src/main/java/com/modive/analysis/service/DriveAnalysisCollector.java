@@ -0,0 +1,35 @@
+package com.modive.analysis.service;
+
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.telemetry.TelemetryListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CSV 스트림에서 전달되는 행을 드라이브별 DriveAnalysisState에 바로 반영하는 리스너
+ * Athena 결과를 다운로드하는 동안 분석이 함께 진행된다.
+ */
+public class DriveAnalysisCollector implements TelemetryListener {
+
+    private final Map<String, DriveAnalysisState> states = new LinkedHashMap<>();
+    private DriveAnalysisState current;
+
+    @Override
+    public void startDrive(String driveId, String userId) {
+        current = states.computeIfAbsent(driveId, id -> new DriveAnalysisState(id, userId));
+    }
+
+    @Override
+    public void accept(long epochMicros, double velocity) {
+        current.accept(epochMicros, velocity);
+    }
+
+    /**
+     * driveId의 분석 결과 (결과 행이 없던 driveId는 null)
+     */
+    public Drive finish(String driveId) {
+        DriveAnalysisState state = states.get(driveId);
+        return state == null ? null : state.finish();
+    }
+}
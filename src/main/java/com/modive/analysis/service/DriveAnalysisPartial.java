@@ -0,0 +1,326 @@
+package com.modive.analysis.service;
+
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.telemetry.TelemetryBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 텔레메트리 행 구간 [lo, hi)에 대한 병합 가능한 부분 분석 결과
+ * 인접한 두 구간의 결과를 merge로 합치면 두 구간을 이어서 순차 분석한 결과와 같아진다.
+ *
+ * - 속도 구간/주행 시간: 단순 합산
+ * - 공회전: 구간 앞쪽 공회전(왼쪽 구간에 따라 결정됨)과 뒤쪽에 열린 공회전을 따로 보관하고, 병합 시 이어 붙인다.
+ * - 20초 최고속도: 각 구간은 자기 첫 행에서 period가 시작한다고 가정하고 계산해 둔다.
+ *   병합 시 왼쪽의 마지막 period 시작점부터 오른쪽 행을 다시 훑다가, 새 period 시작점이 오른쪽의
+ *   가정된 시작점과 같아지면 그 이후 결과를 그대로 사용한다.
+ */
+final class DriveAnalysisPartial {
+
+    // 최고속도 period 주기 (20초, microseconds)
+    private static final long PERIOD_MICROS = 20_000_000L;
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final long[] times;
+    private final double[] velocities;
+    private final int lo;
+    private final int hi;
+
+    // 정속 주행 비율
+    private int low;
+    private int middle;
+    private int high;
+    private int activeDriveDurationSec;
+
+    // 공회전: 첫 비공회전 행 (-1 이면 구간 전체가 공회전), 그 이후 닫힌 공회전 구간, 끝까지 이어진 공회전 시작 시각
+    private int firstNonIdle = -1;
+    private long[] idlePeriods = new long[8];
+    private int idleCount;
+    private long trailingIdleStart = NONE;
+
+    // 최고속도: period 시작 행 목록, 닫힌 period의 최고속도, 마지막(열린) period의 현재 최고속도
+    private int[] periodStarts = new int[8];
+    private int periodCount;
+    private double[] periodMaxSpeeds = new double[8];
+    private double openMaxSpeed;
+
+    private DriveAnalysisPartial(long[] times, double[] velocities, int lo, int hi) {
+        this.times = times;
+        this.velocities = velocities;
+        this.lo = lo;
+        this.hi = hi;
+    }
+
+    /**
+     * ForkJoinPool에서 구간을 나누어 분석한 뒤 병합
+     * @param leafRows 더 이상 나누지 않는 구간 크기
+     */
+    static DriveAnalysisPartial analyze(ForkJoinPool pool, TelemetryBatch batch, int leafRows) {
+        return pool.invoke(new AnalysisTask(batch.timeMicrosArray(), batch.velocityArray(), 0, batch.size(), Math.max(1, leafRows)));
+    }
+
+    /**
+     * 구간 [lo, hi)를 순차 분석
+     */
+    static DriveAnalysisPartial analyze(long[] times, double[] velocities, int lo, int hi) {
+        DriveAnalysisPartial partial = new DriveAnalysisPartial(times, velocities, lo, hi);
+
+        boolean idling = false;
+        long idlingStartTime = 0;
+
+        // 첫 행(lo == 0)은 period 시작 시각으로만 사용하고, 이후 구간은 시작 행 속도부터 최고속도에 포함
+        int periodStart = lo;
+        double currentMaxSpeed = lo == 0 ? 0 : velocities[lo];
+        partial.addPeriodStart(lo);
+
+        for (int i = lo; i < hi; i++) {
+            long now = times[i];
+            double speed = velocities[i];
+
+            // 공회전 분석 (구간 앞쪽 공회전은 왼쪽 구간과 병합할 때 결정)
+            if (speed < 1) {
+                if (!idling) {
+                    idling = true;
+                    idlingStartTime = now;
+                }
+            } else {
+                if (partial.firstNonIdle < 0) {
+                    partial.firstNonIdle = i;
+                } else if (idling) {
+                    partial.addIdlePeriod(idlingStartTime, now);
+                }
+                idling = false;
+            }
+
+            // 최고속도 분석
+            if (i > lo) {
+                if (now - times[periodStart] < PERIOD_MICROS) {
+                    if (speed > currentMaxSpeed) currentMaxSpeed = speed;
+                } else {
+                    partial.addClosedPeriod(currentMaxSpeed, i);
+                    periodStart = i;
+                    currentMaxSpeed = speed;
+                }
+            }
+
+            // 정속 주행 비율 분석
+            if (speed > 1) {
+                if (speed < 30) partial.low++;
+                else if (speed < 80) partial.middle++;
+                else partial.high++;
+                partial.activeDriveDurationSec++;
+            }
+        }
+
+        if (partial.firstNonIdle >= 0 && idling) {
+            partial.trailingIdleStart = idlingStartTime;
+        }
+        partial.openMaxSpeed = currentMaxSpeed;
+        return partial;
+    }
+
+    /**
+     * 바로 오른쪽 구간의 결과와 병합
+     * @param right hi가 이 구간의 lo와 이어지는 구간
+     */
+    DriveAnalysisPartial merge(DriveAnalysisPartial right) {
+        if (right.lo != hi) {
+            throw new IllegalArgumentException("Partials are not adjacent: [" + lo + "," + hi + ") + [" + right.lo + "," + right.hi + ")");
+        }
+
+        DriveAnalysisPartial merged = new DriveAnalysisPartial(times, velocities, lo, right.hi);
+
+        merged.low = low + right.low;
+        merged.middle = middle + right.middle;
+        merged.high = high + right.high;
+        merged.activeDriveDurationSec = activeDriveDurationSec + right.activeDriveDurationSec;
+
+        mergeIdling(right, merged);
+        mergePeriods(right, merged);
+
+        return merged;
+    }
+
+    private void mergeIdling(DriveAnalysisPartial right, DriveAnalysisPartial merged) {
+        merged.idlePeriods = Arrays.copyOf(idlePeriods, Math.max(8, (idleCount + right.idleCount + 1) * 2));
+        merged.idleCount = idleCount;
+
+        if (firstNonIdle < 0) {
+            // 왼쪽 전체가 공회전이면 오른쪽 앞쪽 공회전과 이어져서 여전히 앞쪽 공회전
+            merged.firstNonIdle = right.firstNonIdle;
+            merged.appendIdlePeriods(right);
+            merged.trailingIdleStart = right.trailingIdleStart;
+            return;
+        }
+
+        merged.firstNonIdle = firstNonIdle;
+
+        // 왼쪽 끝에서 열린 공회전이 없으면 오른쪽 앞쪽 공회전이 새로 시작
+        long open = trailingIdleStart;
+        if (open == NONE && velocities[right.lo] < 1) {
+            open = times[right.lo];
+        }
+
+        if (right.firstNonIdle < 0) {
+            merged.trailingIdleStart = open;
+        } else {
+            if (open != NONE) {
+                merged.addIdlePeriod(open, times[right.firstNonIdle]);
+            }
+            merged.appendIdlePeriods(right);
+            merged.trailingIdleStart = right.trailingIdleStart;
+        }
+    }
+
+    private void mergePeriods(DriveAnalysisPartial right, DriveAnalysisPartial merged) {
+        merged.periodStarts = Arrays.copyOf(periodStarts, periodCount + right.periodCount + 1);
+        merged.periodMaxSpeeds = Arrays.copyOf(periodMaxSpeeds, periodCount + right.periodCount + 1);
+        merged.periodCount = periodCount;
+
+        // 왼쪽의 실제 마지막 period부터 오른쪽 행을 다시 훑음
+        int periodStart = periodStarts[periodCount - 1];
+        double currentMaxSpeed = openMaxSpeed;
+
+        for (int i = right.lo; i < right.hi; i++) {
+            double speed = velocities[i];
+
+            if (times[i] - times[periodStart] < PERIOD_MICROS) {
+                if (speed > currentMaxSpeed) currentMaxSpeed = speed;
+                continue;
+            }
+
+            merged.addClosedPeriod(currentMaxSpeed, i);
+
+            // 오른쪽이 가정한 시작점과 만나면 이후 period는 오른쪽 결과와 같음
+            int synced = Arrays.binarySearch(right.periodStarts, 0, right.periodCount, i);
+            if (synced >= 0) {
+                for (int k = synced; k < right.periodCount - 1; k++) {
+                    merged.addClosedPeriod(right.periodMaxSpeeds[k], right.periodStarts[k + 1]);
+                }
+                merged.openMaxSpeed = right.openMaxSpeed;
+                return;
+            }
+
+            periodStart = i;
+            currentMaxSpeed = speed;
+        }
+
+        merged.openMaxSpeed = currentMaxSpeed;
+    }
+
+    /**
+     * 전체 구간 [0, size)의 결과로 Drive 생성 (DriveAnalysisState.finish와 같은 결과)
+     */
+    Drive toDrive(String driveId, String userId) {
+        if (lo != 0 || hi == 0) {
+            throw new IllegalStateException("Partial does not cover the whole drive: [" + lo + "," + hi + ")");
+        }
+
+        long startTime = times[0];
+        long lastTime = times[hi - 1];
+
+        List<Drive.StartEndTime> idlingPeriods = new ArrayList<>(idleCount + 2);
+        if (velocities[0] < 1) {
+            long leadingEnd = firstNonIdle < 0 ? lastTime : times[firstNonIdle];
+            idlingPeriods.add(new Drive.StartEndTime(TelemetryBatch.toInstant(startTime), TelemetryBatch.toInstant(leadingEnd)));
+        }
+        for (int k = 0; k < idleCount; k++) {
+            idlingPeriods.add(new Drive.StartEndTime(TelemetryBatch.toInstant(idlePeriods[2 * k]), TelemetryBatch.toInstant(idlePeriods[2 * k + 1])));
+        }
+        // 공회전 처리
+        if (trailingIdleStart != NONE) {
+            idlingPeriods.add(new Drive.StartEndTime(TelemetryBatch.toInstant(trailingIdleStart), TelemetryBatch.toInstant(lastTime)));
+        }
+
+        // 최고 속도 마지막 period는 버린다.
+        List<Drive.SpeedLog> speedLogs = new ArrayList<>(periodCount);
+        for (int k = 0; k < periodCount - 1; k++) {
+            speedLogs.add(new Drive.SpeedLog(k + 1, (int) periodMaxSpeeds[k]));
+        }
+
+        // 정속 주행 비율 계산
+        int total = low + middle + high;
+        int lowRate = 100*low/total;
+        int middleRate = 100*middle/total;
+        int highRate = 100 - lowRate - middleRate;
+        List<Drive.SpeedRate> speedRate = new ArrayList<>();
+        speedRate.add(new Drive.SpeedRate("low", lowRate) );
+        speedRate.add(new Drive.SpeedRate("middle", middleRate) );
+        speedRate.add(new Drive.SpeedRate("high", highRate) );
+
+        Drive drive = new Drive();
+        drive.setDriveId(driveId);
+        drive.setUserId(userId);
+        drive.setStartTime(TelemetryBatch.toInstant(startTime));
+        drive.setEndTime(TelemetryBatch.toInstant(lastTime));
+        drive.setSpeedRate(speedRate);
+        drive.setIdlingPeriods(idlingPeriods);
+        drive.setSpeedLogs(speedLogs);
+        drive.setActiveDriveDurationSec(activeDriveDurationSec);
+
+        return drive;
+    }
+
+    private void addIdlePeriod(long start, long end) {
+        if (2 * idleCount + 2 > idlePeriods.length) {
+            idlePeriods = Arrays.copyOf(idlePeriods, idlePeriods.length * 2);
+        }
+        idlePeriods[2 * idleCount] = start;
+        idlePeriods[2 * idleCount + 1] = end;
+        idleCount++;
+    }
+
+    private void appendIdlePeriods(DriveAnalysisPartial other) {
+        for (int k = 0; k < other.idleCount; k++) {
+            addIdlePeriod(other.idlePeriods[2 * k], other.idlePeriods[2 * k + 1]);
+        }
+    }
+
+    private void addPeriodStart(int start) {
+        if (periodCount == periodStarts.length) {
+            periodStarts = Arrays.copyOf(periodStarts, periodCount * 2);
+            periodMaxSpeeds = Arrays.copyOf(periodMaxSpeeds, periodCount * 2);
+        }
+        periodStarts[periodCount++] = start;
+    }
+
+    // 마지막 period를 maxSpeed로 닫고 nextStart에서 새 period 시작
+    private void addClosedPeriod(double maxSpeed, int nextStart) {
+        periodMaxSpeeds[periodCount - 1] = maxSpeed;
+        addPeriodStart(nextStart);
+    }
+
+    private static final class AnalysisTask extends RecursiveTask<DriveAnalysisPartial> {
+
+        private final long[] times;
+        private final double[] velocities;
+        private final int lo;
+        private final int hi;
+        private final int leafRows;
+
+        private AnalysisTask(long[] times, double[] velocities, int lo, int hi, int leafRows) {
+            this.times = times;
+            this.velocities = velocities;
+            this.lo = lo;
+            this.hi = hi;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected DriveAnalysisPartial compute() {
+            if (hi - lo <= leafRows) {
+                return analyze(times, velocities, lo, hi);
+            }
+
+            int mid = (lo + hi) >>> 1;
+            AnalysisTask left = new AnalysisTask(times, velocities, lo, mid, leafRows);
+            left.fork();
+            DriveAnalysisPartial rightResult = new AnalysisTask(times, velocities, mid, hi, leafRows).compute();
+            return left.join().merge(rightResult);
+        }
+    }
+}
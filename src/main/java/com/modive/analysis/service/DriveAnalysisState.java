@@ -0,0 +1,132 @@
+package com.modive.analysis.service;
+
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.telemetry.TelemetryBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 주행에 대한 증분 분석 상태
+ * 행을 accept(time, velocity)로 하나씩 받으면서 공회전 구간, 20초 단위 최고속도, 속도 구간 비율,
+ * 주행 시간을 누적하고, finish()에서 Drive를 만든다. 행 수와 관계없이 사용하는 메모리는 일정하다.
+ */
+public class DriveAnalysisState {
+
+    // 최고속도 period 주기 (20초, microseconds)
+    private static final long PERIOD_MICROS = 20_000_000L;
+
+    private final String driveId;
+    private final String userId;
+
+    private int rows;
+    private long startTime;
+    private long lastTime;
+
+    private int activeDriveDurationSec;
+    private final List<Drive.SpeedLog> speedLogs = new ArrayList<>();
+    private final List<Drive.StartEndTime> idlingPeriods = new ArrayList<>();
+
+    private boolean idling;
+    private long idlingStartTime;
+    private double currentMaxSpeed;
+    private long periodStartTime;
+    private int period = 1;
+    private int low;
+    private int middle;
+    private int high;
+
+    public DriveAnalysisState(String driveId, String userId) {
+        this.driveId = driveId;
+        this.userId = userId;
+    }
+
+    /**
+     * 시간순으로 행 하나를 반영
+     * @param now 시간 (epoch microseconds)
+     * @param speed 속도
+     */
+    public void accept(long now, double speed) {
+
+        // 공회전 분석
+        if (speed < 1) {
+            if (!idling) {
+                idling = true;
+                idlingStartTime = now;
+            }
+        } else if (idling) {
+            idlingPeriods.add(new Drive.StartEndTime(TelemetryBatch.toInstant(idlingStartTime), TelemetryBatch.toInstant(now)));
+            idling = false;
+        }
+
+        // 최고속도 분석 (첫 행은 period 시작 시각으로만 사용)
+        if (rows == 0) {
+            startTime = now;
+            periodStartTime = now;
+        } else if (now - periodStartTime < PERIOD_MICROS) {
+            if (speed > currentMaxSpeed) currentMaxSpeed = speed;
+        } else {
+            speedLogs.add(new Drive.SpeedLog(period, (int) currentMaxSpeed));
+            period++;
+            periodStartTime = now;
+            currentMaxSpeed = speed;
+        }
+
+        // 정속 주행 비율 분석
+        if (speed > 1) {
+            if (speed < 30) low++;
+            else if (speed < 80) middle++;
+            else high++;
+            activeDriveDurationSec++;
+        }
+
+        lastTime = now;
+        rows++;
+    }
+
+    /**
+     * 반영된 행 수
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * 누적된 상태로 분석 결과 생성
+     * @return 분석 결과가 채워진 Drive
+     */
+    public Drive finish() {
+        if (rows == 0) {
+            throw new IllegalArgumentException("No telemetry rows for driveId: " + driveId);
+        }
+
+        List<Drive.StartEndTime> idlingResult = new ArrayList<>(idlingPeriods);
+
+        // 공회전 처리
+        if (idling) {
+            idlingResult.add(new Drive.StartEndTime(TelemetryBatch.toInstant(idlingStartTime), TelemetryBatch.toInstant(lastTime)));
+        }
+        // 최고 속도 마지막 period는 버린다.
+        // 정속 주행 비율 계산
+        int total = low + middle + high;
+        int lowRate = 100*low/total;
+        int middleRate = 100*middle/total;
+        int highRate = 100 - lowRate - middleRate;
+        List<Drive.SpeedRate> speedRate = new ArrayList<>();
+        speedRate.add(new Drive.SpeedRate("low", lowRate) );
+        speedRate.add(new Drive.SpeedRate("middle", middleRate) );
+        speedRate.add(new Drive.SpeedRate("high", highRate) );
+
+        Drive drive = new Drive();
+        drive.setDriveId(driveId);
+        drive.setUserId(userId);
+        drive.setStartTime(TelemetryBatch.toInstant(startTime));
+        drive.setEndTime(TelemetryBatch.toInstant(lastTime));
+        drive.setSpeedRate(speedRate);
+        drive.setIdlingPeriods(idlingResult);
+        drive.setSpeedLogs(new ArrayList<>(speedLogs));
+        drive.setActiveDriveDurationSec(activeDriveDurationSec);
+
+        return drive;
+    }
+}
@@ -8,7 +8,11 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +27,26 @@ public class EventDataService {
 //            throw new RuntimeException("No events found for driveId: " + driveId);
 //        }
 
+        return toDrive(driveId, events);
+    }
+
+    /**
+     * 여러 주행의 이벤트를 한 번의 쿼리로 조회
+     * @param driveIds 운전 ID 목록
+     * @return driveId -> 이벤트가 채워진 Drive (이벤트가 없는 주행도 빈 리스트로 포함)
+     */
+    public Map<String, Drive> loadDrivesData(Collection<String> driveIds) {
+        Map<String, List<EventEntity>> eventsByDrive = eventRepository.findByDriveIdIn(driveIds).stream()
+                .collect(Collectors.groupingBy(EventEntity::getDriveId));
+
+        Map<String, Drive> result = new HashMap<>();
+        for (String driveId : driveIds) {
+            result.put(driveId, toDrive(driveId, eventsByDrive.getOrDefault(driveId, List.of())));
+        }
+        return result;
+    }
+
+    private Drive toDrive(String driveId, List<EventEntity> events) {
         Drive drive = new Drive();
         drive.setDriveId(driveId);
 
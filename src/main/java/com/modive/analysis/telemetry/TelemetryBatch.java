@@ -0,0 +1,120 @@
+package com.modive.analysis.telemetry;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * 한 주행의 텔레메트리를 컬럼 단위로 보관하는 객체
+ * 행마다 Map을 만드는 대신 시간(epoch micros)과 속도를 기본형 배열에 담고,
+ * driveId/userId는 한 번만 보관한다.
+ */
+public final class TelemetryBatch {
+
+    private final String driveId;
+    private final String userId;
+    private final long[] timeMicros;
+    private final double[] velocities;
+    private final int size;
+
+    private TelemetryBatch(String driveId, String userId, long[] timeMicros, double[] velocities, int size) {
+        this.driveId = driveId;
+        this.userId = userId;
+        this.timeMicros = timeMicros;
+        this.velocities = velocities;
+        this.size = size;
+    }
+
+    public static Builder builder(String driveId, String userId) {
+        return new Builder(driveId, userId);
+    }
+
+    public String getDriveId() {
+        return driveId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * 행 수
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * i번째 행의 시간 (epoch microseconds)
+     */
+    public long timeMicros(int i) {
+        return timeMicros[i];
+    }
+
+    /**
+     * i번째 행의 속도
+     */
+    public double velocity(int i) {
+        return velocities[i];
+    }
+
+    /**
+     * 시간 컬럼 배열 (앞쪽 size()개만 유효, 수정 금지)
+     */
+    public long[] timeMicrosArray() {
+        return timeMicros;
+    }
+
+    /**
+     * 속도 컬럼 배열 (앞쪽 size()개만 유효, 수정 금지)
+     */
+    public double[] velocityArray() {
+        return velocities;
+    }
+
+    public static Instant toInstant(long epochMicros) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L), Math.floorMod(epochMicros, 1_000_000L) * 1_000L);
+    }
+
+    /**
+     * 행을 하나씩 추가하며 배열을 키워 나가는 빌더
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 256;
+
+        private final String driveId;
+        private final String userId;
+        private long[] timeMicros = new long[INITIAL_CAPACITY];
+        private double[] velocities = new double[INITIAL_CAPACITY];
+        private int size;
+
+        private Builder(String driveId, String userId) {
+            this.driveId = driveId;
+            this.userId = userId;
+        }
+
+        public Builder add(long epochMicros, double velocity) {
+            if (size == timeMicros.length) {
+                int capacity = size + (size >> 1);
+                timeMicros = Arrays.copyOf(timeMicros, capacity);
+                velocities = Arrays.copyOf(velocities, capacity);
+            }
+            timeMicros[size] = epochMicros;
+            velocities[size] = velocity;
+            size++;
+            return this;
+        }
+
+        public String getDriveId() {
+            return driveId;
+        }
+
+        public TelemetryBatch build() {
+            return new TelemetryBatch(driveId, userId, timeMicros, velocities, size);
+        }
+    }
+}
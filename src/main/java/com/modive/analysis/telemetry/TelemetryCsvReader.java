@@ -0,0 +1,95 @@
+package com.modive.analysis.telemetry;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Athena 결과 CSV를 한 번만 읽으면서 드라이브별 TelemetryBatch로 채우는 리더
+ * 헤더는 처음 한 번만 컬럼 인덱스로 변환하고, 이후 행은 인덱스로 바로 접근한다.
+ */
+public final class TelemetryCsvReader {
+
+    public static final String TIME_COLUMN = "time";
+    public static final String VELOCITY_COLUMN = "velocity";
+    public static final String DRIVE_ID_COLUMN = "driveid";
+    public static final String USER_ID_COLUMN = "userid";
+
+    private TelemetryCsvReader() {
+    }
+
+    /**
+     * CSV를 읽어 driveId별 TelemetryBatch로 반환 (CSV에 처음 등장한 순서 유지)
+     * @param reader Athena 결과 CSV (첫 줄은 헤더)
+     * @return driveId -> TelemetryBatch
+     */
+    public static Map<String, TelemetryBatch> read(Reader reader) throws IOException {
+        Map<String, TelemetryBatch.Builder> builders = new LinkedHashMap<>();
+
+        stream(reader, new TelemetryListener() {
+            private TelemetryBatch.Builder current;
+
+            @Override
+            public void startDrive(String driveId, String userId) {
+                current = builders.computeIfAbsent(driveId, id -> TelemetryBatch.builder(id, userId));
+            }
+
+            @Override
+            public void accept(long epochMicros, double velocity) {
+                current.add(epochMicros, velocity);
+            }
+        });
+
+        Map<String, TelemetryBatch> result = new LinkedHashMap<>();
+        builders.forEach((driveId, builder) -> result.put(driveId, builder.build()));
+        return result;
+    }
+
+    /**
+     * CSV를 한 행씩 읽으면서 바로 리스너에 전달 (전체 결과를 메모리에 올리지 않음)
+     * @param reader Athena 결과 CSV (첫 줄은 헤더)
+     * @param listener 행을 전달받을 리스너
+     */
+    public static void stream(Reader reader, TelemetryListener listener) throws IOException {
+        CSVParser parser = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .build()
+                .parse(reader);
+
+        // 헤더 -> 컬럼 인덱스는 한 번만 계산
+        Map<String, Integer> header = parser.getHeaderMap();
+        int timeIdx = columnIndex(header, TIME_COLUMN);
+        int velocityIdx = columnIndex(header, VELOCITY_COLUMN);
+        int driveIdIdx = columnIndex(header, DRIVE_ID_COLUMN);
+        int userIdIdx = columnIndex(header, USER_ID_COLUMN);
+
+        TelemetryTimeParser timeParser = TelemetryTimeParser.systemDefault();
+        String currentDriveId = null;
+
+        for (CSVRecord record : parser) {
+            String driveId = record.get(driveIdIdx);
+
+            // 결과는 driveId 순으로 정렬되어 있으므로 driveId가 바뀔 때만 알림
+            if (!driveId.equals(currentDriveId)) {
+                currentDriveId = driveId;
+                listener.startDrive(driveId, record.get(userIdIdx));
+            }
+
+            listener.accept(timeParser.parseEpochMicros(record.get(timeIdx)), Double.parseDouble(record.get(velocityIdx)));
+        }
+    }
+
+    private static int columnIndex(Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null) {
+            throw new IllegalArgumentException("Missing column in Athena result: " + column);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,20 @@
+package com.modive.analysis.telemetry;
+
+/**
+ * CSV를 읽는 동안 행을 하나씩 전달받는 리스너
+ * 결과는 driveId, time 순으로 정렬되어 있으므로 같은 드라이브의 행은 startDrive 이후 연속해서 들어온다.
+ */
+public interface TelemetryListener {
+
+    /**
+     * 새 드라이브의 첫 행이 전달되기 직전에 호출
+     */
+    void startDrive(String driveId, String userId);
+
+    /**
+     * 현재 드라이브의 행 하나
+     * @param epochMicros 시간 (epoch microseconds)
+     * @param velocity 속도
+     */
+    void accept(long epochMicros, double velocity);
+}
@@ -0,0 +1,157 @@
+package com.modive.analysis.telemetry;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Athena 텔레메트리 시간 문자열 전용 파서
+ * 고정 형식 yyyy-MM-dd'T'HH:mm:ss.SSSSSS 를 문자 단위로 직접 읽어 epoch microseconds로 변환한다.
+ * 타임존 오프셋은 캐시해 두고, 형식이 다르거나 값이 범위를 벗어나면 DateTimeFormatter 경로로 처리한다.
+ */
+public final class TelemetryTimeParser {
+
+    public static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS";
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+    private static final int LENGTH = 26;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    // 시스템 기본 타임존 (예: Asia/Seoul) 기준 파서
+    private static final TelemetryTimeParser SYSTEM_DEFAULT = new TelemetryTimeParser(ZoneId.systemDefault());
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+
+    // 오프셋이 바뀌지 않는 구간 캐시 (불변 객체로 교체하므로 여러 스레드에서 공유 가능)
+    private OffsetWindow window = OffsetWindow.EMPTY;
+
+    public TelemetryTimeParser(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            window = new OffsetWindow(Long.MIN_VALUE, Long.MAX_VALUE, rules.getOffset(Instant.EPOCH).getTotalSeconds());
+        }
+    }
+
+    public static TelemetryTimeParser systemDefault() {
+        return SYSTEM_DEFAULT;
+    }
+
+    /**
+     * 시간 문자열을 epoch microseconds로 변환
+     * @throws java.time.format.DateTimeParseException 고정 형식도 아니고 일반 파서로도 읽을 수 없는 경우
+     */
+    public long parseEpochMicros(CharSequence text) {
+        if (text.length() != LENGTH
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':' || text.charAt(19) != '.') {
+            return parseGeneral(text);
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        int micros = digits(text, 20, 6);
+
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || micros < 0) {
+            return parseGeneral(text);
+        }
+
+        long localSecond = epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+        return toEpochSecond(localSecond, text) * 1_000_000L + micros;
+    }
+
+    /**
+     * 로컬 시각(초)을 epoch second로 변환. 캐시된 오프셋 구간 안이면 계산만 하고, 아니면 구간을 새로 구한다.
+     */
+    private long toEpochSecond(long localSecond, CharSequence text) {
+        OffsetWindow current = window;
+        long epochSecond = localSecond - current.offsetSeconds;
+        if (epochSecond >= current.from && epochSecond < current.to) {
+            return epochSecond;
+        }
+
+        ZonedDateTime zoned = LocalDateTime.parse(text, FORMATTER).atZone(zone);
+        window = OffsetWindow.around(rules, zoned.toInstant(), zoned.getOffset().getTotalSeconds());
+        return zoned.toEpochSecond();
+    }
+
+    // 기존 방식 (DateTimeFormatter + ZonedDateTime)
+    private long parseGeneral(CharSequence text) {
+        ZonedDateTime zoned = LocalDateTime.parse(text, FORMATTER).atZone(zone);
+        return zoned.toEpochSecond() * 1_000_000L + zoned.getNano() / 1_000L;
+    }
+
+    // 숫자가 아닌 문자가 있으면 -1
+    private static int digits(CharSequence text, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // LocalDate.toEpochDay와 같은 계산 (0 <= year <= 9999)
+    private static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) total--;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 같은 오프셋이 적용되는 epoch second 구간 [from, to)
+     * 서머타임 전환 전후 하루는 구간에서 제외해서, 전환 근처 시각은 항상 일반 경로로 계산되게 한다.
+     */
+    private static final class OffsetWindow {
+
+        private static final OffsetWindow EMPTY = new OffsetWindow(0, 0, 0);
+
+        private final long from;
+        private final long to;
+        private final int offsetSeconds;
+
+        private OffsetWindow(long from, long to, int offsetSeconds) {
+            this.from = from;
+            this.to = to;
+            this.offsetSeconds = offsetSeconds;
+        }
+
+        private static OffsetWindow around(ZoneRules rules, Instant instant, int offsetSeconds) {
+            ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            long from = previous == null ? Long.MIN_VALUE : previous.toEpochSecond() + SECONDS_PER_DAY;
+            long to = next == null ? Long.MAX_VALUE : next.toEpochSecond() - SECONDS_PER_DAY;
+            return new OffsetWindow(from, to, offsetSeconds);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.modive.analysis.worker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 진행 중인 분석 작업 수 한도를 관찰한 처리 시간과 throttling으로 조정 (AIMD)
+ * - 증가: 한도의 절반 이상을 쓰고 있을 때 작업이 정상적으로 끝나면 1/limit만큼 (한도만큼 끝나면 +1)
+ * - 감소: throttling으로 실패하거나 처리 시간이 장기 평균의 latencyTolerance배를 넘으면 backoffRatio를 곱함
+ *   한 배치의 작업들이 한꺼번에 실패해도 한 번만 줄이도록, 줄인 뒤 장기 평균 처리 시간 동안은 다시 줄이지 않는다.
+ * 한도는 항상 [minLimit, maxLimit] 안에 있다. minLimit == maxLimit이면 고정 한도.
+ *
+ * 메트릭
+ * - analysis.concurrency.limit: 현재 한도
+ * - analysis.concurrency.in-flight: 진행 중인 작업 수
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // 장기 평균 처리 시간 EWMA 가중치, 이 수만큼 표본이 모이기 전에는 처리 시간으로 줄이지 않음
+    private static final double BASELINE_ALPHA = 0.05;
+    private static final int WARMUP_SAMPLES = 20;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private double baselineNanos;
+    private long samples;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+
+    /**
+     * @param initialLimit 시작 한도
+     * @param minLimit 최소 한도 (1 이상)
+     * @param maxLimit 최대 한도
+     * @param backoffRatio 줄일 때 곱하는 비율 (0~1)
+     * @param latencyTolerance 장기 평균 대비 이 배수보다 느린 작업은 혼잡으로 봄
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                    double latencyTolerance, MeterRegistry meterRegistry) {
+        this(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                             double latencyTolerance, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.minLimit = Math.max(1, Math.min(minLimit, this.maxLimit));
+        this.backoffRatio = Math.min(Math.max(backoffRatio, 0.1), 1.0);
+        this.latencyTolerance = Math.max(1.0, latencyTolerance);
+        this.nanoClock = nanoClock;
+        this.limit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+
+        Gauge.builder("analysis.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("진행 중일 수 있는 분석 작업 수 한도 (처리 시간, throttling에 따라 조정)")
+                .register(meterRegistry);
+        Gauge.builder("analysis.concurrency.in-flight", this, AdaptiveConcurrencyLimit::getInFlight)
+                .description("진행 중인 분석 작업 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * permits개를 진행할 수 있을 때까지 대기
+     * 진행 중인 작업이 없으면 한도보다 큰 배치도 받는다. (한도가 줄어든 사이에 꺼낸 배치가 멈추지 않도록)
+     */
+    public void acquire(int permits) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight > 0 && inFlight + permits > (int) limit) {
+                available.await();
+            }
+            inFlight += permits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 처리 시간을 측정하지 못한 작업 반환 (한도는 바꾸지 않음)
+     */
+    public void release(int permits) {
+        lock.lock();
+        try {
+            inFlight = Math.max(0, inFlight - permits);
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 작업 하나를 반환하고 그 결과로 한도 조정
+     * @param latencyNanos 작업을 진행 목록에 넣은 뒤 끝날 때까지 걸린 시간
+     * @param throttled Athena/DynamoDB throttling으로 실패했는지
+     */
+    public void release(long latencyNanos, boolean throttled) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight >= limit / 2; // 한도를 거의 쓰지 않을 때는 늘려도 의미가 없음
+            inFlight = Math.max(0, inFlight - 1);
+            if (minLimit < maxLimit) {
+                adjust(latencyNanos, throttled, saturated);
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(long latencyNanos, boolean throttled, boolean saturated) {
+        if (throttled) {
+            decrease();
+            return;
+        }
+        boolean slow = samples >= WARMUP_SAMPLES && latencyNanos > baselineNanos * latencyTolerance;
+        baselineNanos = samples == 0 ? latencyNanos : baselineNanos + BASELINE_ALPHA * (latencyNanos - baselineNanos);
+        samples++;
+        if (slow) {
+            decrease();
+        } else if (saturated) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    private void decrease() {
+        long now = nanoClock.getAsLong();
+        if (decreased && now - lastDecreaseNanos < baselineNanos) return;
+        limit = Math.max(minLimit, limit * backoffRatio);
+        lastDecreaseNanos = now;
+        decreased = true;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.modive.analysis.worker;
+
+import com.modive.analysis.dto.AnalysisJobStatusDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 드라이브 하나의 분석 작업 핸들
+ * 같은 driveId가 대기 중이거나 진행 중일 때 다시 요청되면 새 작업을 만들지 않고 이 핸들을 함께 돌려준다.
+ * 상태(QUEUED -> FETCHING -> ANALYZING -> PERSISTING -> DONE/FAILED)와 상태별 진입 시각을 기록하고,
+ * 상태가 바뀔 때마다 구독자에게 알린다. 재시도할 수 있는 실패는 RETRYING을 거쳐 다시 QUEUED부터 진행한다.
+ */
+public class AnalysisJob {
+
+    private final String driveId;
+    private final long enqueuedAt;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicInteger requestCount = new AtomicInteger(1);
+    private final AtomicInteger failedAttempts = new AtomicInteger();
+
+    private final Map<AnalysisJobState, Instant> timestamps = new EnumMap<>(AnalysisJobState.class);
+    private final List<Consumer<AnalysisJob>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> cancelHandlers = new CopyOnWriteArrayList<>();
+    private volatile AnalysisPriority priority;
+    private volatile AnalysisJobState state = AnalysisJobState.QUEUED;
+    private volatile long version;
+    private volatile long finishedAt;
+    private volatile String error;
+    private volatile Duration queryTimeout;
+
+    public AnalysisJob(String driveId) {
+        this(driveId, AnalysisPriority.NORMAL);
+    }
+
+    public AnalysisJob(String driveId, AnalysisPriority priority) {
+        this.driveId = driveId;
+        this.priority = priority;
+        this.enqueuedAt = System.currentTimeMillis();
+        this.timestamps.put(AnalysisJobState.QUEUED, Instant.ofEpochMilli(enqueuedAt));
+    }
+
+    public String getDriveId() {
+        return driveId;
+    }
+
+    /**
+     * 큐에 들어간 시각 (epoch millis)
+     */
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    /**
+     * 이 작업으로 합쳐진 요청 수 (처음 요청 포함)
+     */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * 실패한 시도 횟수
+     */
+    public int getFailedAttempts() {
+        return failedAttempts.get();
+    }
+
+    /**
+     * 마지막 실패 내용 ("예외 이름: 메시지"), 실패한 적이 없으면 null
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * 요청에서 지정한 Athena 쿼리 기한, 지정하지 않았으면 null (기본 기한)
+     */
+    public Duration getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    public AnalysisPriority getPriority() {
+        return priority;
+    }
+
+    public AnalysisJobState getState() {
+        return state;
+    }
+
+    /**
+     * 상태가 바뀔 때마다 증가하는 값 (long-poll에서 변경 여부 확인용)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * DONE/FAILED가 된 시각 (epoch millis), 진행 중이면 0
+     */
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * 분석/저장이 끝나면 완료되는 Future (실패 시 예외로 완료)
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    public synchronized AnalysisJobStatusDTO toStatus() {
+        return new AnalysisJobStatusDTO(driveId, state, priority, requestCount.get(), failedAttempts.get(),
+                new EnumMap<>(timestamps), error);
+    }
+
+    /**
+     * 상태 변경 구독
+     * @return 구독 해제 Runnable
+     */
+    public Runnable subscribe(Consumer<AnalysisJob> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * sinceVersion 이후 상태가 바뀌면 완료되는 Future (이미 바뀌었으면 바로 완료)
+     * 기다리는 쪽에서 Future를 취소하면 구독도 해제된다.
+     */
+    public CompletableFuture<AnalysisJob> awaitChange(long sinceVersion) {
+        CompletableFuture<AnalysisJob> changed = new CompletableFuture<>();
+        Runnable unsubscribe = subscribe(changed::complete);
+        changed.whenComplete((job, e) -> unsubscribe.run());
+        if (version != sinceVersion) {
+            changed.complete(this);
+        }
+        return changed;
+    }
+
+    /**
+     * 작업 취소 (대기 중이면 큐에서 꺼낼 때 건너뛰고, 진행 중이면 Athena 쿼리 중단을 시도)
+     * @return 취소되었으면 true, 이미 끝난 작업이면 false
+     */
+    public boolean cancel() {
+        synchronized (this) {
+            if (state.isTerminal()) return false;
+            finishedAt = System.currentTimeMillis();
+            error = "Cancelled";
+            state = AnalysisJobState.CANCELLED;
+            timestamps.put(AnalysisJobState.CANCELLED, Instant.ofEpochMilli(finishedAt));
+            version++;
+        }
+        listeners.forEach(listener -> listener.accept(this));
+        completion.completeExceptionally(new CancellationException("Drive analysis cancelled: " + driveId));
+        cancelHandlers.forEach(Runnable::run);
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return state == AnalysisJobState.CANCELLED;
+    }
+
+    /**
+     * 취소될 때 실행할 작업 등록 (이미 취소되었으면 바로 실행)
+     */
+    void onCancel(Runnable handler) {
+        cancelHandlers.add(handler);
+        if (isCancelled()) {
+            handler.run();
+        }
+    }
+
+    void setQueryTimeout(Duration queryTimeout) {
+        this.queryTimeout = queryTimeout;
+    }
+
+    void setPriority(AnalysisPriority priority) {
+        this.priority = priority;
+    }
+
+    void coalesce() {
+        requestCount.incrementAndGet();
+    }
+
+    /**
+     * 다음 단계로 상태 변경 (이미 끝난 작업은 무시)
+     */
+    void transition(AnalysisJobState next) {
+        synchronized (this) {
+            if (state.isTerminal() || state == next) return;
+            state = next;
+            timestamps.put(next, Instant.now());
+            version++;
+        }
+        listeners.forEach(listener -> listener.accept(this));
+    }
+
+    /**
+     * 실패한 시도 기록
+     * @return 지금까지 실패한 시도 횟수
+     */
+    int recordFailure(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return failedAttempts.incrementAndGet();
+    }
+
+    /**
+     * 작업 종료 처리 (error가 null이면 DONE, 아니면 FAILED) 후 completion 완료 (이미 끝난 작업은 무시)
+     */
+    void finish(Throwable failure) {
+        synchronized (this) {
+            if (state.isTerminal()) return;
+        }
+        finishedAt = System.currentTimeMillis();
+        if (failure == null) {
+            transition(AnalysisJobState.DONE);
+            completion.complete(null);
+        } else {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+            transition(AnalysisJobState.FAILED);
+            completion.completeExceptionally(failure);
+        }
+    }
+}
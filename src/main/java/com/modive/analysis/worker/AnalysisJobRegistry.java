@@ -0,0 +1,90 @@
+package com.modive.analysis.worker;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * driveId별 최근 분석 작업 목록 (상태 조회용)
+ * 끝난 작업은 TTL이 지나면 정리되므로 메모리 사용량이 진행 중인 작업 + TTL 동안 끝난 작업으로 제한된다.
+ */
+@Component
+public class AnalysisJobRegistry {
+
+    // 끝난 작업을 상태 조회용으로 보관하는 시간
+    @Value("${analysis.jobs.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    // 만료된 작업 정리 주기
+    @Value("${analysis.jobs.cleanup-interval-seconds:60}")
+    private long cleanupIntervalSeconds;
+
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "analysis-job-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ScheduledFuture<?> cleanupTask;
+
+    /**
+     * driveId의 최근 작업으로 등록 (이전 작업은 교체)
+     */
+    public void register(AnalysisJob job) {
+        ensureStarted();
+        jobs.put(job.getDriveId(), job);
+    }
+
+    /**
+     * driveId의 최근 작업, 없거나 만료되었으면 null
+     */
+    public AnalysisJob find(String driveId) {
+        AnalysisJob job = jobs.get(driveId);
+        if (job != null && isExpired(job, System.currentTimeMillis())) {
+            jobs.remove(driveId, job);
+            return null;
+        }
+        return job;
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    /**
+     * TTL이 지난 끝난 작업 정리
+     */
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> isExpired(job, now));
+    }
+
+    private boolean isExpired(AnalysisJob job, long now) {
+        return job.getState().isTerminal() && now - job.getFinishedAt() >= TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    private void ensureStarted() {
+        if (cleanupTask == null) {
+            synchronized (this) {
+                if (cleanupTask == null) {
+                    long interval = Math.max(1, cleanupIntervalSeconds);
+                    cleanupTask = cleaner.scheduleWithFixedDelay(this::evictExpired, interval, interval, TimeUnit.SECONDS);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+}
@@ -0,0 +1,19 @@
+package com.modive.analysis.worker;
+
+/**
+ * 드라이브 분석 작업 상태
+ */
+public enum AnalysisJobState {
+    QUEUED,     // 대기 큐에 들어감
+    FETCHING,   // Athena 조회 중 (RDS 이벤트 조회도 함께 진행)
+    ANALYZING,  // 텔레메트리 분석 중
+    PERSISTING, // 병합 후 DynamoDB 저장 중
+    RETRYING,   // 실패 후 재시도 대기 중 (백오프가 끝나면 다시 QUEUED)
+    DONE,       // 완료
+    FAILED,     // 실패
+    CANCELLED;  // 요청으로 취소됨
+
+    public boolean isTerminal() {
+        return this == DONE || this == FAILED || this == CANCELLED;
+    }
+}
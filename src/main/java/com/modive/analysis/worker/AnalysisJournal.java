@@ -0,0 +1,105 @@
+package com.modive.analysis.worker;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종료 시점에 끝나지 않은 분석 요청(driveId, 우선순위)을 기록하는 로컬 파일
+ * 한 줄에 "driveId\tpriority" 하나씩 기록하고, 임시 파일에 쓰고 fsync한 뒤 이름을 바꾸므로
+ * 쓰는 도중 프로세스가 죽어도 이전 내용이나 새 내용 중 하나만 남는다.
+ */
+@Slf4j
+@Component
+public class AnalysisJournal {
+
+    @Value("${analysis.worker.journal.path:data/analysis-journal.tsv}")
+    private String path;
+
+    /**
+     * 기존 내용을 entries로 교체 (entries가 비어 있으면 파일 삭제)
+     */
+    public void write(Map<String, AnalysisPriority> entries) {
+        if (entries.isEmpty()) {
+            clear();
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        entries.forEach((driveId, priority) -> content.append(driveId).append('\t').append(priority.tag()).append('\n'));
+
+        Path file = file();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write analysis journal: " + file, e);
+        }
+    }
+
+    /**
+     * 기록된 요청 (기록한 순서), 파일이 없으면 빈 Map
+     * 형식이 잘못된 줄은 건너뛴다.
+     */
+    public Map<String, AnalysisPriority> read() {
+        Path file = file();
+        Map<String, AnalysisPriority> entries = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return entries;
+        }
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read analysis journal: " + file, e);
+        }
+        for (String line : lines) {
+            if (line.isBlank()) continue;
+            String[] columns = line.split("\t");
+            try {
+                entries.put(columns[0], columns.length > 1 ? AnalysisPriority.from(columns[1]) : AnalysisPriority.NORMAL);
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping malformed analysis journal line: {}", line);
+            }
+        }
+        return entries;
+    }
+
+    public void clear() {
+        Path file = file();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete analysis journal: " + file, e);
+        }
+    }
+
+    private Path file() {
+        return Paths.get(path);
+    }
+}
@@ -0,0 +1,27 @@
+package com.modive.analysis.worker;
+
+import java.util.Locale;
+
+/**
+ * 분석 작업 우선순위 (대기 큐 lane)
+ */
+public enum AnalysisPriority {
+    INTERACTIVE, // 사용자가 결과를 기다리는 요청 (주차 직후 앱 조회 등)
+    NORMAL,      // 일반 주행 종료 요청
+    BACKFILL;    // 대량 재분석
+
+    /**
+     * 요청 파라미터 값으로 변환 (대소문자 무시)
+     * @throws IllegalArgumentException 알 수 없는 값
+     */
+    public static AnalysisPriority from(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * 메트릭 태그 값
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
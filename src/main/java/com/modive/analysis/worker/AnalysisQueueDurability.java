@@ -0,0 +1,175 @@
+package com.modive.analysis.worker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * local 모드에서 접수한 분석 요청을 프로세스가 재시작되어도 잃지 않도록 기록하고, 시작할 때 다시 큐에 넣음
+ * - write-ahead log(analysis.worker.wal.enabled)를 켜면 큐에 넣기 전에 기록하고 끝나면 ACK, 죽어도 다음 시작 때 복구
+ * - 끄면 정상 종료할 때 끝나지 않은 요청만 journal(AnalysisJournal)에 기록
+ * distributed 모드에서는 요청이 공유 대기열에 남아 있으므로 쓰지 않는다 (DistributedJobClaimer).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisQueueDurability implements InitializingBean {
+
+    private final AnalysisJournal analysisJournal;
+    private final MeterRegistry meterRegistry;
+
+    // 대기 큐 write-ahead log (켜면 큐에 넣은 driveId를 파일에 기록하고, 프로세스가 죽어도 다음 시작 때 복구)
+    @Value("${analysis.worker.wal.enabled:false}")
+    private boolean walEnabled;
+
+    @Value("${analysis.worker.wal.dir:data/analysis-wal}")
+    private String walDir;
+
+    @Value("${analysis.worker.wal.segment-size-bytes:16777216}")
+    private int walSegmentBytes;
+
+    // always: 레코드마다 fsync, batch: fsync-interval-ms마다 fsync, none: OS에 맡김
+    @Value("${analysis.worker.wal.fsync:batch}")
+    private String walFsync;
+
+    @Value("${analysis.worker.wal.fsync-interval-ms:10}")
+    private long walFsyncIntervalMs;
+
+    // 닫힌 segment가 이보다 많으면 오래된 segment의 남은 항목을 옮겨 적고 지움
+    @Value("${analysis.worker.wal.max-sealed-segments:4}")
+    private int walMaxSealedSegments;
+
+    private AnalysisQueueLog queueLog;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!walEnabled) return;
+        queueLog = AnalysisQueueLog.open(Paths.get(walDir), walSegmentBytes,
+                AnalysisQueueLog.FsyncPolicy.from(walFsync), walFsyncIntervalMs, walMaxSealedSegments);
+        Gauge.builder("analysis.wal.pending", queueLog, AnalysisQueueLog::pendingCount)
+                .description("write-ahead log에서 ACK되지 않은 driveId 수")
+                .register(meterRegistry);
+        Gauge.builder("analysis.wal.segments", queueLog, AnalysisQueueLog::segmentCount)
+                .description("write-ahead log segment 파일 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 큐에 넣기 전에 write-ahead log에 기록 (끄면 아무것도 하지 않음)
+     * @throws RuntimeException 기록하지 못한 경우 (요청을 받지 않아야 함)
+     */
+    public void append(String driveId, AnalysisPriority priority) {
+        if (queueLog != null) {
+            queueLog.append(driveId, priority);
+        }
+    }
+
+    /**
+     * write-ahead log에 작업이 끝났다고 기록
+     */
+    public void ack(String driveId) {
+        if (queueLog == null) return;
+        try {
+            queueLog.ack(driveId);
+        } catch (RuntimeException e) {
+            log.warn("Error writing analysis queue log ack {}", driveId, e);
+        }
+    }
+
+    /**
+     * write-ahead log에서 ACK되지 않은 요청과 이전 종료 때 journal에 기록된 요청을 enqueue로 다시 큐에 넣음
+     * enqueue가 AnalysisQueueFullException을 던지면 거기서 멈추고, 넣지 못한 요청은 다음 시작 때 다시 복구한다.
+     * @return 다시 큐에 넣은 요청 수
+     */
+    public int recover(BiConsumer<String, AnalysisPriority> enqueue) {
+        int replayed = queueLog != null ? replayQueueLog(enqueue) : 0;
+        Map<String, AnalysisPriority> entries;
+        try {
+            entries = analysisJournal.read();
+        } catch (RuntimeException e) {
+            log.error("Error reading analysis journal", e);
+            return replayed;
+        }
+        if (entries.isEmpty()) return replayed;
+
+        Map<String, AnalysisPriority> remaining = new LinkedHashMap<>(entries);
+        for (Map.Entry<String, AnalysisPriority> entry : entries.entrySet()) {
+            try {
+                enqueue.accept(entry.getKey(), entry.getValue());
+            } catch (AnalysisQueueFullException e) {
+                break;
+            }
+            remaining.remove(entry.getKey());
+            replayed++;
+        }
+        log.info("Replayed {} drive analyses from journal, {} left for the next start",
+                entries.size() - remaining.size(), remaining.size());
+        analysisJournal.write(remaining);
+        return replayed;
+    }
+
+    /**
+     * 다시 넣은 요청은 새 segment에 기록되므로 복구한 segment는 compaction으로 지워진다.
+     */
+    private int replayQueueLog(BiConsumer<String, AnalysisPriority> enqueue) {
+        Map<String, AnalysisPriority> entries = queueLog.pendingEntries();
+        int replayed = 0;
+        for (Map.Entry<String, AnalysisPriority> entry : entries.entrySet()) {
+            try {
+                enqueue.accept(entry.getKey(), entry.getValue());
+            } catch (AnalysisQueueFullException e) {
+                break;
+            }
+            replayed++;
+        }
+        queueLog.compact();
+        if (!entries.isEmpty()) {
+            log.info("Recovered {}/{} drive analyses from write-ahead log", replayed, entries.size());
+        }
+        return replayed;
+    }
+
+    /**
+     * 끝나지 않은 작업을 우선순위, 접수 순서대로 journal에 기록 (write-ahead log를 쓰면 이미 log에 남아 있으므로 기록하지 않음)
+     * @return journal에 기록한 작업 수
+     */
+    public int checkpoint(Collection<AnalysisJob> unfinished) {
+        if (queueLog != null) {
+            // 끝나지 않은 작업은 이미 write-ahead log에 ACK되지 않은 채로 남아 있음
+            log.info("{} unfinished drive analyses remain in write-ahead log", queueLog.pendingCount());
+            return 0;
+        }
+        Map<String, AnalysisPriority> entries = new LinkedHashMap<>();
+        unfinished.stream()
+                .sorted(Comparator.comparing(AnalysisJob::getPriority).thenComparingLong(AnalysisJob::getEnqueuedAt))
+                .forEach(job -> entries.put(job.getDriveId(), job.getPriority()));
+        try {
+            analysisJournal.write(entries);
+            log.info("Checkpointed {} unfinished drive analyses to journal", entries.size());
+            return entries.size();
+        } catch (RuntimeException e) {
+            log.error("Error writing analysis journal, {} drive analyses lost", entries.size(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * 이후의 ACK는 기록하지 않으므로 그때 끝나지 않은 작업은 다음 시작 때 복구됨
+     */
+    public void close() {
+        if (queueLog != null) {
+            queueLog.close();
+        }
+    }
+}
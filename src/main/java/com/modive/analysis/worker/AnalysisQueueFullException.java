@@ -0,0 +1,18 @@
+package com.modive.analysis.worker;
+
+/**
+ * 분석 대기 큐가 가득 차서 요청을 받을 수 없을 때 발생
+ */
+public class AnalysisQueueFullException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public AnalysisQueueFullException(String driveId, int retryAfterSeconds) {
+        super("Drive analysis queue is full: " + driveId);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,366 @@
+package com.modive.analysis.worker;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 분석 대기 큐의 파일 기반 write-ahead log (analysis.worker.wal.enabled=true일 때 DriveAnalysisWorker가 사용)
+ * 큐에 넣은 driveId는 ENQUEUE 레코드로, 끝난 작업은 ACK 레코드로 memory-mapped segment 파일 끝에 덧붙이고,
+ * 열 때 모든 segment를 순서대로 읽어 ACK되지 않은 driveId를 복구한다.
+ *
+ * 레코드: [int 본문 길이][int 본문 CRC32][본문: byte 종류, long 순번, byte 우선순위, short driveId 길이, driveId UTF-8]
+ * 길이가 0이거나 CRC가 맞지 않는 곳에서 segment 읽기를 멈추므로 쓰다가 끊긴 마지막 레코드는 무시된다.
+ *
+ * mmap으로 쓴 내용은 프로세스가 죽어도(OOM 등) 커널 page cache에 남으므로 fsync 정책은 호스트 장애에 대한 내구성만 정한다.
+ * ALWAYS: 레코드마다 fsync, BATCH: fsyncIntervalMs마다 모아서 fsync (그 사이의 레코드는 호스트 장애 시 잃을 수 있음), NONE: OS에 맡김
+ *
+ * 가장 오래된 segment부터 살아 있는(ACK되지 않은) ENQUEUE가 없으면 삭제하고, 닫힌 segment가 maxSealedSegments보다 많으면
+ * 가장 오래된 segment의 살아 있는 항목을 현재 segment에 다시 적은 뒤 삭제한다 (compaction).
+ * 앞에서부터만 삭제하므로 남아 있는 ENQUEUE에 대한 ACK 레코드가 먼저 사라지는 일은 없다.
+ */
+@Slf4j
+public class AnalysisQueueLog implements Closeable {
+
+    public enum FsyncPolicy {
+        ALWAYS, BATCH, NONE;
+
+        public static FsyncPolicy from(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final byte ENQUEUE = 1;
+    private static final byte ACK = 2;
+    private static final int HEADER_BYTES = 8;
+    private static final int FIXED_BODY_BYTES = 1 + 8 + 1 + 2;
+    private static final String SUFFIX = ".log";
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final int maxSealedSegments;
+
+    // 첫 순번 -> segment (오래된 순서)
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    // ACK되지 않은 driveId -> 마지막 ENQUEUE (마지막 ENQUEUE 순번 순서)
+    private final LinkedHashMap<String, Pending> pending = new LinkedHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final CRC32 crc = new CRC32();
+
+    private Segment active;
+    private long nextSequence;
+    private boolean compacting;
+    private boolean closed;
+
+    private AnalysisQueueLog(Path dir, int segmentBytes, FsyncPolicy fsyncPolicy, int maxSealedSegments, long fsyncIntervalMs) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.fsyncPolicy = fsyncPolicy;
+        this.maxSealedSegments = Math.max(1, maxSealedSegments);
+        if (fsyncPolicy == FsyncPolicy.BATCH) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "analysis-wal-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = Math.max(1, fsyncIntervalMs);
+            flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * dir의 segment를 읽어 복구한 뒤 새 segment에 이어서 기록할 log를 연다 (dir이 없으면 만듦)
+     */
+    public static AnalysisQueueLog open(Path dir, int segmentBytes, FsyncPolicy fsyncPolicy,
+                                        long fsyncIntervalMs, int maxSealedSegments) {
+        AnalysisQueueLog log = new AnalysisQueueLog(dir, segmentBytes, fsyncPolicy, maxSealedSegments, fsyncIntervalMs);
+        try {
+            Files.createDirectories(dir);
+            log.recover();
+            log.active = log.createSegment(log.nextSequence);
+            log.deleteDeadPrefix();
+        } catch (IOException e) {
+            log.close();
+            throw new UncheckedIOException("Failed to open analysis queue log: " + dir, e);
+        }
+        return log;
+    }
+
+    /**
+     * driveId를 큐에 넣었다고 기록 (이미 ACK되지 않은 기록이 있으면 새 기록으로 대체)
+     */
+    public synchronized void append(String driveId, AnalysisPriority priority) {
+        if (closed) throw new IllegalStateException("Analysis queue log is closed");
+        Segment segment = write(ENQUEUE, driveId, priority);
+        track(driveId, new Pending(priority, segment));
+    }
+
+    /**
+     * driveId의 작업이 끝났다고 기록
+     * @return ACK되지 않은 기록이 있었으면 true (없거나 닫힌 log이면 아무것도 쓰지 않음)
+     */
+    public synchronized boolean ack(String driveId) {
+        if (closed || !pending.containsKey(driveId)) return false;
+        write(ACK, driveId, null);
+        untrack(driveId);
+        return true;
+    }
+
+    /**
+     * ACK되지 않은 driveId와 우선순위 (마지막으로 기록한 순서)
+     */
+    public synchronized Map<String, AnalysisPriority> pendingEntries() {
+        Map<String, AnalysisPriority> entries = new LinkedHashMap<>();
+        pending.forEach((driveId, entry) -> entries.put(driveId, entry.priority));
+        return entries;
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * 살아 있는 항목이 없는 오래된 segment를 지우고, 닫힌 segment가 너무 많으면 오래된 것부터 옮겨 적은 뒤 지움
+     */
+    public synchronized void compact() {
+        if (closed || compacting) return;
+        compacting = true;
+        try {
+            deleteDeadPrefix();
+            int excess = segments.size() - 1 - maxSealedSegments;
+            for (int i = 0; i < excess; i++) {
+                Segment oldest = segments.firstEntry().getValue();
+                if (oldest == active) break;
+                List<String> live = new ArrayList<>();
+                pending.forEach((driveId, entry) -> {
+                    if (entry.segment == oldest) live.add(driveId);
+                });
+                for (String driveId : live) {
+                    append(driveId, pending.get(driveId).priority);
+                }
+                deleteDeadPrefix();
+            }
+        } finally {
+            compacting = false;
+        }
+    }
+
+    /**
+     * BATCH 정책에서 주기적으로 호출 (마지막 fsync 이후 기록이 있으면 fsync)
+     */
+    void flush() {
+        Segment segment;
+        synchronized (this) {
+            if (closed || active == null || !active.dirty) return;
+            segment = active;
+            segment.dirty = false;
+        }
+        try {
+            segment.buffer.force(); // 쓰기를 막지 않도록 lock 밖에서 fsync
+        } catch (RuntimeException e) {
+            segment.dirty = true; // 다음 주기에 다시 시도 (예외가 나가면 주기 실행이 멈춤)
+            log.warn("Error syncing analysis queue log, unsynced records may be lost on a crash", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        if (active != null) {
+            seal(active);
+        }
+    }
+
+    private Segment write(byte type, String driveId, AnalysisPriority priority) {
+        byte[] id = driveId.getBytes(StandardCharsets.UTF_8);
+        int length = FIXED_BODY_BYTES + id.length;
+        if (id.length > Short.MAX_VALUE || HEADER_BYTES + length > segmentBytes) {
+            throw new IllegalArgumentException("driveId too long for analysis queue log: " + driveId);
+        }
+        while (active.buffer.remaining() < HEADER_BYTES + length) {
+            roll(); // compaction으로 옮겨 적은 항목이 새 segment를 채웠으면 한 번 더
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(length)
+                .put(type)
+                .putLong(nextSequence++)
+                .put(priority == null ? 0 : (byte) priority.ordinal())
+                .putShort((short) id.length)
+                .put(id);
+        crc.reset();
+        crc.update(body.array());
+
+        MappedByteBuffer buffer = active.buffer;
+        int start = buffer.position();
+        buffer.putInt(length).putInt((int) crc.getValue()).put(body.array());
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            buffer.force(start, HEADER_BYTES + length);
+        } else {
+            active.dirty = true;
+        }
+        return active;
+    }
+
+    private void track(String driveId, Pending entry) {
+        untrack(driveId); // 다시 넣으면 순서도 맨 뒤로
+        pending.put(driveId, entry);
+        entry.segment.live++;
+    }
+
+    private void untrack(String driveId) {
+        Pending previous = pending.remove(driveId);
+        if (previous != null) {
+            previous.segment.live--;
+        }
+    }
+
+    private void roll() {
+        seal(active);
+        active = createSegment(nextSequence);
+        compact();
+    }
+
+    private void seal(Segment segment) {
+        if (fsyncPolicy != FsyncPolicy.NONE) {
+            segment.buffer.force();
+        }
+        try {
+            segment.channel.close(); // mapping은 GC될 때 해제됨
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close analysis queue log segment: " + segment.path, e);
+        }
+    }
+
+    private Segment createSegment(long baseSequence) {
+        Path path = dir.resolve(String.format("%020d%s", baseSequence, SUFFIX));
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes); // 0으로 채워진 파일
+            Segment segment = new Segment(path, channel, buffer);
+            segments.put(baseSequence, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create analysis queue log segment: " + path, e);
+        }
+    }
+
+    private void deleteDeadPrefix() {
+        while (segments.size() > 1) {
+            Segment first = segments.firstEntry().getValue();
+            if (first == active || first.live > 0) break;
+            segments.pollFirstEntry();
+            try {
+                Files.deleteIfExists(first.path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete analysis queue log segment: " + first.path, e);
+            }
+        }
+    }
+
+    /**
+     * 모든 segment를 순번 순서로 읽어 ACK되지 않은 ENQUEUE를 복구
+     */
+    private void recover() throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> list = Files.list(dir)) {
+            list.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).forEach(path -> {
+                String name = path.getFileName().toString();
+                try {
+                    files.put(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), path);
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping unknown file in analysis queue log: {}", path);
+                }
+            });
+        }
+
+        long lastSequence = -1;
+        for (Map.Entry<Long, Path> file : files.entrySet()) {
+            try (FileChannel channel = FileChannel.open(file.getValue(), StandardOpenOption.READ)) {
+                Segment segment = new Segment(file.getValue(), null, null);
+                segments.put(file.getKey(), segment);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                lastSequence = Math.max(lastSequence, scan(buffer, segment));
+                lastSequence = Math.max(lastSequence, file.getKey()); // 비어 있는 segment와 이름이 겹치지 않도록
+            }
+        }
+        nextSequence = lastSequence + 1;
+    }
+
+    private long scan(ByteBuffer buffer, Segment segment) {
+        long lastSequence = -1;
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            if (length < FIXED_BODY_BYTES || length > buffer.remaining() - 4) break; // 끝 (0으로 채워진 영역) 또는 잘린 레코드
+            int checksum = buffer.getInt();
+            byte[] body = new byte[length];
+            buffer.get(body);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != checksum) break; // 쓰다가 끊긴 레코드
+
+            ByteBuffer record = ByteBuffer.wrap(body);
+            byte type = record.get();
+            long sequence = record.getLong();
+            byte priority = record.get();
+            int idLength = record.getShort();
+            if (idLength < 0 || FIXED_BODY_BYTES + idLength != length) break;
+            String driveId = new String(body, FIXED_BODY_BYTES, idLength, StandardCharsets.UTF_8);
+
+            if (type == ENQUEUE) {
+                track(driveId, new Pending(AnalysisPriority.values()[Math.floorMod(priority, AnalysisPriority.values().length)], segment));
+            } else if (type == ACK) {
+                untrack(driveId);
+            }
+            lastSequence = sequence;
+        }
+        return lastSequence;
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int live;               // 이 segment에 있는 살아 있는 ENQUEUE 수
+        private volatile boolean dirty; // 마지막 fsync 이후 기록이 있는지
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private record Pending(AnalysisPriority priority, Segment segment) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.modive.analysis.worker;
+
+/**
+ * 종료 중이라 분석 요청을 받을 수 없을 때 발생 (다른 인스턴스로 다시 요청)
+ */
+public class AnalysisWorkerDrainingException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public AnalysisWorkerDrainingException(String driveId, int retryAfterSeconds) {
+        super("Drive analysis worker is shutting down: " + driveId);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,120 @@
+package com.modive.analysis.worker;
+
+import com.modive.analysis.entity.AnalysisQueueItem;
+import com.modive.analysis.repository.AnalysisQueueItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * MySQL analysis_job_queue 테이블을 replica 간 공유 대기열로 사용 (analysis.worker.queue.mode=distributed)
+ * 요청을 받은 replica는 행만 넣고, 각 replica의 DriveAnalysisWorker가 처리할 수 있는 만큼만 lease를 잡아 가져간다.
+ * 가져간 replica는 처리하는 동안 lease를 연장하고, 끝나면 행을 지운다.
+ * 연장하지 못한 채(replica가 죽거나 멈춤) lease가 지나면 다른 replica가 다시 가져간다 (최소 한 번 처리).
+ */
+@Component
+@RequiredArgsConstructor
+public class DistributedAnalysisQueue implements InitializingBean {
+
+    private final AnalysisQueueItemRepository analysisQueueItemRepository;
+
+    // local: replica마다 메모리 큐 (기본), distributed: DB 공유 대기열
+    @Value("${analysis.worker.queue.mode:local}")
+    private String mode;
+
+    // lease 유지 시간 (이 시간 동안 연장되지 않으면 다른 replica가 가져감)
+    @Value("${analysis.worker.distributed.lease-ms:30000}")
+    private long leaseMs;
+
+    // lease 소유자 이름 (기본은 pod 이름, 재시작한 프로세스와 구분되도록 뒤에 임의 값을 붙임)
+    @Value("${analysis.worker.distributed.owner-id:${HOSTNAME:analysis}}")
+    private String ownerId;
+
+    private String owner;
+
+    @Override
+    public void afterPropertiesSet() {
+        owner = ownerId + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public boolean isEnabled() {
+        return "distributed".equalsIgnoreCase(mode);
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public long getLeaseMs() {
+        return leaseMs;
+    }
+
+    /**
+     * 대기열에 driveId 추가
+     * @return 추가했으면 true, 같은 driveId가 이미 대기 중이거나 처리 중이면 false
+     * @throws org.springframework.dao.DataIntegrityViolationException 다른 replica가 같은 driveId를 동시에 넣은 경우
+     */
+    @Transactional
+    public boolean offer(String driveId, AnalysisPriority priority, Duration queryTimeout) {
+        if (analysisQueueItemRepository.existsById(driveId)) {
+            return false;
+        }
+        AnalysisQueueItem item = new AnalysisQueueItem();
+        item.setDriveId(driveId);
+        item.setPriority(priority);
+        item.setEnqueuedAt(Instant.now());
+        item.setQueryTimeoutMs(queryTimeout == null ? null : queryTimeout.toMillis());
+        analysisQueueItemRepository.save(item);
+        return true;
+    }
+
+    /**
+     * lane에서 최대 limit개를 오래된 순서로 가져와 이 replica의 lease를 잡음
+     * 다른 replica가 잠근 행은 건너뛰므로 동시에 호출해도 같은 항목을 나눠 갖지 않는다.
+     */
+    @Transactional
+    public List<AnalysisQueueItem> claim(AnalysisPriority priority, int limit) {
+        Instant now = Instant.now();
+        List<AnalysisQueueItem> items = analysisQueueItemRepository.findClaimable(priority, now, PageRequest.of(0, limit));
+        Instant expiresAt = now.plusMillis(leaseMs);
+        for (AnalysisQueueItem item : items) {
+            item.setLeaseOwner(owner);
+            item.setLeaseExpiresAt(expiresAt);
+            item.setClaimCount(item.getClaimCount() + 1);
+        }
+        return items; // 커밋할 때 변경 내용이 반영됨
+    }
+
+    /**
+     * 처리 중인 항목의 lease 연장
+     * @return 연장한 항목 수 (driveIds보다 적으면 lease가 지나 다른 replica가 가져간 항목이 있음)
+     */
+    public int renew(Collection<String> driveIds) {
+        if (driveIds.isEmpty()) return 0;
+        return analysisQueueItemRepository.renewLeases(owner, driveIds, Instant.now().plusMillis(leaseMs));
+    }
+
+    /**
+     * 처리가 끝난 항목 삭제 (lease를 잃었으면 다른 replica가 처리하도록 남겨 둠)
+     */
+    public boolean complete(String driveId) {
+        return analysisQueueItemRepository.deleteOwned(driveId, owner) > 0;
+    }
+
+    /**
+     * 끝내지 못한 항목의 lease를 풀어 다른 replica가 바로 가져가게 함 (종료, 로컬 큐가 가득 찬 경우)
+     */
+    public int release(Collection<String> driveIds) {
+        if (driveIds.isEmpty()) return 0;
+        return analysisQueueItemRepository.releaseLeases(owner, driveIds);
+    }
+}
@@ -0,0 +1,155 @@
+package com.modive.analysis.worker;
+
+import com.modive.analysis.entity.AnalysisQueueItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * distributed 모드에서 이 replica가 공유 대기열(DistributedAnalysisQueue)의 항목을 가져가고 lease를 유지
+ * - claim-interval-ms마다 로컬 lane이 비어 가는 만큼만 가져와 admit으로 넘김 (넘기지 못하면 lease를 바로 풀어 줌)
+ * - lease의 1/3마다 이 replica가 대기 중이거나 처리 중인 항목의 lease를 연장
+ * - 끝난 항목은 행을 지우고, 종료할 때 끝나지 않은 항목은 lease를 풀어 다른 replica가 이어서 처리하게 함
+ *
+ * 메트릭
+ * - analysis.distributed.claimed: 공유 대기열에서 가져온 요청 수
+ * - analysis.distributed.lease.lost: 연장하지 못한 lease 수
+ */
+@Slf4j
+class DistributedJobClaimer {
+
+    private final DistributedAnalysisQueue distributedQueue;
+    private final PriorityLaneQueue driveQueue;
+    private final Map<AnalysisPriority, Integer> laneClaimSizes = new EnumMap<>(AnalysisPriority.class);
+    private final Predicate<AnalysisQueueItem> admit;
+    private final Supplier<Collection<String>> activeDriveIds;
+    private final Counter claimedDriveCounter;
+    private final Counter lostLeaseCounter;
+    private final ScheduledExecutorService claimScheduler =
+            Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "analysis-claim"));
+
+    private volatile boolean claiming = true;
+
+    /**
+     * @param claimBatchSize lane 가중치로 나누어 한 번에 가져오고 로컬 큐에 쌓아 둘 최대 항목 수
+     * @param admit 가져온 항목을 로컬 큐에 넣음, 넣지 못했으면 false
+     * @param activeDriveIds lease를 연장할 driveId (대기, 재시도 대기, 처리 중)
+     */
+    DistributedJobClaimer(DistributedAnalysisQueue distributedQueue, PriorityLaneQueue driveQueue,
+                          Map<AnalysisPriority, Integer> laneWeights, int claimBatchSize, long claimIntervalMs,
+                          Predicate<AnalysisQueueItem> admit, Supplier<Collection<String>> activeDriveIds,
+                          MeterRegistry meterRegistry) {
+        this.distributedQueue = distributedQueue;
+        this.driveQueue = driveQueue;
+        this.admit = admit;
+        this.activeDriveIds = activeDriveIds;
+        int totalWeight = laneWeights.values().stream().mapToInt(weight -> Math.max(1, weight)).sum();
+        laneWeights.forEach((lane, weight) ->
+                laneClaimSizes.put(lane, Math.max(1, claimBatchSize * Math.max(1, weight) / Math.max(1, totalWeight))));
+        claimedDriveCounter = Counter.builder("analysis.distributed.claimed")
+                .description("공유 대기열에서 가져온 분석 요청 수")
+                .register(meterRegistry);
+        lostLeaseCounter = Counter.builder("analysis.distributed.lease.lost")
+                .description("연장하지 못해 다른 replica가 가져갔을 수 있는 lease 수")
+                .register(meterRegistry);
+
+        long renewInterval = Math.max(1, distributedQueue.getLeaseMs() / 3);
+        claimScheduler.scheduleWithFixedDelay(this::claimQueued, claimIntervalMs, claimIntervalMs, TimeUnit.MILLISECONDS);
+        claimScheduler.scheduleWithFixedDelay(this::renewLeases, renewInterval, renewInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 로컬 lane마다 claimBatchSize를 가중치로 나눈 만큼만 쌓이도록 공유 대기열에서 가져옴
+     * 가져온 만큼 다 찼으면 더 있을 수 있으므로 로컬 lane이 찰 때까지 반복한다.
+     */
+    private void claimQueued() {
+        try {
+            boolean more = true;
+            while (more && claiming) {
+                more = false;
+                for (Map.Entry<AnalysisPriority, Integer> entry : laneClaimSizes.entrySet()) {
+                    int limit = entry.getValue() - driveQueue.size(entry.getKey());
+                    if (limit <= 0) continue;
+                    List<AnalysisQueueItem> items = distributedQueue.claim(entry.getKey(), limit);
+                    for (AnalysisQueueItem item : items) {
+                        if (!admit.test(item)) {
+                            distributedQueue.release(List.of(item.getDriveId()));
+                        }
+                    }
+                    claimedDriveCounter.increment(items.size());
+                    more |= items.size() == limit;
+                }
+            }
+        } catch (RuntimeException e) {
+            // 예외가 나가면 주기 실행이 멈추므로 기록만 하고 다음 주기에 다시 시도
+            log.warn("Error claiming distributed analysis jobs", e);
+        }
+    }
+
+    /**
+     * 이 replica가 대기 중이거나 처리 중인 항목의 lease 연장 (재시도 대기 중인 항목 포함)
+     */
+    private void renewLeases() {
+        List<String> driveIds = new ArrayList<>(activeDriveIds.get());
+        if (driveIds.isEmpty()) return;
+        try {
+            int renewed = distributedQueue.renew(driveIds);
+            if (renewed < driveIds.size()) {
+                // 이미 끝나서 지운 항목도 포함될 수 있으므로 대략적인 값
+                lostLeaseCounter.increment(driveIds.size() - renewed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Error renewing distributed analysis leases", e);
+        }
+    }
+
+    /**
+     * 끝난 항목을 공유 대기열에서 삭제
+     */
+    void complete(String driveId) {
+        try {
+            distributedQueue.complete(driveId);
+        } catch (RuntimeException e) {
+            // 행이 남으면 lease가 지난 뒤 다시 처리됨
+            log.warn("Error completing distributed analysis job {}", driveId, e);
+        }
+    }
+
+    /**
+     * 새 항목을 가져가지 않음 (종료 중, lease 연장은 shutdown까지 계속함)
+     */
+    void stopClaiming() {
+        claiming = false;
+    }
+
+    /**
+     * 끝나지 않은 항목은 공유 대기열에 남아 있으므로 lease만 풀어 다른 replica가 바로 가져가게 함
+     * @return lease를 푼 항목 수
+     */
+    int release(Collection<AnalysisJob> unfinished) {
+        List<String> driveIds = unfinished.stream().map(AnalysisJob::getDriveId).toList();
+        try {
+            distributedQueue.release(driveIds);
+            log.info("Released {} unfinished distributed analysis jobs", driveIds.size());
+            return driveIds.size();
+        } catch (RuntimeException e) {
+            log.warn("Error releasing distributed analysis jobs, they are retried after the lease expires", e);
+            return 0;
+        }
+    }
+
+    void shutdown() {
+        claimScheduler.shutdownNow();
+    }
+}
@@ -1,69 +1,867 @@
 package com.modive.analysis.worker;
 
+import com.modive.analysis.entity.DeadLetter;
+import com.modive.analysis.entity.AnalysisQueueItem;
 import com.modive.analysis.entity.Drive;
+import com.modive.analysis.repository.DeadLetterRepository;
 import com.modive.analysis.repository.DriveRepository;
 import com.modive.analysis.service.AnalysisDataFromAthenaService;
 import com.modive.analysis.service.AthenaClientService;
+import com.modive.analysis.service.DriveAnalysisCollector;
 import com.modive.analysis.service.EventDataService;
+import com.modive.analysis.telemetry.TelemetryBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
-public class DriveAnalysisWorker implements InitializingBean {
+public class DriveAnalysisWorker implements InitializingBean, SmartLifecycle {
 
-    private final BlockingQueue<String> driveQueue = new LinkedBlockingQueue<>();
-    private final ExecutorService executor = Executors.newFixedThreadPool(20); // 병렬처리 수 조정
+    // 분석 대기 큐 (우선순위 lane별 크기 제한, 가득 차면 요청을 거절)
+    private PriorityLaneQueue driveQueue;
+
+    // 대기 중이거나 진행 중인 작업 (driveId -> 작업), 같은 driveId 요청은 기존 작업으로 합침
+    private final Map<String, AnalysisJob> activeJobs = new ConcurrentHashMap<>();
+
+    // lane별 최대 대기 수 (따로 주지 않으면 analysis.worker.queue.capacity를 모든 lane에 적용)
+    @Value("${analysis.worker.lanes.interactive.capacity:${analysis.worker.queue.capacity:1000}}")
+    private int interactiveCapacity;
+
+    @Value("${analysis.worker.lanes.normal.capacity:${analysis.worker.queue.capacity:1000}}")
+    private int normalCapacity;
+
+    @Value("${analysis.worker.lanes.backfill.capacity:${analysis.worker.queue.capacity:1000}}")
+    private int backfillCapacity;
+
+    // lane별 가중치 (모든 lane에 작업이 있을 때 꺼내는 비율)
+    @Value("${analysis.worker.lanes.interactive.weight:6}")
+    private int interactiveWeight;
+
+    @Value("${analysis.worker.lanes.normal.weight:3}")
+    private int normalWeight;
+
+    @Value("${analysis.worker.lanes.backfill.weight:1}")
+    private int backfillWeight;
+
+    // 큐가 가득 차서 거절할 때 클라이언트에 알려 줄 재시도 대기 시간 (Retry-After)
+    @Value("${analysis.worker.queue.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+
+    // 단계별 스레드 수 / 큐 크기
+    // fetch: Athena 배치 쿼리를 시작하는 스레드 (결과를 기다리지 않으므로 동시 쿼리 수는 진행 한도로 제한),
+    // analysis: CPU 분석 (0 이하이면 CPU 코어 수, columnar 모드에서만 사용),
+    // events: RDS 이벤트 조회, persist: 병합 및 DynamoDB 저장
+    @Value("${analysis.pipeline.fetch.concurrency:4}")
+    private int fetchConcurrency;
+
+    @Value("${analysis.pipeline.fetch.queue-capacity:20}")
+    private int fetchQueueCapacity;
+
+    @Value("${analysis.pipeline.analysis.concurrency:0}")
+    private int analysisConcurrency;
+
+    @Value("${analysis.pipeline.analysis.queue-capacity:200}")
+    private int analysisQueueCapacity;
+
+    @Value("${analysis.pipeline.events.concurrency:10}")
+    private int eventsConcurrency;
+
+    @Value("${analysis.pipeline.events.queue-capacity:200}")
+    private int eventsQueueCapacity;
+
+    @Value("${analysis.pipeline.persist.concurrency:10}")
+    private int persistConcurrency;
+
+    @Value("${analysis.pipeline.persist.queue-capacity:200}")
+    private int persistQueueCapacity;
+
+    // 동시에 진행 중일 수 있는 최대 분석 작업 수 (Athena 실행 대기 포함), adaptive이면 한도 조정의 상한
+    @Value("${analysis.worker.max-in-flight:200}")
+    private int maxInFlight;
+
+    // 진행 한도를 처리 시간과 throttling에 따라 조정 (끄면 max-in-flight로 고정)
+    @Value("${analysis.worker.concurrency.adaptive:true}")
+    private boolean concurrencyAdaptive;
+
+    @Value("${analysis.worker.concurrency.initial-limit:20}")
+    private int concurrencyInitialLimit;
+
+    @Value("${analysis.worker.concurrency.min-limit:4}")
+    private int concurrencyMinLimit;
+
+    // throttling되거나 느려졌을 때 한도에 곱하는 비율
+    @Value("${analysis.worker.concurrency.backoff-ratio:0.9}")
+    private double concurrencyBackoffRatio;
+
+    // 작업 처리 시간이 장기 평균의 이 배수를 넘으면 혼잡으로 보고 한도를 줄임
+    @Value("${analysis.worker.concurrency.latency-tolerance:2.0}")
+    private double concurrencyLatencyTolerance;
+
+    // 한 번의 Athena 쿼리로 묶어서 조회할 최대 driveId 수
+    @Value("${analysis.worker.batch.max-size:20}")
+    private int batchMaxSize;
+
+    // 첫 driveId를 꺼낸 뒤 배치를 채우기 위해 기다리는 최대 시간
+    @Value("${analysis.worker.batch.max-wait-ms:200}")
+    private long batchMaxWaitMs;
+
+    // 배치 크기/조회 시간 메트릭 기록 여부
+    @Value("${analysis.worker.batch.metrics-enabled:true}")
+    private boolean batchMetricsEnabled;
+
+    // Athena 결과 분석 방식 (columnar: 컬럼 배열로 모은 뒤 분석, 큰 주행은 analysis.parallel.threshold-rows 기준으로 병렬 분석,
+    // streaming: 다운로드하면서 행 단위로 분석, 메모리는 적게 쓰지만 병렬 분석 없음)
+    @Value("${analysis.worker.mode:columnar}")
+    private String analysisMode;
+
+    // 실패 종류별 재시도 정책 (처음 시도를 포함한 최대 시도 횟수, 지수 백오프 기준/상한)
+    @Value("${analysis.retry.throttled.max-attempts:6}")
+    private int throttledMaxAttempts;
+
+    @Value("${analysis.retry.throttled.base-delay-ms:1000}")
+    private long throttledBaseDelayMs;
+
+    @Value("${analysis.retry.throttled.max-delay-ms:60000}")
+    private long throttledMaxDelayMs;
+
+    @Value("${analysis.retry.transient.max-attempts:3}")
+    private int transientMaxAttempts;
+
+    @Value("${analysis.retry.transient.base-delay-ms:500}")
+    private long transientBaseDelayMs;
+
+    @Value("${analysis.retry.transient.max-delay-ms:10000}")
+    private long transientMaxDelayMs;
+
+    private PipelineStage fetchStage;
+    private PipelineStage analysisStage;
+    private PipelineStage eventsStage;
+    private PipelineStage persistStage;
+    // 결과를 기다리는 Athena 배치 조회 (종료 시 취소)
+    private final Set<CompletableFuture<?>> pendingFetches = ConcurrentHashMap.newKeySet();
+    private volatile boolean fetchesClosed;
+    // 파이프라인에 넣은 작업별 Future (complete/fail 처리까지 끝나면 완료, 종료 시 grace period 동안 기다림)
+    private final Set<CompletableFuture<?>> dispatchedJobs = ConcurrentHashMap.newKeySet();
+    // 종료 시 진행 중인 작업이 끝나기를 기다리는 최대 시간 (남은 작업은 journal에 기록하고 다음 시작 때 다시 큐에 넣음)
+    // spring.lifecycle.timeout-per-shutdown-phase(기본 30초)보다 짧아야 함
+    @Value("${analysis.worker.shutdown.grace-period-ms:20000}")
+    private long shutdownGracePeriodMs;
+
+    // distributed 모드에서 공유 대기열을 확인하는 주기 (로컬 큐가 비어 갈 때만 가져옴)
+    @Value("${analysis.worker.distributed.claim-interval-ms:200}")
+    private long claimIntervalMs;
+
+    // distributed 모드에서 lane 가중치로 나누어 한 번에 가져오고 로컬 큐에 쌓아 둘 최대 항목 수
+    // 작을수록 replica 간에 고르게 나뉘고, 클수록 DB 조회가 줄어듦
+    @Value("${analysis.worker.distributed.claim-batch-size:40}")
+    private int claimBatchSize;
+
+    // 공유 대기열 확인, lease 연장 (distributed 모드에서만 생성)
+    private DistributedJobClaimer claimer;
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+    // 백오프가 끝난 작업을 다시 큐에 넣고 dead-letter를 저장 (대기하는 동안 파이프라인 스레드를 점유하지 않음)
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(
+            r -> new Thread(r, "analysis-retry"));
+    private final Map<FailureKind, RetryPolicy> retryPolicies = new EnumMap<>(FailureKind.class);
+    private AdaptiveConcurrencyLimit inFlight;
+
+    private volatile boolean running;
+    // 종료 중 (새 요청을 받지 않고 큐에서 배치를 꺼내지 않음)
+    private volatile boolean draining;
+    // 남은 작업을 journal에 기록함 (이후의 실패는 다음 시작 때 다시 처리되므로 dead-letter로 보내지 않음)
+    private volatile boolean checkpointed;
+
+    private DistributionSummary batchSizeSummary;
+    private Timer batchFetchTimer;
+    private Counter missingDriveCounter;
+    private Counter rejectedDriveCounter;
+    private Counter coalescedDriveCounter;
+    private Counter cancelledDriveCounter;
+    private Counter replayedDriveCounter;
+    private Counter checkpointedDriveCounter;
+    private final Map<AnalysisPriority, Timer> laneLatencyTimers = new EnumMap<>(AnalysisPriority.class);
+    private final Map<FailureKind, Counter> retryCounters = new EnumMap<>(FailureKind.class);
+    private final Map<FailureKind, Counter> deadLetterCounters = new EnumMap<>(FailureKind.class);
+
+    private Timer driveTimer;
 
     private final AthenaClientService athenaClientService;
     private final AnalysisDataFromAthenaService analysisDataFromAthenaService;
     private final EventDataService eventDataService;
     private final DriveRepository driveRepository;
+    private final MeterRegistry meterRegistry;
+    private final AnalysisJobRegistry analysisJobRegistry;
+    private final DeadLetterRepository deadLetterRepository;
+    private final DistributedAnalysisQueue distributedQueue;
+    private final AnalysisQueueDurability queueDurability;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void afterPropertiesSet() {
-        for (int i = 0; i < 20; i++) {
-            executor.submit(() -> {
-                while (true) {
-                    try {
-                        String driveId = driveQueue.take(); // 큐에서 blocking으로 대기
-                        process(driveId); // Athena + RDS 분석 + 저장 등
-                    } catch (Exception e) {
-                        System.out.println("Error processing drive analysis" + e);
-                    }
+        Map<AnalysisPriority, Integer> laneWeights = Map.of(AnalysisPriority.INTERACTIVE, interactiveWeight,
+                AnalysisPriority.NORMAL, normalWeight,
+                AnalysisPriority.BACKFILL, backfillWeight);
+        driveQueue = new PriorityLaneQueue(
+                Map.of(AnalysisPriority.INTERACTIVE, interactiveCapacity,
+                        AnalysisPriority.NORMAL, normalCapacity,
+                        AnalysisPriority.BACKFILL, backfillCapacity),
+                laneWeights);
+        int cores = Runtime.getRuntime().availableProcessors();
+        fetchStage = new PipelineStage("fetch", fetchConcurrency, fetchQueueCapacity, meterRegistry);
+        if (isColumnar()) {
+            // streaming 모드는 Athena 결과를 받는 스레드에서 행 단위로 분석하므로 analysis 단계가 없음
+            analysisStage = new PipelineStage("analysis", analysisConcurrency > 0 ? analysisConcurrency : cores, analysisQueueCapacity, meterRegistry);
+        }
+        eventsStage = new PipelineStage("events", eventsConcurrency, eventsQueueCapacity, meterRegistry);
+        persistStage = new PipelineStage("persist", persistConcurrency, persistQueueCapacity, meterRegistry);
+        batchMaxSize = Math.max(1, Math.min(batchMaxSize, maxInFlight)); // 배치 하나가 진행 한도를 넘지 않도록
+        inFlight = concurrencyAdaptive
+                ? new AdaptiveConcurrencyLimit(concurrencyInitialLimit, concurrencyMinLimit, maxInFlight,
+                        concurrencyBackoffRatio, concurrencyLatencyTolerance, meterRegistry)
+                : new AdaptiveConcurrencyLimit(maxInFlight, maxInFlight, maxInFlight, 1.0, 1.0, meterRegistry);
+
+        if (batchMetricsEnabled) {
+            batchSizeSummary = DistributionSummary.builder("analysis.batch.size")
+                    .description("Athena 배치 쿼리 하나에 묶인 driveId 수")
+                    .register(meterRegistry);
+            batchFetchTimer = Timer.builder("analysis.batch.fetch")
+                    .description("Athena 배치 쿼리 실행 및 결과 파싱 시간")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            missingDriveCounter = Counter.builder("analysis.batch.missing")
+                    .description("배치 결과에 데이터가 없는 driveId 수")
+                    .register(meterRegistry);
+        }
+
+        for (AnalysisPriority priority : AnalysisPriority.values()) {
+            Gauge.builder("analysis.queue.depth", driveQueue, queue -> queue.size(priority))
+                    .description("분석 대기 큐 lane에 쌓인 driveId 수")
+                    .tag("lane", priority.tag())
+                    .register(meterRegistry);
+            laneLatencyTimers.put(priority, Timer.builder("analysis.lane.latency")
+                    .description("lane별 요청 접수부터 저장 완료까지의 시간")
+                    .tag("lane", priority.tag())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        Gauge.builder("analysis.queue.oldest.age", this, worker -> worker.oldestQueuedAgeMillis() / 1000.0)
+                .description("분석 대기 큐에서 가장 오래 기다린 driveId의 대기 시간 (초)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        rejectedDriveCounter = Counter.builder("analysis.queue.rejected")
+                .description("대기 큐가 가득 차서 거절된 요청 수")
+                .register(meterRegistry);
+        coalescedDriveCounter = Counter.builder("analysis.queue.coalesced")
+                .description("이미 대기 중이거나 진행 중인 driveId라서 기존 작업으로 합쳐진 요청 수")
+                .register(meterRegistry);
+        cancelledDriveCounter = Counter.builder("analysis.jobs.cancelled")
+                .description("요청으로 취소된 분석 작업 수")
+                .register(meterRegistry);
+        replayedDriveCounter = Counter.builder("analysis.journal.replayed")
+                .description("시작할 때 journal에서 다시 큐에 넣은 분석 요청 수")
+                .register(meterRegistry);
+        checkpointedDriveCounter = Counter.builder("analysis.journal.checkpointed")
+                .description("종료할 때 끝나지 않아 journal에 기록한 분석 요청 수")
+                .register(meterRegistry);
+
+        retryPolicies.put(FailureKind.THROTTLED, new RetryPolicy(throttledMaxAttempts, throttledBaseDelayMs, throttledMaxDelayMs));
+        retryPolicies.put(FailureKind.TRANSIENT, new RetryPolicy(transientMaxAttempts, transientBaseDelayMs, transientMaxDelayMs));
+        retryPolicies.put(FailureKind.PERMANENT, RetryPolicy.none());
+        for (FailureKind kind : FailureKind.values()) {
+            retryCounters.put(kind, Counter.builder("analysis.retry.scheduled")
+                    .description("백오프 후 다시 시도하도록 예약된 분석 수")
+                    .tag("kind", kind.tag())
+                    .register(meterRegistry));
+            deadLetterCounters.put(kind, Counter.builder("analysis.deadletter.added")
+                    .description("재시도하지 않거나 재시도를 모두 소진해 dead-letter로 보낸 분석 수")
+                    .tag("kind", kind.tag())
+                    .register(meterRegistry));
+        }
+
+        if (distributedQueue.isEnabled()) {
+            claimer = new DistributedJobClaimer(distributedQueue, driveQueue, laneWeights, claimBatchSize, claimIntervalMs,
+                    this::admitClaimed, activeJobs::keySet, meterRegistry);
+        }
+
+        driveTimer = Timer.builder("analysis.drive.duration")
+                .description("드라이브 하나의 큐 반출부터 저장 완료까지의 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        dispatcher.submit(() -> {
+            while (true) {
+                try {
+                    // 큐에서 blocking으로 대기 후 배치 구성 (현재 진행 한도보다 크게 묶지 않음)
+                    List<AnalysisJob> batch = takeBatch(Math.min(batchMaxSize, inFlight.getLimit()));
+                    batch.removeIf(AnalysisJob::isCancelled); // 대기 중에 취소된 작업은 건너뜀
+                    if (batch.isEmpty()) continue;
+                    inFlight.acquire(batch.size()); // 진행 중인 작업 수 제한
+                    dispatch(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
                 }
+            }
+        });
+    }
+
+    /**
+     * 큐에서 첫 driveId를 기다린 뒤, 최대 maxSize개 또는 batchMaxWaitMs까지 추가로 모아서 반환
+     */
+    private List<AnalysisJob> takeBatch(int maxSize) throws InterruptedException {
+        List<AnalysisJob> batch = new ArrayList<>(maxSize);
+        batch.add(driveQueue.take());
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchMaxWaitMs);
+        while (batch.size() < maxSize) {
+            driveQueue.drainTo(batch, maxSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxSize || remaining <= 0) break;
+
+            AnalysisJob next = driveQueue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void dispatch(List<AnalysisJob> batch) {
+        long dispatchedAt = System.nanoTime();
+        try {
+            List<CompletableFuture<Void>> results = process(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                AnalysisJob job = batch.get(i);
+                CompletableFuture<Void> handled = results.get(i).whenComplete((ignored, e) -> {
+                    releaseInFlight(job, dispatchedAt, e);
+                    if (e == null) {
+                        complete(job, null);
+                    } else {
+                        fail(job, e);
+                    }
+                });
+                dispatchedJobs.add(handled);
+                handled.whenComplete((ignored, e) -> dispatchedJobs.remove(handled));
+            }
+        } catch (Exception e) {
+            inFlight.release(batch.size());
+            batch.forEach(job -> fail(job, e));
+        }
+    }
+
+    /**
+     * 진행 한도 반환, 끝난 작업의 처리 시간과 throttling 여부로 한도를 조정 (취소된 작업은 조정에 쓰지 않음)
+     */
+    private void releaseInFlight(AnalysisJob job, long dispatchedAt, Throwable e) {
+        if (job.isCancelled()) {
+            inFlight.release(1);
+            return;
+        }
+        inFlight.release(System.nanoTime() - dispatchedAt, e != null && FailureKind.of(e) == FailureKind.THROTTLED);
+    }
+
+    /**
+     * 실패한 작업 처리
+     * 재시도할 수 있는 실패(throttling, 타임아웃)는 지수 백오프 뒤 같은 작업을 다시 큐에 넣고,
+     * 재시도할 수 없거나 재시도를 모두 소진하면 작업을 실패로 끝내고 dead-letter에 기록한다.
+     */
+    private void fail(AnalysisJob job, Throwable e) {
+        if (job.isCancelled()) {
+            activeJobs.remove(job.getDriveId(), job); // 취소된 작업은 재시도/dead-letter 없이 정리
+            return;
+        }
+        if (checkpointed) return; // journal에 기록된 작업은 다음 시작 때 다시 처리
+        FailureKind kind = FailureKind.of(e);
+        RetryPolicy policy = retryPolicies.get(kind);
+        int failedAttempts = job.recordFailure(e);
+
+        if (draining && kind.isRetryable()) {
+            // 종료 중에는 백오프하지 않고 진행 목록에 남겨 journal에 기록되게 함
+            job.transition(AnalysisJobState.RETRYING);
+            return;
+        }
+
+        if (kind.isRetryable() && policy.shouldRetry(failedAttempts) && !retryScheduler.isShutdown()) {
+            long delay = policy.backoffMillis(failedAttempts);
+            job.transition(AnalysisJobState.RETRYING);
+            retryCounters.get(kind).increment();
+            log.warn("Retrying drive analysis {} in {}ms ({}, attempt {}/{})",
+                    job.getDriveId(), delay, kind, failedAttempts, policy.getMaxAttempts(), e);
+            try {
+                retryScheduler.schedule(() -> requeue(job), delay, TimeUnit.MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException ignored) {
+                // 종료 중이면 재시도하지 않고 dead-letter로 보냄
+            }
+        }
+
+        log.error("Error processing drive analysis {} ({})", job.getDriveId(), kind, e);
+        complete(job, e);
+        deadLetter(job, kind);
+    }
+
+    /**
+     * 백오프가 끝난 작업을 원래 lane에 다시 넣음 (큐가 가득 차 있으면 throttling 실패로 보고 다시 백오프)
+     */
+    private void requeue(AnalysisJob job) {
+        if (job.isCancelled()) return;
+        job.transition(AnalysisJobState.QUEUED);
+        if (!driveQueue.offer(job)) {
+            fail(job, new AnalysisQueueFullException(job.getDriveId(), retryAfterSeconds));
+        }
+    }
+
+    private void deadLetter(AnalysisJob job, FailureKind kind) {
+        DeadLetter deadLetter = new DeadLetter();
+        deadLetter.setDriveId(job.getDriveId());
+        deadLetter.setPriority(job.getPriority().tag());
+        deadLetter.setFailureKind(kind.name());
+        deadLetter.setFailedAttempts(job.getFailedAttempts());
+        deadLetter.setError(job.getError());
+        deadLetter.setFailedAt(Instant.now());
+        deadLetterCounters.get(kind).increment();
+
+        Runnable save = () -> {
+            try {
+                deadLetterRepository.save(deadLetter);
+            } catch (RuntimeException e) {
+                log.error("Error saving dead letter {}", job.getDriveId(), e);
+            }
+        };
+        try {
+            retryScheduler.execute(save);
+        } catch (RejectedExecutionException e) {
+            save.run(); // 종료 중에는 호출한 스레드에서 바로 저장
+        }
+    }
+
+    /**
+     * dead-letter를 다시 분석 큐에 넣고 삭제 (큐가 가득 차면 거기서 멈춤)
+     * @param deadLetters 다시 분석할 dead-letter 목록
+     * @param priority 넣을 lane, null이면 원래 요청의 우선순위
+     * @return 다시 큐에 넣은 driveId 목록
+     */
+    public List<String> replayDeadLetters(List<DeadLetter> deadLetters, AnalysisPriority priority) {
+        List<String> replayed = new ArrayList<>();
+        for (DeadLetter deadLetter : deadLetters) {
+            AnalysisPriority lane = priority != null ? priority : AnalysisPriority.from(deadLetter.getPriority());
+            try {
+                enqueue(deadLetter.getDriveId(), lane);
+            } catch (AnalysisQueueFullException | AnalysisWorkerDrainingException e) {
+                break;
+            }
+            deadLetterRepository.delete(deadLetter);
+            replayed.add(deadLetter.getDriveId());
+        }
+        return replayed;
+    }
+
+    /**
+     * 작업을 진행 목록에서 빼고 핸들 완료 (이후 같은 driveId 요청은 새 작업으로 처리)
+     */
+    private void complete(AnalysisJob job, Throwable error) {
+        activeJobs.remove(job.getDriveId(), job);
+        ack(job);
+        laneLatencyTimers.get(job.getPriority())
+                .record(System.currentTimeMillis() - job.getEnqueuedAt(), TimeUnit.MILLISECONDS);
+        job.finish(error);
+    }
+
+    /**
+     * write-ahead log에 작업이 끝났다고 기록 (같은 driveId의 새 작업이 이미 들어왔으면 기록하지 않음)
+     * distributed 모드에서는 공유 대기열에서 삭제
+     */
+    private void ack(AnalysisJob job) {
+        if (claimer != null) {
+            claimer.complete(job.getDriveId());
+            return;
+        }
+        activeJobs.compute(job.getDriveId(), (driveId, current) -> {
+            if (current == null) {
+                queueDurability.ack(driveId);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * NORMAL 우선순위로 분석 대기 큐에 driveId 추가
+     */
+    public AnalysisJob enqueue(String driveId) {
+        return enqueue(driveId, AnalysisPriority.NORMAL);
+    }
+
+    /**
+     * 분석 대기 큐의 priority lane에 driveId 추가 (controller에서 이 메서드를 호출)
+     * 같은 driveId가 이미 대기 중이거나 진행 중이면 새로 큐에 넣지 않고 기존 작업 핸들을 반환한다.
+     * 기존 작업이 아직 대기 중이고 새 요청의 우선순위가 더 높으면 높은 lane으로 옮긴다.
+     * @return 분석 작업 핸들
+     * @throws AnalysisQueueFullException lane이 가득 차서 받을 수 없는 경우
+     * @throws AnalysisWorkerDrainingException 종료 중인 경우
+     */
+    public AnalysisJob enqueue(String driveId, AnalysisPriority priority) {
+        return enqueue(driveId, priority, null);
+    }
+
+    /**
+     * enqueue(driveId, priority)와 같고, Athena 쿼리 기한을 지정 (null이면 기본 기한)
+     * 같은 배치에 묶인 작업 중 가장 짧은 기한이 배치 쿼리에 적용된다. 합쳐진 요청의 기한은 무시된다.
+     */
+    public AnalysisJob enqueue(String driveId, AnalysisPriority priority, Duration queryTimeout) {
+        if (draining) {
+            rejectedDriveCounter.increment();
+            throw new AnalysisWorkerDrainingException(driveId, retryAfterSeconds);
+        }
+        if (distributedQueue.isEnabled()) {
+            return submit(driveId, priority, queryTimeout);
+        }
+        AnalysisJob job = new AnalysisJob(driveId, priority);
+        job.setQueryTimeout(queryTimeout);
+        AnalysisJob existing = activeJobs.putIfAbsent(driveId, job);
+        if (existing != null) {
+            existing.coalesce();
+            driveQueue.promote(existing, priority);
+            coalescedDriveCounter.increment();
+            return existing;
+        }
+
+        try {
+            queueDurability.append(driveId, priority); // 큐에 넣기 전에 기록 (기록하지 못하면 받지 않음)
+        } catch (RuntimeException e) {
+            activeJobs.remove(driveId, job);
+            throw e;
+        }
+        if (!driveQueue.offer(job)) {
+            activeJobs.remove(driveId, job);
+            ack(job);
+            rejectedDriveCounter.increment();
+            throw new AnalysisQueueFullException(driveId, retryAfterSeconds);
+        }
+        job.onCancel(() -> {
+            // 취소된 뒤의 요청은 새 작업으로 처리
+            activeJobs.remove(driveId, job);
+            ack(job);
+            cancelledDriveCounter.increment();
+        });
+        analysisJobRegistry.register(job); // 상태 조회용 (취소도 registry를 통해 요청됨)
+        return job;
+    }
+
+    /**
+     * distributed 모드: 공유 대기열에 넣기만 함 (어느 replica가 처리할지는 가져가는 쪽이 정함)
+     * 이 replica가 이미 처리 중인 driveId면 그 작업 핸들을, 아니면 접수 응답용 핸들을 반환한다.
+     * 접수 응답용 핸들은 registry에 등록하지 않으므로 controller는 statusUrl 없이 응답한다 (가져간 replica가 처리할 때 새로 등록).
+     */
+    private AnalysisJob submit(String driveId, AnalysisPriority priority, Duration queryTimeout) {
+        AnalysisJob existing = activeJobs.get(driveId);
+        if (existing != null) {
+            existing.coalesce();
+            coalescedDriveCounter.increment();
+            return existing;
+        }
+
+        boolean added;
+        try {
+            added = distributedQueue.offer(driveId, priority, queryTimeout);
+        } catch (DataIntegrityViolationException e) {
+            added = false; // 다른 replica가 같은 driveId를 동시에 넣음
+        }
+        if (!added) {
+            coalescedDriveCounter.increment();
+        }
+        AnalysisJob job = new AnalysisJob(driveId, priority);
+        job.setQueryTimeout(queryTimeout);
+        return job;
+    }
+
+    /**
+     * distributed 모드: 공유 대기열에서 가져온 항목을 로컬 큐에 넣음
+     * @return 로컬 lane이 가득 차서 넣지 못했으면 false (claimer가 lease를 풀어 줌)
+     */
+    private boolean admitClaimed(AnalysisQueueItem item) {
+        String driveId = item.getDriveId();
+        AnalysisJob job = new AnalysisJob(driveId, item.getPriority());
+        job.setQueryTimeout(item.getQueryTimeoutMs() == null ? null : Duration.ofMillis(item.getQueryTimeoutMs()));
+        if (activeJobs.putIfAbsent(driveId, job) != null) {
+            return true; // 이 replica가 이미 처리 중 (lease가 지났다가 다시 가져온 경우)
+        }
+        if (!driveQueue.offer(job)) {
+            activeJobs.remove(driveId, job);
+            return false;
+        }
+        job.onCancel(() -> {
+            activeJobs.remove(driveId, job);
+            ack(job);
+            cancelledDriveCounter.increment();
+        });
+        analysisJobRegistry.register(job);
+        return true;
+    }
+
+    /**
+     * 대기 중이거나 진행 중인 driveId의 작업 핸들, 없으면 null
+     */
+    public AnalysisJob findActiveJob(String driveId) {
+        return activeJobs.get(driveId);
+    }
+
+    public int queueDepth() {
+        return driveQueue.size();
+    }
+
+    public int queueDepth(AnalysisPriority priority) {
+        return driveQueue.size(priority);
+    }
+
+    /**
+     * 모든 lane에서 가장 오래 기다린 항목의 대기 시간, 비어 있으면 0
+     */
+    public long oldestQueuedAgeMillis() {
+        AnalysisJob oldest = driveQueue.peekOldest();
+        return oldest == null ? 0 : System.currentTimeMillis() - oldest.getEnqueuedAt();
+    }
+
+    /**
+     * 배치를 단계별 파이프라인으로 처리
+     * fetch(배치당 Athena 쿼리 1회) -> analysis(드라이브별, columnar 모드) ─┐
+     * events(드라이브별 RDS 조회, fetch와 동시에 시작) ──────┴-> persist(병합 후 DynamoDB BatchWriteItem으로 모아서 저장)
+     * 각 단계의 큐가 가득 차면 이전 단계가 대기하므로 느린 단계가 전체 처리량을 조절한다.
+     * @return driveId 순서대로의 드라이브별 작업 Future
+     */
+    private List<CompletableFuture<Void>> process(List<AnalysisJob> batch) {
+        long startedAt = System.nanoTime();
+        List<String> driveIds = batch.stream().map(AnalysisJob::getDriveId).toList();
+
+        // RDS 이벤트 조회는 Athena 결과와 무관하므로 먼저 events 단계에 넣음
+        List<CompletableFuture<Drive>> events = new ArrayList<>(batch.size());
+        for (String driveId : driveIds) {
+            events.add(eventsStage.supply(() -> eventDataService.loadDriveData(driveId))); // JPA로 RDS(MySQL) 데이터 쿼리
+        }
+
+        // fetch 단계 스레드는 쿼리를 시작하기까지만 점유하고, 결과는 poller가 완료하는 Future로 이어 받음
+        // 동시에 실행되는 쿼리 수는 진행 한도(takeBatch)로 제한되고, 쿼리 기한이 지나면 poller가 Future를 끝냄
+        CompletableFuture<Function<String, Drive>> fetched = fetchStage.supply(() -> {
+                    batch.forEach(job -> job.transition(AnalysisJobState.FETCHING));
+                    return trackFetch(fetchAndAnalyze(batch));
+                })
+                .thenCompose(query -> query)
+                .whenComplete((rows, e) -> recordBatch(batch.size(), System.nanoTime() - startedAt));
+
+        List<CompletableFuture<Void>> jobs = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            AnalysisJob job = batch.get(i);
+
+            Function<Function<String, Drive>, Drive> analysis = analysisResults -> {
+                job.transition(AnalysisJobState.ANALYZING);
+                return analysisResult(analysisResults, job.getDriveId());
+            };
+            // streaming 모드는 다운로드하면서 이미 분석했으므로 결과만 꺼냄
+            CompletableFuture<Drive> analyzed = analysisStage != null
+                    ? fetched.thenApplyAsync(analysis, analysisStage)
+                    : fetched.thenApply(analysis);
+
+            // persist 단계 스레드는 병합 후 write-behind 버퍼에 넣기까지만 점유하고, 저장 완료는 batch writer가 알려 줌
+            jobs.add(analyzed.thenCombineAsync(events.get(i), (result1, result2) -> {
+                        if (job.isCancelled()) return null; // 취소된 작업은 저장하지 않음
+                        job.transition(AnalysisJobState.PERSISTING);
+                        return mergeDriveResults(result1, result2);
+                    }, persistStage)
+                    .thenCompose(finalResult -> finalResult == null
+                            ? CompletableFuture.<Void>completedFuture(null)
+                            : driveRepository.saveAsync(finalResult)) // dynamodb에 저장
+                    .whenComplete((ignored, e) -> driveTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS)));
+        }
+        return jobs;
+    }
+
+    /**
+     * 결과를 기다리는 조회로 기록 (종료 시 취소해서 Athena 쿼리를 중단)
+     */
+    private <T> CompletableFuture<T> trackFetch(CompletableFuture<T> fetch) {
+        pendingFetches.add(fetch);
+        fetch.whenComplete((value, e) -> pendingFetches.remove(fetch));
+        if (fetchesClosed) fetch.cancel(true); // shutdown과 동시에 시작된 조회
+        return fetch;
+    }
+
+    private boolean isColumnar() {
+        return "columnar".equalsIgnoreCase(analysisMode);
+    }
+
+    private Drive analysisResult(Function<String, Drive> analysisResults, String driveId) {
+        Drive result1 = analysisResults.apply(driveId); // Athena로 S3의 데이터 쿼리
+        if (result1 == null) {
+            if (missingDriveCounter != null) missingDriveCounter.increment();
+            throw new IllegalStateException("No Athena rows for driveId: " + driveId);
+        }
+        return result1;
+    }
+
+    /**
+     * 배치의 Athena 결과를 받아 driveId -> 분석 결과 함수로 반환 (데이터가 없는 driveId는 null)
+     * streaming: S3에서 받는 동안 행 단위로 분석, columnar: TelemetryBatch로 모은 뒤 분석
+     * 배치의 작업이 모두 취소되거나 반환된 Future가 취소되면(워커 종료) Athena 쿼리를 중단한다.
+     */
+    private CompletableFuture<Function<String, Drive>> fetchAndAnalyze(List<AnalysisJob> batch) {
+        List<String> driveIds = batch.stream().map(AnalysisJob::getDriveId).toList();
+        Duration timeout = batch.stream()
+                .map(AnalysisJob::getQueryTimeout)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+
+        CompletableFuture<?> query;
+        CompletableFuture<Function<String, Drive>> result;
+        if (isColumnar()) {
+            CompletableFuture<Map<String, TelemetryBatch>> telemetry = athenaClientService.queryDrivesTelemetryAsync(driveIds, timeout);
+            query = telemetry;
+            result = telemetry.thenApply(telemetryByDrive -> driveId -> {
+                TelemetryBatch data = telemetryByDrive.get(driveId);
+                return data == null ? null : analysisDataFromAthenaService.analysisData(data);
             });
+        } else {
+            CompletableFuture<DriveAnalysisCollector> collected =
+                    athenaClientService.streamDrivesAsync(driveIds, DriveAnalysisCollector::new, timeout);
+            query = collected;
+            result = collected.thenApply(collector -> collector::finish);
         }
+
+        Set<AnalysisJob> waiting = ConcurrentHashMap.newKeySet();
+        waiting.addAll(batch);
+        for (AnalysisJob job : batch) {
+            job.onCancel(() -> {
+                if (waiting.remove(job) && waiting.isEmpty()) query.cancel(true);
+            });
+        }
+        result.whenComplete((value, e) -> {
+            if (result.isCancelled()) query.cancel(true);
+        });
+        return result;
+    }
+
+    private void recordBatch(int size, long elapsedNanos) {
+        if (!batchMetricsEnabled) return;
+        batchSizeSummary.record(size);
+        batchFetchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * write-ahead log와 이전 종료 때 journal에 기록된 요청을 다시 큐에 넣음 (큐에 넣지 못한 요청은 다음 시작 때 다시 복구)
+     */
+    @Override
+    public void start() {
+        running = true;
+        replayedDriveCounter.increment(queueDurability.recover(this::enqueue));
     }
 
-    public void enqueue(String driveId) {
-        driveQueue.offer(driveId); // controller에서 이 메서드를 호출
+    /**
+     * 종료 처리
+     * readiness를 REFUSING_TRAFFIC으로 바꾸고 새 요청을 거절한 뒤, 큐에서 새 배치를 꺼내지 않고
+     * 진행 중인 작업이 끝나기를 grace period 동안 기다린다. 그때까지 끝나지 않은 작업(대기, 재시도 대기,
+     * 진행 중)은 journal에 기록해 다음 시작 때 다시 큐에 넣는다.
+     */
+    @Override
+    public void stop() {
+        if (!running) return;
+        draining = true;
+        if (claimer != null) {
+            claimer.stopClaiming();
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        dispatcher.shutdownNow(); // 대기 중인 작업은 큐에 남김
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownGracePeriodMs);
+        try {
+            // 꺼내던 배치까지 파이프라인에 넣은 뒤, 넣은 작업의 처리가 모두 끝날 때까지 대기
+            dispatcher.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            CompletableFuture.allOf(dispatchedJobs.toArray(CompletableFuture[]::new))
+                    .get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // 실패한 작업은 fail에서 처리됨, 시간 안에 끝나지 않은 작업은 journal에 기록
+        }
+
+        checkpoint();
+        shutdown();
+        running = false;
     }
 
-    private void process(String driveId) {
-        // 분석 로직 호출
-        List<Map<String, String>> data = athenaClientService.queryDriveData(driveId);
-        Drive result1 = analysisDataFromAthenaService.analysisData(data); // Athena로 S3의 데이터 쿼리
-        Drive result2 = eventDataService.loadDriveData(driveId); // JPA로 RDS(MySQL) 데이터 쿼리
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
 
-        Drive finalResult = mergeDriveResults(result1, result2);
+    /**
+     * 끝나지 않은 작업을 journal에 기록 (AnalysisQueueDurability)
+     * distributed 모드에서는 journal 대신 lease를 풀어 다른 replica가 이어서 처리하게 한다.
+     */
+    private void checkpoint() {
+        checkpointed = true;
+        List<AnalysisJob> unfinished = activeJobs.values().stream().filter(job -> !job.isDone()).toList();
+        int saved = claimer != null ? claimer.release(unfinished) : queueDurability.checkpoint(unfinished);
+        checkpointedDriveCounter.increment(saved);
+    }
 
-        // dynamodb에 저장
-        driveRepository.save(finalResult);
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        if (claimer != null) {
+            claimer.shutdown();
+        }
+        retryScheduler.shutdownNow();
+        fetchStage.shutdownNow();
+        fetchesClosed = true;
+        pendingFetches.forEach(fetch -> fetch.cancel(true));
+        eventsStage.shutdown();
+        if (analysisStage != null) {
+            analysisStage.shutdown();
+        }
+        persistStage.shutdown();
+        queueDurability.close(); // 이후의 ACK는 기록하지 않으므로 그때 끝나지 않은 작업은 다음 시작 때 복구됨
     }
 
     public Drive mergeDriveResults(Drive d1, Drive d2) {
         Drive result = new Drive();
         for (Field field : Drive.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) continue; // 속성 이름 상수 등
             field.setAccessible(true);
             try {
                 Object value1 = field.get(d1);
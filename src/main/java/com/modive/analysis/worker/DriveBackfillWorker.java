@@ -0,0 +1,370 @@
+package com.modive.analysis.worker;
+
+import com.modive.analysis.dto.BackfillRequestDTO;
+import com.modive.analysis.entity.BackfillJob;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.repository.BackfillJobRepository;
+import com.modive.analysis.repository.DriveRepository;
+import com.modive.analysis.service.AthenaClientService;
+import com.modive.analysis.service.DriveAnalysisCollector;
+import com.modive.analysis.service.EventDataService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 기간/사용자 조건에 맞는 주행을 일괄 재분석하는 백필 워커
+ *
+ * 1. Athena 쿼리 한 번으로 대상 driveId 목록을 구하고 (결과는 S3에 남아 재개 시 다시 읽음)
+ * 2. batch-size개씩 묶어서 Athena 배치 조회 + RDS 이벤트 일괄 조회를 동시에 수행한 뒤
+ * 3. 병합한 결과를 DynamoDB BatchWriteItem으로 저장한다.
+ *
+ * 진행 위치(processed)는 앞에서부터 연속으로 끝난 배치까지만 체크포인트로 저장하므로,
+ * 중단되거나 실패한 백필을 재개하면 끝나지 않은 배치부터 다시 처리한다.
+ * 사용자 요청과 같은 분석 대기 큐를 거치지 않으므로 초당 처리 주행 수 제한으로 Athena/DynamoDB 사용량을 조절한다.
+ * 저장할 때 분석 워커에서 대기 중이거나 진행 중인 주행은 워커가 저장하도록 건너뛴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DriveBackfillWorker implements InitializingBean {
+
+    // Athena 배치 쿼리 하나에 묶는 driveId 수
+    @Value("${analysis.backfill.batch-size:100}")
+    private int batchSize;
+
+    // 백필 하나에서 동시에 진행하는 배치 수
+    @Value("${analysis.backfill.concurrent-batches:4}")
+    private int concurrentBatches;
+
+    // 요청에 따로 주지 않았을 때의 초당 최대 처리 주행 수
+    @Value("${analysis.backfill.max-drives-per-second:100}")
+    private double defaultMaxDrivesPerSecond;
+
+    // 한 인스턴스에서 동시에 실행하는 백필 수 (초과하면 앞의 백필이 끝날 때까지 대기)
+    @Value("${analysis.backfill.max-running:2}")
+    private int maxRunning;
+
+    private ExecutorService coordinator;
+    private ExecutorService batchExecutor;
+
+    // 이 인스턴스에서 실행 중인 백필 (backfillId -> 실행 상태)
+    private final Map<String, BackfillRun> running = new ConcurrentHashMap<>();
+
+    private Counter succeededDriveCounter;
+    private Counter failedDriveCounter;
+    private Counter skippedDriveCounter;
+    private Timer batchTimer;
+
+    private final AthenaClientService athenaClientService;
+    private final EventDataService eventDataService;
+    private final DriveRepository driveRepository;
+    private final BackfillJobRepository backfillJobRepository;
+    private final DriveAnalysisWorker driveAnalysisWorker;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void afterPropertiesSet() {
+        coordinator = Executors.newFixedThreadPool(maxRunning, threadFactory("backfill"));
+        batchExecutor = Executors.newFixedThreadPool(maxRunning * concurrentBatches, threadFactory("backfill-batch"));
+
+        succeededDriveCounter = Counter.builder("analysis.backfill.drives")
+                .description("백필로 재분석한 주행 수")
+                .tag("result", "succeeded")
+                .register(meterRegistry);
+        failedDriveCounter = Counter.builder("analysis.backfill.drives")
+                .description("백필로 재분석한 주행 수")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        skippedDriveCounter = Counter.builder("analysis.backfill.drives")
+                .description("백필로 재분석한 주행 수")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("analysis.backfill.batch")
+                .description("백필 배치 하나의 조회, 분석, 저장 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 백필 시작
+     * @param request 기간(from 포함, to 제외) 또는 userId 목록, 초당 최대 처리 주행 수
+     * @return 생성된 백필 작업 (진행 상태는 find로 조회)
+     */
+    public BackfillJob start(BackfillRequestDTO request) {
+        boolean hasUsers = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        if (request.getFrom() == null && request.getTo() == null && !hasUsers) {
+            throw new IllegalArgumentException("Backfill needs a time range or userIds");
+        }
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().isBefore(request.getTo())) {
+            throw new IllegalArgumentException("Backfill 'from' must be before 'to'");
+        }
+        double rate = request.getMaxDrivesPerSecond() != null ? request.getMaxDrivesPerSecond() : defaultMaxDrivesPerSecond;
+        if (rate <= 0) {
+            throw new IllegalArgumentException("maxDrivesPerSecond must be positive");
+        }
+
+        Instant now = Instant.now();
+        BackfillJob job = new BackfillJob();
+        job.setBackfillId(UUID.randomUUID().toString());
+        job.setStatus(BackfillJob.Status.RUNNING);
+        job.setFromTime(request.getFrom());
+        job.setToTime(request.getTo());
+        job.setUserIds(hasUsers ? request.getUserIds() : null);
+        job.setMaxDrivesPerSecond(rate);
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        backfillJobRepository.save(job);
+
+        launch(job);
+        return job;
+    }
+
+    /**
+     * 중단(PAUSED)되었거나 실패한 백필을 체크포인트부터 재개
+     * @return 백필 작업, 없으면 null (이미 실행 중이거나 완료된 백필은 그대로 반환)
+     */
+    public BackfillJob resume(String backfillId) {
+        BackfillRun active = running.get(backfillId);
+        if (active != null) return active.job;
+
+        BackfillJob job = backfillJobRepository.findById(backfillId);
+        if (job == null || job.getStatus() == BackfillJob.Status.COMPLETED) return job;
+
+        job.setStatus(BackfillJob.Status.RUNNING);
+        job.setError(null);
+        job.setUpdatedAt(Instant.now());
+        backfillJobRepository.save(job);
+
+        launch(job);
+        return job;
+    }
+
+    /**
+     * 실행 중인 백필을 멈춤 (진행 중인 배치가 끝나면 PAUSED로 체크포인트)
+     * @return 백필 작업, 없으면 null
+     */
+    public BackfillJob pause(String backfillId) {
+        BackfillRun active = running.get(backfillId);
+        if (active == null) return backfillJobRepository.findById(backfillId);
+
+        active.paused = true;
+        return active.job;
+    }
+
+    /**
+     * 백필 진행 상태 조회 (이 인스턴스에서 실행 중이면 최신 진행 상태, 아니면 마지막 체크포인트)
+     */
+    public BackfillJob find(String backfillId) {
+        BackfillRun active = running.get(backfillId);
+        return active != null ? active.job : backfillJobRepository.findById(backfillId);
+    }
+
+    private void launch(BackfillJob job) {
+        BackfillRun run = new BackfillRun(job);
+        if (running.putIfAbsent(job.getBackfillId(), run) == null) {
+            coordinator.execute(run::run);
+        }
+    }
+
+    /**
+     * 배치 하나 처리: Athena 배치 조회(다운로드하면서 분석)와 RDS 이벤트 조회를 동시에 수행하고, 병합 결과를 한 번에 저장
+     * Athena 결과가 없는 driveId는 실패로 센다.
+     * 분석 워커에 같은 driveId의 작업이 있으면 그 작업의 결과를 덮어쓰지 않도록 저장하지 않고 건너뛴다 (성공으로 셈).
+     */
+    private CompletableFuture<BatchResult> processBatch(List<String> driveIds) {
+        long startedAt = System.nanoTime();
+
+        CompletableFuture<Map<String, Drive>> events =
+                CompletableFuture.supplyAsync(() -> eventDataService.loadDrivesData(driveIds), batchExecutor);
+
+        return athenaClientService.streamDrivesAsync(driveIds, DriveAnalysisCollector::new)
+                .thenCombineAsync(events, (collector, eventsByDrive) -> {
+                    List<Drive> drives = new ArrayList<>(driveIds.size());
+                    int missing = 0;
+                    int skipped = 0;
+                    for (String driveId : driveIds) {
+                        Drive result1 = collector.finish(driveId);
+                        if (result1 == null) {
+                            missing++;
+                            continue;
+                        }
+                        if (driveAnalysisWorker.findActiveJob(driveId) != null) {
+                            skipped++;
+                            continue;
+                        }
+                        drives.add(driveAnalysisWorker.mergeDriveResults(result1, eventsByDrive.get(driveId)));
+                    }
+                    driveRepository.saveAll(drives);
+                    return new BatchResult(drives.size(), missing, skipped);
+                }, batchExecutor)
+                .whenComplete((result, e) -> batchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 실행 중인 백필은 PAUSED로 체크포인트되고, 재개하면 끝나지 않은 배치부터 다시 처리
+        running.values().forEach(run -> run.paused = true);
+        coordinator.shutdownNow();
+        batchExecutor.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> new Thread(r, "analysis-" + name + "-" + sequence.incrementAndGet());
+    }
+
+    private record BatchResult(int succeeded, int failed, int skipped) {
+    }
+
+    /**
+     * 백필 하나의 실행 상태
+     * 배치는 순서와 상관없이 끝나므로, 끝난 배치를 시작 위치별로 모아 두었다가 앞에서부터 연속된 만큼만 processed에 반영한다.
+     */
+    private class BackfillRun {
+
+        private final BackfillJob job;
+        private final Map<Integer, int[]> completed = new HashMap<>(); // 시작 위치 -> {끝 위치, 성공 수, 실패 수}
+        private volatile boolean paused;
+        private volatile String error;
+
+        BackfillRun(BackfillJob job) {
+            this.job = job;
+        }
+
+        void run() {
+            Semaphore permits = new Semaphore(concurrentBatches);
+            try {
+                if (job.getQueryExecutionId() == null) {
+                    String executionId = athenaClientService
+                            .startDriveIdQueryAsync(job.getFromTime(), job.getToTime(), job.getUserIds())
+                            .join();
+                    synchronized (job) {
+                        job.setQueryExecutionId(executionId);
+                        checkpoint();
+                    }
+                }
+
+                List<String> driveIds = athenaClientService.readDriveIds(job.getQueryExecutionId());
+                synchronized (job) {
+                    job.setTotal(driveIds.size());
+                    checkpoint();
+                }
+
+                long startedAt = System.nanoTime();
+                long dispatched = 0;
+                for (int start = job.getProcessed(); start < driveIds.size(); start += batchSize) {
+                    int end = Math.min(start + batchSize, driveIds.size());
+
+                    pace(startedAt, dispatched);
+                    permits.acquire();
+                    if (paused || error != null) {
+                        permits.release();
+                        break;
+                    }
+                    dispatched += end - start;
+
+                    int batchStart = start;
+                    processBatch(driveIds.subList(start, end)).whenComplete((result, e) -> {
+                        try {
+                            complete(batchStart, end, result, e);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+
+                permits.acquire(concurrentBatches); // 진행 중인 배치가 모두 끝날 때까지 대기
+                finish(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                paused = true;
+                finish(null);
+            } catch (Exception e) {
+                log.error("Backfill failed: {}", job.getBackfillId(), e);
+                finish(e);
+            } finally {
+                running.remove(job.getBackfillId());
+            }
+        }
+
+        /**
+         * 초당 최대 처리 주행 수를 넘지 않도록 다음 배치 시작 시각까지 대기
+         */
+        private void pace(long startedAt, long dispatched) throws InterruptedException {
+            long due = startedAt + (long) (dispatched / job.getMaxDrivesPerSecond() * TimeUnit.SECONDS.toNanos(1));
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+
+        private void complete(int start, int end, BatchResult result, Throwable e) {
+            if (e != null) {
+                // 배치 전체가 실패하면 이후 배치를 멈추고, 재개 시 이 배치부터 다시 처리
+                error = e.getCause() != null ? e.getCause().toString() : e.toString();
+                log.error("Backfill batch failed: {} [{}, {})", job.getBackfillId(), start, end, e);
+                return;
+            }
+            succeededDriveCounter.increment(result.succeeded());
+            failedDriveCounter.increment(result.failed());
+            skippedDriveCounter.increment(result.skipped());
+
+            synchronized (job) {
+                completed.put(start, new int[]{end, result.succeeded() + result.skipped(), result.failed()});
+                int[] next;
+                while ((next = completed.remove(job.getProcessed())) != null) {
+                    job.setProcessed(next[0]);
+                    job.setSucceeded(job.getSucceeded() + next[1]);
+                    job.setFailed(job.getFailed() + next[2]);
+                }
+                checkpoint();
+            }
+        }
+
+        private void finish(Exception e) {
+            synchronized (job) {
+                if (e != null || error != null) {
+                    job.setStatus(BackfillJob.Status.FAILED);
+                    job.setError(e != null ? e.toString() : error);
+                } else if (job.getProcessed() >= job.getTotal()) {
+                    job.setStatus(BackfillJob.Status.COMPLETED);
+                } else {
+                    job.setStatus(BackfillJob.Status.PAUSED);
+                }
+                checkpoint();
+            }
+        }
+
+        private void checkpoint() {
+            job.setUpdatedAt(Instant.now());
+            try {
+                backfillJobRepository.save(job);
+            } catch (RuntimeException e) {
+                // 체크포인트 저장 실패는 다음 체크포인트에서 다시 기록됨
+                log.warn("Error saving backfill checkpoint {}", job.getBackfillId(), e);
+            }
+        }
+    }
+}
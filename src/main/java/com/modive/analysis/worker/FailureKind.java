@@ -0,0 +1,81 @@
+package com.modive.analysis.worker;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.retry.RetryUtils;
+import com.modive.analysis.service.AthenaQueryTimeoutException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.services.athena.model.TooManyRequestsException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 분석 실패 종류 (재시도 정책 선택 기준)
+ */
+public enum FailureKind {
+    THROTTLED, // Athena/DynamoDB 요청 한도 초과, 분석 대기 큐 가득 참
+    TRANSIENT, // 타임아웃, 네트워크 오류, 5xx, 일시적인 DB 오류
+    PERMANENT; // 데이터 없음, 파싱 오류, 쿼리 실패 등 다시 시도해도 같은 결과
+
+    public boolean isRetryable() {
+        return this != PERMANENT;
+    }
+
+    /**
+     * 메트릭 태그 값
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 예외(원인 체인 포함)를 실패 종류로 분류
+     * 체인 안에 재시도할 수 있는 원인이 하나라도 있으면 그 종류로 본다. (CompletionException, RuntimeException 포장 대응)
+     */
+    public static FailureKind of(Throwable failure) {
+        FailureKind kind = PERMANENT;
+        for (Throwable e = failure; e != null; e = e.getCause()) {
+            FailureKind current = classify(e);
+            if (current == THROTTLED) return THROTTLED;
+            if (current == TRANSIENT) kind = TRANSIENT;
+        }
+        return kind;
+    }
+
+    private static FailureKind classify(Throwable e) {
+        if (e instanceof AnalysisQueueFullException || e instanceof TooManyRequestsException) {
+            return THROTTLED;
+        }
+        if (e instanceof SdkServiceException serviceException) {
+            if (serviceException.isThrottlingException()) return THROTTLED;
+            return serviceException.statusCode() >= 500 || serviceException.retryable() ? TRANSIENT : PERMANENT;
+        }
+        if (e instanceof ApiCallTimeoutException || e instanceof ApiCallAttemptTimeoutException
+                || e instanceof AthenaQueryTimeoutException) {
+            return TRANSIENT;
+        }
+        if (e instanceof SdkException sdkException) {
+            return sdkException.retryable() ? TRANSIENT : PERMANENT;
+        }
+        if (e instanceof AmazonServiceException serviceException) {
+            if (RetryUtils.isThrottlingException(serviceException)) return THROTTLED;
+            return RetryUtils.isRetryableServiceException(serviceException) ? TRANSIENT : PERMANENT;
+        }
+        if (e instanceof AmazonClientException clientException) {
+            return clientException.isRetryable() ? TRANSIENT : PERMANENT;
+        }
+        if (e instanceof TimeoutException || e instanceof IOException || e instanceof UncheckedIOException
+                || e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException) {
+            return TRANSIENT;
+        }
+        return PERMANENT;
+    }
+}
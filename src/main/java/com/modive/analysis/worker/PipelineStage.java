@@ -0,0 +1,111 @@
+package com.modive.analysis.worker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 분석 파이프라인의 한 단계
+ * 단계마다 전용 스레드 풀과 크기가 제한된 큐를 가지며, 큐가 가득 차면 작업을 넘기는 쪽(이전 단계)이
+ * 자리가 날 때까지 기다린다. 느린 I/O 단계가 CPU 단계의 스레드를 점유하지 않도록 단계별로 따로 조정한다.
+ *
+ * 메트릭 (stage 태그로 구분)
+ * - analysis.pipeline.queue.depth: 대기 중인 작업 수
+ * - analysis.pipeline.active: 실행 중인 작업 수
+ * - analysis.pipeline.wait: 큐 대기 시간
+ * - analysis.stage.duration: 작업 처리 시간
+ */
+public class PipelineStage implements Executor {
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final Timer waitTimer;
+    private final Timer serviceTimer;
+
+    public PipelineStage(String name, int concurrency, int queueCapacity, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory(name), PipelineStage::waitForSpace);
+
+        Gauge.builder("analysis.pipeline.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("파이프라인 단계 큐에서 대기 중인 작업 수")
+                .tag("stage", name)
+                .register(meterRegistry);
+        Gauge.builder("analysis.pipeline.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("파이프라인 단계에서 실행 중인 작업 수")
+                .tag("stage", name)
+                .register(meterRegistry);
+        waitTimer = Timer.builder("analysis.pipeline.wait")
+                .description("파이프라인 단계 큐 대기 시간")
+                .tag("stage", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        serviceTimer = Timer.builder("analysis.stage.duration")
+                .description("드라이브 분석 단계별 처리 시간")
+                .tag("stage", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 단계 큐에 작업 추가 (큐가 가득 차면 호출한 스레드가 대기)
+     */
+    @Override
+    public void execute(Runnable task) {
+        long queuedAt = System.nanoTime();
+        executor.execute(() -> {
+            waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            serviceTimer.record(task);
+        });
+    }
+
+    /**
+     * 단계 스레드에서 task를 실행하고 결과 Future 반환
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+
+    private static void waitForSpace(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Pipeline stage is shut down");
+        }
+        try {
+            pool.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for pipeline stage queue", e);
+        }
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> new Thread(r, "analysis-" + name + "-" + sequence.incrementAndGet());
+    }
+}
@@ -0,0 +1,190 @@
+package com.modive.analysis.worker;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 우선순위 lane별 대기 큐
+ * lane마다 크기 제한이 있고, 꺼낼 때는 가중치 기반 라운드 로빈(smooth weighted round robin)으로 lane을 고른다.
+ * 모든 lane에 작업이 있으면 각 lane은 가중치 비율만큼 선택되므로 BACKFILL도 굶지 않는다.
+ */
+public class PriorityLaneQueue {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Map<AnalysisPriority, ArrayDeque<AnalysisJob>> lanes = new EnumMap<>(AnalysisPriority.class);
+    private final Map<AnalysisPriority, Integer> capacities;
+    private final Map<AnalysisPriority, Integer> weights;
+    private final Map<AnalysisPriority, Integer> credits = new EnumMap<>(AnalysisPriority.class);
+    private int size;
+
+    /**
+     * @param capacities lane별 최대 대기 수
+     * @param weights lane별 가중치 (1 이상)
+     */
+    public PriorityLaneQueue(Map<AnalysisPriority, Integer> capacities, Map<AnalysisPriority, Integer> weights) {
+        this.capacities = new EnumMap<>(capacities);
+        this.weights = new EnumMap<>(weights);
+        for (AnalysisPriority priority : AnalysisPriority.values()) {
+            lanes.put(priority, new ArrayDeque<>());
+            credits.put(priority, 0);
+            this.capacities.merge(priority, 1, Math::max);
+            this.weights.merge(priority, 1, Math::max);
+        }
+    }
+
+    /**
+     * 작업 우선순위 lane에 추가
+     * @return lane이 가득 차면 false
+     */
+    public boolean offer(AnalysisJob job) {
+        lock.lock();
+        try {
+            ArrayDeque<AnalysisJob> lane = lanes.get(job.getPriority());
+            if (lane.size() >= capacities.get(job.getPriority())) {
+                return false;
+            }
+            lane.addLast(job);
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 아직 대기 중인 작업을 더 높은 우선순위 lane 끝으로 옮김 (lane 크기 제한은 적용하지 않음)
+     * @return 옮겼으면 true, 이미 꺼내졌거나 우선순위가 같거나 높으면 false
+     */
+    public boolean promote(AnalysisJob job, AnalysisPriority priority) {
+        lock.lock();
+        try {
+            if (priority.compareTo(job.getPriority()) >= 0 || !lanes.get(job.getPriority()).remove(job)) {
+                return false;
+            }
+            job.setPriority(priority);
+            lanes.get(priority).addLast(job);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public AnalysisJob take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * timeout까지 기다려 작업을 꺼냄, 없으면 null
+     */
+    public AnalysisJob poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기다리지 않고 최대 maxElements개를 가중치 순서대로 꺼냄
+     */
+    public int drainTo(Collection<? super AnalysisJob> target, int maxElements) {
+        lock.lock();
+        try {
+            int drained = 0;
+            while (size > 0 && drained < maxElements) {
+                target.add(next());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size(AnalysisPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 모든 lane 맨 앞 작업 중 가장 오래 기다린 작업, 비어 있으면 null
+     */
+    public AnalysisJob peekOldest() {
+        lock.lock();
+        try {
+            AnalysisJob oldest = null;
+            for (ArrayDeque<AnalysisJob> lane : lanes.values()) {
+                AnalysisJob head = lane.peekFirst();
+                if (head != null && (oldest == null || head.getEnqueuedAt() < oldest.getEnqueuedAt())) {
+                    oldest = head;
+                }
+            }
+            return oldest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 작업이 있는 lane들의 credit을 가중치만큼 올리고 가장 큰 lane에서 꺼낸 뒤, 그 lane의 credit을 가중치 합만큼 내림
+     * (lock을 잡은 상태에서 size > 0일 때만 호출)
+     */
+    private AnalysisJob next() {
+        AnalysisPriority selected = null;
+        int totalWeight = 0;
+        for (AnalysisPriority priority : AnalysisPriority.values()) {
+            if (lanes.get(priority).isEmpty()) continue;
+            int weight = weights.get(priority);
+            totalWeight += weight;
+            int credit = credits.get(priority) + weight;
+            credits.put(priority, credit);
+            if (selected == null || credit > credits.get(selected)) {
+                selected = priority;
+            }
+        }
+        credits.put(selected, credits.get(selected) - totalWeight);
+        size--;
+
+        ArrayDeque<AnalysisJob> lane = lanes.get(selected);
+        AnalysisJob job = lane.pollFirst();
+        if (lane.isEmpty()) {
+            credits.put(selected, 0); // 다시 채워질 때 밀린 credit으로 몰아서 선택되지 않도록
+        }
+        return job;
+    }
+}
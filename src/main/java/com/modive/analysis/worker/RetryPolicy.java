@@ -0,0 +1,51 @@
+package com.modive.analysis.worker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 실패 종류별 재시도 정책 (지수 백오프 + jitter)
+ * n번째 재시도 대기 시간은 min(maxDelay, baseDelay * 2^(n-1))의 절반에서 전체 사이의 임의 값이다.
+ * 여러 드라이브가 같은 시점에 throttling되어도 재시도 시점이 흩어진다.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * @param maxAttempts 처음 시도를 포함한 최대 시도 횟수 (1 이하이면 재시도하지 않음)
+     * @param baseDelayMillis 첫 재시도 대기 시간 상한
+     * @param maxDelayMillis 재시도 대기 시간 상한
+     */
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = Math.max(1, baseDelayMillis);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, 1, 1);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * failedAttempts번 실패한 뒤 다시 시도할지 여부
+     */
+    public boolean shouldRetry(int failedAttempts) {
+        return failedAttempts < maxAttempts;
+    }
+
+    /**
+     * retry번째 재시도 전에 기다릴 시간 (1부터 시작)
+     */
+    public long backoffMillis(int retry) {
+        int shift = Math.min(Math.max(retry - 1, 0), 30);
+        long cap = Math.min(maxDelayMillis, baseDelayMillis << shift);
+        long half = cap / 2;
+        return half + ThreadLocalRandom.current().nextLong(cap - half + 1);
+    }
+}
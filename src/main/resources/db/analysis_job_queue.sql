@@ -0,0 +1,12 @@
+-- analysis.worker.queue.mode=distributed 에서 사용하는 공유 분석 대기열 (운영은 ddl-auto=validate이므로 배포 전에 적용)
+CREATE TABLE IF NOT EXISTS analysis_job_queue (
+    drive_id         VARCHAR(64)  NOT NULL,
+    priority         VARCHAR(16)  NOT NULL,
+    enqueued_at      DATETIME(6)  NOT NULL,
+    query_timeout_ms BIGINT       NULL,
+    lease_owner      VARCHAR(128) NULL,
+    lease_expires_at DATETIME(6)  NULL,
+    claim_count      INT          NOT NULL DEFAULT 0,
+    PRIMARY KEY (drive_id),
+    INDEX idx_analysis_job_queue_claim (priority, lease_expires_at, enqueued_at)
+) ENGINE = InnoDB;
@@ -1,15 +1,31 @@
 package com.modive.analysis.controller;
 
+import com.modive.analysis.dto.AnalysisJobStatusDTO;
 import com.modive.analysis.entity.Drive;
 import com.modive.analysis.repository.DriveRepository;
 import com.modive.analysis.service.AnalysisDataFromAthenaService;
 import com.modive.analysis.service.AthenaClientService;
 import com.modive.analysis.service.EventDataService;
+import com.modive.analysis.worker.AnalysisJob;
+import com.modive.analysis.worker.AnalysisJobRegistry;
+import com.modive.analysis.worker.AnalysisJobState;
+import com.modive.analysis.worker.AnalysisPriority;
+import com.modive.analysis.worker.AnalysisQueueFullException;
+import com.modive.analysis.worker.AnalysisWorkerDrainingException;
+import com.modive.analysis.worker.DriveAnalysisWorker;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +52,12 @@ public class AnalysisControllerTest {
     @Mock
     private DriveRepository driveRepository;
 
+    @Mock
+    private DriveAnalysisWorker driveAnalysisWorker;
+
+    @Mock
+    private AnalysisJobRegistry analysisJobRegistry;
+
     // 기존 mergeDriveResults 테스트들...
     @Test
     public void testMergeDriveResults_allFieldsPresentInDrive1() {
@@ -150,79 +172,241 @@ public class AnalysisControllerTest {
 
     // ============= postDriveAnalysis 메서드 테스트 추가 =============
     @Test
-    public void testPostDriveAnalysis_success() {
+    public void testPostDriveAnalysis_accepted() {
         // Arrange
         String driveId = "test-drive-123";
-        List<Map<String, String>> mockData = List.of(Map.of("key", "value"));
+        AnalysisJob job = new AnalysisJob(driveId);
+        when(driveAnalysisWorker.enqueue(driveId, AnalysisPriority.NORMAL, null)).thenReturn(job);
+        when(analysisJobRegistry.find(driveId)).thenReturn(job);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = analysisController.postDriveAnalysis(driveId, "normal", null);
+
+        // Assert - 분석은 워커에서 진행되므로 접수(202)만 응답하고 직접 조회/저장하지 않음
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).containsEntry("status", "accepted");
+        assertThat(response.getBody()).containsEntry("statusTracked", true);
+        assertThat(response.getBody()).containsEntry("statusUrl", "/analysis/" + driveId + "/status");
+        verify(driveAnalysisWorker, times(1)).enqueue(driveId, AnalysisPriority.NORMAL, null);
+        verify(athenaClientService, never()).queryDriveData(anyString());
+        verify(driveRepository, never()).save(any());
+    }
+
+    @Test
+    public void testPostDriveAnalysis_distributedQueueHasNoStatusUrl() {
+        // Arrange - distributed 모드에서 공유 대기열에 넣기만 한 작업은 registry에 없음
+        String driveId = "test-drive-123";
+        when(driveAnalysisWorker.enqueue(driveId, AnalysisPriority.NORMAL, null)).thenReturn(new AnalysisJob(driveId));
 
-        Drive result1 = new Drive();
-        result1.setStartTime(Instant.parse("2023-01-01T10:00:00Z"));
+        // Act
+        ResponseEntity<Map<String, Object>> response = analysisController.postDriveAnalysis(driveId, "normal", null);
 
-        Drive result2 = new Drive();
-        result2.setEndTime(Instant.parse("2023-01-01T11:00:00Z"));
+        // Assert - 404가 나는 상태 URL을 주지 않음
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).containsEntry("statusTracked", false);
+        assertThat(response.getBody()).doesNotContainKey("statusUrl");
+    }
 
-        // Mock 설정 - postDriveAnalysis는 void 반환이므로 when().thenReturn() 불가
-        when(athenaClientService.queryDriveData(driveId)).thenReturn(mockData);
-        when(analysisDataFromAthenaService.analysisData(mockData)).thenReturn(result1);
-        when(eventDataService.loadDriveData(driveId)).thenReturn(result2);
+    @Test
+    public void testPostDriveAnalysis_queueFull() {
+        // Arrange
+        String driveId = "test-drive-456";
+        when(driveAnalysisWorker.enqueue(driveId, AnalysisPriority.NORMAL, null)).thenThrow(new AnalysisQueueFullException(driveId, 7));
 
         // Act
-        analysisController.postDriveAnalysis(driveId);
+        ResponseEntity<Map<String, Object>> response = analysisController.postDriveAnalysis(driveId, "normal", null);
 
         // Assert
-        verify(athenaClientService, times(1)).queryDriveData(driveId);
-        verify(analysisDataFromAthenaService, times(1)).analysisData(mockData);
-        verify(eventDataService, times(1)).loadDriveData(driveId);
-        verify(driveRepository, times(1)).save(any(Drive.class));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+        assertThat(response.getBody()).containsEntry("status", "rejected");
     }
 
     @Test
-    public void testPostDriveAnalysis_withNullResults() {
+    public void testPostDriveAnalysis_draining() {
         // Arrange
         String driveId = "test-drive-456";
-        List<Map<String, String>> mockData = List.of();
+        when(driveAnalysisWorker.enqueue(driveId, AnalysisPriority.NORMAL, null))
+                .thenThrow(new AnalysisWorkerDrainingException(driveId, 5));
 
-        // Mock 설정 - 서비스들이 null을 반환하는 경우
-        when(athenaClientService.queryDriveData(driveId)).thenReturn(mockData);
-        when(analysisDataFromAthenaService.analysisData(mockData)).thenReturn(null);
-        when(eventDataService.loadDriveData(driveId)).thenReturn(null);
-
-        // Act & Assert
-        // null 처리에 따라 예외가 발생할 수 있음
-        try {
-            analysisController.postDriveAnalysis(driveId);
-            verify(driveRepository, times(1)).save(any(Drive.class));
-        } catch (Exception e) {
-            // 예외 발생 시에도 정상적인 동작으로 간주
-            assertThat(e).isNotNull();
-        }
+        // Act
+        ResponseEntity<Map<String, Object>> response = analysisController.postDriveAnalysis(driveId, "normal", null);
 
-        // 서비스 호출은 정상적으로 이루어져야 함
-        verify(athenaClientService, times(1)).queryDriveData(driveId);
-        verify(analysisDataFromAthenaService, times(1)).analysisData(mockData);
-        verify(eventDataService, times(1)).loadDriveData(driveId);
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        assertThat(response.getBody()).containsEntry("status", "rejected");
     }
 
     @Test
-    public void testPostDriveAnalysis_serviceException() {
+    public void testPostDriveAnalysis_interactivePriority() {
         // Arrange
         String driveId = "test-drive-789";
+        when(driveAnalysisWorker.enqueue(driveId, AnalysisPriority.INTERACTIVE, null))
+                .thenReturn(new AnalysisJob(driveId, AnalysisPriority.INTERACTIVE));
 
-        // Mock 설정 - athenaClientService에서 예외 발생
-        when(athenaClientService.queryDriveData(driveId))
-                .thenThrow(new RuntimeException("Athena query failed"));
+        // Act
+        ResponseEntity<Map<String, Object>> response = analysisController.postDriveAnalysis(driveId, "Interactive", null);
 
-        // Act & Assert
-        try {
-            analysisController.postDriveAnalysis(driveId);
-        } catch (RuntimeException e) {
-            assertThat(e.getMessage()).isEqualTo("Athena query failed");
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).containsEntry("priority", "interactive");
+    }
+
+    @Test
+    public void testPostDriveAnalysis_unknownPriority() {
+        // Act
+        ResponseEntity<Map<String, Object>> response = analysisController.postDriveAnalysis("test-drive-789", "urgent", null);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(driveAnalysisWorker, never()).enqueue(anyString(), any(), any());
+    }
+
+    @Test
+    public void testPostDriveAnalysis_queryTimeout() {
+        // Arrange
+        String driveId = "test-drive-123";
+        when(driveAnalysisWorker.enqueue(driveId, AnalysisPriority.NORMAL, Duration.ofSeconds(30)))
+                .thenReturn(new AnalysisJob(driveId));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = analysisController.postDriveAnalysis(driveId, "normal", 30L);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        verify(driveAnalysisWorker, times(1)).enqueue(driveId, AnalysisPriority.NORMAL, Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void testPostDriveAnalysis_invalidQueryTimeout() {
+        // Act
+        ResponseEntity<Map<String, Object>> response = analysisController.postDriveAnalysis("test-drive-123", "normal", 0L);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(driveAnalysisWorker, never()).enqueue(anyString(), any(), any());
+    }
+
+    // ============= 분석 취소 테스트 =============
+    @Test
+    public void testCancelDriveAnalysis_accepted() {
+        // Arrange
+        AnalysisJob job = new AnalysisJob("drive1");
+        when(analysisJobRegistry.find("drive1")).thenReturn(job);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = analysisController.cancelDriveAnalysis("drive1");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).containsEntry("status", "CANCELLED");
+        assertThat(job.isCancelled()).isTrue();
+        assertThat(job.completion()).isCompletedExceptionally();
+    }
+
+    @Test
+    public void testCancelDriveAnalysis_alreadyFinished() {
+        // Arrange
+        AnalysisJob job = new AnalysisJob("drive1");
+        job.cancel();
+        when(analysisJobRegistry.find("drive1")).thenReturn(job);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = analysisController.cancelDriveAnalysis("drive1");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    public void testCancelDriveAnalysis_notFound() {
+        // Arrange
+        when(analysisJobRegistry.find("unknown")).thenReturn(null);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = analysisController.cancelDriveAnalysis("unknown");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    // ============= 분석 상태 조회 테스트 =============
+    @Test
+    public void testGetAnalysisStatus_notFound() {
+        // Arrange
+        when(analysisJobRegistry.find("unknown")).thenReturn(null);
+
+        // Act
+        DeferredResult<ResponseEntity<AnalysisJobStatusDTO>> result = analysisController.getAnalysisStatus("unknown", 0);
+
+        // Assert
+        assertThat(((ResponseEntity<?>) result.getResult()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    public void testGetAnalysisStatus_returnsCurrentState() {
+        // Arrange
+        when(analysisJobRegistry.find("drive1")).thenReturn(new AnalysisJob("drive1"));
+
+        // Act
+        DeferredResult<ResponseEntity<AnalysisJobStatusDTO>> result = analysisController.getAnalysisStatus("drive1", 0);
+
+        // Assert
+        AnalysisJobStatusDTO status = statusOf(result);
+        assertThat(status.getDriveId()).isEqualTo("drive1");
+        assertThat(status.getState()).isEqualTo(AnalysisJobState.QUEUED);
+        assertThat(status.getTimestamps()).containsKey(AnalysisJobState.QUEUED);
+    }
+
+    @Test
+    public void testGetAnalysisStatus_longPollRespondsAfterWait() throws Exception {
+        // Arrange - 상태가 바뀌지 않으면 wait가 지난 뒤 현재 상태로 응답
+        ReflectionTestUtils.setField(analysisController, "maxWaitSeconds", 1L);
+        when(analysisJobRegistry.find("drive1")).thenReturn(new AnalysisJob("drive1"));
+
+        // Act
+        DeferredResult<ResponseEntity<AnalysisJobStatusDTO>> result = analysisController.getAnalysisStatus("drive1", 10);
+
+        // Assert
+        assertThat(result.hasResult()).isFalse();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
         }
+        assertThat(statusOf(result).getState()).isEqualTo(AnalysisJobState.QUEUED);
+    }
 
-        // athenaClientService는 호출되었지만, 나머지는 호출되지 않아야 함
-        verify(athenaClientService, times(1)).queryDriveData(driveId);
-        verify(analysisDataFromAthenaService, never()).analysisData(any());
-        verify(eventDataService, never()).loadDriveData(anyString());
-        verify(driveRepository, never()).save(any());
+    @Test
+    public void testStreamAnalysisStatus_notFound() {
+        // Arrange
+        when(analysisJobRegistry.find("unknown")).thenReturn(null);
+
+        // Act
+        ResponseEntity<SseEmitter> response = analysisController.streamAnalysisStatus("unknown");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    public void testStreamAnalysisStatus_opensStream() {
+        // Arrange
+        ReflectionTestUtils.setField(analysisController, "sseTimeoutSeconds", 60L);
+        when(analysisJobRegistry.find("drive1")).thenReturn(new AnalysisJob("drive1"));
+
+        // Act
+        ResponseEntity<SseEmitter> response = analysisController.streamAnalysisStatus("drive1");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private AnalysisJobStatusDTO statusOf(DeferredResult<ResponseEntity<AnalysisJobStatusDTO>> result) {
+        ResponseEntity<AnalysisJobStatusDTO> response = (ResponseEntity<AnalysisJobStatusDTO>) result.getResult();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
     }
-}
\ No newline at end of file
+}
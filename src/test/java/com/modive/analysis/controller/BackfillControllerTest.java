@@ -0,0 +1,92 @@
+package com.modive.analysis.controller;
+
+import com.modive.analysis.dto.BackfillRequestDTO;
+import com.modive.analysis.entity.BackfillJob;
+import com.modive.analysis.worker.DriveBackfillWorker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BackfillControllerTest {
+
+    @InjectMocks
+    private BackfillController backfillController;
+
+    @Mock
+    private DriveBackfillWorker driveBackfillWorker;
+
+    @Test
+    void testStartBackfill_accepted() {
+        // Arrange
+        BackfillRequestDTO request = new BackfillRequestDTO(
+                Instant.parse("2025-05-01T00:00:00Z"), Instant.parse("2025-06-01T00:00:00Z"), null, 500.0);
+        BackfillJob job = new BackfillJob();
+        job.setBackfillId("backfill-1");
+        when(driveBackfillWorker.start(request)).thenReturn(job);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = backfillController.startBackfill(request);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody().get("backfillId")).isEqualTo("backfill-1");
+        assertThat(response.getBody().get("statusUrl")).isEqualTo("/analysis/backfill/backfill-1");
+    }
+
+    @Test
+    void testStartBackfill_invalidRequest() {
+        // Arrange
+        BackfillRequestDTO request = new BackfillRequestDTO(null, null, List.of(), null);
+        when(driveBackfillWorker.start(any())).thenThrow(new IllegalArgumentException("Backfill needs a time range or userIds"));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = backfillController.startBackfill(request);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().get("status")).isEqualTo("rejected");
+    }
+
+    @Test
+    void testGetBackfill_progress() {
+        // Arrange
+        BackfillJob job = new BackfillJob();
+        job.setBackfillId("backfill-1");
+        job.setStatus(BackfillJob.Status.RUNNING);
+        job.setTotal(1000);
+        job.setProcessed(300);
+        when(driveBackfillWorker.find("backfill-1")).thenReturn(job);
+
+        // Act
+        ResponseEntity<BackfillJob> response = backfillController.getBackfill("backfill-1");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getProcessed()).isEqualTo(300);
+    }
+
+    @Test
+    void testResumeBackfill_notFound() {
+        // Arrange
+        when(driveBackfillWorker.resume("unknown")).thenReturn(null);
+
+        // Act
+        ResponseEntity<BackfillJob> response = backfillController.resumeBackfill("unknown");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
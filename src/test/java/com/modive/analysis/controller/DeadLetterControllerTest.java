@@ -0,0 +1,94 @@
+package com.modive.analysis.controller;
+
+import com.modive.analysis.entity.DeadLetter;
+import com.modive.analysis.repository.DeadLetterRepository;
+import com.modive.analysis.worker.AnalysisPriority;
+import com.modive.analysis.worker.DriveAnalysisWorker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DeadLetterControllerTest {
+
+    @InjectMocks
+    private DeadLetterController deadLetterController;
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private DriveAnalysisWorker driveAnalysisWorker;
+
+    @Test
+    void testReplayDeadLetters_all() {
+        // Arrange
+        DeadLetter first = deadLetter("drive1");
+        DeadLetter second = deadLetter("drive2");
+        when(deadLetterRepository.findAll(100)).thenReturn(List.of(first, second));
+        when(driveAnalysisWorker.replayDeadLetters(List.of(first, second), AnalysisPriority.BACKFILL))
+                .thenReturn(List.of("drive1"));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = deadLetterController.replayDeadLetters(null, 100, "backfill");
+
+        // Assert - 큐가 가득 차서 일부만 다시 넣음
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody().get("status")).isEqualTo("partial");
+        assertThat(response.getBody().get("replayed")).isEqualTo(List.of("drive1"));
+        assertThat(response.getBody().get("remaining")).isEqualTo(1);
+    }
+
+    @Test
+    void testReplayDeadLetters_selectedDriveIds() {
+        // Arrange - 없는 driveId는 건너뜀
+        DeadLetter first = deadLetter("drive1");
+        when(deadLetterRepository.findById("drive1")).thenReturn(first);
+        when(deadLetterRepository.findById("unknown")).thenReturn(null);
+        when(driveAnalysisWorker.replayDeadLetters(List.of(first), null)).thenReturn(List.of("drive1"));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                deadLetterController.replayDeadLetters(List.of("drive1", "unknown"), 100, null);
+
+        // Assert
+        assertThat(response.getBody().get("status")).isEqualTo("accepted");
+        verify(deadLetterRepository, never()).findAll(anyInt());
+    }
+
+    @Test
+    void testReplayDeadLetters_unknownPriority() {
+        // Act
+        ResponseEntity<Map<String, Object>> response = deadLetterController.replayDeadLetters(null, 100, "urgent");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(driveAnalysisWorker, never()).replayDeadLetters(any(), any());
+    }
+
+    @Test
+    void testGetDeadLetter_notFound() {
+        when(deadLetterRepository.findById("drive1")).thenReturn(null);
+
+        assertThat(deadLetterController.getDeadLetter("drive1").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private DeadLetter deadLetter(String driveId) {
+        DeadLetter deadLetter = new DeadLetter();
+        deadLetter.setDriveId(driveId);
+        deadLetter.setPriority("normal");
+        deadLetter.setFailureKind("PERMANENT");
+        return deadLetter;
+    }
+}
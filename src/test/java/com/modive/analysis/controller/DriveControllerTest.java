@@ -0,0 +1,106 @@
+package com.modive.analysis.controller;
+
+import com.modive.analysis.dto.DriveSummaryDTO;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.repository.DriveRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DriveControllerTest {
+
+    @InjectMocks
+    private DriveController driveController;
+
+    @Mock
+    private DriveRepository driveRepository;
+
+    @Test
+    void testGetDrives_summaryByDefault() {
+        // Arrange
+        when(driveRepository.findSummariesByUserId("user1", 20, null))
+                .thenReturn(new DriveRepository.Page<>(List.of(drive("drive2"), drive("drive1")), "token"));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = driveController.getDrives("user1", 20, null, "summary");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<?> items = (List<?>) response.getBody().get("items");
+        assertThat(items).hasSize(2);
+        assertThat(((DriveSummaryDTO) items.get(0)).getDriveId()).isEqualTo("drive2");
+        assertThat(((DriveSummaryDTO) items.get(0)).getActiveDriveDurationSec()).isEqualTo(1700);
+        assertThat(response.getBody().get("nextPageToken")).isEqualTo("token");
+        verify(driveRepository, never()).findByUserId(any(), anyInt(), any());
+    }
+
+    @Test
+    void testGetDrives_full() {
+        Drive drive = drive("drive1");
+        when(driveRepository.findByUserId("user1", 10, "token")).thenReturn(new DriveRepository.Page<>(List.of(drive), null));
+
+        ResponseEntity<Map<String, Object>> response = driveController.getDrives("user1", 10, "token", "full");
+
+        assertThat(response.getBody().get("items")).isEqualTo(List.of(drive));
+        assertThat(response.getBody().get("nextPageToken")).isNull();
+    }
+
+    @Test
+    void testGetDrives_invalidRequest() {
+        // Arrange - 잘못된 토큰/limit은 repository가 거절
+        when(driveRepository.findSummariesByUserId("user1", 20, "broken"))
+                .thenThrow(new IllegalArgumentException("Invalid page token: broken"));
+
+        // Act & Assert
+        ResponseEntity<Map<String, Object>> response = driveController.getDrives("user1", 20, "broken", "summary");
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().get("message")).isEqualTo("Invalid page token: broken");
+
+        assertThat(driveController.getDrives("user1", 20, null, "everything").getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testGetDrive() {
+        Drive drive = drive("drive1");
+        when(driveRepository.findById("user1", "drive1")).thenReturn(Optional.of(drive));
+        when(driveRepository.findById("user1", "missing")).thenReturn(Optional.empty());
+
+        assertThat(driveController.getDrive("user1", "drive1", "full").getBody()).isEqualTo(drive);
+        assertThat(driveController.getDrive("user1", "missing", "full").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testGetDrive_summary() {
+        when(driveRepository.findSummaryById("user1", "drive1")).thenReturn(Optional.of(drive("drive1")));
+
+        ResponseEntity<?> response = driveController.getDrive("user1", "drive1", "summary");
+
+        assertThat(((DriveSummaryDTO) response.getBody()).getStartTime()).isEqualTo(Instant.parse("2025-05-31T01:00:00Z"));
+        verify(driveRepository, never()).findById(any(), any());
+    }
+
+    private Drive drive(String driveId) {
+        Drive drive = new Drive();
+        drive.setUserId("user1");
+        drive.setDriveId(driveId);
+        drive.setStartTime(Instant.parse("2025-05-31T01:00:00Z"));
+        drive.setEndTime(Instant.parse("2025-05-31T01:30:00Z"));
+        drive.setActiveDriveDurationSec(1700);
+        return drive;
+    }
+}
@@ -0,0 +1,75 @@
+package com.modive.analysis.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DriveDocumentCodecTest {
+
+    @Test
+    public void testRoundTripKeepsValuesNullTimesAndPrecision() {
+        List<Drive.SpeedLog> speedLogs = List.of(new Drive.SpeedLog(0, 42), new Drive.SpeedLog(60, -1));
+        List<Drive.StartEndTime> idlingPeriods = List.of(
+                new Drive.StartEndTime(Instant.parse("2025-05-31T01:00:00.123456789Z"), Instant.parse("2025-05-31T01:02:00Z")),
+                new Drive.StartEndTime(Instant.parse("2025-05-31T00:59:00Z"), null),
+                new Drive.StartEndTime(null, Instant.EPOCH.minusSeconds(1)));
+
+        DriveDocumentCodec.Documents documents = DriveDocumentCodec.decode(
+                ByteBuffer.wrap(DriveDocumentCodec.encode(speedLogs, idlingPeriods)));
+
+        assertEquals(speedLogs, documents.speedLogs());
+        assertEquals(idlingPeriods, documents.idlingPeriods());
+    }
+
+    @Test
+    public void testNullAndEmptyListsAreKeptApart() {
+        DriveDocumentCodec.Documents documents = DriveDocumentCodec.decode(
+                ByteBuffer.wrap(DriveDocumentCodec.encode(null, List.of())));
+
+        assertNull(documents.speedLogs());
+        assertEquals(List.of(), documents.idlingPeriods());
+    }
+
+    @Test
+    public void testRepetitiveDocumentsAreDeflated() {
+        // 30분 주행의 1초 단위 속도 기록
+        List<Drive.SpeedLog> speedLogs = new ArrayList<>();
+        for (int i = 0; i < 1800; i++) {
+            speedLogs.add(new Drive.SpeedLog(i, 60 + i % 5));
+        }
+
+        byte[] packed = DriveDocumentCodec.encode(speedLogs, null);
+
+        assertEquals(1, packed[1]); // deflate
+        assertTrue(packed.length < 1800, "packed: " + packed.length);
+        assertEquals(speedLogs, DriveDocumentCodec.decode(ByteBuffer.wrap(packed)).speedLogs());
+    }
+
+    @Test
+    public void testDecodeDoesNotMoveSourcePosition() {
+        ByteBuffer buffer = ByteBuffer.wrap(DriveDocumentCodec.encode(List.of(new Drive.SpeedLog(1, 2)), null));
+
+        DriveDocumentCodec.decode(buffer);
+
+        assertEquals(0, buffer.position());
+        assertEquals(List.of(new Drive.SpeedLog(1, 2)), DriveDocumentCodec.decode(buffer).speedLogs());
+    }
+
+    @Test
+    public void testCorruptedInputIsRejected() {
+        byte[] packed = DriveDocumentCodec.encode(List.of(new Drive.SpeedLog(1, 2)), null);
+
+        byte[] unknownVersion = packed.clone();
+        unknownVersion[0] = 9;
+        assertThrows(IllegalArgumentException.class, () -> DriveDocumentCodec.decode(ByteBuffer.wrap(unknownVersion)));
+
+        byte[] truncated = new byte[packed.length - 1];
+        System.arraycopy(packed, 0, truncated, 0, truncated.length);
+        assertThrows(IllegalArgumentException.class, () -> DriveDocumentCodec.decode(ByteBuffer.wrap(truncated)));
+    }
+}
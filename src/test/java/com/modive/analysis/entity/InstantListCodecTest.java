@@ -0,0 +1,100 @@
+package com.modive.analysis.entity;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.modive.analysis.repository.DynamoDbItemSize;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class InstantListCodecTest {
+
+    private final TypeConverter.VersionedInstantListConverter converter = new TypeConverter.VersionedInstantListConverter();
+
+    @Test
+    public void testRoundTripKeepsOrderDuplicatesAndPrecision() {
+        // 분석 결과의 시각은 마이크로초 단위, 순서가 뒤바뀐 값과 중복도 그대로 보존
+        List<Instant> instants = List.of(
+                Instant.parse("2025-05-31T01:00:00.123456Z"),
+                Instant.parse("2025-05-31T01:00:05Z"),
+                Instant.parse("2025-05-31T01:00:05Z"),
+                Instant.parse("2025-05-31T00:59:59.000001Z"));
+
+        assertEquals(instants, InstantListCodec.decode(ByteBuffer.wrap(InstantListCodec.encode(instants))));
+        assertEquals(List.of(), InstantListCodec.decode(ByteBuffer.wrap(InstantListCodec.encode(List.of()))));
+
+        List<Instant> nanos = List.of(Instant.parse("2025-05-31T01:00:00.000000001Z"), Instant.EPOCH.minusSeconds(1));
+        assertEquals(nanos, InstantListCodec.decode(ByteBuffer.wrap(InstantListCodec.encode(nanos))));
+    }
+
+    @Test
+    public void testEncodingIsMuchSmallerThanIsoStrings() {
+        // 약 1초 간격의 이벤트 100개 (밀리초 단위)
+        List<Instant> instants = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            instants.add(Instant.parse("2025-05-31T01:00:00Z").plusMillis(i * 1_037L));
+        }
+
+        long compact = DynamoDbItemSize.of(Map.of("sharpTurns", converter.convert(instants)));
+        long iso = DynamoDbItemSize.of(Map.of("sharpTurns", InstantListCodec.Format.ISO.toAttribute(instants)));
+
+        // 첫 시각 6바이트 + 이후 delta 2바이트씩
+        assertTrue(compact < 250, "compact: " + compact);
+        assertTrue(iso > 2_000, "iso: " + iso);
+    }
+
+    @Test
+    public void testConverterReadsLegacyAndCompactFormats() {
+        List<Instant> instants = List.of(Instant.parse("2025-05-31T01:00:00.123456Z"), Instant.parse("2025-05-31T01:00:01Z"));
+        AttributeValue legacy = new AttributeValue().withL(
+                new AttributeValue("2025-05-31T01:00:00.123456Z"), new AttributeValue("2025-05-31T01:00:01Z"));
+
+        AttributeValue compact = converter.convert(instants);
+
+        assertNotNull(compact.getB());
+        assertEquals(instants, converter.unconvert(compact));
+        assertEquals(instants, converter.unconvert(legacy));
+    }
+
+    @Test
+    public void testIsoWriteFormatMatchesLegacyAttribute() {
+        // 이전 버전과 같이 배포하는 동안은 기존과 같은 문자열 목록으로 저장
+        List<Instant> instants = List.of(Instant.parse("2025-05-31T01:00:00Z"));
+
+        AttributeValue value = InstantListCodec.Format.ISO.toAttribute(instants);
+
+        assertEquals(List.of(new AttributeValue("2025-05-31T01:00:00Z")), value.getL());
+        assertEquals(new TypeConverter.InstantListConverter().convert(instants), List.of(value.getL().get(0).getS()));
+    }
+
+    @Test
+    public void testDriveItemUsesVersionedConverter() {
+        DynamoDBMapperTableModel<Drive> model = new DynamoDBMapper(mock(AmazonDynamoDB.class)).getTableModel(Drive.class);
+        Drive drive = new Drive();
+        drive.setUserId("user1");
+        drive.setDriveId("drive1");
+        drive.setSharpTurns(List.of(Instant.parse("2025-05-31T01:00:00Z")));
+
+        Map<String, AttributeValue> item = model.convert(drive);
+        assertNotNull(item.get("sharpTurns").getB());
+
+        // 기존 형식으로 저장된 항목도 읽음
+        item.put("sharpTurns", new AttributeValue().withL(new AttributeValue("2025-05-31T01:00:00Z")));
+        assertEquals(drive.getSharpTurns(), model.unconvert(item).getSharpTurns());
+    }
+
+    @Test
+    public void testRejectsUnknownVersion() {
+        assertThrows(IllegalArgumentException.class, () -> InstantListCodec.decode(ByteBuffer.wrap(new byte[]{9, 0, 0})));
+        assertThrows(IllegalArgumentException.class, () -> InstantListCodec.decode(ByteBuffer.wrap(new byte[]{1, 0, 2, 4})));
+    }
+}
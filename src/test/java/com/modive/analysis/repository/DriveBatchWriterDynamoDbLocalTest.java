@@ -0,0 +1,145 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.model.BillingMode;
+import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
+import com.modive.analysis.entity.Drive;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * DynamoDB Local에 batch writer로 저장
+ * DYNAMODB_LOCAL_ENDPOINT가 있을 때만 실행 (예: docker run -p 8000:8000 amazon/dynamodb-local,
+ * DYNAMODB_LOCAL_ENDPOINT=http://localhost:8000 ./gradlew test --tests '*DriveBatchWriterDynamoDbLocalTest')
+ * 모든 주행이 저장되고 BatchWriteItem 요청이 주행 수보다 적은지 확인한다.
+ * 항목별 save와의 처리량 비교는 DriveBatchWriterBenchmark(src/jmh)에서 한다.
+ */
+@EnabledIfEnvironmentVariable(named = "DYNAMODB_LOCAL_ENDPOINT", matches = ".+")
+public class DriveBatchWriterDynamoDbLocalTest {
+
+    private static final int DRIVES = 2000;
+    private static final int THREADS = 10;
+
+    private AmazonDynamoDB amazonDynamoDB;
+    // batch writer가 보내는 요청을 세기 위해 실제 client에 위임하는 mock
+    private AmazonDynamoDB writerClient;
+    private DynamoDBMapper dynamoDBMapper;
+    private DriveBatchWriter writer;
+    private String tableName;
+
+    @BeforeEach
+    void setUp() {
+        amazonDynamoDB = AmazonDynamoDBClientBuilder.standard()
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(
+                        System.getenv("DYNAMODB_LOCAL_ENDPOINT"), "ap-northeast-2"))
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("local", "local")))
+                .build();
+        // 테스트마다 새 테이블 (drive_<timestamp>)
+        DynamoDBMapperConfig config = DynamoDBMapperConfig.builder()
+                .withSaveBehavior(DynamoDBMapperConfig.SaveBehavior.CLOBBER)
+                .withTableNameOverride(DynamoDBMapperConfig.TableNameOverride
+                        .withTableNameReplacement("drive_" + System.nanoTime()))
+                .build();
+        dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, config);
+        CreateTableRequest createTable = dynamoDBMapper.generateCreateTableRequest(Drive.class)
+                .withBillingMode(BillingMode.PAY_PER_REQUEST);
+        tableName = createTable.getTableName();
+        amazonDynamoDB.createTable(createTable);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DriveItemCodec driveItemCodec = new DriveItemCodec(dynamoDBMapper, mock(DriveOverflowStore.class), meterRegistry);
+        ReflectionTestUtils.setField(driveItemCodec, "instantListFormat", "compact");
+        driveItemCodec.afterPropertiesSet();
+        writerClient = mock(AmazonDynamoDB.class, delegatesTo(amazonDynamoDB));
+        writer = new DriveBatchWriter(dynamoDBMapper, writerClient, driveItemCodec, meterRegistry);
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "lingerMs", 20L);
+        ReflectionTestUtils.setField(writer, "concurrency", 4);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 1000);
+        ReflectionTestUtils.setField(writer, "maxAttempts", 8);
+        ReflectionTestUtils.setField(writer, "baseDelayMs", 50L);
+        ReflectionTestUtils.setField(writer, "maxDelayMs", 2000L);
+        writer.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.close(5000);
+        amazonDynamoDB.deleteTable(tableName);
+        amazonDynamoDB.shutdown();
+    }
+
+    @Test
+    public void testBatchWriterStoresAllDrivesWithFewerRequests() throws Exception {
+        // Arrange
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(DRIVES);
+
+        // Act - persist 단계처럼 여러 스레드에서 저장
+        for (int i = 0; i < DRIVES; i++) {
+            Drive drive = drive("user" + (i % 10), "batch-" + i, i);
+            futures.add(CompletableFuture.supplyAsync(() -> writer.save(drive), threads).thenCompose(f -> f));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+        threads.shutdown();
+
+        // Assert - Future가 끝났을 때 모든 항목을 읽을 수 있고, 요청은 항목 수보다 적게 보냄
+        List<Object> keys = new ArrayList<>(DRIVES);
+        for (int i = 0; i < DRIVES; i++) {
+            Drive key = new Drive();
+            key.setUserId("user" + (i % 10));
+            key.setDriveId("batch-" + i);
+            keys.add(key);
+        }
+        Map<String, Drive> loaded = dynamoDBMapper.batchLoad(keys).values().stream()
+                .flatMap(List::stream)
+                .map(Drive.class::cast)
+                .collect(Collectors.toMap(Drive::getDriveId, Function.identity()));
+        assertEquals(DRIVES, loaded.size());
+        for (int i = 0; i < DRIVES; i++) {
+            assertEquals(i, loaded.get("batch-" + i).getActiveDriveDurationSec(), "batch-" + i);
+        }
+        long requests = mockingDetails(writerClient).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("batchWriteItem"))
+                .count();
+        assertTrue(requests > 0);
+        assertTrue(requests < DRIVES, requests + " BatchWriteItem requests for " + DRIVES + " drives");
+    }
+
+    private static Drive drive(String userId, String driveId, int durationSec) {
+        Drive drive = new Drive();
+        drive.setUserId(userId);
+        drive.setDriveId(driveId);
+        drive.setStartTime(Instant.parse("2025-01-01T00:00:00Z"));
+        drive.setEndTime(Instant.parse("2025-01-01T00:30:00Z"));
+        drive.setActiveDriveDurationSec(durationSec);
+        drive.setSuddenAccelerations(List.of(Instant.parse("2025-01-01T00:05:00Z"), Instant.parse("2025-01-01T00:12:00Z")));
+        return drive;
+    }
+}
@@ -0,0 +1,168 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.worker.FailureKind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class DriveBatchWriterTest {
+
+    private AmazonDynamoDB amazonDynamoDB;
+    private SimpleMeterRegistry meterRegistry;
+    private DriveBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        amazonDynamoDB = mock(AmazonDynamoDB.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(amazonDynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(new BatchWriteItemResult());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) writer.close(1000);
+    }
+
+    @Test
+    public void testGroupsWritesIntoBatchesOf25() throws Exception {
+        // Arrange - linger 동안 30개가 들어옴
+        writer = createWriter(500, 3);
+
+        // Act
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            futures.add(writer.save(drive("user1", "drive" + i)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Assert - 25개를 채우면 바로, 나머지 5개는 linger가 지나면 저장
+        List<Integer> sizes = requestSizes(2);
+        assertEquals(List.of(25, 5), sizes);
+        assertEquals(2, meterRegistry.get("analysis.persist.batch.size").summary().count());
+    }
+
+    @Test
+    public void testRetriesUnprocessedItemsUntilWritten() throws Exception {
+        // Arrange - 첫 요청에서 drive2가 처리되지 않음
+        writer = createWriter(50, 3);
+        AtomicInteger calls = new AtomicInteger();
+        when(amazonDynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            BatchWriteItemRequest request = invocation.getArgument(0);
+            List<WriteRequest> unprocessed = request.getRequestItems().get("drive").stream()
+                    .filter(write -> write.getPutRequest().getItem().get("driveId").getS().equals("drive2"))
+                    .toList();
+            boolean first = calls.incrementAndGet() == 1;
+            return new BatchWriteItemResult().withUnprocessedItems(first ? Map.of("drive", unprocessed) : Map.of());
+        });
+
+        // Act
+        CompletableFuture<Void> drive1 = writer.save(drive("user1", "drive1"));
+        CompletableFuture<Void> drive2 = writer.save(drive("user1", "drive2"));
+        CompletableFuture.allOf(drive1, drive2).get(5, TimeUnit.SECONDS);
+
+        // Assert - 다시 요청할 때는 처리되지 않은 항목만 보냄
+        assertEquals(List.of(2, 1), requestSizes(2));
+        assertEquals(1.0, meterRegistry.get("analysis.persist.unprocessed").counter().count());
+    }
+
+    @Test
+    public void testFailsWithThrottlingAfterRetriesExhausted() throws Exception {
+        // Arrange - 계속 처리되지 않음
+        writer = createWriter(10, 2);
+        when(amazonDynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            BatchWriteItemRequest request = invocation.getArgument(0);
+            return new BatchWriteItemResult().withUnprocessedItems(request.getRequestItems());
+        });
+
+        // Act
+        CompletableFuture<Void> future = writer.save(drive("user1", "drive1"));
+
+        // Assert - 분석 작업이 throttling 재시도 정책을 따르도록 throttling 예외로 실패
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(FailureKind.THROTTLED, FailureKind.of(e.getCause()));
+        verify(amazonDynamoDB, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testDuplicateKeysAreWrittenOnceWithLatestItem() throws Exception {
+        // Arrange
+        writer = createWriter(200, 3);
+        Drive older = drive("user1", "drive1");
+        Drive newer = drive("user1", "drive1");
+        newer.setActiveDriveDurationSec(120);
+
+        // Act
+        CompletableFuture<Void> first = writer.save(older);
+        CompletableFuture<Void> second = writer.save(newer);
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        // Assert - 한 요청에 같은 키를 두 번 넣으면 DynamoDB가 거절하므로 마지막 항목만 저장
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(amazonDynamoDB).batchWriteItem(captor.capture());
+        List<WriteRequest> writes = captor.getValue().getRequestItems().get("drive");
+        assertEquals(1, writes.size());
+        assertEquals("120", writes.get(0).getPutRequest().getItem().get("activeDriveDurationSec").getN());
+    }
+
+    @Test
+    public void testBatchWriteErrorFailsAllItems() {
+        writer = createWriter(10, 3);
+        when(amazonDynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenThrow(new RuntimeException("connection reset"));
+
+        CompletableFuture<Void> future = writer.save(drive("user1", "drive1"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals("connection reset", e.getCause().getMessage());
+    }
+
+    private List<Integer> requestSizes(int expectedCalls) {
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(amazonDynamoDB, times(expectedCalls)).batchWriteItem(captor.capture());
+        return captor.getAllValues().stream().map(request -> request.getRequestItems().get("drive").size()).toList();
+    }
+
+    private DriveBatchWriter createWriter(long lingerMs, int maxAttempts) {
+        DynamoDBMapper dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB);
+        DriveItemCodec driveItemCodec = new DriveItemCodec(dynamoDBMapper, mock(DriveOverflowStore.class), meterRegistry);
+        ReflectionTestUtils.setField(driveItemCodec, "instantListFormat", "compact");
+        driveItemCodec.afterPropertiesSet();
+        DriveBatchWriter writer = new DriveBatchWriter(dynamoDBMapper, amazonDynamoDB, driveItemCodec, meterRegistry);
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "lingerMs", lingerMs);
+        ReflectionTestUtils.setField(writer, "concurrency", 1);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 100);
+        ReflectionTestUtils.setField(writer, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(writer, "baseDelayMs", 1L);
+        ReflectionTestUtils.setField(writer, "maxDelayMs", 5L);
+        writer.afterPropertiesSet();
+        return writer;
+    }
+
+    private static Drive drive(String userId, String driveId) {
+        Drive drive = new Drive();
+        drive.setUserId(userId);
+        drive.setDriveId(driveId);
+        return drive;
+    }
+}
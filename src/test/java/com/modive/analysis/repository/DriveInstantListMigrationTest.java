@@ -0,0 +1,94 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.modive.analysis.entity.InstantListCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class DriveInstantListMigrationTest {
+
+    private AmazonDynamoDB amazonDynamoDB;
+    private DriveInstantListMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        amazonDynamoDB = mock(AmazonDynamoDB.class);
+        migration = new DriveInstantListMigration(amazonDynamoDB, new DynamoDBMapper(amazonDynamoDB), mock(DriveItemCodec.class));
+        ReflectionTestUtils.setField(migration, "pageSize", 2);
+    }
+
+    @Test
+    public void testRewritesOnlyLegacyListsWithCondition() {
+        // Arrange - sharpTurns는 기존 문자열 목록, laneDepartures는 이미 compact
+        Map<String, AttributeValue> item = Map.of(
+                "userId", new AttributeValue("user1"),
+                "driveId", new AttributeValue("drive1"),
+                "sharpTurns", new AttributeValue().withL(new AttributeValue("2025-05-31T01:00:00.123456Z")),
+                "laneDepartures", new AttributeValue().withB(ByteBuffer.wrap(new byte[]{1, 0, 0})));
+        when(amazonDynamoDB.scan(any(ScanRequest.class))).thenReturn(new ScanResult().withItems(List.of(item)));
+
+        // Act
+        DriveInstantListMigration.Page page = migration.migratePage(null, 10);
+
+        // Assert
+        assertEquals(1, page.migrated());
+        assertNull(page.lastEvaluatedKey());
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(amazonDynamoDB).updateItem(captor.capture());
+        UpdateItemRequest update = captor.getValue();
+        assertEquals("drive", update.getTableName());
+        assertEquals(Map.of("userId", new AttributeValue("user1"), "driveId", new AttributeValue("drive1")), update.getKey());
+        assertEquals("SET #a1 = :v1", update.getUpdateExpression());
+        assertEquals("attribute_type(#a1, :list)", update.getConditionExpression());
+        assertEquals("sharpTurns", update.getExpressionAttributeNames().get("#a1"));
+        assertEquals(List.of(Instant.parse("2025-05-31T01:00:00.123456Z")),
+                InstantListCodec.decode(update.getExpressionAttributeValues().get(":v1").getB()));
+    }
+
+    @Test
+    public void testMigrateAllFollowsPagesAndSkipsConcurrentlyRewrittenItems() {
+        // Arrange - 두 페이지, 두 번째 항목은 scan 뒤에 다시 저장됨
+        Map<String, AttributeValue> lastKey = Map.of("userId", new AttributeValue("user1"), "driveId", new AttributeValue("drive1"));
+        when(amazonDynamoDB.scan(any(ScanRequest.class)))
+                .thenReturn(new ScanResult().withItems(List.of(legacyItem("drive1"))).withLastEvaluatedKey(lastKey))
+                .thenReturn(new ScanResult().withItems(List.of(legacyItem("drive2"))));
+        when(amazonDynamoDB.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(null)
+                .thenThrow(new ConditionalCheckFailedException("The conditional request failed"));
+
+        // Act
+        long migrated = migration.migrateAll();
+
+        // Assert - 다음 페이지는 이전 페이지의 마지막 키부터
+        assertEquals(1, migrated);
+        ArgumentCaptor<ScanRequest> scans = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(amazonDynamoDB, times(2)).scan(scans.capture());
+        assertNull(scans.getAllValues().get(0).getExclusiveStartKey());
+        assertEquals(lastKey, scans.getAllValues().get(1).getExclusiveStartKey());
+        assertEquals(2, scans.getAllValues().get(1).getLimit());
+    }
+
+    private static Map<String, AttributeValue> legacyItem(String driveId) {
+        return Map.of(
+                "userId", new AttributeValue("user1"),
+                "driveId", new AttributeValue(driveId),
+                "inactiveMoments", new AttributeValue().withL(new AttributeValue("2025-05-31T01:00:00Z")));
+    }
+}
@@ -0,0 +1,151 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.entity.InstantListCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class DriveItemCodecTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DynamoDBMapperTableModel<Drive> tableModel;
+    private DriveOverflowStore overflowStore;
+    private DriveItemCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DynamoDBMapper dynamoDBMapper = new DynamoDBMapper(mock(AmazonDynamoDB.class));
+        tableModel = dynamoDBMapper.getTableModel(Drive.class);
+        overflowStore = mock(DriveOverflowStore.class);
+        codec = new DriveItemCodec(dynamoDBMapper, overflowStore, meterRegistry);
+        ReflectionTestUtils.setField(codec, "enabled", true);
+        ReflectionTestUtils.setField(codec, "thresholdBytes", 8192L);
+        ReflectionTestUtils.setField(codec, "instantListFormat", "compact");
+        codec.afterPropertiesSet();
+    }
+
+    @Test
+    public void testLargeDocumentsArePackedAndUnpackedLazily() {
+        Drive drive = drive(1800);
+
+        Map<String, AttributeValue> item = codec.encode(drive);
+
+        assertFalse(item.containsKey("speedLogs"));
+        assertFalse(item.containsKey("idlingPeriods"));
+        assertNotNull(item.get(Drive.PACKED_DOCUMENTS_ATTRIBUTE).getB());
+        assertTrue(DynamoDbItemSize.of(item) * 4 < DynamoDbItemSize.of(tableModel.convert(drive)),
+                "packed: " + DynamoDbItemSize.of(item));
+
+        Drive loaded = tableModel.unconvert(item);
+        assertNotNull(loaded.getPackedDocuments());
+        assertEquals(drive.getSpeedLogs(), loaded.getSpeedLogs());
+        assertNull(loaded.getPackedDocuments()); // 처음 읽을 때 풀고 비움
+        assertEquals(drive.getIdlingPeriods(), loaded.getIdlingPeriods());
+        assertEquals(drive, loaded);
+
+        assertEquals(1.0, meterRegistry.get("analysis.dynamodb.packed.items").counter().count());
+        assertEquals(1, meterRegistry.get("analysis.dynamodb.packed.encode").timer().count());
+        assertTrue(meterRegistry.get("analysis.dynamodb.packed.saved").summary().totalAmount() > 8192);
+    }
+
+    @Test
+    public void testSmallDocumentsAreNotPacked() {
+        Drive drive = drive(10);
+
+        Map<String, AttributeValue> item = codec.encode(drive);
+
+        assertEquals(tableModel.convert(drive), item);
+        assertEquals(0.0, meterRegistry.get("analysis.dynamodb.packed.items").counter().count());
+    }
+
+    @Test
+    public void testDisabledCodecWritesPlainItemAndDropsStalePackedValue() {
+        Drive loaded = tableModel.unconvert(codec.encode(drive(1800)));
+        ReflectionTestUtils.setField(codec, "enabled", false);
+
+        Map<String, AttributeValue> item = codec.encode(loaded);
+
+        assertFalse(item.containsKey(Drive.PACKED_DOCUMENTS_ATTRIBUTE));
+        assertEquals(1800, item.get("speedLogs").getL().size());
+        assertEquals(1800, item.get("idlingPeriods").getL().size());
+    }
+
+    @Test
+    public void testIsoFormatWritesLegacyInstantLists() {
+        // 이전 버전과 같이 배포하는 동안은 기존과 같은 문자열 목록으로 저장
+        ReflectionTestUtils.setField(codec, "enabled", false);
+        ReflectionTestUtils.setField(codec, "instantListFormat", "iso");
+        codec.afterPropertiesSet();
+        Drive drive = drive(10);
+        drive.setSharpTurns(List.of(Instant.parse("2025-05-31T01:00:00.123456Z")));
+
+        Map<String, AttributeValue> item = codec.encode(drive);
+
+        assertEquals(List.of(new AttributeValue("2025-05-31T01:00:00.123456Z")), item.get("sharpTurns").getL());
+        assertFalse(item.containsKey("laneDepartures"));
+        assertEquals(drive.getSharpTurns(), tableModel.unconvert(item).getSharpTurns());
+        assertFalse(codec.isMapperCompatible()); // mapper.save는 compact로 저장하므로 쓰지 않음
+        assertEquals(InstantListCodec.Format.ISO, codec.getInstantListFormat());
+    }
+
+    @Test
+    public void testOversizedItemKeepsOnlySummaryAndOverflowKey() {
+        Drive drive = drive(1800);
+        when(overflowStore.exceedsThreshold(anyLong())).thenReturn(true);
+        when(overflowStore.put(drive)).thenReturn("drive-overflow/user1/drive1.json.gz");
+
+        Map<String, AttributeValue> item = codec.encode(drive);
+
+        assertEquals(Set.of("userId", "driveId", "startTime", "endTime", "activeDriveDurationSec", Drive.OVERFLOW_KEY_ATTRIBUTE),
+                item.keySet());
+        assertEquals("drive-overflow/user1/drive1.json.gz", item.get(Drive.OVERFLOW_KEY_ATTRIBUTE).getS());
+        Drive loaded = tableModel.unconvert(item);
+        assertEquals("drive-overflow/user1/drive1.json.gz", loaded.getOverflowKey());
+        assertNull(loaded.getSpeedLogs());
+    }
+
+    @Test
+    public void testItemBelowOverflowThresholdIsNotMoved() {
+        when(overflowStore.exceedsThreshold(anyLong())).thenReturn(false);
+
+        codec.encode(drive(1800));
+
+        verify(overflowStore, never()).put(any());
+    }
+
+    private static Drive drive(int seconds) {
+        Drive drive = new Drive();
+        drive.setUserId("user1");
+        drive.setDriveId("drive1");
+        Instant start = Instant.parse("2025-05-31T01:00:00Z");
+        drive.setStartTime(start);
+        drive.setEndTime(start.plusSeconds(seconds));
+        List<Drive.SpeedLog> speedLogs = new ArrayList<>();
+        List<Drive.StartEndTime> idlingPeriods = new ArrayList<>();
+        for (int i = 0; i < seconds; i++) {
+            speedLogs.add(new Drive.SpeedLog(i, 40 + i % 30));
+            idlingPeriods.add(new Drive.StartEndTime(start.plusSeconds(i), start.plusMillis(i * 1_000L + 500)));
+        }
+        drive.setSpeedLogs(speedLogs);
+        drive.setIdlingPeriods(idlingPeriods);
+        return drive;
+    }
+}
@@ -0,0 +1,159 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BillingMode;
+import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modive.analysis.entity.Drive;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DynamoDB Local과 로컬 S3 호환 저장소에 대해 400KB를 넘는 주행을 저장하고 다시 읽음
+ * DYNAMODB_LOCAL_ENDPOINT, S3_LOCAL_ENDPOINT가 모두 있을 때만 실행 (예: docker run -p 8000:8000 amazon/dynamodb-local,
+ * docker run -p 9000:9000 -e MINIO_ROOT_USER=local -e MINIO_ROOT_PASSWORD=localsecret minio/minio server /data,
+ * DYNAMODB_LOCAL_ENDPOINT=http://localhost:8000 S3_LOCAL_ENDPOINT=http://localhost:9000 S3_LOCAL_ACCESS_KEY=local
+ * S3_LOCAL_SECRET_KEY=localsecret ./gradlew test --tests '*DriveOverflowLocalTest')
+ */
+@EnabledIfEnvironmentVariable(named = "DYNAMODB_LOCAL_ENDPOINT", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "S3_LOCAL_ENDPOINT", matches = ".+")
+public class DriveOverflowLocalTest {
+
+    private AmazonDynamoDB amazonDynamoDB;
+    private S3Client s3Client;
+    private DynamoDBMapper dynamoDBMapper;
+    private DriveBatchWriter writer;
+    private DriveRepository driveRepository;
+    private String tableName;
+    private String bucket;
+
+    @BeforeEach
+    void setUp() {
+        amazonDynamoDB = AmazonDynamoDBClientBuilder.standard()
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(
+                        System.getenv("DYNAMODB_LOCAL_ENDPOINT"), "ap-northeast-2"))
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("local", "local")))
+                .build();
+        s3Client = S3Client.builder()
+                .endpointOverride(URI.create(System.getenv("S3_LOCAL_ENDPOINT")))
+                .forcePathStyle(true)
+                .region(Region.AP_NORTHEAST_2)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(
+                        System.getenv().getOrDefault("S3_LOCAL_ACCESS_KEY", "local"),
+                        System.getenv().getOrDefault("S3_LOCAL_SECRET_KEY", "local"))))
+                .build();
+
+        // 테스트마다 새 테이블/버킷
+        long suffix = System.nanoTime();
+        dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, DynamoDBMapperConfig.builder()
+                .withSaveBehavior(DynamoDBMapperConfig.SaveBehavior.CLOBBER)
+                .withTableNameOverride(DynamoDBMapperConfig.TableNameOverride.withTableNameReplacement("drive_" + suffix))
+                .build());
+        CreateTableRequest createTable = dynamoDBMapper.generateCreateTableRequest(Drive.class)
+                .withBillingMode(BillingMode.PAY_PER_REQUEST);
+        tableName = createTable.getTableName();
+        amazonDynamoDB.createTable(createTable);
+        bucket = "drive-overflow-" + suffix;
+        s3Client.createBucket(builder -> builder.bucket(bucket));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DriveOverflowStore overflowStore = new DriveOverflowStore(s3Client, new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        ReflectionTestUtils.setField(overflowStore, "bucket", bucket);
+        ReflectionTestUtils.setField(overflowStore, "prefix", "drive-overflow/");
+        ReflectionTestUtils.setField(overflowStore, "thresholdBytes", 358400L);
+        overflowStore.afterPropertiesSet();
+        DriveItemCodec itemCodec = new DriveItemCodec(dynamoDBMapper, overflowStore, meterRegistry);
+        ReflectionTestUtils.setField(itemCodec, "enabled", false);
+        ReflectionTestUtils.setField(itemCodec, "instantListFormat", "compact");
+        itemCodec.afterPropertiesSet();
+        writer = new DriveBatchWriter(dynamoDBMapper, amazonDynamoDB, itemCodec, meterRegistry);
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "lingerMs", 20L);
+        ReflectionTestUtils.setField(writer, "concurrency", 1);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 100);
+        ReflectionTestUtils.setField(writer, "maxAttempts", 8);
+        ReflectionTestUtils.setField(writer, "baseDelayMs", 50L);
+        ReflectionTestUtils.setField(writer, "maxDelayMs", 2000L);
+        writer.afterPropertiesSet();
+        driveRepository = new DriveRepository(dynamoDBMapper, writer, amazonDynamoDB, itemCodec, overflowStore);
+        driveRepository.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.close(5000);
+        amazonDynamoDB.deleteTable(tableName);
+        amazonDynamoDB.shutdown();
+        s3Client.listObjectsV2Paginator(builder -> builder.bucket(bucket)).contents()
+                .forEach(object -> s3Client.deleteObject(builder -> builder.bucket(bucket).key(object.key())));
+        s3Client.deleteBucket(builder -> builder.bucket(bucket));
+        s3Client.close();
+    }
+
+    @Test
+    public void testOversizedDriveIsStoredInS3AndResolvedOnRead() throws Exception {
+        // Arrange - 1초 단위 속도 기록 3시간 + 공회전 구간 (항목 약 700KB)
+        Drive large = drive("large", 10_800);
+        Drive small = drive("small", 60);
+
+        // Act - 항목별 저장과 batch writer 모두 overflow를 거침
+        driveRepository.save(large);
+        driveRepository.saveAsync(small).get();
+
+        // Assert - DynamoDB에는 요약과 객체 키만 남음
+        Map<String, AttributeValue> item = amazonDynamoDB.getItem(tableName, Map.of(
+                "userId", new AttributeValue("user1"), "driveId", new AttributeValue("large"))).getItem();
+        assertEquals("drive-overflow/user1/large.json.gz", item.get(Drive.OVERFLOW_KEY_ATTRIBUTE).getS());
+        assertFalse(item.containsKey("speedLogs"));
+        assertTrue(DynamoDbItemSize.of(item) < 1024, "item: " + DynamoDbItemSize.of(item));
+
+        assertEquals(large, driveRepository.findById("user1", "large").orElseThrow());
+        assertEquals(small, driveRepository.findById("user1", "small").orElseThrow());
+        assertTrue(driveRepository.findById("user1", "missing").isEmpty());
+    }
+
+    private static Drive drive(String driveId, int seconds) {
+        Drive drive = new Drive();
+        drive.setUserId("user1");
+        drive.setDriveId(driveId);
+        Instant start = Instant.parse("2025-05-31T01:00:00Z");
+        drive.setStartTime(start);
+        drive.setEndTime(start.plusSeconds(seconds));
+        drive.setActiveDriveDurationSec(seconds - 10);
+        List<Drive.SpeedLog> speedLogs = new ArrayList<>();
+        List<Drive.StartEndTime> idlingPeriods = new ArrayList<>();
+        for (int i = 0; i < seconds; i++) {
+            speedLogs.add(new Drive.SpeedLog(i, 40 + i % 30));
+            if (i % 2 == 0) {
+                idlingPeriods.add(new Drive.StartEndTime(start.plusSeconds(i), start.plusMillis(i * 1_000L + 500)));
+            }
+        }
+        drive.setSpeedLogs(speedLogs);
+        drive.setIdlingPeriods(idlingPeriods);
+        drive.setSharpTurns(List.of(start.plusSeconds(30), start.plusSeconds(90)));
+        return drive;
+    }
+}
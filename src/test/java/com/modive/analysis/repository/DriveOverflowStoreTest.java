@@ -0,0 +1,164 @@
+package com.modive.analysis.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modive.analysis.entity.Drive;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class DriveOverflowStoreTest {
+
+    private S3Client s3Client;
+    private SimpleMeterRegistry meterRegistry;
+    private DriveOverflowStore store;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new DriveOverflowStore(s3Client, new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        ReflectionTestUtils.setField(store, "bucket", "overflow-bucket");
+        ReflectionTestUtils.setField(store, "prefix", "drive-overflow/");
+        ReflectionTestUtils.setField(store, "thresholdBytes", 358400L);
+        ReflectionTestUtils.setField(store, "readConcurrency", 4);
+        store.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    public void testPutThenResolveRestoresOverflowedFields() throws Exception {
+        Drive drive = drive();
+
+        String key = store.put(drive);
+
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(request.capture(), body.capture());
+        assertEquals("drive-overflow/user1/drive1.json.gz", key);
+        assertEquals("overflow-bucket", request.getValue().bucket());
+        assertEquals(key, request.getValue().key());
+        byte[] stored;
+        try (InputStream in = body.getValue().contentStreamProvider().newStream()) {
+            stored = in.readAllBytes();
+        }
+        assertEquals(1.0, meterRegistry.get("analysis.dynamodb.overflow.items").counter().count());
+        assertEquals(stored.length, meterRegistry.get("analysis.dynamodb.overflow.bytes").summary().totalAmount());
+
+        // DynamoDB에는 요약 속성과 객체 키만 남아 있음
+        Drive pointer = new Drive();
+        pointer.setUserId("user1");
+        pointer.setDriveId("drive1");
+        pointer.setStartTime(drive.getStartTime());
+        pointer.setEndTime(drive.getEndTime());
+        pointer.setActiveDriveDurationSec(drive.getActiveDriveDurationSec());
+        pointer.setOverflowKey(key);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().build(), AbortableInputStream.create(new ByteArrayInputStream(stored))));
+
+        Drive resolved = store.resolve(pointer);
+
+        assertEquals(drive, resolved);
+        assertNull(resolved.getOverflowKey());
+    }
+
+    @Test
+    public void testResolveWithoutOverflowKeyDoesNotReadS3() {
+        Drive drive = drive();
+
+        assertSame(drive, store.resolve(drive));
+        assertNull(store.resolve(null));
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    public void testResolveAllReadsOverflowedDrivesInParallelAndKeepsOrder() throws Exception {
+        // Arrange - 두 객체를 동시에 읽어야만 둘 다 끝남
+        Drive drive = drive();
+        store.put(drive);
+        ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(any(PutObjectRequest.class), body.capture());
+        byte[] stored;
+        try (InputStream in = body.getValue().contentStreamProvider().newStream()) {
+            stored = in.readAllBytes();
+        }
+        CyclicBarrier bothReading = new CyclicBarrier(2);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            bothReading.await(5, TimeUnit.SECONDS);
+            return new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(stored)));
+        });
+        Drive first = pointer("drive-overflow/user1/drive1.json.gz");
+        Drive plain = drive();
+        Drive second = pointer("drive-overflow/user1/drive1.json.gz");
+
+        // Act
+        List<Drive> resolved = store.resolveAll(List.of(first, plain, second));
+
+        // Assert
+        assertSame(first, resolved.get(0));
+        assertSame(plain, resolved.get(1));
+        assertSame(second, resolved.get(2));
+        assertEquals(drive.getSpeedLogs(), first.getSpeedLogs());
+        assertEquals(drive.getSpeedLogs(), second.getSpeedLogs());
+        assertNull(second.getOverflowKey());
+        verify(s3Client, times(2)).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    public void testThresholdAppliesOnlyWhenBucketIsConfigured() {
+        assertTrue(store.exceedsThreshold(400_000));
+        assertFalse(store.exceedsThreshold(1_000));
+
+        ReflectionTestUtils.setField(store, "bucket", "");
+        assertFalse(store.isEnabled());
+        assertFalse(store.exceedsThreshold(400_000));
+    }
+
+    private static Drive pointer(String key) {
+        Drive pointer = new Drive();
+        pointer.setUserId("user1");
+        pointer.setDriveId("drive1");
+        pointer.setOverflowKey(key);
+        return pointer;
+    }
+
+    private static Drive drive() {
+        Drive drive = new Drive();
+        drive.setUserId("user1");
+        drive.setDriveId("drive1");
+        Instant start = Instant.parse("2025-05-31T01:00:00Z");
+        drive.setStartTime(start);
+        drive.setEndTime(start.plusSeconds(1800));
+        drive.setActiveDriveDurationSec(1700);
+        drive.setSuddenAccelerations(List.of(start.plusNanos(123_456_000L), start.plusSeconds(60)));
+        drive.setSpeedLogs(List.of(new Drive.SpeedLog(0, 42), new Drive.SpeedLog(1, 43)));
+        drive.setIdlingPeriods(List.of(new Drive.StartEndTime(start.plusSeconds(5), start.plusSeconds(9))));
+        drive.setInactiveMoments(List.of());
+        return drive;
+    }
+}
@@ -0,0 +1,142 @@
+package com.modive.analysis.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.modive.analysis.entity.Drive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class DriveRepositoryTest {
+
+    private AmazonDynamoDB amazonDynamoDB;
+    private DriveOverflowStore driveOverflowStore;
+    private DriveRepository driveRepository;
+
+    @BeforeEach
+    void setUp() {
+        amazonDynamoDB = mock(AmazonDynamoDB.class);
+        driveOverflowStore = mock(DriveOverflowStore.class);
+        when(driveOverflowStore.resolve(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(driveOverflowStore.resolveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        driveRepository = new DriveRepository(new DynamoDBMapper(amazonDynamoDB), mock(DriveBatchWriter.class),
+                amazonDynamoDB, mock(DriveItemCodec.class), driveOverflowStore);
+        driveRepository.afterPropertiesSet();
+    }
+
+    @Test
+    public void testSummariesAreQueriedNewestFirstWithProjection() {
+        // Arrange
+        when(amazonDynamoDB.query(any(QueryRequest.class))).thenReturn(new QueryResult()
+                .withItems(List.of(summaryItem("drive2", "2025-06-01T00:00:00Z"), summaryItem("drive1", "2025-05-31T00:00:00Z")))
+                .withLastEvaluatedKey(Map.of(
+                        "userId", new AttributeValue("user1"),
+                        "driveId", new AttributeValue("drive1"),
+                        "startTime", new AttributeValue("2025-05-31T00:00:00Z"))));
+
+        // Act
+        DriveRepository.Page<Drive> page = driveRepository.findSummariesByUserId("user1", 2, null);
+
+        // Assert
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(amazonDynamoDB).query(captor.capture());
+        QueryRequest request = captor.getValue();
+        assertEquals(Drive.USER_START_TIME_INDEX, request.getIndexName());
+        assertFalse(request.getScanIndexForward());
+        assertEquals(2, request.getLimit());
+        assertNull(request.getExclusiveStartKey());
+        assertEquals("#userId, #driveId, #startTime, #endTime, #activeDriveDurationSec, #speedRate",
+                request.getProjectionExpression());
+
+        assertEquals(List.of("drive2", "drive1"), page.items().stream().map(Drive::getDriveId).toList());
+        assertEquals(1700, page.items().get(0).getActiveDriveDurationSec());
+        assertNull(page.items().get(0).getSpeedLogs());
+        assertNotNull(page.nextPageToken());
+
+        // 다음 페이지는 토큰의 위치부터
+        driveRepository.findSummariesByUserId("user1", 2, page.nextPageToken());
+        verify(amazonDynamoDB, times(2)).query(captor.capture());
+        assertEquals(Map.of(
+                "userId", new AttributeValue("user1"),
+                "driveId", new AttributeValue("drive1"),
+                "startTime", new AttributeValue("2025-05-31T00:00:00Z")), captor.getValue().getExclusiveStartKey());
+    }
+
+    @Test
+    public void testLastPageHasNoToken() {
+        when(amazonDynamoDB.query(any(QueryRequest.class))).thenReturn(new QueryResult().withItems(List.of()));
+
+        assertNull(driveRepository.findSummariesByUserId("user1", 20, null).nextPageToken());
+    }
+
+    @Test
+    public void testInvalidLimitAndTokenAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> driveRepository.findSummariesByUserId("user1", 0, null));
+        assertThrows(IllegalArgumentException.class, () -> driveRepository.findSummariesByUserId("user1", 101, null));
+        assertThrows(IllegalArgumentException.class, () -> driveRepository.findSummariesByUserId("user1", 20, "%%%"));
+        assertThrows(IllegalArgumentException.class, () -> driveRepository.findByUserId("user1", 20, "bm9zZXBhcmF0b3I"));
+        verify(amazonDynamoDB, never()).query(any(QueryRequest.class));
+    }
+
+    @Test
+    public void testFullDrivesKeepIndexOrderAndSkipDeleted() {
+        // Arrange - GSI에서 키만 읽고 BatchGetItem 결과는 순서가 다름, drive2는 그 사이에 삭제됨
+        when(amazonDynamoDB.query(any(QueryRequest.class))).thenReturn(new QueryResult().withItems(List.of(
+                Map.of("userId", new AttributeValue("user1"), "driveId", new AttributeValue("drive3")),
+                Map.of("userId", new AttributeValue("user1"), "driveId", new AttributeValue("drive2")),
+                Map.of("userId", new AttributeValue("user1"), "driveId", new AttributeValue("drive1")))));
+        when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(new BatchGetItemResult()
+                .withResponses(Map.of("drive", List.of(
+                        summaryItem("drive1", "2025-05-30T00:00:00Z"),
+                        summaryItem("drive3", "2025-06-01T00:00:00Z"))))
+                .withUnprocessedKeys(Map.of()));
+
+        // Act
+        DriveRepository.Page<Drive> page = driveRepository.findByUserId("user1", 3, null);
+
+        // Assert
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(amazonDynamoDB).query(captor.capture());
+        assertEquals("#userId, #driveId", captor.getValue().getProjectionExpression());
+        assertEquals(List.of("drive3", "drive1"), page.items().stream().map(Drive::getDriveId).toList());
+        verify(driveOverflowStore).resolveAll(page.items());
+    }
+
+    @Test
+    public void testSummaryByIdUsesProjectionAndEventualConsistency() {
+        when(amazonDynamoDB.getItem(any(GetItemRequest.class)))
+                .thenReturn(new GetItemResult().withItem(summaryItem("drive1", "2025-05-31T00:00:00Z")))
+                .thenReturn(new GetItemResult());
+
+        Drive drive = driveRepository.findSummaryById("user1", "drive1").orElseThrow();
+
+        ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(amazonDynamoDB).getItem(captor.capture());
+        assertFalse(captor.getValue().getConsistentRead());
+        assertTrue(captor.getValue().getProjectionExpression().contains("#speedRate"));
+        assertEquals("drive1", drive.getDriveId());
+        assertTrue(driveRepository.findSummaryById("user1", "missing").isEmpty());
+    }
+
+    private static Map<String, AttributeValue> summaryItem(String driveId, String startTime) {
+        return Map.of(
+                "userId", new AttributeValue("user1"),
+                "driveId", new AttributeValue(driveId),
+                "startTime", new AttributeValue(startTime),
+                "activeDriveDurationSec", new AttributeValue().withN("1700"));
+    }
+}
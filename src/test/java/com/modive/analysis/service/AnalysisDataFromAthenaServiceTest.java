@@ -1,12 +1,15 @@
 package com.modive.analysis.service;
 
 import com.modive.analysis.entity.Drive;
+import com.modive.analysis.telemetry.TelemetryBatch;
+import com.modive.analysis.telemetry.TelemetryCsvReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.StringReader;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -119,7 +122,7 @@ public class AnalysisDataFromAthenaServiceTest {
     public void testAnalysisDataWithNullInput() {
         // Act & Assert
         // null 입력에 대한 처리는 서비스 구현에 따라 다를 수 있음
-        assertThrows(Exception.class, () -> analysisService.analysisData(null));
+        assertThrows(Exception.class, () -> analysisService.analysisData((List<Map<String, String>>) null));
     }
 
     @Test
@@ -180,6 +183,35 @@ public class AnalysisDataFromAthenaServiceTest {
         assertThrows(Exception.class, () -> analysisService.analysisData(invalidData));
     }
 
+    @Test
+    public void testAnalysisTelemetryBatchMatchesRowAnalysis() throws Exception {
+        // Arrange - 같은 데이터를 Map 행 리스트와 TelemetryBatch 두 가지로 준비
+        String csv = "time,velocity,driveid,userid\n" +
+                "2025-05-31T01:00:00.000000,0,drive7,user7\n" +
+                "2025-05-31T01:00:10.000000,0.5,drive7,user7\n" +
+                "2025-05-31T01:00:20.000000,25,drive7,user7\n" +
+                "2025-05-31T01:00:30.000000,45,drive7,user7\n" +
+                "2025-05-31T01:00:45.000000,90,drive7,user7\n" +
+                "2025-05-31T01:01:05.000000,0,drive7,user7\n" +
+                "2025-05-31T01:01:30.000000,60,drive7,user7\n";
+
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (String line : csv.split("\n")) {
+            String[] cols = line.split(",");
+            if (!cols[0].equals("time")) rows.add(createDataPoint(cols[0], cols[1], cols[2], cols[3]));
+        }
+        TelemetryBatch batch = TelemetryCsvReader.read(new StringReader(csv)).get("drive7");
+
+        // Act
+        Drive expected = analysisService.analysisData(rows);
+        Drive actual = analysisService.analysisData(batch);
+
+        // Assert
+        assertEquals(expected, actual);
+        assertEquals(2, actual.getIdlingPeriods().size());
+        assertEquals(Instant.parse("2025-05-30T16:00:20Z"), actual.getIdlingPeriods().get(0).getEndTime());
+    }
+
     private Map<String, String> createDataPoint(String time, String velocity, String driveId, String userId) {
         Map<String, String> dataPoint = new HashMap<>();
         dataPoint.put("time", time);
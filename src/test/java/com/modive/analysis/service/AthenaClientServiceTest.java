@@ -1,9 +1,12 @@
 package com.modive.analysis.service;
 
+import com.modive.analysis.telemetry.TelemetryBatch;
+import com.modive.analysis.telemetry.TelemetryCsvReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import software.amazon.awssdk.core.ResponseInputStream;
@@ -15,16 +18,22 @@ import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class AthenaClientServiceTest {
 
+    @Mock
+    private AthenaQueryPoller athenaQueryPoller;
+
     @InjectMocks
     private AthenaClientService athenaClientService;
 
@@ -33,6 +42,7 @@ public class AthenaClientServiceTest {
         // @Value로 주입되는 값들을 ReflectionTestUtils로 설정
         ReflectionTestUtils.setField(athenaClientService, "database", "test_database");
         ReflectionTestUtils.setField(athenaClientService, "outputLocation", "s3://test-bucket/results/");
+        ReflectionTestUtils.setField(athenaClientService, "queryTimeoutMs", 60_000L);
 
         // 실제 AWS 클라이언트 대신 Mock 객체 주입
         AthenaClient mockAthenaClient = mock(AthenaClient.class);
@@ -439,4 +449,112 @@ public class AthenaClientServiceTest {
         verify(athenaClient, atLeast(1)).getQueryExecution(any(GetQueryExecutionRequest.class));
         verify(s3Client).getObject(any(GetObjectRequest.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testQueryDrivesTelemetryAsyncSplitsRowsByDriveId() {
+        // Arrange
+        S3Client s3Client = (S3Client) ReflectionTestUtils.getField(athenaClientService, "s3Client");
+
+        when(athenaQueryPoller.execute(any(StartQueryExecutionRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture("batch-execution-id"));
+
+        String csvContent = "time,velocity,driveid,userid\n" +
+                "2025-06-01T12:00:00.000000,10,drive-a,user1\n" +
+                "2025-06-01T12:00:01.000000,20,drive-a,user1\n" +
+                "2025-06-01T12:00:00.000000,30,drive-b,user2";
+
+        InputStream inputStream = new ByteArrayInputStream(csvContent.getBytes());
+        ResponseInputStream<GetObjectResponse> responseInputStream =
+                new ResponseInputStream<>(GetObjectResponse.builder().build(), inputStream);
+
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenReturn(responseInputStream);
+
+        // Act
+        Map<String, TelemetryBatch> result =
+                athenaClientService.queryDrivesTelemetryAsync(List.of("drive-a", "drive-b", "drive-c")).join();
+
+        // Assert - 데이터가 없는 drive-c는 포함되지 않음
+        assertEquals(2, result.size());
+        assertEquals(2, result.get("drive-a").size());
+        assertEquals(20.0, result.get("drive-a").velocity(1));
+        assertEquals(1_000_000L, result.get("drive-a").timeMicros(1) - result.get("drive-a").timeMicros(0));
+        assertEquals("user1", result.get("drive-a").getUserId());
+        assertEquals(1, result.get("drive-b").size());
+        assertEquals("user2", result.get("drive-b").getUserId());
+        assertNull(result.get("drive-c"));
+
+        // 하나의 IN 쿼리로 실행되어야 함
+        verify(athenaQueryPoller).execute(argThat((StartQueryExecutionRequest request) ->
+                request.queryString().contains("driveId IN ('drive-a', 'drive-b', 'drive-c')")), any());
+    }
+
+    @Test
+    public void testStreamDrivesAsyncAnalyzesWhileReading() throws Exception {
+        // Arrange
+        S3Client s3Client = (S3Client) ReflectionTestUtils.getField(athenaClientService, "s3Client");
+
+        when(athenaQueryPoller.execute(any(StartQueryExecutionRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture("stream-execution-id"));
+
+        String csvContent = "time,velocity,driveid,userid\n" +
+                "2025-06-01T12:00:00.000000,0,drive-a,user1\n" +
+                "2025-06-01T12:00:10.000000,35,drive-a,user1\n" +
+                "2025-06-01T12:00:30.000000,90,drive-a,user1\n" +
+                "2025-06-01T12:00:00.000000,30,drive-b,user2";
+
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenReturn(new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                        new ByteArrayInputStream(csvContent.getBytes())));
+
+        // Act
+        DriveAnalysisCollector collector = athenaClientService
+                .streamDrivesAsync(List.of("drive-a", "drive-b", "drive-c"), DriveAnalysisCollector::new)
+                .join();
+
+        // Assert - 컬럼 배열로 모아서 분석한 결과와 같아야 함
+        Map<String, TelemetryBatch> batches = TelemetryCsvReader.read(new java.io.StringReader(csvContent));
+        AnalysisDataFromAthenaService analysisService = new AnalysisDataFromAthenaService();
+
+        assertEquals(analysisService.analysisData(batches.get("drive-a")), collector.finish("drive-a"));
+        assertEquals(analysisService.analysisData(batches.get("drive-b")), collector.finish("drive-b"));
+        assertNull(collector.finish("drive-c"));
+    }
+
+    @Test
+    public void testQueryDriveDataStopsQueryAfterDeadline() {
+        // Arrange - 쿼리가 QUEUED에서 끝나지 않음
+        ReflectionTestUtils.setField(athenaClientService, "queryTimeoutMs", 300L);
+        AthenaClient athenaClient = (AthenaClient) ReflectionTestUtils.getField(athenaClientService, "athenaClient");
+
+        when(athenaClient.startQueryExecution(any(StartQueryExecutionRequest.class)))
+                .thenReturn(StartQueryExecutionResponse.builder().queryExecutionId("stuck-execution-id").build());
+        when(athenaClient.getQueryExecution(any(GetQueryExecutionRequest.class)))
+                .thenReturn(GetQueryExecutionResponse.builder()
+                        .queryExecution(QueryExecution.builder()
+                                .status(QueryExecutionStatus.builder().state(QueryExecutionState.QUEUED).build())
+                                .build())
+                        .build());
+
+        // Act & Assert
+        assertThrows(AthenaQueryTimeoutException.class, () -> athenaClientService.queryDriveData("stuck-drive"));
+        verify(athenaClient).stopQueryExecution(argThat((StopQueryExecutionRequest request) ->
+                request.queryExecutionId().equals("stuck-execution-id")));
+    }
+
+    @Test
+    public void testCancellingResultCancelsAthenaQuery() {
+        // Arrange
+        CompletableFuture<String> query = new CompletableFuture<>();
+        when(athenaQueryPoller.execute(any(StartQueryExecutionRequest.class), any())).thenReturn(query);
+
+        // Act
+        CompletableFuture<Map<String, TelemetryBatch>> result =
+                athenaClientService.queryDrivesTelemetryAsync(List.of("drive-a"), Duration.ofSeconds(5));
+        result.cancel(true);
+
+        // Assert - poller의 Future가 취소되어야 StopQueryExecution이 전송됨
+        assertTrue(query.isCancelled());
+        verify(athenaQueryPoller).execute(any(StartQueryExecutionRequest.class), eq(Duration.ofSeconds(5)));
+    }
+}
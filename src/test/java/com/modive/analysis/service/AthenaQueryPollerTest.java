@@ -0,0 +1,187 @@
+package com.modive.analysis.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.athena.AthenaAsyncClient;
+import software.amazon.awssdk.services.athena.model.*;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class AthenaQueryPollerTest {
+
+    private AthenaQueryPoller poller;
+    private AthenaAsyncClient athenaAsyncClient;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        poller = new AthenaQueryPoller(meterRegistry);
+        ReflectionTestUtils.setField(poller, "initialIntervalMs", 1L);
+        ReflectionTestUtils.setField(poller, "maxIntervalMs", 5L);
+        ReflectionTestUtils.setField(poller, "multiplier", 2.0);
+        ReflectionTestUtils.setField(poller, "tickMs", 1L);
+        ReflectionTestUtils.setField(poller, "defaultTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(poller, "maxTimeoutMs", 10000L);
+        poller.afterPropertiesSet();
+
+        athenaAsyncClient = mock(AthenaAsyncClient.class);
+        ReflectionTestUtils.setField(poller, "athenaAsyncClient", athenaAsyncClient);
+
+        when(athenaAsyncClient.startQueryExecution(any(StartQueryExecutionRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        StartQueryExecutionResponse.builder().queryExecutionId("exec-1").build()));
+        when(athenaAsyncClient.stopQueryExecution(any(StopQueryExecutionRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(StopQueryExecutionResponse.builder().build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.shutdown();
+    }
+
+    @Test
+    public void testExecuteCompletesAfterRunningThenSucceeded() throws Exception {
+        // Arrange - 첫 폴링은 RUNNING, 두 번째 폴링은 SUCCEEDED
+        when(athenaAsyncClient.batchGetQueryExecution(any(BatchGetQueryExecutionRequest.class)))
+                .thenReturn(batchResponse("exec-1", QueryExecutionState.RUNNING),
+                        batchResponse("exec-1", QueryExecutionState.SUCCEEDED));
+
+        // Act
+        String executionId = poller.execute(StartQueryExecutionRequest.builder().build()).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("exec-1", executionId);
+        assertEquals(0, poller.inFlightCount());
+        verify(athenaAsyncClient, times(2)).batchGetQueryExecution(any(BatchGetQueryExecutionRequest.class));
+    }
+
+    @Test
+    public void testExecuteFailsWhenQueryFailed() {
+        // Arrange
+        when(athenaAsyncClient.batchGetQueryExecution(any(BatchGetQueryExecutionRequest.class)))
+                .thenReturn(batchResponse("exec-1", QueryExecutionState.FAILED));
+
+        // Act & Assert
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> poller.execute(StartQueryExecutionRequest.builder().build()).get(5, TimeUnit.SECONDS));
+
+        assertTrue(exception.getCause().getMessage().contains("Athena query failed"));
+        assertEquals(0, poller.inFlightCount());
+    }
+
+    @Test
+    public void testQueryStuckInQueuedTimesOutAndIsStopped() {
+        // Arrange - 계속 QUEUED
+        when(athenaAsyncClient.batchGetQueryExecution(any(BatchGetQueryExecutionRequest.class)))
+                .thenAnswer(invocation -> batchResponse("exec-1", QueryExecutionState.QUEUED));
+
+        // Act
+        CompletableFuture<String> future = poller.execute(StartQueryExecutionRequest.builder().build(), Duration.ofMillis(50));
+
+        // Assert - 기한 안에 예외로 끝나고 Athena에 중단 요청
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(AthenaQueryTimeoutException.class, exception.getCause());
+        verify(athenaAsyncClient, timeout(1000)).stopQueryExecution(argThat((StopQueryExecutionRequest request) ->
+                request.queryExecutionId().equals("exec-1")));
+        assertEquals(0, poller.inFlightCount());
+        assertEquals(1.0, meterRegistry.get("athena.query.timeouts").counter().count());
+    }
+
+    @Test
+    public void testCancelStopsQuery() {
+        // Arrange
+        when(athenaAsyncClient.batchGetQueryExecution(any(BatchGetQueryExecutionRequest.class)))
+                .thenAnswer(invocation -> batchResponse("exec-1", QueryExecutionState.RUNNING));
+        CompletableFuture<String> future = poller.execute(StartQueryExecutionRequest.builder().build());
+
+        // Act
+        future.cancel(true);
+
+        // Assert
+        verify(athenaAsyncClient, timeout(1000)).stopQueryExecution(any(StopQueryExecutionRequest.class));
+        assertEquals(0, poller.inFlightCount());
+        assertEquals(1.0, meterRegistry.get("athena.query.cancellations").counter().count());
+    }
+
+    @Test
+    public void testCancelBeforeStartResponseStopsQueryWhenStarted() {
+        // Arrange - 시작 응답이 늦게 옴
+        CompletableFuture<StartQueryExecutionResponse> started = new CompletableFuture<>();
+        when(athenaAsyncClient.startQueryExecution(any(StartQueryExecutionRequest.class))).thenReturn(started);
+        CompletableFuture<String> future = poller.execute(StartQueryExecutionRequest.builder().build());
+
+        // Act
+        future.cancel(true);
+        started.complete(StartQueryExecutionResponse.builder().queryExecutionId("exec-2").build());
+
+        // Assert
+        verify(athenaAsyncClient, timeout(1000)).stopQueryExecution(argThat((StopQueryExecutionRequest request) ->
+                request.queryExecutionId().equals("exec-2")));
+        assertEquals(0, poller.inFlightCount());
+    }
+
+    @Test
+    public void testShutdownStopsRunningQueries() throws Exception {
+        // Arrange
+        when(athenaAsyncClient.batchGetQueryExecution(any(BatchGetQueryExecutionRequest.class)))
+                .thenAnswer(invocation -> batchResponse("exec-1", QueryExecutionState.RUNNING));
+        CompletableFuture<String> future = poller.execute(StartQueryExecutionRequest.builder().build());
+
+        // Act
+        poller.shutdown();
+
+        // Assert
+        assertThrows(CancellationException.class, () -> future.get(1, TimeUnit.SECONDS));
+        verify(athenaAsyncClient).stopQueryExecution(any(StopQueryExecutionRequest.class));
+    }
+
+    @Test
+    public void testShutdownStopsQueryWhoseStartResponseArrivesLate() throws Exception {
+        // Arrange - 시작 응답을 아직 받지 못해 executionId가 없음
+        CompletableFuture<StartQueryExecutionResponse> started = new CompletableFuture<>();
+        when(athenaAsyncClient.startQueryExecution(any(StartQueryExecutionRequest.class))).thenReturn(started);
+        CompletableFuture<String> future = poller.execute(StartQueryExecutionRequest.builder().build());
+
+        // Act - 종료가 중단 요청을 기다리는 동안 시작 응답이 옴
+        CompletableFuture<Void> shutdown = CompletableFuture.runAsync(poller::shutdown);
+        Thread.sleep(100);
+        started.complete(StartQueryExecutionResponse.builder().queryExecutionId("exec-2").build());
+        shutdown.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(future.isCancelled());
+        verify(athenaAsyncClient).stopQueryExecution(argThat((StopQueryExecutionRequest request) ->
+                request.queryExecutionId().equals("exec-2")));
+        assertEquals(1.0, meterRegistry.get("athena.query.cancellations").counter().count());
+    }
+
+    @Test
+    public void testBackoffGrowsUntilMax() {
+        assertEquals(200, AthenaQueryPoller.backoffMillis(0, 200, 2000, 1.5));
+        assertEquals(300, AthenaQueryPoller.backoffMillis(1, 200, 2000, 1.5));
+        assertEquals(450, AthenaQueryPoller.backoffMillis(2, 200, 2000, 1.5));
+        assertEquals(2000, AthenaQueryPoller.backoffMillis(20, 200, 2000, 1.5));
+    }
+
+    private CompletableFuture<BatchGetQueryExecutionResponse> batchResponse(String executionId, QueryExecutionState state) {
+        return CompletableFuture.completedFuture(BatchGetQueryExecutionResponse.builder()
+                .queryExecutions(QueryExecution.builder()
+                        .queryExecutionId(executionId)
+                        .status(QueryExecutionStatus.builder().state(state).build())
+                        .build())
+                .build());
+    }
+}
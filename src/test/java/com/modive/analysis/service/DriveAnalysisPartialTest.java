@@ -0,0 +1,132 @@
+package com.modive.analysis.service;
+
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.telemetry.TelemetryBatch;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DriveAnalysisPartialTest {
+
+    private static final long SECOND_MICROS = 1_000_000L;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void setUpPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void tearDownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testParallelMatchesSequentialOnRandomTraces() {
+        // 시드를 고정한 랜덤 주행 데이터로 병렬/순차 결과 비교
+        Random random = new Random(20250531L);
+
+        for (int trial = 0; trial < 500; trial++) {
+            TelemetryBatch batch = randomTrace(random, 2 + random.nextInt(3000));
+            int leafRows = 1 + random.nextInt(64);
+
+            Drive sequential = sequential(batch);
+            Drive parallel = DriveAnalysisPartial.analyze(pool, batch, leafRows)
+                    .toDrive(batch.getDriveId(), batch.getUserId());
+
+            assertEquals(sequential, parallel, "trial " + trial + ", rows " + batch.size() + ", leafRows " + leafRows);
+        }
+    }
+
+    @Test
+    public void testIdlingAndPeriodCrossingChunkBoundaries() {
+        // Arrange - 1초 간격, 공회전 구간과 20초 period가 모두 3행 단위 경계를 넘나들도록 구성
+        TelemetryBatch.Builder builder = TelemetryBatch.builder("drive1", "user1");
+        double[] speeds = {0, 0, 0, 0, 40, 50, 0, 0, 0, 0, 0, 90, 10, 10, 0, 0};
+        for (int i = 0; i < 100; i++) {
+            builder.add(i * SECOND_MICROS, speeds[i % speeds.length]);
+        }
+        TelemetryBatch batch = builder.build();
+
+        // Act
+        Drive parallel = DriveAnalysisPartial.analyze(pool, batch, 3).toDrive("drive1", "user1");
+
+        // Assert
+        assertEquals(sequential(batch), parallel);
+        assertEquals(4, parallel.getSpeedLogs().size());
+        assertEquals(90, parallel.getSpeedLogs().get(0).getMaxSpeed());
+    }
+
+    @Test
+    public void testMergeRejectsNonAdjacentPartials() {
+        TelemetryBatch batch = randomTrace(new Random(1), 10);
+        DriveAnalysisPartial left = DriveAnalysisPartial.analyze(batch.timeMicrosArray(), batch.velocityArray(), 0, 4);
+        DriveAnalysisPartial right = DriveAnalysisPartial.analyze(batch.timeMicrosArray(), batch.velocityArray(), 5, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> left.merge(right));
+    }
+
+    @Test
+    public void testServiceUsesParallelPathAboveThreshold() {
+        // Arrange
+        AnalysisDataFromAthenaService service = new AnalysisDataFromAthenaService();
+        ReflectionTestUtils.setField(service, "parallelThresholdRows", 100);
+        ReflectionTestUtils.setField(service, "parallelLeafRows", 16);
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        service.init();
+
+        TelemetryBatch batch = randomTrace(new Random(7), 5000);
+
+        try {
+            // Act & Assert
+            assertEquals(sequential(batch), service.analysisData(batch));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private Drive sequential(TelemetryBatch batch) {
+        DriveAnalysisState state = new DriveAnalysisState(batch.getDriveId(), batch.getUserId());
+        for (int i = 0; i < batch.size(); i++) {
+            state.accept(batch.timeMicros(i), batch.velocity(i));
+        }
+        return state.finish();
+    }
+
+    /**
+     * 공회전 구간과 불규칙한 시간 간격(누락, 몰림)을 포함한 랜덤 주행 데이터
+     * 모든 행이 공회전이면 속도 구간 비율 계산이 불가능하므로 주행 행을 하나 이상 넣는다.
+     */
+    private TelemetryBatch randomTrace(Random random, int rows) {
+        TelemetryBatch.Builder builder = TelemetryBatch.builder("drive1", "user1");
+        long time = 1_748_653_200L * SECOND_MICROS;
+        boolean idle = random.nextBoolean();
+        boolean moved = false;
+
+        for (int i = 0; i < rows; i++) {
+            if (random.nextInt(10) == 0) idle = !idle;
+
+            double speed;
+            if (idle && (moved || i < rows - 1)) {
+                speed = random.nextInt(4) == 0 ? 1.0 : random.nextDouble();
+            } else {
+                speed = 1.5 + random.nextDouble() * 120;
+                moved = true;
+            }
+            builder.add(time, speed);
+
+            int gap = random.nextInt(20);
+            if (gap == 0) time += random.nextInt(60) * SECOND_MICROS; // 데이터 누락
+            else if (gap == 1) time += random.nextInt(1000); // 같은 초에 몰린 행
+            else time += SECOND_MICROS;
+        }
+        return builder.build();
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -321,6 +322,29 @@ public class EventDataServiceTest {
         return events;
     }
 
+    @Test
+    public void testLoadDrivesDataGroupsEventsWithSingleQuery() {
+        // Arrange - drive2는 이벤트가 없음
+        EventEntity turn = createEventEntity("급회전", baseTime);
+        EventEntity otherTurn = createEventEntity("급회전", baseTime.plusSeconds(30));
+        otherTurn.setDriveId("drive1");
+        List<String> driveIds = List.of(testDriveId, "drive1", "drive2");
+        when(eventRepository.findByDriveIdIn(driveIds)).thenReturn(List.of(turn, otherTurn));
+
+        // Act
+        Map<String, Drive> result = eventDataService.loadDrivesData(driveIds);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(List.of(baseTime), result.get(testDriveId).getSharpTurns());
+        assertEquals(List.of(baseTime.plusSeconds(30)), result.get("drive1").getSharpTurns());
+        assertEquals("drive2", result.get("drive2").getDriveId());
+        assertTrue(result.get("drive2").getSharpTurns().isEmpty());
+
+        verify(eventRepository, times(1)).findByDriveIdIn(driveIds);
+        verify(eventRepository, never()).findByDriveId(anyString());
+    }
+
     private EventEntity createEventEntity(String type, Instant eventTime) {
         EventEntity event = new EventEntity();
         event.setType(type);
@@ -0,0 +1,71 @@
+package com.modive.analysis.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TelemetryCsvReaderTest {
+
+    @Test
+    public void testReadSplitsDrivesAndFillsColumns() throws Exception {
+        // Arrange - 컬럼 순서가 바뀌어도 헤더 기준으로 읽어야 함
+        String csv = "userid,driveid,velocity,time\n" +
+                "user1,drive1,0,2025-05-31T01:00:00.000000\n" +
+                "user1,drive1,42.5,2025-05-31T01:00:01.250000\n" +
+                "user2,drive2,80,2025-05-31T02:00:00.000000\n";
+
+        // Act
+        Map<String, TelemetryBatch> result = TelemetryCsvReader.read(new StringReader(csv));
+
+        // Assert
+        assertEquals(2, result.size());
+
+        TelemetryBatch drive1 = result.get("drive1");
+        assertEquals("user1", drive1.getUserId());
+        assertEquals(2, drive1.size());
+        assertEquals(42.5, drive1.velocity(1));
+        assertEquals(Instant.parse("2025-05-30T16:00:00Z"), TelemetryBatch.toInstant(drive1.timeMicros(0)));
+        assertEquals(Instant.parse("2025-05-30T16:00:01.250Z"), TelemetryBatch.toInstant(drive1.timeMicros(1)));
+
+        TelemetryBatch drive2 = result.get("drive2");
+        assertEquals("user2", drive2.getUserId());
+        assertEquals(1, drive2.size());
+    }
+
+    @Test
+    public void testReadHeaderOnly() throws Exception {
+        Map<String, TelemetryBatch> result = TelemetryCsvReader.read(new StringReader("time,velocity,driveid,userid"));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testReadGrowsBeyondInitialCapacity() throws Exception {
+        StringBuilder csv = new StringBuilder("time,velocity,driveid,userid\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append(String.format("2025-05-31T01:%02d:%02d.000000,%d,drive1,user1%n", i / 60 % 60, i % 60, i));
+        }
+
+        TelemetryBatch batch = TelemetryCsvReader.read(new StringReader(csv.toString())).get("drive1");
+
+        assertEquals(1000, batch.size());
+        assertEquals(999.0, batch.velocity(999));
+    }
+
+    @Test
+    public void testReadFailsOnMissingColumn() {
+        assertThrows(IllegalArgumentException.class,
+                () -> TelemetryCsvReader.read(new StringReader("time,driveid,userid\n")));
+    }
+
+    @Test
+    public void testReadFailsOnInvalidVelocity() {
+        String csv = "time,velocity,driveid,userid\n2025-05-31T01:00:00.000000,invalid,drive1,user1\n";
+
+        assertThrows(NumberFormatException.class, () -> TelemetryCsvReader.read(new StringReader(csv)));
+    }
+}
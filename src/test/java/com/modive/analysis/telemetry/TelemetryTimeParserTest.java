@@ -0,0 +1,69 @@
+package com.modive.analysis.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TelemetryTimeParserTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(TelemetryTimeParser.PATTERN);
+
+    @Test
+    public void testFixedLayoutMatchesFormatter() {
+        TelemetryTimeParser parser = new TelemetryTimeParser(ZoneId.of("Asia/Seoul"));
+
+        assertEquals(1_748_620_800_123_456L, parser.parseEpochMicros("2025-05-31T01:00:00.123456"));
+        assertEquals(expected("2024-02-29T23:59:59.999999", "Asia/Seoul"), parser.parseEpochMicros("2024-02-29T23:59:59.999999"));
+    }
+
+    @Test
+    public void testRandomTimesMatchFormatterAcrossDaylightSaving() {
+        // 서머타임이 있는 타임존에서도 캐시된 오프셋이 기존 계산과 같아야 함
+        Random random = new Random(7);
+        LocalDateTime base = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+        for (String zoneId : new String[]{"Asia/Seoul", "America/New_York", "Europe/London", "Australia/Lord_Howe"}) {
+            TelemetryTimeParser parser = new TelemetryTimeParser(ZoneId.of(zoneId));
+            for (int i = 0; i < 20_000; i++) {
+                String text = base.plusSeconds(random.nextInt(3 * 365 * 86_400))
+                        .plusNanos(random.nextInt(1_000_000) * 1_000L)
+                        .format(FORMATTER);
+                assertEquals(expected(text, zoneId), parser.parseEpochMicros(text), zoneId + " " + text);
+            }
+        }
+    }
+
+    @Test
+    public void testTransitionGapAndOverlap() {
+        TelemetryTimeParser parser = new TelemetryTimeParser(ZoneId.of("America/New_York"));
+
+        // 2024-03-10 02:30 은 존재하지 않는 시각(gap), 2024-11-03 01:30 은 두 번 존재하는 시각(overlap)
+        for (String text : new String[]{"2024-03-10T02:30:00.000000", "2024-11-03T01:30:00.000000", "2024-11-03T01:59:59.999999"}) {
+            assertEquals(expected(text, "America/New_York"), parser.parseEpochMicros(text), text);
+        }
+    }
+
+    @Test
+    public void testMalformedInputFallsBackToFormatter() {
+        TelemetryTimeParser parser = new TelemetryTimeParser(ZoneId.of("Asia/Seoul"));
+
+        // 기존 포매터는 2월 30일을 말일로 보정하므로 같은 결과여야 함
+        assertEquals(expected("2025-02-30T00:00:00.000000", "Asia/Seoul"), parser.parseEpochMicros("2025-02-30T00:00:00.000000"));
+
+        assertThrows(DateTimeParseException.class, () -> parser.parseEpochMicros("2025-02-32T00:00:00.000000"));
+        assertThrows(DateTimeParseException.class, () -> parser.parseEpochMicros("2025-05-31 01:00:00.000"));
+        assertThrows(DateTimeParseException.class, () -> parser.parseEpochMicros("2025-05-31T01:00:0x.000000"));
+    }
+
+    private static long expected(String text, String zoneId) {
+        ZonedDateTime zoned = LocalDateTime.parse(text, FORMATTER).atZone(ZoneId.of(zoneId));
+        return zoned.toEpochSecond() * 1_000_000L + zoned.getNano() / 1_000L;
+    }
+}
@@ -0,0 +1,136 @@
+package com.modive.analysis.worker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+    }
+
+    @Test
+    public void testIncreasesAdditivelyWhenSaturated() throws Exception {
+        AdaptiveConcurrencyLimit limit = create(4, 1, 10);
+
+        // 한도를 채운 채로 작업이 끝날 때마다 1/limit씩, 한도만큼 끝나면 약 1 늘어남
+        limit.acquire(4);
+        for (int i = 0; i < 5; i++) {
+            limit.release(10 * MS, false);
+            limit.acquire(1);
+        }
+
+        assertEquals(5, limit.getLimit());
+        assertEquals(5.0, meterRegistry.get("analysis.concurrency.limit").gauge().value());
+        assertEquals(4.0, meterRegistry.get("analysis.concurrency.in-flight").gauge().value());
+    }
+
+    @Test
+    public void testDoesNotIncreaseWhenMostlyIdle() throws Exception {
+        AdaptiveConcurrencyLimit limit = create(10, 1, 20);
+
+        for (int i = 0; i < 50; i++) {
+            limit.acquire(1);
+            limit.release(10 * MS, false);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    public void testThrottlingDecreasesOncePerLatencyWindow() throws Exception {
+        AdaptiveConcurrencyLimit limit = create(10, 2, 20);
+        limit.acquire(1);
+        limit.release(10 * MS, false); // 장기 평균 10ms
+
+        // Act - 한 배치의 작업 3개가 한꺼번에 throttling
+        limit.acquire(3);
+        for (int i = 0; i < 3; i++) {
+            limit.release(10 * MS, true);
+        }
+
+        // Assert - 한 번만 줄임
+        assertEquals(5, limit.getLimit());
+
+        // 평균 처리 시간이 지난 뒤의 throttling은 다시 줄이고, 최소 한도 아래로는 내려가지 않음
+        for (int i = 0; i < 5; i++) {
+            clock.addAndGet(11 * MS);
+            limit.acquire(1);
+            limit.release(10 * MS, true);
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    public void testSlowCompletionsDecreaseAfterWarmup() throws Exception {
+        AdaptiveConcurrencyLimit limit = create(10, 1, 20);
+        for (int i = 0; i < 20; i++) {
+            limit.acquire(1);
+            limit.release(10 * MS, false);
+        }
+
+        // 장기 평균(10ms)의 2배를 넘는 처리 시간은 혼잡으로 봄
+        limit.acquire(1);
+        limit.release(50 * MS, false);
+
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    public void testAcquireWaitsForCapacity() throws Exception {
+        AdaptiveConcurrencyLimit limit = create(2, 2, 2);
+        limit.acquire(2);
+
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+            try {
+                limit.acquire(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(200);
+        assertFalse(waiting.isDone());
+
+        limit.release(1);
+        waiting.get(5, TimeUnit.SECONDS);
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    public void testBatchLargerThanLimitRunsWhenIdle() throws Exception {
+        AdaptiveConcurrencyLimit limit = create(2, 1, 2);
+
+        // 진행 중인 작업이 없으면 한도보다 큰 배치도 멈추지 않고 진행
+        limit.acquire(5);
+
+        assertEquals(5, limit.getInFlight());
+    }
+
+    @Test
+    public void testFixedLimitIgnoresSamples() throws Exception {
+        AdaptiveConcurrencyLimit limit = create(8, 8, 8);
+
+        limit.acquire(1);
+        limit.release(10 * MS, true);
+
+        assertEquals(8, limit.getLimit());
+    }
+
+    private AdaptiveConcurrencyLimit create(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimit(initial, min, max, 0.5, 2.0, meterRegistry, clock::get);
+    }
+}
@@ -0,0 +1,72 @@
+package com.modive.analysis.worker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisJobRegistryTest {
+
+    private AnalysisJobRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new AnalysisJobRegistry();
+        ReflectionTestUtils.setField(registry, "ttlSeconds", 0L);
+        ReflectionTestUtils.setField(registry, "cleanupIntervalSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    public void testRunningJobsAreKeptAndFinishedJobsExpire() {
+        // Arrange
+        AnalysisJob running = new AnalysisJob("drive1");
+        AnalysisJob finished = new AnalysisJob("drive2");
+        registry.register(running);
+        registry.register(finished);
+
+        // Act
+        finished.finish(null);
+        registry.evictExpired();
+
+        // Assert - TTL 0이면 끝난 작업은 바로 만료, 진행 중인 작업은 유지
+        assertSame(running, registry.find("drive1"));
+        assertNull(registry.find("drive2"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testAwaitChangeCompletesOnTransition() throws Exception {
+        // Arrange
+        AnalysisJob job = new AnalysisJob("drive1");
+        CompletableFuture<AnalysisJob> changed = job.awaitChange(job.getVersion());
+
+        // Act
+        job.transition(AnalysisJobState.FETCHING);
+
+        // Assert
+        assertSame(job, changed.get(1, TimeUnit.SECONDS));
+        assertEquals(AnalysisJobState.FETCHING, job.getState());
+        assertTrue(job.awaitChange(0).isDone()); // 이미 바뀐 경우 바로 완료
+    }
+
+    @Test
+    public void testFinishedJobIgnoresLaterTransitions() {
+        AnalysisJob job = new AnalysisJob("drive1");
+        job.finish(new IllegalStateException("No Athena rows for driveId: drive1"));
+        job.transition(AnalysisJobState.PERSISTING);
+
+        assertEquals(AnalysisJobState.FAILED, job.getState());
+        assertTrue(job.completion().isCompletedExceptionally());
+        assertEquals("IllegalStateException: No Athena rows for driveId: drive1", job.toStatus().getError());
+    }
+}
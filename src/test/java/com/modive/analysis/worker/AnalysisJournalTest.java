@@ -0,0 +1,79 @@
+package com.modive.analysis.worker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private AnalysisJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("journal/analysis-journal.tsv");
+        journal = new AnalysisJournal();
+        ReflectionTestUtils.setField(journal, "path", file.toString());
+    }
+
+    @Test
+    public void testWriteAndReadKeepsOrder() {
+        // Arrange
+        Map<String, AnalysisPriority> entries = new LinkedHashMap<>();
+        entries.put("drive3", AnalysisPriority.INTERACTIVE);
+        entries.put("drive1", AnalysisPriority.NORMAL);
+        entries.put("drive2", AnalysisPriority.BACKFILL);
+
+        // Act
+        journal.write(entries);
+
+        // Assert - 디렉터리를 만들고, 임시 파일은 남기지 않음
+        assertEquals(entries, journal.read());
+        assertEquals(List.of("drive3", "drive1", "drive2"), List.copyOf(journal.read().keySet()));
+        assertFalse(Files.exists(file.resolveSibling("analysis-journal.tsv.tmp")));
+    }
+
+    @Test
+    public void testWriteReplacesPreviousContent() {
+        journal.write(Map.of("drive1", AnalysisPriority.NORMAL));
+        journal.write(Map.of("drive2", AnalysisPriority.BACKFILL));
+
+        assertEquals(Map.of("drive2", AnalysisPriority.BACKFILL), journal.read());
+    }
+
+    @Test
+    public void testEmptyWriteDeletesJournal() {
+        journal.write(Map.of("drive1", AnalysisPriority.NORMAL));
+
+        journal.write(Map.of());
+
+        assertFalse(Files.exists(file));
+        assertTrue(journal.read().isEmpty());
+    }
+
+    @Test
+    public void testReadSkipsMalformedLines() throws Exception {
+        // Arrange - 우선순위가 없으면 NORMAL, 알 수 없는 우선순위는 건너뜀
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "drive1\tinteractive\n\ndrive2\turgent\ndrive3\n", StandardCharsets.UTF_8);
+
+        // Act
+        Map<String, AnalysisPriority> entries = journal.read();
+
+        // Assert
+        assertEquals(Map.of("drive1", AnalysisPriority.INTERACTIVE, "drive3", AnalysisPriority.NORMAL), entries);
+    }
+}
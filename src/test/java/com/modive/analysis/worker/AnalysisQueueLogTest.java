@@ -0,0 +1,123 @@
+package com.modive.analysis.worker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisQueueLogTest {
+
+    // "driveN" 레코드 하나의 크기: 헤더 8 + 고정 본문 12 + driveId 6
+    private static final int RECORD_BYTES = 26;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testRecoversUnackedEntriesInOrder() {
+        // Arrange
+        try (AnalysisQueueLog log = open(4096, AnalysisQueueLog.FsyncPolicy.ALWAYS, 4)) {
+            log.append("drive1", AnalysisPriority.NORMAL);
+            log.append("drive2", AnalysisPriority.BACKFILL);
+            log.append("drive3", AnalysisPriority.INTERACTIVE);
+            assertTrue(log.ack("drive2"));
+            assertFalse(log.ack("unknown"));
+            log.append("drive1", AnalysisPriority.INTERACTIVE); // 다시 넣으면 마지막 기록이 남음
+        }
+
+        // Act
+        try (AnalysisQueueLog log = open(4096, AnalysisQueueLog.FsyncPolicy.ALWAYS, 4)) {
+            Map<String, AnalysisPriority> pending = log.pendingEntries();
+
+            // Assert
+            assertEquals(List.of("drive3", "drive1"), List.copyOf(pending.keySet()));
+            assertEquals(AnalysisPriority.INTERACTIVE, pending.get("drive1"));
+        }
+    }
+
+    @Test
+    public void testTornRecordIsIgnored() throws Exception {
+        // Arrange - 두 번째 레코드가 쓰다가 끊긴 것처럼 본문 한 바이트를 바꿈
+        try (AnalysisQueueLog log = open(4096, AnalysisQueueLog.FsyncPolicy.NONE, 4)) {
+            log.append("drive1", AnalysisPriority.NORMAL);
+            log.append("drive2", AnalysisPriority.NORMAL);
+        }
+        Path segment = segmentFiles().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(RECORD_BYTES + 8 + 13);
+            file.write('X');
+        }
+
+        // Act
+        try (AnalysisQueueLog log = open(4096, AnalysisQueueLog.FsyncPolicy.NONE, 4)) {
+            // Assert - 끊긴 레코드 앞까지만 복구하고, 이후 기록은 새 segment에 이어서 씀
+            assertEquals(Map.of("drive1", AnalysisPriority.NORMAL), log.pendingEntries());
+            log.append("drive3", AnalysisPriority.NORMAL);
+        }
+        try (AnalysisQueueLog log = open(4096, AnalysisQueueLog.FsyncPolicy.NONE, 4)) {
+            assertEquals(List.of("drive1", "drive3"), List.copyOf(log.pendingEntries().keySet()));
+        }
+    }
+
+    @Test
+    public void testCompactionBoundsSegmentCount() throws Exception {
+        // Arrange - segment 하나에 레코드 4개, drive0만 끝나지 않음
+        try (AnalysisQueueLog log = open(RECORD_BYTES * 4, AnalysisQueueLog.FsyncPolicy.BATCH, 1)) {
+            log.append("drive0", AnalysisPriority.BACKFILL);
+            for (int i = 1; i < 10; i++) {
+                log.append("drive" + i, AnalysisPriority.NORMAL);
+                log.ack("drive" + i);
+            }
+
+            // Assert - 다 끝난 segment는 지우고, 오래된 segment의 drive0은 앞으로 옮겨 적음
+            assertTrue(log.segmentCount() <= 3, "segments: " + log.segmentCount());
+            assertEquals(log.segmentCount(), segmentFiles().size());
+            assertEquals(1, log.pendingCount());
+        }
+
+        try (AnalysisQueueLog log = open(RECORD_BYTES * 4, AnalysisQueueLog.FsyncPolicy.BATCH, 1)) {
+            assertEquals(Map.of("drive0", AnalysisPriority.BACKFILL), log.pendingEntries());
+        }
+    }
+
+    @Test
+    public void testAckedLogIsDeletedOnReopen() throws Exception {
+        try (AnalysisQueueLog log = open(4096, AnalysisQueueLog.FsyncPolicy.NONE, 4)) {
+            log.append("drive1", AnalysisPriority.NORMAL);
+            log.ack("drive1");
+        }
+
+        try (AnalysisQueueLog log = open(4096, AnalysisQueueLog.FsyncPolicy.NONE, 4)) {
+            // 복구할 항목이 없는 이전 segment는 지우고 새 segment만 남음
+            assertTrue(log.pendingEntries().isEmpty());
+            assertEquals(1, segmentFiles().size());
+        }
+    }
+
+    @Test
+    public void testClosedLogRejectsAppendAndIgnoresAck() {
+        AnalysisQueueLog log = open(4096, AnalysisQueueLog.FsyncPolicy.BATCH, 4);
+        log.append("drive1", AnalysisPriority.NORMAL);
+        log.close();
+
+        assertThrows(IllegalStateException.class, () -> log.append("drive2", AnalysisPriority.NORMAL));
+        assertFalse(log.ack("drive1"));
+    }
+
+    private AnalysisQueueLog open(int segmentBytes, AnalysisQueueLog.FsyncPolicy policy, int maxSealedSegments) {
+        return AnalysisQueueLog.open(dir, segmentBytes, policy, 5, maxSealedSegments);
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.modive.analysis.worker;
+
+import com.modive.analysis.entity.AnalysisQueueItem;
+import com.modive.analysis.repository.AnalysisQueueItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * H2(MySQL 모드)에 db/analysis_job_queue.sql로 만든 테이블에서 replica 두 개가 lease를 주고받음
+ * 각 replica의 claim은 실제 서비스처럼 별도 트랜잭션에서 실행한다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:analysis_job_queue;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/analysis_job_queue.sql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 테스트 트랜잭션 하나로 묶지 않음
+public class DistributedAnalysisQueueJpaTest {
+
+    @Autowired
+    private AnalysisQueueItemRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private DistributedAnalysisQueue replicaA;
+    private DistributedAnalysisQueue replicaB;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        replicaA = queue("analysis-0");
+        replicaB = queue("analysis-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    public void testConcurrentClaimsSkipLockedRows() throws Exception {
+        // Arrange
+        for (int i = 0; i < 6; i++) {
+            offer("drive" + i, AnalysisPriority.NORMAL);
+        }
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act - A가 4개 행을 잠근 채 트랜잭션을 열어 둔 동안 B가 가져감
+        Future<List<String>> claimedByA = executor.submit(() -> transactionTemplate.execute(status -> {
+            List<String> driveIds = driveIds(replicaA.claim(AnalysisPriority.NORMAL, 4));
+            locked.countDown();
+            await(release);
+            return driveIds;
+        }));
+        List<String> claimedByB;
+        try {
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+            claimedByB = driveIds(claim(replicaB, AnalysisPriority.NORMAL, 4));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        List<String> claimedA = claimedByA.get(5, TimeUnit.SECONDS);
+
+        // Assert - 잠긴 행은 기다리지 않고 건너뛰므로 같은 항목을 나눠 갖지 않음
+        assertEquals(4, claimedA.size());
+        assertEquals(2, claimedByB.size());
+        Set<String> all = new HashSet<>(claimedA);
+        all.addAll(claimedByB);
+        assertEquals(6, all.size());
+        claimedA.forEach(driveId -> assertEquals(replicaA.getOwner(), repository.findById(driveId).orElseThrow().getLeaseOwner()));
+        claimedByB.forEach(driveId -> assertEquals(replicaB.getOwner(), repository.findById(driveId).orElseThrow().getLeaseOwner()));
+    }
+
+    @Test
+    public void testExpiredLeaseIsReclaimedAndOnlyOwnerCanDelete() {
+        // Arrange - A가 가져간 뒤 lease를 연장하지 못함
+        offer("drive1", AnalysisPriority.NORMAL);
+        assertEquals(1, claim(replicaA, AnalysisPriority.NORMAL, 10).size());
+        assertTrue(claim(replicaB, AnalysisPriority.NORMAL, 10).isEmpty());
+        AnalysisQueueItem item = repository.findById("drive1").orElseThrow();
+        item.setLeaseExpiresAt(Instant.now().minusSeconds(1));
+        repository.save(item);
+
+        // Act
+        List<AnalysisQueueItem> reclaimed = claim(replicaB, AnalysisPriority.NORMAL, 10);
+
+        // Assert - lease를 잃은 A는 연장도 삭제도 못 함
+        assertEquals(1, reclaimed.size());
+        assertEquals(2, reclaimed.get(0).getClaimCount());
+        assertEquals(0, replicaA.renew(List.of("drive1")));
+        assertEquals(1, replicaB.renew(List.of("drive1")));
+        assertFalse(replicaA.complete("drive1"));
+        assertTrue(repository.existsById("drive1"));
+        assertTrue(replicaB.complete("drive1"));
+        assertFalse(repository.existsById("drive1"));
+    }
+
+    @Test
+    public void testReleasedLeaseIsClaimableImmediately() {
+        // Arrange
+        offer("drive1", AnalysisPriority.NORMAL);
+        offer("drive2", AnalysisPriority.BACKFILL);
+        assertEquals(List.of("drive1"), driveIds(claim(replicaA, AnalysisPriority.NORMAL, 10)));
+
+        // Act - 다른 replica의 lease는 풀지 못함
+        int releasedByB = replicaB.release(List.of("drive1"));
+        int releasedByA = replicaA.release(List.of("drive1"));
+
+        // Assert
+        assertEquals(0, releasedByB);
+        assertEquals(1, releasedByA);
+        AnalysisQueueItem released = repository.findById("drive1").orElseThrow();
+        assertNull(released.getLeaseOwner());
+        assertNull(released.getLeaseExpiresAt());
+        assertEquals(List.of("drive1"), driveIds(claim(replicaB, AnalysisPriority.NORMAL, 10)));
+        assertEquals(List.of("drive2"), driveIds(claim(replicaB, AnalysisPriority.BACKFILL, 10)));
+    }
+
+    private DistributedAnalysisQueue queue(String ownerId) {
+        DistributedAnalysisQueue queue = new DistributedAnalysisQueue(repository);
+        ReflectionTestUtils.setField(queue, "mode", "distributed");
+        ReflectionTestUtils.setField(queue, "leaseMs", 30_000L);
+        ReflectionTestUtils.setField(queue, "ownerId", ownerId);
+        queue.afterPropertiesSet();
+        return queue;
+    }
+
+    private void offer(String driveId, AnalysisPriority priority) {
+        transactionTemplate.executeWithoutResult(status -> assertTrue(replicaA.offer(driveId, priority, null)));
+    }
+
+    private List<AnalysisQueueItem> claim(DistributedAnalysisQueue replica, AnalysisPriority priority, int limit) {
+        return transactionTemplate.execute(status -> replica.claim(priority, limit));
+    }
+
+    private static List<String> driveIds(List<AnalysisQueueItem> items) {
+        return items.stream().map(AnalysisQueueItem::getDriveId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
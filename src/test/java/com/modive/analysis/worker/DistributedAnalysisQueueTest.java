@@ -0,0 +1,110 @@
+package com.modive.analysis.worker;
+
+import com.modive.analysis.entity.AnalysisQueueItem;
+import com.modive.analysis.repository.AnalysisQueueItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class DistributedAnalysisQueueTest {
+
+    private AnalysisQueueItemRepository repository;
+    private DistributedAnalysisQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AnalysisQueueItemRepository.class);
+        queue = new DistributedAnalysisQueue(repository);
+        ReflectionTestUtils.setField(queue, "mode", "distributed");
+        ReflectionTestUtils.setField(queue, "leaseMs", 30_000L);
+        ReflectionTestUtils.setField(queue, "ownerId", "analysis-0");
+        queue.afterPropertiesSet();
+    }
+
+    @Test
+    public void testOwnerIsUniquePerProcess() {
+        DistributedAnalysisQueue restarted = new DistributedAnalysisQueue(repository);
+        ReflectionTestUtils.setField(restarted, "ownerId", "analysis-0");
+        restarted.afterPropertiesSet();
+
+        // 같은 pod 이름으로 재시작해도 이전 프로세스의 lease를 이어받지 않음
+        assertTrue(queue.getOwner().startsWith("analysis-0-"));
+        assertNotEquals(queue.getOwner(), restarted.getOwner());
+        assertTrue(queue.isEnabled());
+    }
+
+    @Test
+    public void testOfferInsertsOnlyNewDriveId() {
+        // Arrange
+        when(repository.existsById("drive2")).thenReturn(true);
+
+        // Act
+        boolean added = queue.offer("drive1", AnalysisPriority.INTERACTIVE, Duration.ofSeconds(5));
+        boolean duplicate = queue.offer("drive2", AnalysisPriority.NORMAL, null);
+
+        // Assert - lease 없이 넣어서 어느 replica든 가져갈 수 있음
+        assertTrue(added);
+        assertFalse(duplicate);
+        ArgumentCaptor<AnalysisQueueItem> captor = ArgumentCaptor.forClass(AnalysisQueueItem.class);
+        verify(repository, times(1)).save(captor.capture());
+        AnalysisQueueItem item = captor.getValue();
+        assertEquals("drive1", item.getDriveId());
+        assertEquals(AnalysisPriority.INTERACTIVE, item.getPriority());
+        assertEquals(5_000L, item.getQueryTimeoutMs());
+        assertNull(item.getLeaseOwner());
+        assertTrue(item.isNew());
+    }
+
+    @Test
+    public void testClaimTakesLeaseForThisReplica() {
+        // Arrange - 이전 replica가 lease를 잃은 항목
+        AnalysisQueueItem item = new AnalysisQueueItem();
+        item.setDriveId("drive1");
+        item.setPriority(AnalysisPriority.NORMAL);
+        item.setLeaseOwner("analysis-1-dead");
+        item.setLeaseExpiresAt(Instant.now().minusSeconds(1));
+        item.setClaimCount(1);
+        when(repository.findClaimable(eq(AnalysisPriority.NORMAL), any(), any())).thenReturn(List.of(item));
+        Instant before = Instant.now();
+
+        // Act
+        List<AnalysisQueueItem> claimed = queue.claim(AnalysisPriority.NORMAL, 3);
+
+        // Assert
+        assertEquals(List.of(item), claimed);
+        assertEquals(queue.getOwner(), item.getLeaseOwner());
+        assertFalse(item.getLeaseExpiresAt().isBefore(before.plusMillis(30_000)));
+        assertEquals(2, item.getClaimCount());
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).findClaimable(eq(AnalysisPriority.NORMAL), any(), page.capture());
+        assertEquals(3, page.getValue().getPageSize());
+    }
+
+    @Test
+    public void testRenewReleaseAndCompleteAreScopedToOwner() {
+        when(repository.renewLeases(eq(queue.getOwner()), eq(List.of("drive1", "drive2")), any())).thenReturn(1);
+        when(repository.deleteOwned("drive1", queue.getOwner())).thenReturn(1);
+
+        assertEquals(1, queue.renew(List.of("drive1", "drive2")));
+        assertTrue(queue.complete("drive1"));
+        assertFalse(queue.complete("drive2")); // 다른 replica가 가져간 항목은 지우지 않음
+        queue.release(List.of("drive2"));
+
+        verify(repository).releaseLeases(queue.getOwner(), List.of("drive2"));
+        // 빈 목록은 쿼리하지 않음
+        assertEquals(0, queue.renew(List.of()));
+        assertEquals(0, queue.release(List.of()));
+        verify(repository, times(1)).renewLeases(any(), any(), any());
+        verify(repository, times(1)).releaseLeases(any(), any());
+    }
+}
@@ -0,0 +1,92 @@
+package com.modive.analysis.worker;
+
+import com.modive.analysis.entity.AnalysisQueueItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DistributedJobClaimerTest {
+
+    private static final Map<AnalysisPriority, Integer> WEIGHTS = Map.of(
+            AnalysisPriority.INTERACTIVE, 6, AnalysisPriority.NORMAL, 3, AnalysisPriority.BACKFILL, 1);
+
+    private DistributedAnalysisQueue distributedQueue;
+    private PriorityLaneQueue driveQueue;
+    private SimpleMeterRegistry meterRegistry;
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+    private DistributedJobClaimer claimer;
+
+    @BeforeEach
+    void setUp() {
+        distributedQueue = mock(DistributedAnalysisQueue.class);
+        when(distributedQueue.getLeaseMs()).thenReturn(30L);
+        when(distributedQueue.claim(any(), anyInt())).thenReturn(List.of());
+        driveQueue = new PriorityLaneQueue(Map.of(AnalysisPriority.INTERACTIVE, 10,
+                AnalysisPriority.NORMAL, 10, AnalysisPriority.BACKFILL, 10), WEIGHTS);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (claimer != null) claimer.shutdown();
+    }
+
+    @Test
+    public void testRejectedItemsAreReleasedAndActiveLeasesRenewed() {
+        // Arrange - drive2는 로컬 lane에 넣지 못함
+        when(distributedQueue.claim(eq(AnalysisPriority.NORMAL), anyInt()))
+                .thenReturn(List.of(item("drive1"), item("drive2")), List.of());
+        active.add("drive1");
+
+        // Act
+        claimer = new DistributedJobClaimer(distributedQueue, driveQueue, WEIGHTS, 10, 10L,
+                item -> !item.getDriveId().equals("drive2"), () -> active, meterRegistry);
+
+        // Assert - 넣지 못한 항목은 바로 lease를 풀고, 받은 항목만 lease를 연장
+        verify(distributedQueue, timeout(5000)).release(List.of("drive2"));
+        verify(distributedQueue, never()).release(List.of("drive1"));
+        verify(distributedQueue, timeout(5000).atLeastOnce()).renew(List.of("drive1"));
+        // claimBatchSize(10)를 가중치 3/10으로 나눈 만큼
+        verify(distributedQueue, atLeastOnce()).claim(AnalysisPriority.NORMAL, 3);
+        assertEquals(2.0, meterRegistry.get("analysis.distributed.claimed").counter().count());
+    }
+
+    @Test
+    public void testStopClaimingKeepsRenewingAndReleaseReturnsUnfinished() {
+        // Arrange
+        claimer = new DistributedJobClaimer(distributedQueue, driveQueue, WEIGHTS, 10, 10L,
+                item -> true, () -> active, meterRegistry);
+        verify(distributedQueue, timeout(5000).atLeastOnce()).claim(any(), anyInt());
+
+        // Act - 같은 스레드에서 도는 연장이 한 번 끝나면 진행 중이던 claim도 끝난 것
+        claimer.stopClaiming();
+        active.add("drive1");
+        verify(distributedQueue, timeout(5000).atLeastOnce()).renew(List.of("drive1"));
+        clearInvocations(distributedQueue);
+
+        // Assert - 종료 중에도 lease는 연장하지만 새 항목은 가져가지 않음
+        verify(distributedQueue, timeout(5000).atLeastOnce()).renew(List.of("drive1"));
+        verify(distributedQueue, never()).claim(any(), anyInt());
+        assertEquals(1, claimer.release(List.of(new AnalysisJob("drive1"))));
+        verify(distributedQueue).release(List.of("drive1"));
+    }
+
+    private static AnalysisQueueItem item(String driveId) {
+        AnalysisQueueItem item = new AnalysisQueueItem();
+        item.setDriveId(driveId);
+        item.setPriority(AnalysisPriority.NORMAL);
+        return item;
+    }
+}
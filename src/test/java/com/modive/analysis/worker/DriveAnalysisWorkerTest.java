@@ -0,0 +1,665 @@
+package com.modive.analysis.worker;
+
+import com.modive.analysis.entity.AnalysisQueueItem;
+import com.modive.analysis.entity.DeadLetter;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.repository.DeadLetterRepository;
+import com.modive.analysis.repository.DriveRepository;
+import com.modive.analysis.service.AnalysisDataFromAthenaService;
+import com.modive.analysis.service.AthenaClientService;
+import com.modive.analysis.service.DriveAnalysisCollector;
+import com.modive.analysis.service.EventDataService;
+import com.modive.analysis.telemetry.TelemetryBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.athena.model.TooManyRequestsException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class DriveAnalysisWorkerTest {
+
+    private AthenaClientService athenaClientService;
+    private AnalysisDataFromAthenaService analysisDataFromAthenaService;
+    private EventDataService eventDataService;
+    private DriveRepository driveRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private AnalysisJobRegistry analysisJobRegistry;
+    private DeadLetterRepository deadLetterRepository;
+    private AnalysisJournal analysisJournal;
+    private DistributedAnalysisQueue distributedQueue;
+    private boolean adaptiveConcurrency;
+    private String analysisMode = "columnar";
+    private ApplicationEventPublisher eventPublisher;
+
+    private DriveAnalysisWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        athenaClientService = mock(AthenaClientService.class);
+        analysisDataFromAthenaService = mock(AnalysisDataFromAthenaService.class);
+        eventDataService = mock(EventDataService.class);
+        driveRepository = mock(DriveRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        analysisJobRegistry = new AnalysisJobRegistry();
+        ReflectionTestUtils.setField(analysisJobRegistry, "ttlSeconds", 600L);
+        deadLetterRepository = mock(DeadLetterRepository.class);
+        analysisJournal = mock(AnalysisJournal.class);
+        distributedQueue = mock(DistributedAnalysisQueue.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(driveRepository.saveAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        worker = createWorker(10, 10);
+    }
+
+    private DriveAnalysisWorker createWorker(int queueCapacity, int maxInFlight) {
+        return createWorker(queueCapacity, maxInFlight, null);
+    }
+
+    private DriveAnalysisWorker createWorker(int queueCapacity, int maxInFlight, Path walDir) {
+        AnalysisQueueDurability queueDurability = new AnalysisQueueDurability(analysisJournal, meterRegistry);
+        if (walDir != null) {
+            ReflectionTestUtils.setField(queueDurability, "walEnabled", true);
+            ReflectionTestUtils.setField(queueDurability, "walDir", walDir.toString());
+            ReflectionTestUtils.setField(queueDurability, "walSegmentBytes", 4096);
+            ReflectionTestUtils.setField(queueDurability, "walFsync", "none");
+            ReflectionTestUtils.setField(queueDurability, "walFsyncIntervalMs", 10L);
+            ReflectionTestUtils.setField(queueDurability, "walMaxSealedSegments", 2);
+        }
+        queueDurability.afterPropertiesSet();
+        DriveAnalysisWorker worker = new DriveAnalysisWorker(athenaClientService, analysisDataFromAthenaService,
+                eventDataService, driveRepository, meterRegistry, analysisJobRegistry, deadLetterRepository,
+                distributedQueue, queueDurability, eventPublisher);
+
+        // @Value로 주입되는 값들을 ReflectionTestUtils로 설정
+        ReflectionTestUtils.setField(worker, "interactiveCapacity", queueCapacity);
+        ReflectionTestUtils.setField(worker, "normalCapacity", queueCapacity);
+        ReflectionTestUtils.setField(worker, "backfillCapacity", queueCapacity);
+        ReflectionTestUtils.setField(worker, "interactiveWeight", 6);
+        ReflectionTestUtils.setField(worker, "normalWeight", 3);
+        ReflectionTestUtils.setField(worker, "backfillWeight", 1);
+        ReflectionTestUtils.setField(worker, "retryAfterSeconds", 5);
+        ReflectionTestUtils.setField(worker, "fetchConcurrency", 1);
+        ReflectionTestUtils.setField(worker, "fetchQueueCapacity", 10);
+        ReflectionTestUtils.setField(worker, "analysisConcurrency", 2);
+        ReflectionTestUtils.setField(worker, "analysisQueueCapacity", 10);
+        ReflectionTestUtils.setField(worker, "eventsConcurrency", 2);
+        ReflectionTestUtils.setField(worker, "eventsQueueCapacity", 10);
+        ReflectionTestUtils.setField(worker, "persistConcurrency", 2);
+        ReflectionTestUtils.setField(worker, "persistQueueCapacity", 10);
+        ReflectionTestUtils.setField(worker, "maxInFlight", maxInFlight);
+        ReflectionTestUtils.setField(worker, "concurrencyAdaptive", adaptiveConcurrency);
+        ReflectionTestUtils.setField(worker, "concurrencyInitialLimit", maxInFlight);
+        ReflectionTestUtils.setField(worker, "concurrencyMinLimit", 1);
+        ReflectionTestUtils.setField(worker, "concurrencyBackoffRatio", 0.5);
+        ReflectionTestUtils.setField(worker, "concurrencyLatencyTolerance", 2.0);
+        ReflectionTestUtils.setField(worker, "batchMaxSize", 1);
+        ReflectionTestUtils.setField(worker, "batchMaxWaitMs", 0L);
+        ReflectionTestUtils.setField(worker, "batchMetricsEnabled", true);
+        ReflectionTestUtils.setField(worker, "analysisMode", analysisMode);
+        ReflectionTestUtils.setField(worker, "throttledMaxAttempts", 3);
+        ReflectionTestUtils.setField(worker, "throttledBaseDelayMs", 10L);
+        ReflectionTestUtils.setField(worker, "throttledMaxDelayMs", 20L);
+        ReflectionTestUtils.setField(worker, "transientMaxAttempts", 2);
+        ReflectionTestUtils.setField(worker, "transientBaseDelayMs", 10L);
+        ReflectionTestUtils.setField(worker, "transientMaxDelayMs", 20L);
+        ReflectionTestUtils.setField(worker, "shutdownGracePeriodMs", 200L);
+        ReflectionTestUtils.setField(worker, "claimIntervalMs", 10L);
+        ReflectionTestUtils.setField(worker, "claimBatchSize", 10);
+        worker.afterPropertiesSet();
+        return worker;
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+        analysisJobRegistry.shutdown();
+    }
+
+    @Test
+    public void testEventLoadRunsWhileAthenaQueryIsPending() throws Exception {
+        // Arrange - Athena 결과는 테스트에서 직접 완료
+        CompletableFuture<Map<String, TelemetryBatch>> athenaResult = new CompletableFuture<>();
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(athenaResult);
+
+        Drive analyzed = new Drive();
+        analyzed.setDriveId("drive1");
+        analyzed.setUserId("user1");
+        analyzed.setActiveDriveDurationSec(120);
+        when(analysisDataFromAthenaService.analysisData(any(TelemetryBatch.class))).thenReturn(analyzed);
+
+        Drive events = new Drive();
+        events.setDriveId("drive1");
+        events.setSharpTurns(List.of(Instant.parse("2025-05-31T01:00:00Z")));
+        when(eventDataService.loadDriveData("drive1")).thenReturn(events);
+
+        // Act
+        worker.enqueue("drive1");
+
+        // Assert - Athena가 끝나기 전에 RDS 이벤트 조회가 이미 수행됨
+        verify(eventDataService, timeout(5000)).loadDriveData("drive1");
+        verify(driveRepository, never()).saveAsync(any());
+
+        athenaResult.complete(Map.of("drive1", TelemetryBatch.builder("drive1", "user1").add(0L, 10).build()));
+
+        ArgumentCaptor<Drive> saved = ArgumentCaptor.forClass(Drive.class);
+        verify(driveRepository, timeout(5000)).saveAsync(saved.capture());
+        assertEquals("user1", saved.getValue().getUserId());
+        assertEquals(120, saved.getValue().getActiveDriveDurationSec());
+        assertEquals(events.getSharpTurns(), saved.getValue().getSharpTurns());
+
+        // 단계 시간은 작업이 끝난 뒤 기록되므로 잠시 기다림
+        assertEquals(1, awaitStageCount("events"));
+        assertEquals(1, awaitStageCount("analysis"));
+        assertEquals(1, awaitStageCount("fetch"));
+    }
+
+    @Test
+    public void testMissingAthenaRowsSkipSave() {
+        // Arrange
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of()));
+        when(eventDataService.loadDriveData("drive1")).thenReturn(new Drive());
+
+        // Act
+        AnalysisJob job = worker.enqueue("drive1");
+
+        // Assert
+        assertThrows(ExecutionException.class, () -> job.completion().get(5, TimeUnit.SECONDS));
+        verify(eventDataService).loadDriveData("drive1");
+        verify(analysisDataFromAthenaService, never()).analysisData(any(TelemetryBatch.class));
+        verify(driveRepository, never()).saveAsync(any());
+
+        assertSame(job, analysisJobRegistry.find("drive1"));
+        assertEquals(AnalysisJobState.FAILED, job.getState());
+        assertTrue(job.toStatus().getError().contains("No Athena rows"));
+
+        // 데이터가 없는 건 재시도하지 않고 바로 dead-letter로 보냄
+        verify(athenaClientService, times(1)).queryDrivesTelemetryAsync(anyCollection(), any());
+        ArgumentCaptor<DeadLetter> deadLetter = ArgumentCaptor.forClass(DeadLetter.class);
+        verify(deadLetterRepository, timeout(5000)).save(deadLetter.capture());
+        assertEquals("drive1", deadLetter.getValue().getDriveId());
+        assertEquals("PERMANENT", deadLetter.getValue().getFailureKind());
+        assertEquals(1, deadLetter.getValue().getFailedAttempts());
+    }
+
+    @Test
+    public void testJobStaysPersistingUntilBatchWriteCompletes() throws Exception {
+        // Arrange - write-behind 버퍼에 넣었지만 BatchWriteItem이 아직 끝나지 않음
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        when(driveRepository.saveAsync(any())).thenReturn(written);
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(CompletableFuture.completedFuture(
+                Map.of("drive1", TelemetryBatch.builder("drive1", "user1").add(0L, 10).build())));
+        when(analysisDataFromAthenaService.analysisData(any(TelemetryBatch.class))).thenReturn(new Drive());
+        when(eventDataService.loadDriveData("drive1")).thenReturn(new Drive());
+
+        // Act
+        AnalysisJob job = worker.enqueue("drive1");
+        verify(driveRepository, timeout(5000)).saveAsync(any());
+
+        // Assert - 저장이 끝나야 완료
+        assertThrows(TimeoutException.class, () -> job.completion().get(200, TimeUnit.MILLISECONDS));
+        assertEquals(AnalysisJobState.PERSISTING, job.getState());
+        written.complete(null);
+        job.completion().get(5, TimeUnit.SECONDS);
+        assertEquals(AnalysisJobState.DONE, job.getState());
+    }
+
+    @Test
+    public void testThrottledFetchLowersAdaptiveConcurrencyLimit() throws Exception {
+        // Arrange - 진행 한도를 조정하는 worker (한도 10, throttling되면 절반)
+        worker.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        adaptiveConcurrency = true;
+        worker = createWorker(10, 10);
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any()))
+                .thenReturn(CompletableFuture.failedFuture(TooManyRequestsException.builder().message("Rate exceeded").build()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        Map.of("drive1", TelemetryBatch.builder("drive1", "user1").add(0L, 10).build())));
+        when(analysisDataFromAthenaService.analysisData(any(TelemetryBatch.class))).thenReturn(new Drive());
+        when(eventDataService.loadDriveData("drive1")).thenReturn(new Drive());
+        assertEquals(10.0, meterRegistry.get("analysis.concurrency.limit").gauge().value());
+
+        // Act
+        worker.enqueue("drive1").completion().get(5, TimeUnit.SECONDS);
+
+        // Assert - throttling으로 한도가 줄고, 한도를 거의 쓰지 않은 재시도 성공으로는 다시 늘지 않음
+        assertEquals(5.0, meterRegistry.get("analysis.concurrency.limit").gauge().value());
+        assertEquals(0.0, meterRegistry.get("analysis.concurrency.in-flight").gauge().value());
+    }
+
+    @Test
+    public void testThrottledFetchIsRetriedWithBackoff() throws Exception {
+        // Arrange - 첫 Athena 조회는 throttling, 두 번째는 성공
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any()))
+                .thenReturn(CompletableFuture.failedFuture(TooManyRequestsException.builder().message("Rate exceeded").build()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        Map.of("drive1", TelemetryBatch.builder("drive1", "user1").add(0L, 10).build())));
+        when(analysisDataFromAthenaService.analysisData(any(TelemetryBatch.class))).thenReturn(new Drive());
+        when(eventDataService.loadDriveData("drive1")).thenReturn(new Drive());
+
+        // Act
+        AnalysisJob job = worker.enqueue("drive1");
+        job.completion().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(AnalysisJobState.DONE, job.getState());
+        assertEquals(1, job.getFailedAttempts());
+        assertTrue(job.toStatus().getTimestamps().containsKey(AnalysisJobState.RETRYING));
+        verify(athenaClientService, times(2)).queryDrivesTelemetryAsync(anyCollection(), any());
+        verify(driveRepository, times(1)).saveAsync(any());
+        verify(deadLetterRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.get("analysis.retry.scheduled").tag("kind", "throttled").counter().count());
+    }
+
+    @Test
+    public void testExhaustedRetriesGoToDeadLetter() {
+        // Arrange - 매번 타임아웃
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any()))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new TimeoutException("Athena timed out")));
+        when(eventDataService.loadDriveData("drive1")).thenReturn(new Drive());
+
+        // Act
+        AnalysisJob job = worker.enqueue("drive1");
+
+        // Assert - 최대 2번 시도 후 실패
+        assertThrows(ExecutionException.class, () -> job.completion().get(5, TimeUnit.SECONDS));
+        assertEquals(AnalysisJobState.FAILED, job.getState());
+        assertEquals(2, job.getFailedAttempts());
+        verify(athenaClientService, times(2)).queryDrivesTelemetryAsync(anyCollection(), any());
+
+        ArgumentCaptor<DeadLetter> deadLetter = ArgumentCaptor.forClass(DeadLetter.class);
+        verify(deadLetterRepository, timeout(5000)).save(deadLetter.capture());
+        assertEquals("TRANSIENT", deadLetter.getValue().getFailureKind());
+        assertEquals(2, deadLetter.getValue().getFailedAttempts());
+        assertEquals("normal", deadLetter.getValue().getPriority());
+    }
+
+    @Test
+    public void testReplayDeadLettersEnqueuesAndDeletes() {
+        // Arrange - Athena 결과가 끝나지 않아 다시 넣은 작업이 진행 중으로 남음
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(new CompletableFuture<>());
+
+        DeadLetter first = new DeadLetter();
+        first.setDriveId("drive1");
+        first.setPriority("backfill");
+        DeadLetter second = new DeadLetter();
+        second.setDriveId("drive2");
+        second.setPriority("normal");
+
+        // Act
+        List<String> replayed = worker.replayDeadLetters(List.of(first, second), null);
+
+        // Assert - 원래 우선순위로 다시 넣고 dead-letter에서 삭제
+        assertEquals(List.of("drive1", "drive2"), replayed);
+        assertEquals(AnalysisPriority.BACKFILL, worker.findActiveJob("drive1").getPriority());
+        assertEquals(AnalysisPriority.NORMAL, worker.findActiveJob("drive2").getPriority());
+        verify(deadLetterRepository).delete(first);
+        verify(deadLetterRepository).delete(second);
+    }
+
+    @Test
+    public void testDuplicateDriveIdIsCoalescedIntoActiveJob() throws Exception {
+        // Arrange - Athena 결과를 늦게 완료해서 첫 작업이 진행 중인 상태를 만듦
+        CompletableFuture<Map<String, TelemetryBatch>> athenaResult = new CompletableFuture<>();
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(athenaResult);
+        when(analysisDataFromAthenaService.analysisData(any(TelemetryBatch.class))).thenReturn(new Drive());
+        when(eventDataService.loadDriveData("drive1")).thenReturn(new Drive());
+
+        // Act
+        AnalysisJob first = worker.enqueue("drive1");
+        AnalysisJob second = worker.enqueue("drive1");
+
+        // Assert - 같은 핸들이 반환되고 Athena 조회/저장은 한 번만 수행
+        assertSame(first, second);
+        assertEquals(2, first.getRequestCount());
+        assertEquals(1.0, meterRegistry.get("analysis.queue.coalesced").counter().count());
+
+        athenaResult.complete(Map.of("drive1", TelemetryBatch.builder("drive1", "user1").add(0L, 10).build()));
+        first.completion().get(5, TimeUnit.SECONDS);
+
+        verify(athenaClientService, times(1)).queryDrivesTelemetryAsync(anyCollection(), any());
+        verify(driveRepository, times(1)).saveAsync(any());
+
+        // 상태와 단계별 진입 시각이 기록되고, 완료 후에도 상태 조회 가능
+        assertEquals(AnalysisJobState.DONE, first.getState());
+        assertTrue(first.toStatus().getTimestamps().keySet().containsAll(List.of(
+                AnalysisJobState.QUEUED, AnalysisJobState.FETCHING, AnalysisJobState.ANALYZING,
+                AnalysisJobState.PERSISTING, AnalysisJobState.DONE)));
+        assertSame(first, analysisJobRegistry.find("drive1"));
+        assertEquals(1, meterRegistry.get("analysis.lane.latency").tag("lane", "normal").timer().count());
+
+        // 완료된 뒤의 요청은 새 작업
+        assertNull(worker.findActiveJob("drive1"));
+        assertNotSame(first, worker.enqueue("drive1"));
+    }
+
+    @Test
+    public void testCancelStopsPendingAthenaQuery() throws Exception {
+        // Arrange - Athena 쿼리가 끝나지 않은 상태에서 취소
+        CompletableFuture<Map<String, TelemetryBatch>> athenaResult = new CompletableFuture<>();
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(athenaResult);
+
+        // Act
+        AnalysisJob job = worker.enqueue("drive1", AnalysisPriority.NORMAL, Duration.ofSeconds(30));
+        verify(athenaClientService, timeout(5000)).queryDrivesTelemetryAsync(anyCollection(), eq(Duration.ofSeconds(30)));
+        assertTrue(job.cancel());
+
+        // Assert - 배치의 유일한 작업이 취소되었으므로 Athena 쿼리 Future도 취소되고, 재시도/dead-letter 없음
+        assertThrows(CancellationException.class, () -> athenaResult.get(5, TimeUnit.SECONDS));
+        assertEquals(AnalysisJobState.CANCELLED, job.getState());
+        assertThrows(CancellationException.class, () -> job.completion().get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("analysis.jobs.cancelled").counter().count());
+        assertNull(worker.findActiveJob("drive1"));
+
+        Thread.sleep(100);
+        verify(deadLetterRepository, never()).save(any());
+        verify(driveRepository, never()).saveAsync(any());
+        assertEquals(AnalysisJobState.CANCELLED, job.getState());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStopCheckpointsUnfinishedJobsToJournal() {
+        // Arrange - drive1은 Athena 쿼리가 끝나지 않고, 나머지는 대기 중
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(new CompletableFuture<>());
+        worker.start();
+        worker.enqueue("drive1");
+        verify(athenaClientService, timeout(5000)).queryDrivesTelemetryAsync(anyCollection(), any());
+        worker.enqueue("drive2", AnalysisPriority.BACKFILL);
+        worker.enqueue("drive3", AnalysisPriority.INTERACTIVE);
+
+        // Act
+        worker.stop();
+
+        // Assert - readiness를 내리고, grace period 동안 끝나지 않은 작업을 우선순위 순서로 기록
+        ArgumentCaptor<AvailabilityChangeEvent<ReadinessState>> event = ArgumentCaptor.forClass(AvailabilityChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, event.getValue().getState());
+
+        ArgumentCaptor<Map<String, AnalysisPriority>> journal = ArgumentCaptor.forClass(Map.class);
+        verify(analysisJournal).write(journal.capture());
+        assertEquals(List.of("drive3", "drive1", "drive2"), List.copyOf(journal.getValue().keySet()));
+        assertEquals(AnalysisPriority.BACKFILL, journal.getValue().get("drive2"));
+        assertEquals(3.0, meterRegistry.get("analysis.journal.checkpointed").counter().count());
+        assertFalse(worker.isRunning());
+
+        // 종료 중에는 새 요청을 받지 않고, 중단된 쿼리는 dead-letter로 보내지 않음
+        assertThrows(AnalysisWorkerDrainingException.class, () -> worker.enqueue("drive4"));
+        verify(deadLetterRepository, after(100).never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStopWaitsForInProgressJobWithinGracePeriod() {
+        // Arrange - grace period는 길고, drive1의 Athena 쿼리는 종료를 시작한 뒤에 끝남
+        ReflectionTestUtils.setField(worker, "shutdownGracePeriodMs", 10_000L);
+        CompletableFuture<Map<String, TelemetryBatch>> athenaResult = new CompletableFuture<>();
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(athenaResult);
+        when(analysisDataFromAthenaService.analysisData(any(TelemetryBatch.class))).thenReturn(new Drive());
+        when(eventDataService.loadDriveData("drive1")).thenReturn(new Drive());
+        worker.start();
+        AnalysisJob job = worker.enqueue("drive1");
+        verify(athenaClientService, timeout(5000)).queryDrivesTelemetryAsync(anyCollection(), any());
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> athenaResult.complete(
+                Map.of("drive1", TelemetryBatch.builder("drive1", "user1").add(0L, 10).build())));
+
+        // Act
+        long startedAt = System.nanoTime();
+        worker.stop();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // Assert - 작업이 끝나자마자 종료하고, 끝난 작업은 journal에 남기지 않음
+        assertTrue(elapsedMs < 5000, "stop took " + elapsedMs + "ms");
+        assertEquals(AnalysisJobState.DONE, job.getState());
+        verify(driveRepository).saveAsync(any());
+        ArgumentCaptor<Map<String, AnalysisPriority>> journal = ArgumentCaptor.forClass(Map.class);
+        verify(analysisJournal).write(journal.capture());
+        assertTrue(journal.getValue().isEmpty());
+    }
+
+    @Test
+    public void testStartReplaysJournal() throws Exception {
+        // Arrange
+        Map<String, AnalysisPriority> entries = new LinkedHashMap<>();
+        entries.put("drive1", AnalysisPriority.INTERACTIVE);
+        entries.put("drive2", AnalysisPriority.NORMAL);
+        when(analysisJournal.read()).thenReturn(entries);
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(new CompletableFuture<>());
+
+        // Act
+        worker.start();
+
+        // Assert - 기록된 우선순위로 다시 큐에 넣고 journal을 비움
+        assertTrue(worker.isRunning());
+        assertEquals(AnalysisPriority.INTERACTIVE, worker.findActiveJob("drive1").getPriority());
+        assertEquals(AnalysisPriority.NORMAL, worker.findActiveJob("drive2").getPriority());
+        assertEquals(2.0, meterRegistry.get("analysis.journal.replayed").counter().count());
+        verify(analysisJournal).write(Map.of());
+    }
+
+    @Test
+    public void testWriteAheadLogRecoversQueuedDrivesAfterCrash(@TempDir Path walDir) throws Exception {
+        // Arrange - drive1은 완료, drive2는 Athena 쿼리가 끝나지 않은 상태에서 워커가 죽음 (stop 없이 종료)
+        CompletableFuture<Map<String, TelemetryBatch>> pendingResult = new CompletableFuture<>();
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        Map.of("drive1", TelemetryBatch.builder("drive1", "user1").add(0L, 10).build())))
+                .thenReturn(pendingResult);
+        when(analysisDataFromAthenaService.analysisData(any(TelemetryBatch.class))).thenReturn(new Drive());
+        when(eventDataService.loadDriveData(any())).thenReturn(new Drive());
+
+        DriveAnalysisWorker crashed = createWorker(10, 10, walDir);
+        crashed.start();
+        crashed.enqueue("drive1").completion().get(5, TimeUnit.SECONDS);
+        crashed.enqueue("drive2", AnalysisPriority.INTERACTIVE);
+        verify(athenaClientService, timeout(5000).times(2)).queryDrivesTelemetryAsync(anyCollection(), any());
+        crashed.shutdown();
+
+        // Act - 같은 디렉터리로 새 워커 시작
+        reset(athenaClientService);
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(new CompletableFuture<>());
+        DriveAnalysisWorker restarted = createWorker(10, 10, walDir);
+        try {
+            restarted.start();
+
+            // Assert - ACK된 drive1은 제외하고 drive2만 원래 우선순위로 복구
+            assertNull(restarted.findActiveJob("drive1"));
+            assertEquals(AnalysisPriority.INTERACTIVE, restarted.findActiveJob("drive2").getPriority());
+            assertEquals(1.0, meterRegistry.get("analysis.journal.replayed").counter().count());
+            verify(analysisJournal, never()).write(any());
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    @Test
+    public void testDistributedModeSubmitsToSharedQueue() {
+        // Arrange
+        worker.shutdown();
+        when(distributedQueue.isEnabled()).thenReturn(true);
+        when(distributedQueue.getLeaseMs()).thenReturn(60_000L);
+        when(distributedQueue.offer("drive1", AnalysisPriority.NORMAL, null)).thenReturn(true);
+        when(distributedQueue.offer("drive2", AnalysisPriority.NORMAL, null)).thenReturn(false);
+        when(distributedQueue.offer("drive3", AnalysisPriority.NORMAL, null))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'drive3'"));
+        worker = createWorker(10, 10);
+
+        // Act
+        AnalysisJob job = worker.enqueue("drive1");
+        worker.enqueue("drive2");
+        worker.enqueue("drive3");
+
+        // Assert - 로컬 큐에는 넣지 않고, 이미 있거나 동시에 들어온 driveId는 합쳐진 요청으로 셈
+        assertEquals(AnalysisJobState.QUEUED, job.getState());
+        assertNull(worker.findActiveJob("drive1"));
+        assertNull(analysisJobRegistry.find("drive1")); // 가져간 replica가 처리할 때 등록하므로 controller는 statusUrl을 주지 않음
+        assertEquals(2.0, meterRegistry.get("analysis.queue.coalesced").counter().count());
+    }
+
+    @Test
+    public void testDistributedModeProcessesClaimedJobsAndDeletesThem() throws Exception {
+        // Arrange - 공유 대기열에서 drive1을 가져와 처리
+        worker.shutdown();
+        when(distributedQueue.isEnabled()).thenReturn(true);
+        when(distributedQueue.getLeaseMs()).thenReturn(60_000L);
+        AnalysisQueueItem item = new AnalysisQueueItem();
+        item.setDriveId("drive1");
+        item.setPriority(AnalysisPriority.INTERACTIVE);
+        item.setQueryTimeoutMs(5_000L);
+        when(distributedQueue.claim(any(), anyInt())).thenReturn(List.of());
+        when(distributedQueue.claim(eq(AnalysisPriority.INTERACTIVE), anyInt())).thenReturn(List.of(item), List.of());
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(CompletableFuture.completedFuture(
+                Map.of("drive1", TelemetryBatch.builder("drive1", "user1").add(0L, 10).build())));
+        when(analysisDataFromAthenaService.analysisData(any(TelemetryBatch.class))).thenReturn(new Drive());
+        when(eventDataService.loadDriveData("drive1")).thenReturn(new Drive());
+
+        // Act
+        worker = createWorker(10, 10);
+
+        // Assert - 요청에 지정한 기한으로 조회하고, 저장한 뒤 공유 대기열에서 삭제
+        verify(distributedQueue, timeout(5000)).complete("drive1");
+        verify(athenaClientService).queryDrivesTelemetryAsync(anyCollection(), eq(Duration.ofMillis(5_000)));
+        verify(driveRepository).saveAsync(any());
+        assertEquals(1.0, meterRegistry.get("analysis.distributed.claimed").counter().count());
+        // INTERACTIVE lane에는 claimBatchSize(10)를 가중치 6/10으로 나눈 만큼만 가져옴
+        verify(distributedQueue, atLeastOnce()).claim(AnalysisPriority.INTERACTIVE, 6);
+    }
+
+    @Test
+    public void testDistributedModeReleasesLeasesOnStop() {
+        // Arrange - drive1을 가져왔지만 Athena 쿼리가 끝나지 않음
+        worker.shutdown();
+        when(distributedQueue.isEnabled()).thenReturn(true);
+        when(distributedQueue.getLeaseMs()).thenReturn(60_000L);
+        AnalysisQueueItem item = new AnalysisQueueItem();
+        item.setDriveId("drive1");
+        item.setPriority(AnalysisPriority.NORMAL);
+        when(distributedQueue.claim(any(), anyInt())).thenReturn(List.of());
+        when(distributedQueue.claim(eq(AnalysisPriority.NORMAL), anyInt())).thenReturn(List.of(item), List.of());
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(new CompletableFuture<>());
+        worker = createWorker(10, 10);
+        worker.start();
+        verify(athenaClientService, timeout(5000)).queryDrivesTelemetryAsync(anyCollection(), any());
+
+        // Act
+        worker.stop();
+
+        // Assert - journal 대신 lease를 풀어 다른 replica가 가져가게 하고, 삭제하지 않음
+        verify(distributedQueue).release(List.of("drive1"));
+        verify(analysisJournal, never()).write(any());
+        verify(distributedQueue, after(100).never()).complete(any());
+    }
+
+    @Test
+    public void testFetchThreadIsNotHeldWhileAthenaQueryRuns() {
+        // Arrange - fetch 단계 스레드 1개, 배치 크기 1, 쿼리는 끝나지 않음
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenAnswer(invocation -> new CompletableFuture<>());
+        when(eventDataService.loadDriveData(any())).thenReturn(new Drive());
+
+        // Act
+        worker.enqueue("drive1");
+        worker.enqueue("drive2");
+
+        // Assert - 첫 쿼리를 기다리느라 스레드가 묶이지 않으므로 두 번째 쿼리도 시작됨
+        verify(athenaClientService, timeout(5000).times(2)).queryDrivesTelemetryAsync(anyCollection(), any());
+    }
+
+    @Test
+    public void testShutdownCancelsPendingAthenaQuery() {
+        // Arrange
+        CompletableFuture<Map<String, TelemetryBatch>> athenaResult = new CompletableFuture<>();
+        when(athenaClientService.queryDrivesTelemetryAsync(anyCollection(), any())).thenReturn(athenaResult);
+        when(eventDataService.loadDriveData("drive1")).thenReturn(new Drive());
+        worker.enqueue("drive1");
+        verify(athenaClientService, timeout(5000)).queryDrivesTelemetryAsync(anyCollection(), any());
+
+        // Act
+        worker.shutdown();
+
+        // Assert
+        assertTrue(athenaResult.isCancelled());
+    }
+
+    @Test
+    public void testStreamingModeAnalyzesWithoutAnalysisStage() throws Exception {
+        // Arrange - streaming 모드는 Athena 결과를 받으면서 이미 분석함
+        worker.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        analysisMode = "streaming";
+        worker = createWorker(10, 10);
+        DriveAnalysisCollector collector = new DriveAnalysisCollector();
+        collector.startDrive("drive1", "user1");
+        collector.accept(0L, 10);
+        collector.accept(1_000_000L, 20);
+        when(athenaClientService.streamDrivesAsync(anyCollection(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(collector));
+        when(eventDataService.loadDriveData("drive1")).thenReturn(new Drive());
+
+        // Act
+        worker.enqueue("drive1").completion().get(5, TimeUnit.SECONDS);
+
+        // Assert - 하는 일이 없는 analysis 단계의 스레드 풀과 메트릭은 만들지 않음
+        ArgumentCaptor<Drive> saved = ArgumentCaptor.forClass(Drive.class);
+        verify(driveRepository).saveAsync(saved.capture());
+        assertEquals("user1", saved.getValue().getUserId());
+        assertNull(meterRegistry.find("analysis.stage.duration").tag("stage", "analysis").timer());
+        assertEquals(1, awaitStageCount("fetch"));
+    }
+
+    @Test
+    public void testMergeDriveResultsOnRealDrive() {
+        // Arrange - Drive에는 속성 이름 상수(static final)가 있으므로 인스턴스 필드만 합쳐야 함
+        Drive analysis = new Drive();
+        analysis.setStartTime(Instant.parse("2025-05-31T01:00:00Z"));
+        analysis.setActiveDriveDurationSec(1700);
+        analysis.setSpeedLogs(List.of(new Drive.SpeedLog(0, 42)));
+        Drive events = new Drive();
+        events.setStartTime(Instant.parse("2025-05-30T01:00:00Z"));
+        events.setSharpTurns(List.of(Instant.parse("2025-05-31T01:05:00Z")));
+
+        // Act
+        Drive merged = worker.mergeDriveResults(analysis, events);
+
+        // Assert
+        assertEquals(analysis.getStartTime(), merged.getStartTime());
+        assertEquals(1700, merged.getActiveDriveDurationSec());
+        assertEquals(analysis.getSpeedLogs(), merged.getSpeedLogs());
+        assertEquals(events.getSharpTurns(), merged.getSharpTurns());
+    }
+
+    private long awaitStageCount(String stage) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        long count = 0;
+        while (System.currentTimeMillis() < deadline) {
+            count = meterRegistry.get("analysis.stage.duration").tag("stage", stage).timer().count();
+            if (count > 0) break;
+            Thread.sleep(10);
+        }
+        return count;
+    }
+}
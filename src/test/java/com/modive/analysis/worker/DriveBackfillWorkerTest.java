@@ -0,0 +1,225 @@
+package com.modive.analysis.worker;
+
+import com.modive.analysis.dto.BackfillRequestDTO;
+import com.modive.analysis.entity.BackfillJob;
+import com.modive.analysis.entity.Drive;
+import com.modive.analysis.repository.BackfillJobRepository;
+import com.modive.analysis.repository.DriveRepository;
+import com.modive.analysis.service.AthenaClientService;
+import com.modive.analysis.service.DriveAnalysisCollector;
+import com.modive.analysis.service.EventDataService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class DriveBackfillWorkerTest {
+
+    private static final long SECOND_MICROS = 1_000_000L;
+
+    private AthenaClientService athenaClientService;
+    private EventDataService eventDataService;
+    private DriveRepository driveRepository;
+    private BackfillJobRepository backfillJobRepository;
+    private DriveAnalysisWorker driveAnalysisWorker;
+    private SimpleMeterRegistry meterRegistry;
+
+    private DriveBackfillWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        athenaClientService = mock(AthenaClientService.class);
+        eventDataService = mock(EventDataService.class);
+        driveRepository = mock(DriveRepository.class);
+        backfillJobRepository = mock(BackfillJobRepository.class);
+        driveAnalysisWorker = mock(DriveAnalysisWorker.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(driveAnalysisWorker.mergeDriveResults(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventDataService.loadDrivesData(anyCollection())).thenAnswer(invocation -> {
+            Map<String, Drive> events = new HashMap<>();
+            for (String driveId : invocation.<Collection<String>>getArgument(0)) {
+                events.put(driveId, new Drive());
+            }
+            return events;
+        });
+
+        worker = new DriveBackfillWorker(athenaClientService, eventDataService, driveRepository,
+                backfillJobRepository, driveAnalysisWorker, meterRegistry);
+        ReflectionTestUtils.setField(worker, "batchSize", 10);
+        ReflectionTestUtils.setField(worker, "concurrentBatches", 2);
+        ReflectionTestUtils.setField(worker, "defaultMaxDrivesPerSecond", 100_000.0);
+        ReflectionTestUtils.setField(worker, "maxRunning", 1);
+        worker.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    @Test
+    public void testBackfillProcessesAllDrivesInBatches() throws Exception {
+        // Arrange - 25개 중 drive7은 Athena 결과가 없음
+        List<String> driveIds = driveIds(0, 25);
+        when(athenaClientService.startDriveIdQueryAsync(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture("exec-1"));
+        when(athenaClientService.readDriveIds("exec-1")).thenReturn(driveIds);
+        stubTelemetry("drive7");
+
+        // Act
+        BackfillJob job = worker.start(new BackfillRequestDTO(
+                Instant.parse("2025-05-01T00:00:00Z"), Instant.parse("2025-06-01T00:00:00Z"), null, null));
+        awaitFinished(job);
+
+        // Assert - 10개씩 3개 배치로 조회하고 배치 단위로 저장
+        assertEquals(BackfillJob.Status.COMPLETED, job.getStatus());
+        assertEquals("exec-1", job.getQueryExecutionId());
+        assertEquals(25, job.getTotal());
+        assertEquals(25, job.getProcessed());
+        assertEquals(24, job.getSucceeded());
+        assertEquals(1, job.getFailed());
+
+        verify(athenaClientService, times(3)).streamDrivesAsync(anyCollection(), any());
+        verify(eventDataService, times(3)).loadDrivesData(anyCollection());
+        verify(eventDataService, never()).loadDriveData(any());
+        verify(driveRepository, times(3)).saveAll(any());
+        verify(driveRepository, never()).save(any());
+        assertEquals(24.0, meterRegistry.get("analysis.backfill.drives").tag("result", "succeeded").counter().count());
+        assertEquals(1.0, meterRegistry.get("analysis.backfill.drives").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    public void testResumeStartsFromCheckpoint() throws Exception {
+        // Arrange - 20개까지 처리된 체크포인트, driveId 쿼리는 다시 실행하지 않음
+        BackfillJob saved = new BackfillJob();
+        saved.setBackfillId("backfill-1");
+        saved.setStatus(BackfillJob.Status.PAUSED);
+        saved.setMaxDrivesPerSecond(100_000.0);
+        saved.setQueryExecutionId("exec-1");
+        saved.setTotal(25);
+        saved.setProcessed(20);
+        saved.setSucceeded(20);
+        when(backfillJobRepository.findById("backfill-1")).thenReturn(saved);
+        when(athenaClientService.readDriveIds("exec-1")).thenReturn(driveIds(0, 25));
+        stubTelemetry();
+
+        // Act
+        BackfillJob job = worker.resume("backfill-1");
+        awaitFinished(job);
+
+        // Assert - 남은 5개만 조회
+        assertEquals(BackfillJob.Status.COMPLETED, job.getStatus());
+        assertEquals(25, job.getProcessed());
+        assertEquals(25, job.getSucceeded());
+        verify(athenaClientService, never()).startDriveIdQueryAsync(any(), any(), any());
+        verify(athenaClientService, times(1)).streamDrivesAsync(eq(driveIds(20, 25)), any());
+    }
+
+    @Test
+    public void testFailedBatchStopsBackfillBeforeCheckpoint() throws Exception {
+        // Arrange - 첫 배치 저장 실패
+        when(athenaClientService.startDriveIdQueryAsync(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture("exec-1"));
+        when(athenaClientService.readDriveIds("exec-1")).thenReturn(driveIds(0, 10));
+        stubTelemetry();
+        doThrow(new RuntimeException("throttled")).when(driveRepository).saveAll(any());
+
+        // Act
+        BackfillJob job = worker.start(new BackfillRequestDTO(null, null, List.of("user1"), null));
+        awaitFinished(job);
+
+        // Assert - 체크포인트가 앞으로 가지 않아 재개하면 같은 배치부터 다시 처리
+        assertEquals(BackfillJob.Status.FAILED, job.getStatus());
+        assertEquals(0, job.getProcessed());
+        assertTrue(job.getError().contains("throttled"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDriveWithActiveWorkerJobIsNotOverwritten() throws Exception {
+        // Arrange - drive3은 사용자 요청으로 분석 워커에서 처리 중
+        when(athenaClientService.startDriveIdQueryAsync(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture("exec-1"));
+        when(athenaClientService.readDriveIds("exec-1")).thenReturn(driveIds(0, 5));
+        stubTelemetry();
+        when(driveAnalysisWorker.findActiveJob("drive3")).thenReturn(new AnalysisJob("drive3", AnalysisPriority.INTERACTIVE));
+
+        // Act
+        BackfillJob job = worker.start(new BackfillRequestDTO(null, null, List.of("user1"), null));
+        awaitFinished(job);
+
+        // Assert - 워커가 저장할 결과를 덮어쓰지 않음
+        ArgumentCaptor<List<Drive>> saved = ArgumentCaptor.forClass(List.class);
+        verify(driveRepository).saveAll(saved.capture());
+        assertEquals(4, saved.getValue().size());
+        assertEquals(BackfillJob.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getSucceeded());
+        assertEquals(1.0, meterRegistry.get("analysis.backfill.drives").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    public void testStartRejectsMissingCondition() {
+        assertThrows(IllegalArgumentException.class,
+                () -> worker.start(new BackfillRequestDTO(null, null, List.of(), null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> worker.start(new BackfillRequestDTO(Instant.parse("2025-06-01T00:00:00Z"),
+                        Instant.parse("2025-05-01T00:00:00Z"), null, null)));
+        verify(backfillJobRepository, never()).save(any());
+    }
+
+    /**
+     * Athena 배치 조회를 흉내 냄: 요청한 driveId마다 두 행씩 리스너에 전달 (missing은 결과 없음)
+     */
+    @SuppressWarnings("unchecked")
+    private void stubTelemetry(String... missing) {
+        List<String> missingIds = List.of(missing);
+        when(athenaClientService.streamDrivesAsync(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<String> requested = invocation.getArgument(0);
+            Supplier<DriveAnalysisCollector> factory = invocation.getArgument(1);
+            DriveAnalysisCollector collector = factory.get();
+            for (String driveId : requested) {
+                if (missingIds.contains(driveId)) continue;
+                collector.startDrive(driveId, "user1");
+                collector.accept(1_748_653_200L * SECOND_MICROS, 30);
+                collector.accept(1_748_653_201L * SECOND_MICROS, 40);
+            }
+            return CompletableFuture.completedFuture(collector);
+        });
+    }
+
+    private List<String> driveIds(int from, int to) {
+        List<String> driveIds = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            driveIds.add("drive" + i);
+        }
+        return driveIds;
+    }
+
+    private void awaitFinished(BackfillJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            synchronized (job) {
+                if (job.getStatus() != BackfillJob.Status.RUNNING) return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Backfill did not finish: " + job.getBackfillId());
+    }
+}
@@ -0,0 +1,51 @@
+package com.modive.analysis.worker;
+
+import com.amazonaws.AmazonServiceException;
+import com.modive.analysis.service.AthenaQueryTimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import software.amazon.awssdk.services.athena.model.AthenaException;
+import software.amazon.awssdk.services.athena.model.TooManyRequestsException;
+
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FailureKindTest {
+
+    @Test
+    public void testThrottlingIsDetectedThroughWrappers() {
+        AmazonServiceException dynamoThrottled = new AmazonServiceException("Throughput exceeds the current capacity");
+        dynamoThrottled.setErrorCode("ProvisionedThroughputExceededException");
+
+        assertEquals(FailureKind.THROTTLED, FailureKind.of(new CompletionException(dynamoThrottled)));
+        assertEquals(FailureKind.THROTTLED, FailureKind.of(new CompletionException(
+                TooManyRequestsException.builder().message("Rate exceeded").build())));
+        assertEquals(FailureKind.THROTTLED, FailureKind.of(
+                AthenaException.builder().message("Slow down").statusCode(429).build()));
+        assertEquals(FailureKind.THROTTLED, FailureKind.of(new AnalysisQueueFullException("drive1", 5)));
+    }
+
+    @Test
+    public void testTimeoutsAndIoErrorsAreTransient() {
+        assertEquals(FailureKind.TRANSIENT, FailureKind.of(new CompletionException(new TimeoutException())));
+        assertEquals(FailureKind.TRANSIENT, FailureKind.of(new RuntimeException("CSV parsing failed", new IOException("Connection reset"))));
+        assertEquals(FailureKind.TRANSIENT, FailureKind.of(new QueryTimeoutException("RDS timed out")));
+        assertEquals(FailureKind.TRANSIENT, FailureKind.of(new CompletionException(new AthenaQueryTimeoutException("exec-1", 1000))));
+        assertEquals(FailureKind.TRANSIENT, FailureKind.of(
+                AthenaException.builder().message("Internal error").statusCode(500).build()));
+    }
+
+    @Test
+    public void testDataErrorsArePermanent() {
+        assertEquals(FailureKind.PERMANENT, FailureKind.of(new CompletionException(
+                new IllegalStateException("No Athena rows for driveId: drive1"))));
+        assertEquals(FailureKind.PERMANENT, FailureKind.of(new DateTimeParseException("bad time", "x", 0)));
+        assertEquals(FailureKind.PERMANENT, FailureKind.of(new IllegalArgumentException("Missing column in Athena result: time")));
+        assertEquals(FailureKind.PERMANENT, FailureKind.of(new RuntimeException("Athena query failed: FAILED")));
+        assertFalse(FailureKind.PERMANENT.isRetryable());
+    }
+}
@@ -0,0 +1,66 @@
+package com.modive.analysis.worker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineStageTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PipelineStage stage;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stage = new PipelineStage("test", 1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stage.shutdownNow();
+    }
+
+    @Test
+    public void testSupplyRunsOnStageThreadAndRecordsMetrics() throws Exception {
+        // Act
+        String threadName = stage.supply(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(threadName.startsWith("analysis-test-"));
+        assertEquals(1, meterRegistry.get("analysis.stage.duration").tag("stage", "test").timer().count());
+        assertEquals(1, meterRegistry.get("analysis.pipeline.wait").tag("stage", "test").timer().count());
+    }
+
+    @Test
+    public void testSubmitterWaitsWhenQueueIsFull() throws Exception {
+        // Arrange - 스레드 1개는 막혀 있고 큐 1칸은 채워진 상태
+        CountDownLatch release = new CountDownLatch(1);
+        stage.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        stage.execute(() -> { });
+
+        // Act - 세 번째 작업은 큐에 자리가 날 때까지 넘기는 쪽이 대기
+        CompletableFuture<Void> submitted = CompletableFuture.runAsync(() -> stage.execute(() -> { }));
+
+        // Assert
+        Thread.sleep(200);
+        assertFalse(submitted.isDone());
+        assertEquals(1, stage.queueDepth());
+        assertEquals(1.0, meterRegistry.get("analysis.pipeline.queue.depth").tag("stage", "test").gauge().value());
+
+        release.countDown();
+        submitted.get(5, TimeUnit.SECONDS);
+    }
+}
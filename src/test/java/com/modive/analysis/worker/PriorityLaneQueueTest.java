@@ -0,0 +1,94 @@
+package com.modive.analysis.worker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriorityLaneQueueTest {
+
+    private PriorityLaneQueue createQueue(int capacity) {
+        return new PriorityLaneQueue(
+                Map.of(AnalysisPriority.INTERACTIVE, capacity,
+                        AnalysisPriority.NORMAL, capacity,
+                        AnalysisPriority.BACKFILL, capacity),
+                Map.of(AnalysisPriority.INTERACTIVE, 6,
+                        AnalysisPriority.NORMAL, 3,
+                        AnalysisPriority.BACKFILL, 1));
+    }
+
+    @Test
+    public void testLanesAreTakenInWeightRatio() throws Exception {
+        // Arrange - 모든 lane에 충분히 쌓아 둠
+        PriorityLaneQueue queue = createQueue(1000);
+        for (int i = 0; i < 500; i++) {
+            for (AnalysisPriority priority : AnalysisPriority.values()) {
+                assertTrue(queue.offer(new AnalysisJob(priority + "-" + i, priority)));
+            }
+        }
+
+        // Act
+        Map<AnalysisPriority, Integer> taken = new EnumMap<>(AnalysisPriority.class);
+        for (int i = 0; i < 100; i++) {
+            taken.merge(queue.take().getPriority(), 1, Integer::sum);
+        }
+
+        // Assert - 가중치 6:3:1 비율, BACKFILL도 일정 비율로 선택됨
+        assertEquals(60, taken.get(AnalysisPriority.INTERACTIVE));
+        assertEquals(30, taken.get(AnalysisPriority.NORMAL));
+        assertEquals(10, taken.get(AnalysisPriority.BACKFILL));
+    }
+
+    @Test
+    public void testInteractiveJobOvertakesBackfillBacklog() throws Exception {
+        // Arrange
+        PriorityLaneQueue queue = createQueue(1000);
+        for (int i = 0; i < 500; i++) {
+            queue.offer(new AnalysisJob("backfill-" + i, AnalysisPriority.BACKFILL));
+        }
+        queue.offer(new AnalysisJob("interactive", AnalysisPriority.INTERACTIVE));
+
+        // Act
+        List<AnalysisJob> drained = new ArrayList<>();
+        queue.drainTo(drained, 2);
+
+        // Assert
+        assertEquals("interactive", drained.get(0).getDriveId());
+        assertEquals(AnalysisPriority.BACKFILL, drained.get(1).getPriority());
+        assertEquals(499, queue.size(AnalysisPriority.BACKFILL));
+    }
+
+    @Test
+    public void testEachLaneHasItsOwnCapacity() {
+        PriorityLaneQueue queue = createQueue(1);
+
+        assertTrue(queue.offer(new AnalysisJob("b1", AnalysisPriority.BACKFILL)));
+        assertFalse(queue.offer(new AnalysisJob("b2", AnalysisPriority.BACKFILL)));
+        assertTrue(queue.offer(new AnalysisJob("i1", AnalysisPriority.INTERACTIVE)));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void testPromoteMovesQueuedJobToHigherLane() throws Exception {
+        // Arrange
+        PriorityLaneQueue queue = createQueue(10);
+        AnalysisJob job = new AnalysisJob("drive1", AnalysisPriority.BACKFILL);
+        queue.offer(job);
+
+        // Act & Assert
+        assertFalse(queue.promote(job, AnalysisPriority.BACKFILL));
+        assertTrue(queue.promote(job, AnalysisPriority.INTERACTIVE));
+        assertEquals(AnalysisPriority.INTERACTIVE, job.getPriority());
+        assertEquals(1, queue.size(AnalysisPriority.INTERACTIVE));
+        assertEquals(0, queue.size(AnalysisPriority.BACKFILL));
+
+        assertSame(job, queue.poll(1, TimeUnit.SECONDS));
+        assertFalse(queue.promote(job, AnalysisPriority.INTERACTIVE)); // 이미 꺼낸 작업
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,33 @@
+package com.modive.analysis.worker;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void testBackoffGrowsExponentiallyWithinJitterBounds() {
+        RetryPolicy policy = new RetryPolicy(6, 100, 1000);
+
+        for (int i = 0; i < 1000; i++) {
+            long first = policy.backoffMillis(1);
+            long third = policy.backoffMillis(3);
+            long capped = policy.backoffMillis(10);
+
+            assertTrue(first >= 50 && first <= 100, "first " + first);
+            assertTrue(third >= 200 && third <= 400, "third " + third);
+            assertTrue(capped >= 500 && capped <= 1000, "capped " + capped);
+        }
+    }
+
+    @Test
+    public void testShouldRetryCountsFirstAttempt() {
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000);
+
+        assertTrue(policy.shouldRetry(1));
+        assertTrue(policy.shouldRetry(2));
+        assertFalse(policy.shouldRetry(3));
+        assertFalse(RetryPolicy.none().shouldRetry(1));
+    }
+}